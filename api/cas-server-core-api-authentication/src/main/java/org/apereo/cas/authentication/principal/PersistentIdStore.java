@@ -0,0 +1,69 @@
+package org.apereo.cas.authentication.principal;
+
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Keeps persistent identifiers once they are generated for a principal and service,
+ * so that they may be looked up rather than computed again, and so that identifiers
+ * remain stable even if the generation algorithm or its salt changes later.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+public interface PersistentIdStore {
+
+    /**
+     * Default bean name.
+     */
+    String BEAN_NAME = "persistentIdStore";
+
+    /**
+     * Find the persistent id stored for the principal and service.
+     *
+     * @param principal the principal id
+     * @param service   the service, or an empty string if the id is not tied to a service
+     * @return the persistent id, if any
+     */
+    Optional<String> find(String principal, String service);
+
+    /**
+     * Store the persistent id for the principal and service, unless one is already stored.
+     *
+     * @param principal    the principal id
+     * @param service      the service, or an empty string if the id is not tied to a service
+     * @param persistentId the persistent id
+     * @return the persistent id that is stored, which is the existing one if the principal already had one
+     */
+    String store(String principal, String service, String persistentId);
+
+    /**
+     * Store persistent ids for many principals of a service at once,
+     * skipping principals that already have one.
+     *
+     * @param service       the service, or an empty string if the ids are not tied to a service
+     * @param persistentIds the persistent ids, keyed by principal id
+     */
+    default void storeAll(final String service, final Map<String, String> persistentIds) {
+        persistentIds.forEach((principal, persistentId) -> store(principal, service, persistentId));
+    }
+
+    /**
+     * A store that keeps nothing, so persistent ids are always computed.
+     *
+     * @return the persistent id store
+     */
+    static PersistentIdStore noOp() {
+        return new PersistentIdStore() {
+            @Override
+            public Optional<String> find(final String principal, final String service) {
+                return Optional.empty();
+            }
+
+            @Override
+            public String store(final String principal, final String service, final String persistentId) {
+                return persistentId;
+            }
+        };
+    }
+}
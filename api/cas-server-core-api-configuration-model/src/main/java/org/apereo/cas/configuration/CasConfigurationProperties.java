@@ -11,6 +11,7 @@ import org.apereo.cas.configuration.model.core.events.EventsProperties;
 import org.apereo.cas.configuration.model.core.logout.LogoutProperties;
 import org.apereo.cas.configuration.model.core.monitor.MonitorProperties;
 import org.apereo.cas.configuration.model.core.rest.RestProperties;
+import org.apereo.cas.configuration.model.core.services.PersistentIdProperties;
 import org.apereo.cas.configuration.model.core.services.ServiceRegistryProperties;
 import org.apereo.cas.configuration.model.core.slo.SloProperties;
 import org.apereo.cas.configuration.model.core.sso.SsoProperties;
@@ -157,6 +158,12 @@ public class CasConfigurationProperties implements Serializable {
     @NestedConfigurationProperty
     private ServiceRegistryProperties serviceRegistry = new ServiceRegistryProperties();
 
+    /**
+     * Storage of persistent identifiers.
+     */
+    @NestedConfigurationProperty
+    private PersistentIdProperties persistentId = new PersistentIdProperties();
+
     /**
      * SLO functionality.
      */
@@ -0,0 +1,83 @@
+package org.apereo.cas.configuration.model.core.services;
+
+import org.apereo.cas.configuration.model.support.jpa.AbstractJpaProperties;
+import org.apereo.cas.configuration.model.support.mongo.SingleCollectionMongoDbProperties;
+import org.apereo.cas.configuration.support.RequiresModule;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.io.Serializable;
+
+/**
+ * Configuration properties for storing persistent identifiers,
+ * once generated for a principal and service, rather than recomputing them.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@RequiresModule(name = "cas-server-core-services", automated = true)
+@Getter
+@Setter
+public class PersistentIdProperties implements Serializable {
+
+    private static final long serialVersionUID = 2937548105212465207L;
+
+    /**
+     * Keep persistent identifiers in memory.
+     * Identifiers do not survive restarts and are not shared with other nodes.
+     */
+    private boolean inMemory;
+
+    /**
+     * Maximum number of persistent identifiers kept in a local cache
+     * in front of an external store.
+     */
+    private long cacheMaximumSize = 10_000;
+
+    /**
+     * Keep persistent identifiers in a relational database.
+     */
+    private Jdbc jdbc = new Jdbc();
+
+    /**
+     * Keep persistent identifiers in a MongoDb database.
+     */
+    private MongoDb mongo = new MongoDb();
+
+    /**
+     * Connection settings for the relational database that keeps persistent identifiers.
+     * Identifiers are kept via plain SQL, so the dialect is not used. The table is created when missing
+     * if {@code ddlAuto} is {@code create}, {@code create-drop} or {@code update}, and is checked
+     * if it is {@code validate}; the table is never dropped.
+     */
+    @RequiresModule(name = "cas-server-support-persistent-id-jdbc")
+    @Getter
+    @Setter
+    public static class Jdbc extends AbstractJpaProperties {
+
+        private static final long serialVersionUID = -3904720367518263310L;
+
+        /**
+         * The table that holds persistent identifiers, with
+         * {@code principal}, {@code service} and {@code persistent_id} columns.
+         */
+        private String tableName = "cas_persistent_ids";
+
+        public Jdbc() {
+            setDdlAuto("update");
+        }
+    }
+
+    @RequiresModule(name = "cas-server-support-persistent-id-mongo")
+    @Getter
+    @Setter
+    public static class MongoDb extends SingleCollectionMongoDbProperties {
+
+        private static final long serialVersionUID = 6125290818471527841L;
+
+        public MongoDb() {
+            setCollection("MongoDbCasPersistentIds");
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package org.apereo.cas.configuration.model.core.ticket;
+
+import org.apereo.cas.configuration.support.RequiresModule;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Properties that control how validation requests are matched to the CAS node
+ * that issued the ticket, based on the host name suffix of the ticket id.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@RequiresModule(name = "cas-server-core-tickets", automated = true)
+@Getter
+@Setter
+public class TicketNodeAffinityProperties implements Serializable {
+
+    private static final long serialVersionUID = -1295187468452183342L;
+
+    /**
+     * Whether ticket validation requests should be examined for the node that issued the ticket.
+     */
+    private boolean enabled;
+
+    /**
+     * Whether requests for tickets issued by another known node should be redirected to that node.
+     * When disabled, the owning node is only reported in a response header that proxies and load balancers can act upon.
+     */
+    private boolean redirect;
+
+    /**
+     * Map of ticket suffixes, usually the host name of each CAS node, to the base URL
+     * at which that node can be reached directly, such as {@code https://cas-02.example.org/cas}.
+     */
+    private Map<String, String> nodes = new LinkedHashMap<>();
+
+    /**
+     * Request parameters that may carry the ticket id.
+     */
+    private List<String> parameters = Stream.of("ticket", "code", "refresh_token").collect(Collectors.toList());
+}
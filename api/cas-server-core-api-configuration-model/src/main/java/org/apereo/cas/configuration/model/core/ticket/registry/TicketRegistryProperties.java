@@ -12,6 +12,7 @@ import org.apereo.cas.configuration.model.support.jms.JmsTicketRegistryPropertie
 import org.apereo.cas.configuration.model.support.jpa.ticketregistry.JpaTicketRegistryProperties;
 import org.apereo.cas.configuration.model.support.memcached.MemcachedTicketRegistryProperties;
 import org.apereo.cas.configuration.model.support.mongo.ticketregistry.MongoTicketRegistryProperties;
+import org.apereo.cas.configuration.model.support.offheap.OffHeapTicketRegistryProperties;
 import org.apereo.cas.configuration.model.support.quartz.ScheduledJobProperties;
 import org.apereo.cas.configuration.model.support.redis.RedisTicketRegistryProperties;
 import org.apereo.cas.configuration.support.RequiresModule;
@@ -101,11 +102,21 @@ public class TicketRegistryProperties implements Serializable {
     @NestedConfigurationProperty
     private RedisTicketRegistryProperties redis = new RedisTicketRegistryProperties();
 
+    /**
+     * Off-heap registry settings.
+     */
+    @NestedConfigurationProperty
+    private OffHeapTicketRegistryProperties offHeap = new OffHeapTicketRegistryProperties();
+
     /**
      * Settings relevant for the default in-memory ticket registry.
      */
     private InMemory inMemory = new InMemory();
 
+    /**
+     * Settings for the local cache kept in front of a shared ticket registry.
+     */
+    private NearCache nearCache = new NearCache();
 
     /**
      * CouchDb registry settings.
@@ -119,6 +130,13 @@ public class TicketRegistryProperties implements Serializable {
     @NestedConfigurationProperty
     private ScheduledJobProperties cleaner = new ScheduledJobProperties("PT10S", "PT1M");
 
+    /**
+     * Number of local locks shared among tickets that are used concurrently,
+     * such as service tickets that are being validated. Requests for the same ticket
+     * always wait on the same lock, while requests for different tickets rarely contend.
+     */
+    private int lockStripes = 256;
+
     @RequiresModule(name = "cas-server-core-tickets", automated = true)
     @Getter
     @Setter
@@ -161,4 +179,34 @@ public class TicketRegistryProperties implements Serializable {
             crypto.setEnabled(false);
         }
     }
+
+    @RequiresModule(name = "cas-server-core-tickets", automated = true)
+    @Getter
+    @Setter
+    public static class NearCache implements Serializable {
+
+        private static final long serialVersionUID = 3297415342785616519L;
+
+        /**
+         * Whether tickets read from a shared ticket registry should be kept
+         * in a local cache for a short period of time. Registries that support this
+         * share invalidation notices between nodes whenever a ticket is updated or removed.
+         */
+        private boolean enabled;
+
+        /**
+         * Maximum number of tickets to keep in the local cache.
+         */
+        private long maximumSize = 10_000;
+
+        /**
+         * How long ticket-granting tickets, which change as service tickets are issued, may be served from the local cache.
+         */
+        private String mutableTicketTimeToLive = "PT5S";
+
+        /**
+         * How long all other ticket types may be served from the local cache.
+         */
+        private String immutableTicketTimeToLive = "PT30S";
+    }
 }
@@ -4,6 +4,7 @@ import org.apereo.cas.configuration.model.core.ticket.ProxyGrantingTicketPropert
 import org.apereo.cas.configuration.model.core.ticket.ProxyTicketProperties;
 import org.apereo.cas.configuration.model.core.ticket.ServiceTicketProperties;
 import org.apereo.cas.configuration.model.core.ticket.TicketGrantingTicketProperties;
+import org.apereo.cas.configuration.model.core.ticket.TicketNodeAffinityProperties;
 import org.apereo.cas.configuration.model.core.ticket.TransientSessionTicketProperties;
 import org.apereo.cas.configuration.model.core.ticket.registry.TicketRegistryProperties;
 import org.apereo.cas.configuration.support.RequiresModule;
@@ -69,6 +70,12 @@ public class TicketProperties implements Serializable {
     @NestedConfigurationProperty
     private TicketGrantingTicketProperties tgt = new TicketGrantingTicketProperties();
 
+    /**
+     * Properties and settings related to routing validation requests to the node that issued the ticket.
+     */
+    @NestedConfigurationProperty
+    private TicketNodeAffinityProperties nodeAffinity = new TicketNodeAffinityProperties();
+
     public TicketProperties() {
         this.crypto.setEnabled(false);
     }
@@ -35,6 +35,13 @@ public class ViewProperties implements Serializable {
      */
     private List<String> templatePrefixes = new ArrayList<>();
 
+    /**
+     * Write CAS2 and CAS3 validation success and failure responses directly,
+     * without evaluating the templates behind those views. Changes made to the
+     * default templates are ignored while this is turned on.
+     */
+    private boolean directValidationResponses;
+
     /**
      * CAS2 views and locations.
      */
@@ -45,6 +45,12 @@ public class DynamoDbTicketRegistryProperties extends AbstractDynamoDbProperties
      */
     private String transientSessionTicketsTableName = "transientSessionTicketsTable";
 
+    /**
+     * Number of segments used to scan each table in parallel.
+     * Each segment is read page by page until exhausted.
+     */
+    private int scanSegments = 4;
+
     /**
      * Crypto settings for the registry.
      */
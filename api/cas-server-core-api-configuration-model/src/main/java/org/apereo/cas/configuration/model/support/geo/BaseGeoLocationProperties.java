@@ -21,4 +21,16 @@ public abstract class BaseGeoLocationProperties implements Serializable {
      * for geo locations. See <a href="http://ipstack.com">this link</a> for more info.
      */
     private String ipStackApiAccessKey;
+
+    /**
+     * Maximum number of geolocation results, keyed by address,
+     * that are kept in the cache.
+     */
+    private long cacheSize = 10_000;
+
+    /**
+     * Duration after which cached geolocation results expire.
+     * This settings supports the {@link java.time.Duration} syntax.
+     */
+    private String cacheExpiration = "PT30M";
 }
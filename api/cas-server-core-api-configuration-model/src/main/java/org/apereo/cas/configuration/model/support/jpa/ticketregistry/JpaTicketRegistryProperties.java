@@ -30,11 +30,18 @@ public class JpaTicketRegistryProperties extends AbstractJpaProperties {
 
     /**
      * Ticket locking type. Acceptable values are
-     * {@code READ,WRITE,OPTIMISTIC,OPTIMISTIC_FORCE_INCREMENT,PESSIMISTIC_READ,
-     * PESSIMISTIC_WRITE,PESSIMISTIC_FORCE_INCREMENT,NONE}.
+     * {@code READ,OPTIMISTIC,PESSIMISTIC_READ,PESSIMISTIC_WRITE,NONE}.
      */
     private LockModeType ticketLockType = LockModeType.NONE;
 
+    /**
+     * Number of times an operation on a ticket is attempted when the ticket
+     * was modified concurrently by another node. Tickets are versioned, and such
+     * conflicts are detected without holding row locks when the lock type is
+     * {@code NONE}, {@code READ} or {@code OPTIMISTIC}.
+     */
+    private int concurrentUpdateAttempts = 3;
+
     /**
      * Indicates the lock duration when one is about to be acquired by the cleaner.
      */
@@ -26,6 +26,19 @@ public class MemcachedTicketRegistryProperties extends BaseMemcachedProperties {
     @NestedConfigurationProperty
     private EncryptionRandomizedSigningJwtCryptographyProperties crypto = new EncryptionRandomizedSigningJwtCryptographyProperties();
 
+    /**
+     * Maintain index keys that list stored tickets per ticket type and per principal,
+     * so that tickets may be enumerated, counted and cleaned without scanning the cluster.
+     * Without indexing, expired tickets are only evicted by memcached itself.
+     */
+    private boolean indexEnabled;
+
+    /**
+     * Number of index keys across which the tickets of each type are spread,
+     * to limit the size of each index entry and contention when tickets are added concurrently.
+     */
+    private int indexSegments = 16;
+
     public MemcachedTicketRegistryProperties() {
         this.crypto.setEnabled(false);
     }
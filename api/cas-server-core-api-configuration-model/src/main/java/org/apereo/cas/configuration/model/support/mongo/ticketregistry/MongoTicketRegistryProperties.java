@@ -26,6 +26,12 @@ public class MongoTicketRegistryProperties extends BaseMongoDbProperties {
      */
     private boolean dropCollection;
 
+    /**
+     * Whether ticket documents stored in the legacy layout, where tickets were kept
+     * as JSON strings keyed by a separate ticket id field, should be migrated on startup.
+     */
+    private boolean migrateLegacyDocuments;
+
     /**
      * Crypto settings for the registry.
      */
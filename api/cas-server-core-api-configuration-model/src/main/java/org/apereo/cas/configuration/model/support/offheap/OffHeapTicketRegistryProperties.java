@@ -0,0 +1,52 @@
+package org.apereo.cas.configuration.model.support.offheap;
+
+import org.apereo.cas.configuration.model.core.util.EncryptionRandomizedSigningJwtCryptographyProperties;
+import org.apereo.cas.configuration.support.RequiresModule;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.NestedConfigurationProperty;
+
+import java.io.Serializable;
+
+/**
+ * This is {@link OffHeapTicketRegistryProperties}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@RequiresModule(name = "cas-server-support-offheap-ticket-registry")
+@Getter
+@Setter
+public class OffHeapTicketRegistryProperties implements Serializable {
+
+    private static final long serialVersionUID = -3542181378514926542L;
+
+    /**
+     * Number of one-second slots in the expiration wheel.
+     * Tickets that live longer than one revolution of the wheel are examined once per revolution.
+     */
+    private int expirationWheelSize = 3600;
+
+    /**
+     * Size in bytes of each block of direct memory from which tickets are allocated.
+     * Memory is reserved one segment at a time and reused as tickets are removed.
+     */
+    private int segmentSize = 1_048_576;
+
+    /**
+     * Path to a file where tickets are written on shutdown and read back on startup.
+     * Tickets are not persisted across restarts if left blank.
+     */
+    private String persistenceFile;
+
+    /**
+     * Crypto settings for the registry.
+     */
+    @NestedConfigurationProperty
+    private EncryptionRandomizedSigningJwtCryptographyProperties crypto = new EncryptionRandomizedSigningJwtCryptographyProperties();
+
+    public OffHeapTicketRegistryProperties() {
+        this.crypto.setEnabled(false);
+    }
+}
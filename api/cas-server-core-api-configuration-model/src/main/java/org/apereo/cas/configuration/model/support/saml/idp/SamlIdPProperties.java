@@ -31,6 +31,13 @@ public class SamlIdPProperties implements Serializable {
      */
     private boolean attributeQueryProfileEnabled;
 
+    /**
+     * Maximum size, in bytes, of a SAML message received by CAS, whether
+     * posted to a back-channel SOAP endpoint or passed as an encoded request parameter.
+     * Larger messages are rejected before they are fully read and parsed.
+     */
+    private int maxRequestSizeBytes = 1_048_576;
+
     /**
      * The SAML entity id for the deployment.
      */
@@ -51,6 +51,13 @@ public class SamlIdPResponseProperties implements Serializable {
      * Example: {@code attributeName->basic|uri|unspecified|custom-format-etc,...}.
      */
     private List<String> attributeNameFormats = new ArrayList<>();
+    /**
+     * Whether responses sent using the HTTP-POST binding should be streamed
+     * into the response body as a fixed auto-submit form, instead of rendering
+     * the form from the {@code /templates/saml2-post-binding.vm} Velocity template.
+     * Customizations of the template are ignored when this is turned on.
+     */
+    private boolean streamPostBinding;
 
     /**
      * Configure attribute name formats and build a map.
@@ -28,4 +28,21 @@ public class SamlIdPTicketProperties implements Serializable {
      * The name that should be given to the saml attribute query cache storage name.
      */
     private String samlAttributeQueryCacheStorageName = "samlAttributeQueryCache";
+
+    /**
+     * Whether saml objects tied to artifacts should be compressed before they are stored.
+     */
+    private boolean compressSamlArtifacts = true;
+
+    /**
+     * Whether saml artifacts should be kept in memory on the node that issued them,
+     * rather than in the ticket registry. This is only appropriate when artifact resolution
+     * requests are always routed back to the issuing node.
+     */
+    private boolean storeSamlArtifactsLocally;
+
+    /**
+     * Maximum number of saml artifacts kept in memory when they are stored locally.
+     */
+    private long localSamlArtifactsCacheSize = 10_000;
 }
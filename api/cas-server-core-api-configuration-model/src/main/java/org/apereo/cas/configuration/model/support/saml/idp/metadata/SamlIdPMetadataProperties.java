@@ -43,6 +43,19 @@ public class SamlIdPMetadataProperties implements Serializable {
      */
     private long cacheExpirationMinutes = TimeUnit.DAYS.toMinutes(1);
 
+    /**
+     * How long, in minutes, metadata may still be served once its cache duration has passed,
+     * while a fresh copy is fetched in the background. If fetching fails, the last good copy
+     * continues to be used until this period also passes, after which metadata is loaded
+     * as part of the request that needs it. A value of zero disables background refreshes.
+     */
+    private long cacheGracePeriodMinutes = TimeUnit.HOURS.toMinutes(1);
+
+    /**
+     * Number of threads dedicated to refreshing metadata in the background.
+     */
+    private int cacheRefreshThreads = 2;
+
     /**
      * Directory location of SAML metadata and signing/encryption keys.
      * This directory will be used to hold the configuration files.
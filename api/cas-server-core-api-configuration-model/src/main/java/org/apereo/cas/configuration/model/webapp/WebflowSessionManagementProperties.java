@@ -52,6 +52,29 @@ public class WebflowSessionManagementProperties implements Serializable {
      */
     private boolean storage;
 
+    /**
+     * Controls whether spring webflow state, when not stored in the http session,
+     * should be kept on the server in an external storage facility (i.e. the ticket registry)
+     * keyed by a short identifier, instead of being encrypted and passed to the client in full.
+     * This avoids sticky sessions while keeping the request payloads small.
+     */
+    private boolean externalStorage;
+
+    /**
+     * Duration after which flow state kept in external storage expires.
+     * Only relevant if external storage is enabled.
+     */
+    private String externalStorageTimeout = "PT30M";
+
+    /**
+     * Maximum number of flow state snapshots kept in external storage per conversation.
+     * Older snapshots are removed as the conversation moves along, while recent ones remain
+     * available to the back button and to forms that are submitted twice.
+     * Set it to -1 for no limit, in which case snapshots are left to expire.
+     * Only relevant if external storage is enabled.
+     */
+    private int externalStorageMaxSnapshots = 5;
+
     /**
      * If sessions are to be replicated via Hazelcast, defines the location of a {@code hazelcast.xml}
      * file that defines how state should be replicated.
@@ -1,9 +1,14 @@
 package org.apereo.cas.ticket.registry;
 
 import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+
+import lombok.val;
 
 import java.util.Collection;
+import java.util.Objects;
 import java.util.function.Predicate;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 /**
@@ -25,6 +30,16 @@ public interface TicketRegistry {
      */
     void addTicket(Ticket ticket);
 
+    /**
+     * Add the given tickets to the registry.
+     * Registries that are able to should store the tickets in as few round trips as possible.
+     *
+     * @param tickets the tickets
+     */
+    default void addTickets(final Stream<? extends Ticket> tickets) {
+        tickets.forEach(this::addTicket);
+    }
+
     /**
      * Retrieve a ticket from the registry. If the ticket retrieved does not
      * match the expected class, an InvalidTicketException is thrown.
@@ -53,6 +68,21 @@ public interface TicketRegistry {
      */
     Ticket getTicket(String ticketId, Predicate<Ticket> predicate);
 
+    /**
+     * Retrieve the tickets with the given ids from the registry.
+     * Registries that are able to should fetch the tickets in as few round trips as possible.
+     *
+     * @param ticketIds the ticket ids
+     * @return the tickets that could be found; tickets that do not exist are left out.
+     * Tickets might or might not be valid i.e. expired.
+     */
+    default Collection<? extends Ticket> getTickets(final Collection<String> ticketIds) {
+        return ticketIds.stream()
+            .map(ticketId -> getTicket(ticketId, ticket -> true))
+            .filter(Objects::nonNull)
+            .collect(Collectors.toList());
+    }
+
     /**
      * Remove a specific ticket from the registry.
      * If ticket to delete is TGT then related service tickets are removed as well.
@@ -62,6 +92,47 @@ public interface TicketRegistry {
      */
     int deleteTicket(String ticketId);
 
+    /**
+     * Remove the given tickets from the registry, along with the children of any ticket-granting tickets among them.
+     * Registries that are able to should remove the tickets in as few round trips as possible.
+     *
+     * @param ticketIds the ticket ids
+     * @return the number of tickets deleted including children.
+     */
+    default int deleteTickets(final Collection<String> ticketIds) {
+        return ticketIds.stream().mapToInt(this::deleteTicket).sum();
+    }
+
+    /**
+     * Remove a ticket that has been used up, as a single operation against the underlying storage.
+     * When several callers consume the same ticket concurrently, only one of them succeeds,
+     * which allows one-time-use tickets to be validated without a separate get-check-delete sequence.
+     * This is intended for tickets that have no children of their own, such as service tickets.
+     *
+     * @param ticketId the ticket id
+     * @return true if this call removed the ticket, false if it was already removed
+     */
+    default boolean consumeTicket(final String ticketId) {
+        return deleteTicket(ticketId) > 0;
+    }
+
+    /**
+     * Remove a ticket that has been used up and return it. Registries that are able to should retrieve
+     * and remove the ticket as a single operation against the underlying storage, so that when several callers
+     * consume the same ticket concurrently, only one of them receives it.
+     * This is intended for tickets that have no children of their own.
+     *
+     * @param <T>      the generic ticket type to return that extends {@link Ticket}
+     * @param ticketId the ticket id
+     * @param clazz    the expected class of the ticket
+     * @return the ticket removed by this call, or null if it could not be found or was already removed.
+     * The ticket might or might not be valid i.e. expired.
+     */
+    default <T extends Ticket> T consumeTicket(final String ticketId, final Class<T> clazz) {
+        val ticket = getTicket(ticketId, clazz);
+        return ticket != null && consumeTicket(ticketId) ? ticket : null;
+    }
+
     /**
      * Delete all tickets from the registry.
      *
@@ -117,4 +188,41 @@ public interface TicketRegistry {
         return getTickets().stream();
     }
 
+    /**
+     * Gets tickets of the given type as a stream.
+     * Registries that are able to should restrict the type
+     * at the storage level rather than loading and filtering every ticket.
+     *
+     * @param <T>  the ticket type
+     * @param type the type of tickets to retrieve
+     * @return the tickets stream
+     */
+    default <T extends Ticket> Stream<T> getTicketsStream(final Class<T> type) {
+        return getTicketsStream().filter(type::isInstance).map(type::cast);
+    }
+
+    /**
+     * Gets tickets that have expired as a stream.
+     * Registries that are able to should narrow down the candidates
+     * at the storage level rather than loading and testing every ticket.
+     *
+     * @return the expired tickets stream
+     */
+    default Stream<? extends Ticket> getExpiredTicketsStream() {
+        return getTicketsStream().filter(Ticket::isExpired);
+    }
+
+    /**
+     * Gets the ticket-granting tickets issued to the given principal as a stream.
+     * Registries that are able to should look the tickets up through an index of principals
+     * rather than loading and testing every ticket-granting ticket.
+     *
+     * @param principalId the principal id
+     * @return the ticket-granting tickets stream. Tickets might or might not be valid i.e. expired.
+     */
+    default Stream<TicketGrantingTicket> getTicketsForPrincipal(final String principalId) {
+        return getTicketsStream(TicketGrantingTicket.class)
+            .filter(ticket -> principalId.equals(ticket.getAuthentication().getPrincipal().getId()));
+    }
+
 }
@@ -27,4 +27,22 @@ public interface TicketRegistryCleaner {
     default int cleanTicket(final Ticket ticket) {
         return 0;
     }
+
+    /**
+     * Gets the number of expired ticket-granting tickets found by the most recent cleanup.
+     *
+     * @return the count
+     */
+    default long expiredSessionCount() {
+        return 0;
+    }
+
+    /**
+     * Gets the number of expired service tickets found by the most recent cleanup.
+     *
+     * @return the count
+     */
+    default long expiredServiceTicketCount() {
+        return 0;
+    }
 }
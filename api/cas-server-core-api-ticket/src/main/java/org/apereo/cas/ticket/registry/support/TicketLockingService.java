@@ -0,0 +1,27 @@
+package org.apereo.cas.ticket.registry.support;
+
+import java.util.function.Supplier;
+
+/**
+ * Strategy for serializing operations that read, modify and write back a single ticket,
+ * such that concurrent requests for the same ticket on this node do not interleave.
+ * Cross-node exclusion for one-time-use tickets is left to the atomic consume operation
+ * of the ticket registry. Implementations backed by versioned storage may also run the operation
+ * in a transaction of its own and retry it when the ticket was modified concurrently elsewhere.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@FunctionalInterface
+public interface TicketLockingService {
+
+    /**
+     * Execute the given action while holding the lock for the ticket.
+     *
+     * @param <T>      the result type
+     * @param ticketId the ticket id
+     * @param action   the action
+     * @return the result of the action
+     */
+    <T> T executeWithLock(String ticketId, Supplier<T> action);
+}
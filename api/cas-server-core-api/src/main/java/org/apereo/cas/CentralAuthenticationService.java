@@ -16,6 +16,7 @@ import org.apereo.cas.validation.Assertion;
 import java.util.Collection;
 import java.util.List;
 import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 /**
  * CAS viewed as a set of services to generate and validate Tickets.
@@ -126,6 +127,38 @@ public interface CentralAuthenticationService {
      */
     Collection<Ticket> getTickets(Predicate<Ticket> predicate);
 
+    /**
+     * Retrieve tickets from the underlying ticket registry as a stream that is
+     * lazily consumed, rather than collecting all tickets that pass the predicate in memory.
+     * <p>
+     * Tickets are read as the stream is consumed, which happens after this method returns,
+     * so no transaction is opened here. Registries read each batch of tickets on its own;
+     * callers that need all tickets to be read in a single transaction should consume
+     * the stream inside a transaction of their own, or use {@link #getTickets(Predicate)}.
+     *
+     * @param predicate the predicate
+     * @return the tickets
+     * @since 6.0.0
+     */
+    default Stream<? extends Ticket> getTicketsStream(final Predicate<Ticket> predicate) {
+        return getTickets(predicate).stream();
+    }
+
+    /**
+     * Retrieve tickets of the given type from the underlying ticket registry as a stream
+     * that is lazily consumed. The type restriction is passed down to the registry.
+     * Tickets are read as the stream is consumed, as with {@link #getTicketsStream(Predicate)}.
+     *
+     * @param <T>       the ticket type
+     * @param type      the type of tickets to retrieve
+     * @param predicate the predicate
+     * @return the tickets
+     * @since 6.0.0
+     */
+    default <T extends Ticket> Stream<T> getTicketsStream(final Class<T> type, final Predicate<? super T> predicate) {
+        return getTicketsStream(type::isInstance).map(type::cast).filter(predicate);
+    }
+
     /**
      * Grant a {@link ServiceTicket} that may be used to access the given service
      * by authenticating the given credentials.
@@ -4,9 +4,13 @@ import org.apereo.cas.authentication.principal.Principal;
 import org.apereo.cas.util.CollectionUtils;
 import org.apereo.cas.util.ScriptingUtils;
 
-import lombok.AllArgsConstructor;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import groovy.lang.Script;
+import lombok.AccessLevel;
 import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.RequiredArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
 import lombok.extern.slf4j.Slf4j;
@@ -16,23 +20,25 @@ import org.apache.commons.io.FileUtils;
 import java.io.File;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
-import java.util.regex.Matcher;
 
 /**
  * Return a collection of allowed attributes for the principal, but additionally,
  * offers the ability to rename attributes on a per-service level.
+ * Attribute mappings are resolved once into a list of steps, with inline groovy scripts
+ * compiled ahead of time, and the list is rebuilt only when the allowed attributes change.
  *
  * @author Misagh Moayyed
  * @since 4.1.0
  */
 @Slf4j
-@ToString(callSuper = true)
+@ToString(callSuper = true, exclude = "attributeMappings")
 @Setter
 @EqualsAndHashCode(callSuper = true)
-@AllArgsConstructor
 @NoArgsConstructor
 public class ReturnMappedAttributeReleasePolicy extends AbstractRegisteredServiceAttributeReleasePolicy {
 
@@ -40,17 +46,43 @@ public class ReturnMappedAttributeReleasePolicy extends AbstractRegisteredServic
 
     private Map<String, Object> allowedAttributes = new TreeMap<>();
 
-    private static void mapSingleAttributeDefinition(final String attributeName, final String mappedAttributeName,
-                                                     final Object attributeValue, final Map<String, Object> resolvedAttributes,
+    @JsonIgnore
+    @Setter(AccessLevel.NONE)
+    private transient volatile List<AttributeMapping> attributeMappings;
+
+    public ReturnMappedAttributeReleasePolicy(final Map<String, Object> allowedAttributes) {
+        this.allowedAttributes = allowedAttributes;
+    }
+
+    private static List<AttributeMapping> buildAttributeMappings(final Map<String, Object> allowedAttributes) {
+        val mappings = new ArrayList<AttributeMapping>();
+        allowedAttributes.forEach((attributeName, value) -> CollectionUtils.wrap(value).forEach(mapped -> {
+            val mappedAttributeName = mapped.toString();
+            val matcherInline = ScriptingUtils.getMatcherForInlineGroovyScript(mappedAttributeName);
+            val matcherFile = ScriptingUtils.getMatcherForExternalGroovyScript(mappedAttributeName);
+            if (matcherInline.find()) {
+                LOGGER.debug("Mapped attribute [{}] is an inlined groovy script", mappedAttributeName);
+                val script = ScriptingUtils.parseGroovyShellScript(matcherInline.group(1));
+                mappings.add(new AttributeMapping(attributeName, mappedAttributeName, true, script, null));
+            } else if (matcherFile.find()) {
+                LOGGER.debug("Mapped attribute [{}] is an external groovy script", mappedAttributeName);
+                mappings.add(new AttributeMapping(attributeName, mappedAttributeName, false, null, matcherFile.group(2)));
+            } else {
+                mappings.add(new AttributeMapping(attributeName, mappedAttributeName, false, null, null));
+            }
+        }));
+        return mappings;
+    }
+
+    private static void mapSingleAttributeDefinition(final AttributeMapping mapping, final Object attributeValue,
+                                                     final Map<String, Object> resolvedAttributes,
                                                      final Map<String, Object> attributesToRelease) {
-        val matcherInline = ScriptingUtils.getMatcherForInlineGroovyScript(mappedAttributeName);
-        val matcherFile = ScriptingUtils.getMatcherForExternalGroovyScript(mappedAttributeName);
-        if (matcherInline.find()) {
-            LOGGER.debug("Mapped attribute [{}] is an inlined groovy script", mappedAttributeName);
-            processInlineGroovyAttribute(resolvedAttributes, attributesToRelease, matcherInline, attributeName);
-        } else if (matcherFile.find()) {
-            LOGGER.debug("Mapped attribute [{}] is an external groovy script", mappedAttributeName);
-            processFileBasedGroovyAttributes(resolvedAttributes, attributesToRelease, matcherFile, attributeName);
+        val attributeName = mapping.getAttributeName();
+        val mappedAttributeName = mapping.getMappedAttributeName();
+        if (mapping.isInlineScript()) {
+            processInlineGroovyAttribute(resolvedAttributes, attributesToRelease, mapping.getScript(), attributeName);
+        } else if (mapping.getScriptFile() != null) {
+            processFileBasedGroovyAttributes(resolvedAttributes, attributesToRelease, mapping.getScriptFile(), attributeName);
         } else {
             if (attributeValue != null) {
                 LOGGER.debug("Found attribute [{}] in the list of allowed attributes, mapped to the name [{}]",
@@ -67,10 +99,10 @@ public class ReturnMappedAttributeReleasePolicy extends AbstractRegisteredServic
 
     private static void processFileBasedGroovyAttributes(final Map<String, Object> resolvedAttributes,
                                                          final Map<String, Object> attributesToRelease,
-                                                         final Matcher matcherFile, final String key) {
+                                                         final String scriptFile, final String key) {
         try {
             LOGGER.debug("Found groovy script to execute for attribute mapping [{}]", key);
-            val file = new File(matcherFile.group(2));
+            val file = new File(scriptFile);
             val script = FileUtils.readFileToString(file, StandardCharsets.UTF_8);
             val result = getGroovyAttributeValue(script, resolvedAttributes);
             if (result != null) {
@@ -86,9 +118,10 @@ public class ReturnMappedAttributeReleasePolicy extends AbstractRegisteredServic
 
     private static void processInlineGroovyAttribute(final Map<String, Object> resolvedAttributes,
                                                      final Map<String, Object> attributesToRelease,
-                                                     final Matcher matcherInline, final String attributeName) {
+                                                     final Script script, final String attributeName) {
         LOGGER.debug("Found inline groovy script to execute for attribute mapping [{}]", attributeName);
-        val result = getGroovyAttributeValue(matcherInline.group(1), resolvedAttributes);
+        val args = CollectionUtils.wrap("attributes", resolvedAttributes, "logger", LOGGER);
+        val result = script != null ? ScriptingUtils.executeGroovyShellScript(script, args, Object.class) : null;
         if (result != null) {
             LOGGER.debug("Mapped attribute [{}] to [{}] from script", attributeName, result);
             attributesToRelease.put(attributeName, result);
@@ -111,28 +144,53 @@ public class ReturnMappedAttributeReleasePolicy extends AbstractRegisteredServic
         return new TreeMap<>(this.allowedAttributes);
     }
 
+    /**
+     * Sets the allowed attributes, discarding the mappings that were resolved from the previous ones.
+     *
+     * @param allowedAttributes the allowed attributes
+     */
+    public void setAllowedAttributes(final Map<String, Object> allowedAttributes) {
+        this.allowedAttributes = allowedAttributes;
+        this.attributeMappings = null;
+    }
+
     @Override
     public Map<String, Object> getAttributesInternal(final Principal principal, final Map<String, Object> attrs, final RegisteredService service) {
-        val resolvedAttributes = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        val resolvedAttributes = new TreeMap<String, Object>(String.CASE_INSENSITIVE_ORDER);
         resolvedAttributes.putAll(attrs);
         val attributesToRelease = new HashMap<String, Object>();
-        /*
-         * Map each entry in the allowed list into an array first
-         * by the original key, value and the original entry itself.
-         * Then process the array to populate the map for allowed attributes
-         */
-        this.allowedAttributes.entrySet().forEach(entry -> {
-            val attributeName = entry.getKey();
-            val mappedAttributes = CollectionUtils.wrap(entry.getValue());
-            LOGGER.debug("Attempting to map allowed attribute name [{}]", attributeName);
+        getAttributeMappings().forEach(mapping -> {
+            val attributeName = mapping.getAttributeName();
             val attributeValue = resolvedAttributes.get(attributeName);
-            mappedAttributes.forEach(mapped -> {
-                val mappedAttributeName = mapped.toString();
-                LOGGER.debug("Mapping attribute [{}] to [{}] with value [{}]", attributeName, mappedAttributeName, attributeValue);
-                mapSingleAttributeDefinition(attributeName, mappedAttributeName, attributeValue, resolvedAttributes, attributesToRelease);
-            });
+            LOGGER.debug("Mapping attribute [{}] to [{}] with value [{}]", attributeName, mapping.getMappedAttributeName(), attributeValue);
+            mapSingleAttributeDefinition(mapping, attributeValue, resolvedAttributes, attributesToRelease);
         });
         return attributesToRelease;
     }
 
+    private List<AttributeMapping> getAttributeMappings() {
+        var mappings = this.attributeMappings;
+        if (mappings == null) {
+            mappings = buildAttributeMappings(this.allowedAttributes);
+            this.attributeMappings = mappings;
+        }
+        return mappings;
+    }
+
+    /**
+     * A single allowed attribute, mapped to a released name or to a groovy script.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    private static class AttributeMapping {
+        private final String attributeName;
+
+        private final String mappedAttributeName;
+
+        private final boolean inlineScript;
+
+        private final Script script;
+
+        private final String scriptFile;
+    }
 }
@@ -82,6 +82,32 @@ public class ReturnMappedAttributeReleasePolicyTests {
         assertTrue(result.containsValue("DOMAIN\\" + CoreAttributesTestUtils.CONST_USERNAME));
     }
 
+    @Test
+    public void verifyMappingsAreRebuiltWhenAllowedAttributesChange() {
+        val allowedAttributes = ArrayListMultimap.<String, Object>create();
+        allowedAttributes.put("attr1", "groovy { return attributes['uid'] + '@example.org' }");
+        val policy = new ReturnMappedAttributeReleasePolicy(CollectionUtils.wrap(allowedAttributes));
+        val registeredService = CoreAttributesTestUtils.getRegisteredService();
+        when(registeredService.getAttributeReleasePolicy()).thenReturn(policy);
+
+        val principalAttributes = new HashMap<String, Object>();
+        principalAttributes.put("uid", "first");
+        var result = policy.getAttributes(CoreAttributesTestUtils.getPrincipal("first", principalAttributes),
+            CoreAttributesTestUtils.getService(), registeredService);
+        assertEquals("first@example.org", result.get("attr1"));
+
+        principalAttributes.put("uid", "second");
+        result = policy.getAttributes(CoreAttributesTestUtils.getPrincipal("second", principalAttributes),
+            CoreAttributesTestUtils.getService(), registeredService);
+        assertEquals("second@example.org", result.get("attr1"));
+
+        policy.setAllowedAttributes(CollectionUtils.wrap("uid", "username"));
+        result = policy.getAttributes(CoreAttributesTestUtils.getPrincipal("second", principalAttributes),
+            CoreAttributesTestUtils.getService(), registeredService);
+        assertFalse(result.containsKey("attr1"));
+        assertTrue(result.containsKey("username"));
+    }
+
     @Test
     public void verifyExternalGroovyAttributes() throws Exception {
         val file = new File(FileUtils.getTempDirectoryPath(), "script.groovy");
@@ -0,0 +1,53 @@
+package org.apereo.cas.authentication.principal;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.val;
+import org.apache.commons.lang3.tuple.Pair;
+
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * This is {@link CachingPersistentIdStore} that keeps recently used persistent identifiers
+ * in a local, size-bounded cache in front of another store. Persistent identifiers never
+ * change once stored, so cached entries need no invalidation and are only evicted by size.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+public class CachingPersistentIdStore implements PersistentIdStore {
+
+    private final PersistentIdStore delegate;
+
+    private final Cache<Pair<String, String>, String> cache;
+
+    public CachingPersistentIdStore(final PersistentIdStore delegate, final long maximumSize) {
+        this.delegate = delegate;
+        this.cache = Caffeine.newBuilder().maximumSize(maximumSize).build();
+    }
+
+    @Override
+    public Optional<String> find(final String principal, final String service) {
+        val key = Pair.of(principal, service);
+        val cached = this.cache.getIfPresent(key);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        val result = this.delegate.find(principal, service);
+        result.ifPresent(id -> this.cache.put(key, id));
+        return result;
+    }
+
+    @Override
+    public String store(final String principal, final String service, final String persistentId) {
+        val stored = this.delegate.store(principal, service, persistentId);
+        this.cache.put(Pair.of(principal, service), stored);
+        return stored;
+    }
+
+    @Override
+    public void storeAll(final String service, final Map<String, String> persistentIds) {
+        this.delegate.storeAll(service, persistentIds);
+    }
+}
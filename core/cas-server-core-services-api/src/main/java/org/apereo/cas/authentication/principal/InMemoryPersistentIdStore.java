@@ -0,0 +1,31 @@
+package org.apereo.cas.authentication.principal;
+
+import lombok.val;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * This is {@link InMemoryPersistentIdStore} that keeps persistent identifiers in memory.
+ * Identifiers do not survive restarts and are not shared with other nodes.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+public class InMemoryPersistentIdStore implements PersistentIdStore {
+
+    private final Map<String, Map<String, String>> persistentIds = new ConcurrentHashMap<>();
+
+    @Override
+    public Optional<String> find(final String principal, final String service) {
+        val ids = this.persistentIds.get(service);
+        return ids == null ? Optional.empty() : Optional.ofNullable(ids.get(principal));
+    }
+
+    @Override
+    public String store(final String principal, final String service, final String persistentId) {
+        val existing = this.persistentIds.computeIfAbsent(service, k -> new ConcurrentHashMap<>()).putIfAbsent(principal, persistentId);
+        return existing != null ? existing : persistentId;
+    }
+}
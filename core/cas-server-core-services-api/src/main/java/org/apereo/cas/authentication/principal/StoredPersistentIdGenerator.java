@@ -0,0 +1,115 @@
+package org.apereo.cas.authentication.principal;
+
+import org.apereo.cas.util.spring.ApplicationContextProvider;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Generates persistent ids once, via another generator, and keeps them in a {@link PersistentIdStore}.
+ * Later requests for the same principal and service are answered from the store. When no store is given,
+ * the store registered in the application context as {@link PersistentIdStore#BEAN_NAME} is used,
+ * which allows this generator to be defined as part of a registered service.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@Slf4j
+@Getter
+@Setter
+@NoArgsConstructor
+@EqualsAndHashCode(exclude = "store")
+@ToString(exclude = "store")
+public class StoredPersistentIdGenerator implements PersistentIdGenerator {
+
+    private static final long serialVersionUID = -2405785823479150371L;
+
+    @JsonProperty
+    private PersistentIdGenerator generator = new ShibbolethCompatiblePersistentIdGenerator();
+
+    @JsonIgnore
+    private transient PersistentIdStore store;
+
+    public StoredPersistentIdGenerator(final PersistentIdGenerator generator) {
+        this.generator = generator;
+    }
+
+    public StoredPersistentIdGenerator(final PersistentIdGenerator generator, final PersistentIdStore store) {
+        this.generator = generator;
+        this.store = store;
+    }
+
+    @Override
+    public String generate(final String principal, final String service) {
+        return findOrGenerate(principal, service, () -> this.generator.generate(principal, service));
+    }
+
+    @Override
+    public String generate(final Principal principal, final Service service) {
+        val serviceId = service != null ? service.getId() : null;
+        return findOrGenerate(principal.getId(), serviceId, () -> this.generator.generate(principal, service));
+    }
+
+    /**
+     * Generate and store persistent ids for many principals of a service ahead of time,
+     * such as when a service provider is onboarded. Principals that already have an id keep it.
+     *
+     * @param principals the principal ids
+     * @param service    the service
+     * @return the persistent ids, keyed by principal id
+     */
+    public Map<String, String> generateAll(final Collection<String> principals, final String service) {
+        val persistentIdStore = getPersistentIdStore();
+        val key = StringUtils.defaultString(service);
+        val generated = new LinkedHashMap<String, String>();
+        val results = new LinkedHashMap<String, String>();
+        principals.forEach(principal -> {
+            val existing = persistentIdStore.find(principal, key);
+            if (existing.isPresent()) {
+                results.put(principal, existing.get());
+            } else {
+                generated.put(principal, this.generator.generate(principal, service));
+            }
+        });
+        LOGGER.debug("Storing [{}] generated persistent ids for [{}]", generated.size(), service);
+        persistentIdStore.storeAll(key, generated);
+        results.putAll(generated);
+        return results;
+    }
+
+    private String findOrGenerate(final String principal, final String service, final Supplier<String> generate) {
+        val persistentIdStore = getPersistentIdStore();
+        val key = StringUtils.defaultString(service);
+        val existing = persistentIdStore.find(principal, key);
+        if (existing.isPresent()) {
+            LOGGER.trace("Found stored persistent id for [{}] and [{}]", principal, service);
+            return existing.get();
+        }
+        return persistentIdStore.store(principal, key, generate.get());
+    }
+
+    private PersistentIdStore getPersistentIdStore() {
+        if (this.store == null) {
+            val applicationContext = ApplicationContextProvider.getApplicationContext();
+            if (applicationContext == null || !applicationContext.containsBean(PersistentIdStore.BEAN_NAME)) {
+                LOGGER.trace("No persistent id store is available; persistent ids are not stored");
+                return PersistentIdStore.noOp();
+            }
+            this.store = applicationContext.getBean(PersistentIdStore.BEAN_NAME, PersistentIdStore.class);
+        }
+        return this.store;
+    }
+}
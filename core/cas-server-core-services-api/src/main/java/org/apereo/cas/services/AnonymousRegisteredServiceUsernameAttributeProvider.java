@@ -4,8 +4,10 @@ import org.apereo.cas.authentication.principal.PersistentIdGenerator;
 import org.apereo.cas.authentication.principal.Principal;
 import org.apereo.cas.authentication.principal.Service;
 import org.apereo.cas.authentication.principal.ShibbolethCompatiblePersistentIdGenerator;
+import org.apereo.cas.authentication.principal.StoredPersistentIdGenerator;
 
-import lombok.AllArgsConstructor;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AccessLevel;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -18,7 +20,8 @@ import org.apache.commons.lang3.RandomStringUtils;
  * Generates a persistent id as username for anonymous service access.
  * By default, the generation is handled by
  * {@link ShibbolethCompatiblePersistentIdGenerator}.
- * Generated ids are unique per service.
+ * Generated ids are unique per service, and are kept in the persistent id store
+ * if one is defined, so that they are only computed once per principal and service.
  *
  * @author Misagh Moayyed
  * @since 4.1.0
@@ -27,7 +30,6 @@ import org.apache.commons.lang3.RandomStringUtils;
 @NoArgsConstructor
 @EqualsAndHashCode(callSuper = true)
 @Getter
-@AllArgsConstructor
 @Setter
 public class AnonymousRegisteredServiceUsernameAttributeProvider extends BaseRegisteredServiceUsernameAttributeProvider {
 
@@ -38,10 +40,33 @@ public class AnonymousRegisteredServiceUsernameAttributeProvider extends BaseReg
      */
     private PersistentIdGenerator persistentIdGenerator = new ShibbolethCompatiblePersistentIdGenerator(RandomStringUtils.randomAlphanumeric(16));
 
+    @Setter(AccessLevel.NONE)
+    private transient StoredPersistentIdGenerator storedPersistentIdGenerator;
+
+    public AnonymousRegisteredServiceUsernameAttributeProvider(final PersistentIdGenerator persistentIdGenerator) {
+        this.persistentIdGenerator = persistentIdGenerator;
+    }
+
     @Override
     protected String resolveUsernameInternal(final Principal principal, final Service service, final RegisteredService registeredService) {
-        val id = this.persistentIdGenerator.generate(principal, service);
+        val id = getStoredPersistentIdGenerator().generate(principal, service);
         LOGGER.debug("Resolved username [{}] for anonymous access", id);
         return id;
     }
+
+    /**
+     * Gets the configured generator, backed by the persistent id store.
+     *
+     * @return the stored persistent id generator
+     */
+    @JsonIgnore
+    public StoredPersistentIdGenerator getStoredPersistentIdGenerator() {
+        if (this.persistentIdGenerator instanceof StoredPersistentIdGenerator) {
+            return (StoredPersistentIdGenerator) this.persistentIdGenerator;
+        }
+        if (this.storedPersistentIdGenerator == null || this.storedPersistentIdGenerator.getGenerator() != this.persistentIdGenerator) {
+            this.storedPersistentIdGenerator = new StoredPersistentIdGenerator(this.persistentIdGenerator);
+        }
+        return this.storedPersistentIdGenerator;
+    }
 }
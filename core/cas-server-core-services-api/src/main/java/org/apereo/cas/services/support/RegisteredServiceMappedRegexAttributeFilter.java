@@ -4,18 +4,24 @@ import org.apereo.cas.services.RegisteredServiceAttributeFilter;
 import org.apereo.cas.util.CollectionUtils;
 import org.apereo.cas.util.RegexUtils;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AccessLevel;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
+import org.apache.commons.lang3.tuple.Pair;
 
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -24,6 +30,7 @@ import java.util.stream.Collectors;
  * A filtering policy that selectively applies patterns to attributes mapped in the config.
  * If an attribute is mapped, it's only allowed to be released if it matches the linked pattern.
  * If an attribute is not mapped, it may optionally be excluded from the released set of attributes.
+ * Patterns are compiled once per mapped attribute and reused until the mapped definition changes.
  *
  * @author Misagh Moayyed
  * @since 5.1.0
@@ -47,6 +54,10 @@ public class RegisteredServiceMappedRegexAttributeFilter implements RegisteredSe
 
     private int order;
 
+    @JsonIgnore
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private transient Map<String, Pair<Object, Object>> compiledPatterns;
 
     public RegisteredServiceMappedRegexAttributeFilter(final Map<String, Object> patterns) {
         this.patterns = patterns;
@@ -60,7 +71,7 @@ public class RegisteredServiceMappedRegexAttributeFilter implements RegisteredSe
             if (patterns.containsKey(attributeName)) {
                 val attributeValues = CollectionUtils.toCollection(entry.getValue());
                 LOGGER.debug("Found attribute [{}] in pattern definitions with value(s) [{}]", attributeName, attributeValues);
-                val patterns = createPatternForMappedAttribute(attributeName);
+                val patterns = getCompiledPatterns(attributeName, this::createPatternForMappedAttribute);
                 patterns.forEach(pattern -> {
                     LOGGER.debug("Found attribute [{}] in the pattern definitions. Processing pattern [{}]", attributeName, pattern.pattern());
                     val filteredValues = filterAttributeValuesByPattern(attributeValues, pattern);
@@ -79,6 +90,50 @@ public class RegisteredServiceMappedRegexAttributeFilter implements RegisteredSe
         return attributesToRelease;
     }
 
+    /**
+     * Sets the patterns, discarding patterns compiled for the previous definitions.
+     *
+     * @param patterns the patterns
+     */
+    public void setPatterns(final Map<String, Object> patterns) {
+        this.patterns = patterns;
+        this.compiledPatterns = null;
+    }
+
+    /**
+     * Sets whether patterns are case insensitive, discarding patterns compiled with the previous setting.
+     *
+     * @param caseInsensitive the case insensitive
+     */
+    public void setCaseInsensitive(final boolean caseInsensitive) {
+        this.caseInsensitive = caseInsensitive;
+        this.compiledPatterns = null;
+    }
+
+    /**
+     * Gets the patterns compiled for the mapped attribute, compiling them only
+     * if they were not compiled yet or if the attribute definition has since changed.
+     *
+     * @param <T>           the type of compiled patterns
+     * @param attributeName the attribute name
+     * @param compiler      compiles the patterns for the attribute
+     * @return the compiled patterns
+     */
+    protected <T> T getCompiledPatterns(final String attributeName, final Function<String, T> compiler) {
+        var compiled = this.compiledPatterns;
+        if (compiled == null) {
+            compiled = new ConcurrentHashMap<>();
+            this.compiledPatterns = compiled;
+        }
+        val definition = patterns.get(attributeName);
+        var entry = compiled.get(attributeName);
+        if (entry == null || !Objects.equals(entry.getKey(), definition)) {
+            entry = Pair.of(definition, compiler.apply(attributeName));
+            compiled.put(attributeName, entry);
+        }
+        return (T) entry.getValue();
+    }
+
     /**
      * Handle unmapped attribute.
      *
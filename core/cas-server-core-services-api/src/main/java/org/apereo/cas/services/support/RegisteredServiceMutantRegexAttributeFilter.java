@@ -38,7 +38,7 @@ public class RegisteredServiceMutantRegexAttributeFilter extends RegisteredServi
             if (getPatterns().containsKey(attributeName)) {
                 val attributeValues = CollectionUtils.toCollection(entry.getValue());
                 LOGGER.debug("Found attribute [{}] in pattern definitions with value(s) [{}]", attributeName, attributeValues);
-                val patterns = createPatternsAndReturnValue(attributeName);
+                val patterns = getCompiledPatterns(attributeName, this::createPatternsAndReturnValue);
                 var finalValues = patterns
                     .stream()
                     .map(patternDefinition -> {
@@ -4,20 +4,29 @@ import org.apereo.cas.CasViewConstants;
 import org.apereo.cas.CipherExecutor;
 import org.apereo.cas.services.RegisteredService;
 import org.apereo.cas.services.RegisteredServiceCipherExecutor;
+import org.apereo.cas.services.RegisteredServicePublicKey;
 import org.apereo.cas.services.ServicesManager;
 import org.apereo.cas.services.util.RegisteredServicePublicKeyCipherExecutor;
+import org.apereo.cas.support.events.service.CasRegisteredServicesRefreshEvent;
+import org.apereo.cas.support.events.ticket.CasTicketGrantingTicketDestroyedEvent;
 import org.apereo.cas.util.CollectionUtils;
+import org.apereo.cas.util.DigestUtils;
 import org.apereo.cas.util.EncodingUtils;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.google.common.base.Predicates;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.tuple.Pair;
+import org.springframework.context.event.EventListener;
 
 import java.nio.charset.StandardCharsets;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
@@ -27,14 +36,34 @@ import java.util.stream.Collectors;
  * to encrypt the credential password and PGT
  * when available. All other attributes remain in
  * place.
+ * <p>
+ * The encrypted credential is the same for every validation
+ * of a given single sign-on session, so it may be remembered
+ * per session and service for as long as the session can live, which avoids
+ * repeating the public key operation on each validation. Remembered values are tied
+ * to the fingerprint of the service public key, and are forgotten once the
+ * ticket-granting ticket is destroyed. Only the credential is remembered; other attributes
+ * are cheap to encode, and the proxy-granting ticket differs for each validation.
+ * Fingerprints are remembered per service and key location for a few minutes, or until
+ * registered services are reloaded, so the public key is not loaded on each validation either.
  *
  * @author Misagh Moayyed
  * @since 4.1
  */
 @Slf4j
 public class DefaultCasProtocolAttributeEncoder extends AbstractProtocolAttributeEncoder {
+    private static final long ENCODED_CREDENTIAL_CACHE_MAXIMUM_SIZE = 10_000;
+
+    private static final long PUBLIC_KEY_FINGERPRINT_CACHE_MAXIMUM_SIZE = 10_000;
+
+    private static final long PUBLIC_KEY_FINGERPRINT_CACHE_DURATION_MINUTES = 5;
+
     private final CipherExecutor<String, String> cacheCredentialCipherExecutor;
 
+    private final Cache<String, Map<String, String>> encodedCredentialCache;
+
+    private final Cache<String, String> publicKeyFingerprintCache;
+
     /**
      * Instantiates a new Default cas attribute encoder.
      *
@@ -56,8 +85,36 @@ public class DefaultCasProtocolAttributeEncoder extends AbstractProtocolAttribut
     public DefaultCasProtocolAttributeEncoder(final ServicesManager servicesManager,
                                               final RegisteredServiceCipherExecutor cipherExecutor,
                                               final CipherExecutor<String, String> cacheCredentialCipherExecutor) {
+        this(servicesManager, cipherExecutor, cacheCredentialCipherExecutor, 0);
+    }
+
+    /**
+     * Instantiates a new Default cas attribute encoder.
+     *
+     * @param servicesManager                      the services manager
+     * @param cipherExecutor                       the cipher executor
+     * @param cacheCredentialCipherExecutor        the cache credential cipher executor
+     * @param encodedCredentialTimeToLiveInSeconds how long encrypted credentials are remembered, typically
+     *                                             the lifetime of the ticket-granting ticket; zero disables it
+     */
+    public DefaultCasProtocolAttributeEncoder(final ServicesManager servicesManager,
+                                              final RegisteredServiceCipherExecutor cipherExecutor,
+                                              final CipherExecutor<String, String> cacheCredentialCipherExecutor,
+                                              final long encodedCredentialTimeToLiveInSeconds) {
         super(servicesManager, cipherExecutor);
         this.cacheCredentialCipherExecutor = cacheCredentialCipherExecutor;
+        this.encodedCredentialCache = encodedCredentialTimeToLiveInSeconds > 0
+            ? Caffeine.newBuilder()
+            .maximumSize(ENCODED_CREDENTIAL_CACHE_MAXIMUM_SIZE)
+            .expireAfterWrite(encodedCredentialTimeToLiveInSeconds, TimeUnit.SECONDS)
+            .build()
+            : null;
+        this.publicKeyFingerprintCache = encodedCredentialTimeToLiveInSeconds > 0
+            ? Caffeine.newBuilder()
+            .maximumSize(PUBLIC_KEY_FINGERPRINT_CACHE_MAXIMUM_SIZE)
+            .expireAfterWrite(PUBLIC_KEY_FINGERPRINT_CACHE_DURATION_MINUTES, TimeUnit.MINUTES)
+            .build()
+            : null;
     }
 
     private static void sanitizeAndTransformAttributeNames(final Map<String, Object> attributes,
@@ -112,7 +169,8 @@ public class DefaultCasProtocolAttributeEncoder extends AbstractProtocolAttribut
      * Encode and encrypt credential password using the public key
      * supplied by the service. The result is base64 encoded
      * and put into the attributes collection again, overwriting
-     * the previous value.
+     * the previous value. Results are remembered per cached credential,
+     * service and public key, when enabled.
      *
      * @param attributes               the attributes
      * @param cachedAttributesToEncode the cached attributes to encode
@@ -124,18 +182,94 @@ public class DefaultCasProtocolAttributeEncoder extends AbstractProtocolAttribut
                                                       final RegisteredServiceCipherExecutor cipher,
                                                       final RegisteredService registeredService) {
 
-        if (cachedAttributesToEncode.containsKey(CasViewConstants.MODEL_ATTRIBUTE_NAME_PRINCIPAL_CREDENTIAL)) {
-            val value = cachedAttributesToEncode.get(CasViewConstants.MODEL_ATTRIBUTE_NAME_PRINCIPAL_CREDENTIAL);
-            val decodedValue = this.cacheCredentialCipherExecutor.decode(value, new Object[]{});
-            cachedAttributesToEncode.remove(CasViewConstants.MODEL_ATTRIBUTE_NAME_PRINCIPAL_CREDENTIAL);
-            if (StringUtils.isNotBlank(decodedValue)) {
-                cachedAttributesToEncode.put(CasViewConstants.MODEL_ATTRIBUTE_NAME_PRINCIPAL_CREDENTIAL, decodedValue);
-            }
+        val cachedAttributeName = CasViewConstants.MODEL_ATTRIBUTE_NAME_PRINCIPAL_CREDENTIAL;
+        val cachedAttribute = cachedAttributesToEncode.remove(cachedAttributeName);
+        if (StringUtils.isBlank(cachedAttribute)) {
+            LOGGER.debug("[{}] is not available as a cached model attribute to encrypt...", cachedAttributeName);
+            return;
         }
+        val publicKeyFingerprint = this.encodedCredentialCache != null ? getPublicKeyFingerprint(registeredService) : null;
+        if (publicKeyFingerprint == null) {
+            putEncodedValueIntoAttributesMap(attributes, cachedAttributeName,
+                encodeAndEncryptCredentialPassword(cachedAttribute, cipher, registeredService));
+            return;
+        }
+        val encodedCredentials = this.encodedCredentialCache.get(DigestUtils.sha256(cachedAttribute), k -> new ConcurrentHashMap<>());
+        val encodedValue = encodedCredentials.computeIfAbsent(registeredService.getId() + "|" + publicKeyFingerprint,
+            k -> encodeAndEncryptCredentialPassword(cachedAttribute, cipher, registeredService));
+        putEncodedValueIntoAttributesMap(attributes, cachedAttributeName, encodedValue);
+    }
 
-        encryptAndEncodeAndPutIntoAttributesMap(attributes, cachedAttributesToEncode,
-            CasViewConstants.MODEL_ATTRIBUTE_NAME_PRINCIPAL_CREDENTIAL,
-            cipher, registeredService);
+    /**
+     * Forget the credentials encrypted for the single sign-on session, once its ticket-granting ticket is destroyed.
+     *
+     * @param event the event
+     */
+    @EventListener
+    public void handleTicketGrantingTicketDestroyedEvent(final CasTicketGrantingTicketDestroyedEvent event) {
+        if (this.encodedCredentialCache == null || event.getTicketGrantingTicket() == null) {
+            return;
+        }
+        val authentication = event.getTicketGrantingTicket().getAuthentication();
+        val credential = authentication.getAttributes().get(CasViewConstants.MODEL_ATTRIBUTE_NAME_PRINCIPAL_CREDENTIAL);
+        CollectionUtils.toCollection(credential)
+            .stream()
+            .findFirst()
+            .ifPresent(value -> {
+                LOGGER.trace("Removing encrypted credentials of [{}]", event.getTicketGrantingTicket().getId());
+                this.encodedCredentialCache.invalidate(DigestUtils.sha256(value.toString()));
+            });
+    }
+
+    /**
+     * Forget the public key fingerprints of services, once registered services are reloaded.
+     *
+     * @param event the event
+     */
+    @EventListener
+    public void handleRegisteredServicesRefreshEvent(final CasRegisteredServicesRefreshEvent event) {
+        if (this.publicKeyFingerprintCache != null) {
+            LOGGER.trace("Removing public key fingerprints of registered services");
+            this.publicKeyFingerprintCache.invalidateAll();
+        }
+    }
+
+    /**
+     * Gets a fingerprint of the public key of the service, so that remembered values
+     * are not used once the key behind the same location changes. Fingerprints are remembered
+     * per service and key location; keys that cannot be loaded are tried again on the next call.
+     *
+     * @param registeredService the registered service
+     * @return the fingerprint, which is empty if the service has no public key, or null if the key cannot be loaded
+     */
+    private String getPublicKeyFingerprint(final RegisteredService registeredService) {
+        val publicKey = registeredService.getPublicKey();
+        if (publicKey == null) {
+            return StringUtils.EMPTY;
+        }
+        val key = registeredService.getId() + "|" + publicKey.getLocation() + "|" + publicKey.getAlgorithm();
+        return this.publicKeyFingerprintCache.get(key, k -> loadPublicKeyFingerprint(registeredService, publicKey));
+    }
+
+    private static String loadPublicKeyFingerprint(final RegisteredService registeredService, final RegisteredServicePublicKey publicKey) {
+        try {
+            val instance = publicKey.createInstance();
+            return instance != null ? DigestUtils.sha256(EncodingUtils.encodeBase64(instance.getEncoded())) : null;
+        } catch (final Exception e) {
+            LOGGER.debug("Unable to load the public key of [{}]: [{}]", registeredService.getName(), e.getMessage());
+            return null;
+        }
+    }
+
+    private String encodeAndEncryptCredentialPassword(final String cachedAttribute,
+                                                      final RegisteredServiceCipherExecutor cipher,
+                                                      final RegisteredService registeredService) {
+        val decodedValue = this.cacheCredentialCipherExecutor.decode(cachedAttribute, new Object[]{});
+        if (StringUtils.isBlank(decodedValue)) {
+            return null;
+        }
+        LOGGER.debug("Encrypting [{}] for [{}]", CasViewConstants.MODEL_ATTRIBUTE_NAME_PRINCIPAL_CREDENTIAL, registeredService);
+        return StringUtils.defaultIfBlank(cipher.encode(decodedValue, Optional.of(registeredService)), null);
     }
 
     /**
@@ -172,17 +306,23 @@ public class DefaultCasProtocolAttributeEncoder extends AbstractProtocolAttribut
         if (StringUtils.isNotBlank(cachedAttribute)) {
             LOGGER.debug("Retrieved [{}] as a cached model attribute...", cachedAttributeName);
             val encodedValue = cipher.encode(cachedAttribute, Optional.of(registeredService));
-            if (StringUtils.isNotBlank(encodedValue)) {
-                attributes.put(cachedAttributeName, encodedValue);
-                LOGGER.debug("Encrypted and encoded [{}] as an attribute to [{}].", cachedAttributeName, encodedValue);
-            } else {
-                LOGGER.warn("Attribute [{}] cannot be encoded and is removed from the collection of attributes", cachedAttributeName);
-            }
+            putEncodedValueIntoAttributesMap(attributes, cachedAttributeName, encodedValue);
         } else {
             LOGGER.debug("[{}] is not available as a cached model attribute to encrypt...", cachedAttributeName);
         }
     }
 
+    private static void putEncodedValueIntoAttributesMap(final Map<String, Object> attributes,
+                                                         final String cachedAttributeName,
+                                                         final String encodedValue) {
+        if (StringUtils.isNotBlank(encodedValue)) {
+            attributes.put(cachedAttributeName, encodedValue);
+            LOGGER.debug("Encrypted and encoded [{}] as an attribute to [{}].", cachedAttributeName, encodedValue);
+        } else {
+            LOGGER.warn("Attribute [{}] cannot be encoded and is removed from the collection of attributes", cachedAttributeName);
+        }
+    }
+
     @Override
     protected void encodeAttributesInternal(final Map<String, Object> attributes,
                                             final Map<String, String> cachedAttributesToEncode,
@@ -1,17 +1,27 @@
 package org.apereo.cas.authentication.support;
 
+import org.apereo.cas.CasViewConstants;
 import org.apereo.cas.CipherExecutor;
+import org.apereo.cas.authentication.Authentication;
 import org.apereo.cas.authentication.ProtocolAttributeEncoder;
 import org.apereo.cas.services.DefaultRegisteredServiceAccessStrategy;
 import org.apereo.cas.services.RegisteredService;
+import org.apereo.cas.services.RegisteredServiceCipherExecutor;
+import org.apereo.cas.services.RegisteredServicePublicKey;
 import org.apereo.cas.services.ServicesManager;
+import org.apereo.cas.support.events.service.CasRegisteredServicesRefreshEvent;
+import org.apereo.cas.support.events.ticket.CasTicketGrantingTicketDestroyedEvent;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.util.CollectionUtils;
 
 import lombok.val;
 import org.junit.Before;
 import org.junit.Test;
 
 import java.nio.charset.StandardCharsets;
+import java.security.PublicKey;
 import java.util.LinkedHashMap;
+import java.util.Optional;
 
 import static org.junit.Assert.*;
 import static org.mockito.Mockito.*;
@@ -53,4 +63,91 @@ public class DefaultCasProtocolAttributeEncoderTests {
         val user = results.get("user");
         assertTrue(user.getClass().isAssignableFrom(String.class));
     }
+
+    @Test
+    public void verifyEncryptedCredentialIsReusedPerService() {
+        val cipher = mock(RegisteredServiceCipherExecutor.class);
+        when(cipher.encode(eq("password"), any(Optional.class))).thenReturn("encrypted");
+        val cachingEncoder = new DefaultCasProtocolAttributeEncoder(mock(ServicesManager.class), cipher,
+            CipherExecutor.noOpOfStringToString(), 60);
+
+        for (var i = 0; i < 3; i++) {
+            val attributes = new LinkedHashMap<String, Object>();
+            attributes.put(CasViewConstants.MODEL_ATTRIBUTE_NAME_PRINCIPAL_CREDENTIAL, CollectionUtils.wrapList("password"));
+            val results = cachingEncoder.encodeAttributes(attributes, registeredService);
+            assertEquals("encrypted", results.get(CasViewConstants.MODEL_ATTRIBUTE_NAME_PRINCIPAL_CREDENTIAL));
+        }
+        verify(cipher, times(1)).encode(eq("password"), any(Optional.class));
+
+        val otherService = mock(RegisteredService.class);
+        when(otherService.getId()).thenReturn(2L);
+        when(otherService.getAccessStrategy()).thenReturn(new DefaultRegisteredServiceAccessStrategy());
+        val attributes = new LinkedHashMap<String, Object>();
+        attributes.put(CasViewConstants.MODEL_ATTRIBUTE_NAME_PRINCIPAL_CREDENTIAL, CollectionUtils.wrapList("password"));
+        cachingEncoder.encodeAttributes(attributes, otherService);
+        verify(cipher, times(2)).encode(eq("password"), any(Optional.class));
+    }
+
+    @Test
+    public void verifyEncryptedCredentialFollowsPublicKey() {
+        val cipher = mock(RegisteredServiceCipherExecutor.class);
+        when(cipher.encode(eq("password"), any(Optional.class))).thenReturn("encrypted");
+        val cachingEncoder = new DefaultCasProtocolAttributeEncoder(mock(ServicesManager.class), cipher,
+            CipherExecutor.noOpOfStringToString(), 60);
+
+        val key = mock(PublicKey.class);
+        when(key.getEncoded()).thenReturn("key-1".getBytes(StandardCharsets.UTF_8));
+        val publicKey = mock(RegisteredServicePublicKey.class);
+        when(publicKey.getLocation()).thenReturn("classpath:key-1.pem");
+        when(publicKey.createInstance()).thenReturn(key);
+        when(registeredService.getPublicKey()).thenReturn(publicKey);
+
+        encodeCredential(cachingEncoder);
+        encodeCredential(cachingEncoder);
+        verify(cipher, times(1)).encode(eq("password"), any(Optional.class));
+        verify(publicKey, times(1)).createInstance();
+
+        when(key.getEncoded()).thenReturn("key-2".getBytes(StandardCharsets.UTF_8));
+        encodeCredential(cachingEncoder);
+        verify(cipher, times(1)).encode(eq("password"), any(Optional.class));
+
+        cachingEncoder.handleRegisteredServicesRefreshEvent(new CasRegisteredServicesRefreshEvent(this));
+        encodeCredential(cachingEncoder);
+        verify(cipher, times(2)).encode(eq("password"), any(Optional.class));
+        verify(publicKey, times(2)).createInstance();
+
+        when(key.getEncoded()).thenReturn("key-3".getBytes(StandardCharsets.UTF_8));
+        when(publicKey.getLocation()).thenReturn("classpath:key-3.pem");
+        encodeCredential(cachingEncoder);
+        verify(cipher, times(3)).encode(eq("password"), any(Optional.class));
+    }
+
+    @Test
+    public void verifyEncryptedCredentialIsForgottenWithSession() {
+        val cipher = mock(RegisteredServiceCipherExecutor.class);
+        when(cipher.encode(eq("password"), any(Optional.class))).thenReturn("encrypted");
+        val cachingEncoder = new DefaultCasProtocolAttributeEncoder(mock(ServicesManager.class), cipher,
+            CipherExecutor.noOpOfStringToString(), 60);
+
+        encodeCredential(cachingEncoder);
+        encodeCredential(cachingEncoder);
+        verify(cipher, times(1)).encode(eq("password"), any(Optional.class));
+
+        val authentication = mock(Authentication.class);
+        when(authentication.getAttributes()).thenReturn(CollectionUtils.wrap(CasViewConstants.MODEL_ATTRIBUTE_NAME_PRINCIPAL_CREDENTIAL, "password"));
+        val tgt = mock(TicketGrantingTicket.class);
+        when(tgt.getId()).thenReturn("TGT-1");
+        when(tgt.getAuthentication()).thenReturn(authentication);
+        cachingEncoder.handleTicketGrantingTicketDestroyedEvent(new CasTicketGrantingTicketDestroyedEvent(this, tgt));
+
+        encodeCredential(cachingEncoder);
+        verify(cipher, times(2)).encode(eq("password"), any(Optional.class));
+    }
+
+    private void encodeCredential(final ProtocolAttributeEncoder cachingEncoder) {
+        val attributes = new LinkedHashMap<String, Object>();
+        attributes.put(CasViewConstants.MODEL_ATTRIBUTE_NAME_PRINCIPAL_CREDENTIAL, CollectionUtils.wrapList("password"));
+        val results = cachingEncoder.encodeAttributes(attributes, registeredService);
+        assertEquals("encrypted", results.get(CasViewConstants.MODEL_ATTRIBUTE_NAME_PRINCIPAL_CREDENTIAL));
+    }
 }
@@ -27,6 +27,9 @@ import org.springframework.context.annotation.Configuration;
 @EnableConfigurationProperties(CasConfigurationProperties.class)
 public class CasCoreServicesAuthenticationConfiguration {
 
+    @Autowired
+    private CasConfigurationProperties casProperties;
+
     @Autowired
     @Qualifier("servicesManager")
     private ObjectProvider<ServicesManager> servicesManager;
@@ -50,6 +53,7 @@ public class CasCoreServicesAuthenticationConfiguration {
     public ProtocolAttributeEncoder casAttributeEncoder() {
         return new DefaultCasProtocolAttributeEncoder(servicesManager.getIfAvailable(),
             registeredServiceCipherExecutor.getIfAvailable(),
-            cacheCredentialsCipherExecutor.getIfAvailable());
+            cacheCredentialsCipherExecutor.getIfAvailable(),
+            casProperties.getTicket().getTgt().getMaxTimeToLiveInSeconds());
     }
 }
@@ -4,7 +4,9 @@ import org.apereo.cas.audit.AuditableExecution;
 import org.apereo.cas.authentication.DefaultMultifactorTriggerSelectionStrategy;
 import org.apereo.cas.authentication.MultifactorTriggerSelectionStrategy;
 import org.apereo.cas.authentication.principal.DefaultWebApplicationResponseBuilderLocator;
+import org.apereo.cas.authentication.principal.InMemoryPersistentIdStore;
 import org.apereo.cas.authentication.principal.PersistentIdGenerator;
+import org.apereo.cas.authentication.principal.PersistentIdStore;
 import org.apereo.cas.authentication.principal.ResponseBuilder;
 import org.apereo.cas.authentication.principal.ResponseBuilderLocator;
 import org.apereo.cas.authentication.principal.ShibbolethCompatiblePersistentIdGenerator;
@@ -91,6 +93,15 @@ public class CasCoreServicesConfiguration {
         return new ShibbolethCompatiblePersistentIdGenerator();
     }
 
+    @ConditionalOnMissingBean(name = PersistentIdStore.BEAN_NAME)
+    @Bean
+    public PersistentIdStore persistentIdStore() {
+        if (casProperties.getPersistentId().isInMemory()) {
+            return new InMemoryPersistentIdStore();
+        }
+        return PersistentIdStore.noOp();
+    }
+
     @ConditionalOnMissingBean(name = "webApplicationResponseBuilderLocator")
     @Bean
     public ResponseBuilderLocator webApplicationResponseBuilderLocator() {
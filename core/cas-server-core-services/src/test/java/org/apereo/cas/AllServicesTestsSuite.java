@@ -6,6 +6,7 @@ import org.apereo.cas.authentication.handler.support.HttpBasedServiceCredentials
 import org.apereo.cas.authentication.principal.ResponseTests;
 import org.apereo.cas.authentication.principal.ShibbolethCompatiblePersistentIdGeneratorTests;
 import org.apereo.cas.authentication.principal.SimpleWebApplicationServiceImplTests;
+import org.apereo.cas.authentication.principal.StoredPersistentIdGeneratorTests;
 import org.apereo.cas.authentication.principal.WebApplicationServiceFactoryTests;
 import org.apereo.cas.services.AnonymousRegisteredServiceUsernameAttributeProviderTests;
 import org.apereo.cas.services.DefaultRegisteredServiceAccessStrategyTests;
@@ -70,6 +71,7 @@ import org.junit.runners.Suite;
     ScriptedRegisteredServiceUsernameProviderTests.class,
     RemoteEndpointServiceAccessStrategyTests.class,
     ShibbolethCompatiblePersistentIdGeneratorTests.class,
+    StoredPersistentIdGeneratorTests.class,
     SimpleWebApplicationServiceImplTests.class,
     WebApplicationServiceFactoryTests.class,
     UnauthorizedProxyingExceptionTests.class,
@@ -0,0 +1,81 @@
+package org.apereo.cas.authentication.principal;
+
+import org.apereo.cas.services.RegisteredServiceTestUtils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.val;
+import org.apache.commons.io.FileUtils;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * This is {@link StoredPersistentIdGeneratorTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+public class StoredPersistentIdGeneratorTests {
+
+    private static final File JSON_FILE = new File(FileUtils.getTempDirectoryPath(), "storedPersistentIdGenerator.json");
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Test
+    public void verifyStoredIdSurvivesSaltChange() {
+        val store = new InMemoryPersistentIdStore();
+        val service = RegisteredServiceTestUtils.getService();
+        val principal = RegisteredServiceTestUtils.getPrincipal("casuser");
+
+        val first = new StoredPersistentIdGenerator(new ShibbolethCompatiblePersistentIdGenerator("salt"), store)
+            .generate(principal, service);
+        val second = new StoredPersistentIdGenerator(new ShibbolethCompatiblePersistentIdGenerator("another-salt"), store)
+            .generate(principal, service);
+        assertEquals(first, second);
+        assertEquals(first, store.find("casuser", service.getId()).get());
+    }
+
+    @Test
+    public void verifyCachedStoreAvoidsLookups() {
+        val delegate = spy(new InMemoryPersistentIdStore());
+        val generator = new StoredPersistentIdGenerator(new ShibbolethCompatiblePersistentIdGenerator("salt"),
+            new CachingPersistentIdStore(delegate, 10));
+
+        val value = generator.generate("casuser", "https://example.org");
+        assertEquals(value, generator.generate("casuser", "https://example.org"));
+        verify(delegate, times(1)).find("casuser", "https://example.org");
+        verify(delegate, times(1)).store(anyString(), anyString(), anyString());
+    }
+
+    @Test
+    public void verifyGenerateAllKeepsExistingIds() {
+        val store = new InMemoryPersistentIdStore();
+        store.store("casuser", "https://example.org", "existing");
+        val generator = new StoredPersistentIdGenerator(new ShibbolethCompatiblePersistentIdGenerator("salt"), store);
+
+        val results = generator.generateAll(Arrays.asList("casuser", "casadmin"), "https://example.org");
+        assertEquals(2, results.size());
+        assertEquals("existing", results.get("casuser"));
+        assertEquals(results.get("casadmin"), store.find("casadmin", "https://example.org").get());
+    }
+
+    @Test
+    public void verifyGeneratorWithoutStore() {
+        val generator = new StoredPersistentIdGenerator(new ShibbolethCompatiblePersistentIdGenerator("salt"));
+        val p = mock(Principal.class);
+        when(p.getId()).thenReturn("casuser");
+        assertNotNull(generator.generate(p, null));
+    }
+
+    @Test
+    public void verifySerializeToJson() throws IOException {
+        val generatorWritten = new StoredPersistentIdGenerator(new ShibbolethCompatiblePersistentIdGenerator("salt"));
+        MAPPER.writeValue(JSON_FILE, generatorWritten);
+        val generatorRead = MAPPER.readValue(JSON_FILE, StoredPersistentIdGenerator.class);
+        assertEquals(generatorWritten, generatorRead);
+    }
+}
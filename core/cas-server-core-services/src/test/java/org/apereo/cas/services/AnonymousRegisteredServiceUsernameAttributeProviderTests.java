@@ -1,6 +1,7 @@
 package org.apereo.cas.services;
 
 import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
+import org.apereo.cas.authentication.principal.InMemoryPersistentIdStore;
 import org.apereo.cas.authentication.principal.Principal;
 import org.apereo.cas.authentication.principal.Service;
 import org.apereo.cas.authentication.principal.ShibbolethCompatiblePersistentIdGenerator;
@@ -40,6 +41,19 @@ public class AnonymousRegisteredServiceUsernameAttributeProviderTests {
         assertNotNull(id);
     }
 
+    @Test
+    public void verifyUsernameIsStored() {
+        val store = new InMemoryPersistentIdStore();
+        val provider = new AnonymousRegisteredServiceUsernameAttributeProvider(
+            new ShibbolethCompatiblePersistentIdGenerator(CASROX));
+        provider.getStoredPersistentIdGenerator().setStore(store);
+
+        val service = CoreAuthenticationTestUtils.getService("https://cas.example.org/app");
+        val id = provider.resolveUsername(CoreAuthenticationTestUtils.getPrincipal("casuser"),
+            service, RegisteredServiceTestUtils.getRegisteredService("id"));
+        assertEquals(id, store.find("casuser", service.getId()).get());
+    }
+
     @Test
     public void verifyEquality() {
         val provider = new AnonymousRegisteredServiceUsernameAttributeProvider(
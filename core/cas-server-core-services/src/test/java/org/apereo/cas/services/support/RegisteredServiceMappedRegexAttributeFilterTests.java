@@ -97,6 +97,18 @@ public class RegisteredServiceMappedRegexAttributeFilterTests {
         assertFalse(attrs.containsKey("memberOf"));
     }
 
+    @Test
+    public void verifyPatternIsRecompiledWhenDefinitionChanges() {
+        val patterns = new HashMap<String, Object>();
+        patterns.put("memberOf", "^m");
+        this.filter.setPatterns(patterns);
+        assertEquals(2, CollectionUtils.toCollection(this.filter.filter(this.givenAttributesMap).get("memberOf")).size());
+        assertEquals(2, CollectionUtils.toCollection(this.filter.filter(this.givenAttributesMap).get("memberOf")).size());
+
+        patterns.put("memberOf", "^s");
+        assertEquals(1, CollectionUtils.toCollection(this.filter.filter(this.givenAttributesMap).get("memberOf")).size());
+    }
+
     @Test
     public void verifySerialization() {
         val data = SerializationUtils.serialize(this.filter);
@@ -16,6 +16,7 @@ import javax.persistence.Column;
 import javax.persistence.Id;
 import javax.persistence.Lob;
 import javax.persistence.MappedSuperclass;
+import javax.persistence.Version;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 
@@ -95,6 +96,16 @@ public abstract class AbstractTicket implements Ticket, TicketState {
     @Column(name = "EXPIRED", nullable = false)
     private Boolean expired = Boolean.FALSE;
 
+    /**
+     * Version of the stored ticket, used to detect concurrent modifications
+     * by ticket registries that support optimistic locking.
+     */
+    @Version
+    @Column(name = "TICKET_VERSION", columnDefinition = "integer DEFAULT 0", nullable = false)
+    @JsonIgnore
+    @Getter
+    private Long version = 0L;
+
 
     public AbstractTicket(final String id, final ExpirationPolicy expirationPolicy) {
         this.id = id;
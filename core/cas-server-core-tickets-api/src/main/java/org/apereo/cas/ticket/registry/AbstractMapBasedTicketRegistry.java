@@ -1,7 +1,9 @@
 package org.apereo.cas.ticket.registry;
 
 import org.apereo.cas.CipherExecutor;
+import org.apereo.cas.ticket.ServiceTicket;
 import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketGrantingTicket;
 
 import lombok.NoArgsConstructor;
 import lombok.NonNull;
@@ -11,6 +13,7 @@ import org.apache.commons.lang3.StringUtils;
 
 import java.util.Collection;
 import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Predicate;
 
 /**
@@ -23,6 +26,16 @@ import java.util.function.Predicate;
 @NoArgsConstructor
 public abstract class AbstractMapBasedTicketRegistry extends AbstractTicketRegistry {
 
+    /**
+     * Number of ticket-granting tickets, maintained as tickets are added and removed.
+     */
+    private final LongAdder sessionCounter = new LongAdder();
+
+    /**
+     * Number of service tickets, maintained as tickets are added and removed.
+     */
+    private final LongAdder serviceTicketCounter = new LongAdder();
+
     /**
      * Creates a new, empty registry with the cipher.
      *
@@ -36,7 +49,9 @@ public abstract class AbstractMapBasedTicketRegistry extends AbstractTicketRegis
     public void addTicket(@NonNull final Ticket ticket) {
         val encTicket = encodeTicket(ticket);
         LOGGER.debug("Added ticket [{}] to registry.", ticket.getId());
-        getMapInstance().put(encTicket.getId(), encTicket);
+        if (getMapInstance().put(encTicket.getId(), encTicket) == null) {
+            updateTicketCounters(ticket, 1);
+        }
     }
 
     @Override
@@ -66,13 +81,35 @@ public abstract class AbstractMapBasedTicketRegistry extends AbstractTicketRegis
         if (StringUtils.isBlank(encTicketId)) {
             return false;
         }
-        return getMapInstance().remove(encTicketId) != null;
+        val removed = getMapInstance().remove(encTicketId);
+        if (removed == null) {
+            return false;
+        }
+        updateTicketCounters(decodeTicket(removed), -1);
+        return true;
+    }
+
+    @Override
+    protected Ticket removeSingleTicket(final String ticketId) {
+        val encTicketId = encodeTicketId(ticketId);
+        if (StringUtils.isBlank(encTicketId)) {
+            return null;
+        }
+        val removed = getMapInstance().remove(encTicketId);
+        if (removed == null) {
+            return null;
+        }
+        val ticket = decodeTicket(removed);
+        updateTicketCounters(ticket, -1);
+        return ticket;
     }
 
     @Override
     public long deleteAll() {
         val size = getMapInstance().size();
         getMapInstance().clear();
+        this.sessionCounter.reset();
+        this.serviceTicketCounter.reset();
         return size;
     }
 
@@ -87,6 +124,31 @@ public abstract class AbstractMapBasedTicketRegistry extends AbstractTicketRegis
         return ticket;
     }
 
+    @Override
+    public long sessionCount() {
+        return this.sessionCounter.sum();
+    }
+
+    @Override
+    public long serviceTicketCount() {
+        return this.serviceTicketCounter.sum();
+    }
+
+    /**
+     * Update the ticket counters for a ticket that was added to or removed from the map.
+     * Subclasses whose maps may evict entries on their own must call this on eviction.
+     *
+     * @param ticket the ticket, decoded
+     * @param delta  the delta
+     */
+    protected void updateTicketCounters(final Ticket ticket, final int delta) {
+        if (ticket instanceof TicketGrantingTicket) {
+            this.sessionCounter.add(delta);
+        } else if (ticket instanceof ServiceTicket) {
+            this.serviceTicketCounter.add(delta);
+        }
+    }
+
     /**
      * Create map instance, which must ben created during initialization phases
      * and always be the same instance.
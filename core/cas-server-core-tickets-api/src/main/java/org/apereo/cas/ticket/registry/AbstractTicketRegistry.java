@@ -19,10 +19,8 @@ import org.apache.commons.lang3.StringUtils;
 
 import java.util.Collection;
 import java.util.LinkedHashSet;
-import java.util.Set;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 /**
  * @author Scott Battaglia
@@ -91,15 +89,81 @@ public abstract class AbstractTicketRegistry implements TicketRegistry {
 
     @Override
     public int deleteTicket(final String ticketId) {
-        val count = new AtomicInteger(0);
         if (StringUtils.isBlank(ticketId)) {
-            return count.intValue();
+            return 0;
         }
         val ticket = getTicket(ticketId);
         if (ticket == null) {
             LOGGER.debug("Ticket [{}] could not be fetched from the registry; it may have been expired and deleted.", ticketId);
-            return count.intValue();
+            return 0;
+        }
+        return deleteTicket(ticket);
+    }
+
+    @Override
+    public boolean consumeTicket(final String ticketId) {
+        if (StringUtils.isBlank(ticketId)) {
+            return false;
+        }
+        LOGGER.debug("Consuming ticket [{}] from the registry.", ticketId);
+        return deleteSingleTicket(ticketId);
+    }
+
+    @Override
+    public <T extends Ticket> T consumeTicket(final String ticketId, final Class<T> clazz) {
+        if (StringUtils.isBlank(ticketId)) {
+            return null;
+        }
+        LOGGER.debug("Consuming ticket [{}] from the registry.", ticketId);
+        val ticket = removeSingleTicket(ticketId);
+        if (ticket == null) {
+            return null;
         }
+        if (!clazz.isAssignableFrom(ticket.getClass())) {
+            throw new ClassCastException("Ticket [" + ticket.getId() + " is of type " + ticket.getClass() + " when we were expecting " + clazz);
+        }
+        return (T) ticket;
+    }
+
+    /**
+     * Remove a ticket instance from the store, without regard for its children, and return it.
+     * Registries that are able to should override this to retrieve and remove the ticket in a single operation.
+     *
+     * @param ticketId the ticket id
+     * @return the removed ticket, or null if this call did not remove it
+     */
+    protected Ticket removeSingleTicket(final String ticketId) {
+        val ticket = getTicket(ticketId, t -> true);
+        return ticket != null && deleteSingleTicket(ticketId) ? ticket : null;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Tickets are fetched together, and tickets without children are removed together
+     * via {@link #deleteSingleTickets(Collection)}.
+     */
+    @Override
+    public int deleteTickets(final Collection<String> ticketIds) {
+        val ids = ticketIds.stream().filter(StringUtils::isNotBlank).collect(Collectors.toCollection(LinkedHashSet::new));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        val count = new AtomicInteger(0);
+        val singleTickets = new LinkedHashSet<String>();
+        getTickets(ids).forEach(ticket -> {
+            if (ticket instanceof TicketGrantingTicket) {
+                count.addAndGet(deleteTicket(ticket));
+            } else {
+                singleTickets.add(ticket.getId());
+            }
+        });
+        count.addAndGet(deleteSingleTickets(singleTickets));
+        return count.intValue();
+    }
+
+    private int deleteTicket(final Ticket ticket) {
+        val count = new AtomicInteger(0);
         if (ticket instanceof TicketGrantingTicket) {
             LOGGER.debug("Removing children of ticket [{}] from the registry.", ticket.getId());
             val tgt = (TicketGrantingTicket) ticket;
@@ -111,32 +175,12 @@ public abstract class AbstractTicketRegistry implements TicketRegistry {
             }
         }
         LOGGER.debug("Removing ticket [{}] from the registry.", ticket);
-        if (deleteSingleTicket(ticketId)) {
+        if (deleteSingleTicket(ticket.getId())) {
             count.incrementAndGet();
         }
         return count.intValue();
     }
 
-    /**
-     * Delete tickets.
-     *
-     * @param tickets the tickets
-     * @return the total number of deleted tickets
-     */
-    protected int deleteTickets(final Set<String> tickets) {
-        return deleteTickets(tickets.stream());
-    }
-
-    /**
-     * Delete tickets.
-     *
-     * @param tickets the tickets
-     * @return the total number of deleted tickets
-     */
-    protected int deleteTickets(final Stream<String> tickets) {
-        return tickets.mapToInt(this::deleteTicket).sum();
-    }
-
     private void deleteLinkedProxyGrantingTickets(final AtomicInteger count, final TicketGrantingTicket tgt) {
         val pgts = new LinkedHashSet<>(tgt.getProxyGrantingTickets().keySet());
         val hasPgts = !pgts.isEmpty();
@@ -161,18 +205,32 @@ public abstract class AbstractTicketRegistry implements TicketRegistry {
      * @return the count of tickets that were removed including child tickets and zero if the ticket was not deleted
      */
     protected int deleteChildren(final TicketGrantingTicket ticket) {
-        val count = new AtomicInteger(0);
         val services = ticket.getServices();
-        if (services != null && !services.isEmpty()) {
-            services.keySet().forEach(ticketId -> {
-                if (deleteSingleTicket(ticketId)) {
-                    LOGGER.debug("Removed ticket [{}]", ticketId);
-                    count.incrementAndGet();
-                } else {
-                    LOGGER.debug("Unable to remove ticket [{}]", ticketId);
-                }
-            });
+        if (services == null || services.isEmpty()) {
+            return 0;
         }
+        LOGGER.debug("Removing [{}] service ticket(s) of [{}]", services.size(), ticket.getId());
+        return deleteSingleTickets(services.keySet());
+    }
+
+    /**
+     * Delete ticket instances from the store, without regard for their children.
+     * Registries that support batch operations should override this to remove
+     * the tickets in as few round trips as possible.
+     *
+     * @param ticketIds the ticket ids
+     * @return the number of removed tickets
+     */
+    protected int deleteSingleTickets(final Collection<String> ticketIds) {
+        val count = new AtomicInteger(0);
+        ticketIds.forEach(ticketId -> {
+            if (deleteSingleTicket(ticketId)) {
+                LOGGER.debug("Removed ticket [{}]", ticketId);
+                count.incrementAndGet();
+            } else {
+                LOGGER.debug("Unable to remove ticket [{}]", ticketId);
+            }
+        });
         return count.intValue();
     }
 
@@ -1,6 +1,7 @@
 package org.apereo.cas.ticket.registry;
 
 import org.apereo.cas.logout.LogoutManager;
+import org.apereo.cas.ticket.ServiceTicket;
 import org.apereo.cas.ticket.Ticket;
 import org.apereo.cas.ticket.TicketGrantingTicket;
 import org.apereo.cas.ticket.registry.support.LockingStrategy;
@@ -11,6 +12,9 @@ import lombok.val;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * This is {@link DefaultTicketRegistryCleaner}.
@@ -24,10 +28,15 @@ import java.io.Serializable;
 public class DefaultTicketRegistryCleaner implements TicketRegistryCleaner, Serializable {
     private static final long serialVersionUID = -8581398063126547772L;
 
+    private static final int BATCH_SIZE = 500;
+
     private final transient LockingStrategy lockingStrategy;
     private final transient LogoutManager logoutManager;
     private final transient TicketRegistry ticketRegistry;
 
+    private volatile long expiredSessionCount;
+    private volatile long expiredServiceTicketCount;
+
     @Override
     public void clean() {
         try {
@@ -54,23 +63,57 @@ public class DefaultTicketRegistryCleaner implements TicketRegistryCleaner, Seri
 
     /**
      * Clean tickets.
+     * Expired ticket-granting and service tickets are counted along the way, and kept as the counts of the most recent cleanup.
      */
     protected void cleanInternal() {
-        val ticketsDeleted = ticketRegistry.getTicketsStream()
-            .filter(Ticket::isExpired)
-            .mapToInt(this::cleanTicket)
-            .sum();
-        LOGGER.info("[{}] expired tickets removed.", ticketsDeleted);
+        val ticketsDeleted = new AtomicInteger(0);
+        val expiredSessions = new AtomicLong();
+        val expiredServiceTickets = new AtomicLong();
+        val batch = new ArrayList<String>(BATCH_SIZE);
+        ticketRegistry.getExpiredTicketsStream()
+            .forEach(ticket -> {
+                if (ticket instanceof TicketGrantingTicket) {
+                    expiredSessions.incrementAndGet();
+                } else if (ticket instanceof ServiceTicket) {
+                    expiredServiceTickets.incrementAndGet();
+                }
+                logoutTicket(ticket);
+                batch.add(ticket.getId());
+                if (batch.size() == BATCH_SIZE) {
+                    ticketsDeleted.addAndGet(ticketRegistry.deleteTickets(batch));
+                    batch.clear();
+                }
+            });
+        if (!batch.isEmpty()) {
+            ticketsDeleted.addAndGet(ticketRegistry.deleteTickets(batch));
+        }
+        this.expiredSessionCount = expiredSessions.get();
+        this.expiredServiceTicketCount = expiredServiceTickets.get();
+        LOGGER.info("[{}] expired tickets removed.", ticketsDeleted.intValue());
+    }
+
+    @Override
+    public long expiredSessionCount() {
+        return this.expiredSessionCount;
+    }
+
+    @Override
+    public long expiredServiceTicketCount() {
+        return this.expiredServiceTicketCount;
     }
 
     @Override
     public int cleanTicket(final Ticket ticket) {
+        logoutTicket(ticket);
+        LOGGER.debug("Cleaning up expired service ticket [{}]", ticket.getId());
+        return ticketRegistry.deleteTicket(ticket.getId());
+    }
+
+    private void logoutTicket(final Ticket ticket) {
         if (ticket instanceof TicketGrantingTicket) {
             LOGGER.debug("Cleaning up expired ticket-granting ticket [{}]", ticket.getId());
             logoutManager.performLogout((TicketGrantingTicket) ticket);
         }
-        LOGGER.debug("Cleaning up expired service ticket [{}]", ticket.getId());
-        return ticketRegistry.deleteTicket(ticket.getId());
     }
 
     /**
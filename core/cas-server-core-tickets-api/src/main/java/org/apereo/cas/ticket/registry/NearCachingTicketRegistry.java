@@ -0,0 +1,303 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.util.serialization.SerializationUtils;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * This is {@link NearCachingTicketRegistry} that decorates a shared ticket registry with a small,
+ * time-bounded local cache. Tickets read repeatedly within a single flow are served from memory,
+ * while writes go straight to the underlying registry and are announced to other nodes over
+ * a {@link TicketRegistryCacheInvalidationChannel}. Ticket-granting tickets change as service tickets
+ * are issued against them and are kept in the local cache for a shorter period than other ticket types.
+ * Tickets are cached in serialized form and every read returns a fresh copy, so that concurrent requests
+ * on the same node never share, or observe uncommitted changes to, the same ticket instance.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@Slf4j
+public class NearCachingTicketRegistry implements TicketRegistry {
+    private final TicketRegistry delegate;
+
+    private final TicketRegistryCacheInvalidationChannel invalidationChannel;
+
+    private final Cache<String, CachedTicket> cache;
+
+    public NearCachingTicketRegistry(final TicketRegistry delegate,
+                                     final TicketRegistryCacheInvalidationChannel invalidationChannel,
+                                     final long maximumSize,
+                                     final Duration mutableTicketTimeToLive,
+                                     final Duration immutableTicketTimeToLive) {
+        this.delegate = delegate;
+        this.invalidationChannel = invalidationChannel;
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfter(new NearCacheTicketExpiry(mutableTicketTimeToLive.toNanos(), immutableTicketTimeToLive.toNanos()))
+            .build();
+        this.invalidationChannel.subscribe(this::invalidate);
+    }
+
+    @Override
+    public void addTicket(final Ticket ticket) {
+        delegate.addTicket(ticket);
+        cache.put(ticket.getId(), new CachedTicket(ticket));
+    }
+
+    @Override
+    public void addTickets(final Stream<? extends Ticket> tickets) {
+        val toAdd = tickets.collect(Collectors.toList());
+        delegate.addTickets(toAdd.stream());
+        toAdd.forEach(ticket -> cache.put(ticket.getId(), new CachedTicket(ticket)));
+    }
+
+    @Override
+    public Collection<? extends Ticket> getTickets(final Collection<String> ticketIds) {
+        val result = new ArrayList<Ticket>(ticketIds.size());
+        val missing = new ArrayList<String>();
+        ticketIds.forEach(ticketId -> {
+            val cached = getCachedTicket(ticketId);
+            if (cached != null) {
+                result.add(cached);
+            } else {
+                missing.add(ticketId);
+            }
+        });
+        if (!missing.isEmpty()) {
+            delegate.getTickets(missing).forEach(ticket -> result.add(cacheTicket(ticket)));
+        }
+        return result;
+    }
+
+    @Override
+    public Ticket getTicket(final String ticketId) {
+        val cached = getCachedTicket(ticketId);
+        if (cached != null) {
+            return cached;
+        }
+        return cacheTicket(delegate.getTicket(ticketId));
+    }
+
+    @Override
+    public <T extends Ticket> T getTicket(final String ticketId, @NonNull final Class<T> clazz) {
+        val ticket = getTicket(ticketId);
+        if (ticket == null) {
+            return null;
+        }
+        if (!clazz.isAssignableFrom(ticket.getClass())) {
+            throw new ClassCastException("Ticket [" + ticket.getId() + " is of type " + ticket.getClass() + " when we were expecting " + clazz);
+        }
+        return (T) ticket;
+    }
+
+    @Override
+    public Ticket getTicket(final String ticketId, final Predicate<Ticket> predicate) {
+        val cached = getCachedTicket(ticketId);
+        if (cached != null) {
+            return predicate.test(cached) ? cached : null;
+        }
+        return cacheTicket(delegate.getTicket(ticketId, predicate));
+    }
+
+    @Override
+    public int deleteTicket(final String ticketId) {
+        invalidateCachedChildren(ticketId);
+        val count = delegate.deleteTicket(ticketId);
+        invalidateAndPublish(ticketId);
+        return count;
+    }
+
+    @Override
+    public int deleteTickets(final Collection<String> ticketIds) {
+        ticketIds.forEach(this::invalidateCachedChildren);
+        val count = delegate.deleteTickets(ticketIds);
+        ticketIds.forEach(this::invalidateAndPublish);
+        return count;
+    }
+
+    @Override
+    public boolean consumeTicket(final String ticketId) {
+        val consumed = delegate.consumeTicket(ticketId);
+        invalidateAndPublish(ticketId);
+        return consumed;
+    }
+
+    @Override
+    public <T extends Ticket> T consumeTicket(final String ticketId, final Class<T> clazz) {
+        val consumed = delegate.consumeTicket(ticketId, clazz);
+        invalidateAndPublish(ticketId);
+        return consumed;
+    }
+
+    @Override
+    public long deleteAll() {
+        val count = delegate.deleteAll();
+        invalidateAndPublish(TicketRegistryCacheInvalidationChannel.ALL_TICKETS);
+        return count;
+    }
+
+    @Override
+    public Collection<? extends Ticket> getTickets() {
+        return delegate.getTickets();
+    }
+
+    @Override
+    public Stream<? extends Ticket> getTickets(final Predicate<Ticket> predicate) {
+        return delegate.getTickets(predicate);
+    }
+
+    @Override
+    public Stream<? extends Ticket> getTicketsStream() {
+        return delegate.getTicketsStream();
+    }
+
+    @Override
+    public <T extends Ticket> Stream<T> getTicketsStream(final Class<T> type) {
+        return delegate.getTicketsStream(type);
+    }
+
+    @Override
+    public Stream<? extends Ticket> getExpiredTicketsStream() {
+        return delegate.getExpiredTicketsStream();
+    }
+
+    @Override
+    public Stream<TicketGrantingTicket> getTicketsForPrincipal(final String principalId) {
+        return delegate.getTicketsForPrincipal(principalId);
+    }
+
+    @Override
+    public Ticket updateTicket(final Ticket ticket) {
+        val result = delegate.updateTicket(ticket);
+        invalidationChannel.publish(ticket.getId());
+        if (result != null) {
+            cache.put(ticket.getId(), new CachedTicket(ticket));
+        } else {
+            cache.invalidate(ticket.getId());
+        }
+        return result;
+    }
+
+    @Override
+    public long sessionCount() {
+        return delegate.sessionCount();
+    }
+
+    @Override
+    public long serviceTicketCount() {
+        return delegate.serviceTicketCount();
+    }
+
+    /**
+     * Invalidate the local copy of a ticket, or of all tickets.
+     *
+     * @param ticketId the ticket id, or {@link TicketRegistryCacheInvalidationChannel#ALL_TICKETS}
+     */
+    public void invalidate(final String ticketId) {
+        if (TicketRegistryCacheInvalidationChannel.ALL_TICKETS.equals(ticketId)) {
+            LOGGER.trace("Invalidating all locally cached tickets");
+            cache.invalidateAll();
+        } else {
+            LOGGER.trace("Invalidating locally cached ticket [{}]", ticketId);
+            cache.invalidate(ticketId);
+        }
+    }
+
+    private void invalidateCachedChildren(final String ticketId) {
+        val cached = cache.getIfPresent(ticketId);
+        val ticket = cached != null ? cached.read() : null;
+        if (ticket instanceof TicketGrantingTicket) {
+            val tgt = (TicketGrantingTicket) ticket;
+            tgt.getServices().keySet().forEach(this::invalidateAndPublish);
+            tgt.getProxyGrantingTickets().keySet().forEach(this::invalidateAndPublish);
+        }
+    }
+
+    private void invalidateAndPublish(final String ticketId) {
+        invalidate(ticketId);
+        invalidationChannel.publish(ticketId);
+    }
+
+    private Ticket getCachedTicket(final String ticketId) {
+        val entry = cache.getIfPresent(ticketId);
+        if (entry == null) {
+            return null;
+        }
+        val cached = entry.read();
+        if (cached.isExpired()) {
+            LOGGER.trace("Locally cached ticket [{}] has expired; deferring to the ticket registry", ticketId);
+            cache.invalidate(ticketId);
+            return null;
+        }
+        LOGGER.trace("Located ticket [{}] in the local cache", ticketId);
+        return cached;
+    }
+
+    private Ticket cacheTicket(final Ticket ticket) {
+        if (ticket != null && !ticket.isExpired()) {
+            cache.put(ticket.getId(), new CachedTicket(ticket));
+        }
+        return ticket;
+    }
+
+    /**
+     * Serialized copy of a ticket, taken when the ticket is cached.
+     */
+    private static class CachedTicket {
+        private final byte[] ticket;
+        private final boolean mutable;
+
+        CachedTicket(final Ticket ticket) {
+            this.ticket = SerializationUtils.serialize(ticket);
+            this.mutable = ticket instanceof TicketGrantingTicket;
+        }
+
+        Ticket read() {
+            return SerializationUtils.deserialize(this.ticket, Ticket.class);
+        }
+    }
+
+    /**
+     * Keeps ticket-granting tickets for the mutable time-to-live and all other tickets
+     * for the immutable time-to-live, restarting the period whenever the ticket is written.
+     */
+    @RequiredArgsConstructor
+    private static class NearCacheTicketExpiry implements Expiry<String, CachedTicket> {
+        private final long mutableTicketTimeToLive;
+        private final long immutableTicketTimeToLive;
+
+        private long getExpiration(final CachedTicket ticket) {
+            return ticket.mutable ? mutableTicketTimeToLive : immutableTicketTimeToLive;
+        }
+
+        @Override
+        public long expireAfterCreate(final String key, final CachedTicket value, final long currentTime) {
+            return getExpiration(value);
+        }
+
+        @Override
+        public long expireAfterUpdate(final String key, final CachedTicket value, final long currentTime, final long currentDuration) {
+            return getExpiration(value);
+        }
+
+        @Override
+        public long expireAfterRead(final String key, final CachedTicket value, final long currentTime, final long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
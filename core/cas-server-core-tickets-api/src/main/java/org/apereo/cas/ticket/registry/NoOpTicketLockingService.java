@@ -0,0 +1,18 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.ticket.registry.support.TicketLockingService;
+
+import java.util.function.Supplier;
+
+/**
+ * This is {@link NoOpTicketLockingService} that executes actions without any locking.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+public class NoOpTicketLockingService implements TicketLockingService {
+    @Override
+    public <T> T executeWithLock(final String ticketId, final Supplier<T> action) {
+        return action.get();
+    }
+}
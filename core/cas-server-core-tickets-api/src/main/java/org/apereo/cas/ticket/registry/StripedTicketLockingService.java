@@ -0,0 +1,37 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.ticket.registry.support.TicketLockingService;
+
+import com.google.common.util.concurrent.Striped;
+import lombok.val;
+
+import java.util.concurrent.locks.Lock;
+import java.util.function.Supplier;
+
+/**
+ * This is {@link StripedTicketLockingService} that guards tickets with a fixed number of local locks,
+ * selected by the hash of the ticket id. Requests for the same ticket are serialized on this node,
+ * while requests for different tickets rarely contend, regardless of whether the registry hands out
+ * the same ticket instance or a freshly deserialized copy on every read.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+public class StripedTicketLockingService implements TicketLockingService {
+    private final Striped<Lock> locks;
+
+    public StripedTicketLockingService(final int stripes) {
+        this.locks = Striped.lock(stripes);
+    }
+
+    @Override
+    public <T> T executeWithLock(final String ticketId, final Supplier<T> action) {
+        val lock = locks.get(ticketId);
+        lock.lock();
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
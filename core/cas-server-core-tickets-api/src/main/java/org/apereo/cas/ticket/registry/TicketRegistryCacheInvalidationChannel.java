@@ -0,0 +1,32 @@
+package org.apereo.cas.ticket.registry;
+
+import java.util.function.Consumer;
+
+/**
+ * This is {@link TicketRegistryCacheInvalidationChannel} that carries ticket invalidation
+ * notices between CAS nodes that keep a local cache in front of a shared ticket registry.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+public interface TicketRegistryCacheInvalidationChannel {
+
+    /**
+     * Identifier published to signal that all tickets should be invalidated.
+     */
+    String ALL_TICKETS = "*";
+
+    /**
+     * Publish an invalidation notice for the given ticket to all other nodes.
+     *
+     * @param ticketId the ticket id, or {@link #ALL_TICKETS}
+     */
+    void publish(String ticketId);
+
+    /**
+     * Subscribe to invalidation notices published by other nodes.
+     *
+     * @param listener the listener that receives the ticket id
+     */
+    void subscribe(Consumer<String> listener);
+}
@@ -106,6 +106,16 @@ public class DefaultUniqueTicketIdGenerator implements UniqueTicketIdGenerator {
         return prefix + '-' + number + '-' + ticketBody + StringUtils.defaultString(this.suffix);
     }
 
+    /**
+     * Sets the suffix, which is separated from the rest of the ticket id by a hyphen
+     * so that the node that issued a ticket can be told from the ticket id.
+     *
+     * @param suffix the suffix
+     */
+    public void setSuffix(final String suffix) {
+        this.suffix = StringUtils.isNotBlank(suffix) ? '-' + suffix : null;
+    }
+
     /**
      * Sets max length of id generation.
      *
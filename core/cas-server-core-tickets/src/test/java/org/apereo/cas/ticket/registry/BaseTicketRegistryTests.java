@@ -22,8 +22,10 @@ import org.springframework.test.util.AopTestUtils;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import static org.junit.Assert.*;
 
@@ -322,6 +324,71 @@ public abstract class BaseTicketRegistryTests {
         }
     }
 
+    @Test
+    @Transactional
+    public void verifyConsumeServiceTicketOnlyOnce() {
+        try {
+            val tgt = new TicketGrantingTicketImpl(TicketGrantingTicket.PREFIX + "-CONSUME", CoreAuthenticationTestUtils.getAuthentication(),
+                new NeverExpiresExpirationPolicy());
+            this.ticketRegistry.addTicket(tgt);
+            val st = tgt.grantServiceTicket("ST-CONSUME", RegisteredServiceTestUtils.getService("TGT_CONSUME_TEST"),
+                new NeverExpiresExpirationPolicy(), false, true);
+            this.ticketRegistry.addTicket(st);
+            this.ticketRegistry.updateTicket(tgt);
+
+            assertTrue(this.ticketRegistry.consumeTicket(st.getId()));
+            assertFalse(this.ticketRegistry.consumeTicket(st.getId()));
+            assertNull(this.ticketRegistry.getTicket(st.getId(), ServiceTicket.class));
+            assertNotNull(this.ticketRegistry.getTicket(tgt.getId(), TicketGrantingTicket.class));
+        } catch (final Exception e) {
+            throw new AssertionError(CAUGHT_AN_EXCEPTION_BUT_WAS_NOT_EXPECTED + e.getMessage(), e);
+        }
+    }
+
+    @Test
+    @Transactional
+    public void verifyConsumeAndReturnServiceTicketOnlyOnce() {
+        try {
+            val tgt = new TicketGrantingTicketImpl(TicketGrantingTicket.PREFIX + "-CONSUME-GET", CoreAuthenticationTestUtils.getAuthentication(),
+                new NeverExpiresExpirationPolicy());
+            this.ticketRegistry.addTicket(tgt);
+            val st = tgt.grantServiceTicket("ST-CONSUME-GET", RegisteredServiceTestUtils.getService("TGT_CONSUME_GET_TEST"),
+                new NeverExpiresExpirationPolicy(), false, true);
+            this.ticketRegistry.addTicket(st);
+            this.ticketRegistry.updateTicket(tgt);
+
+            val consumed = this.ticketRegistry.consumeTicket(st.getId(), ServiceTicket.class);
+            assertNotNull(consumed);
+            assertEquals(st.getId(), consumed.getId());
+            assertNull(this.ticketRegistry.consumeTicket(st.getId(), ServiceTicket.class));
+            assertNull(this.ticketRegistry.getTicket(st.getId(), ServiceTicket.class));
+        } catch (final Exception e) {
+            throw new AssertionError(CAUGHT_AN_EXCEPTION_BUT_WAS_NOT_EXPECTED + e.getMessage(), e);
+        }
+    }
+
+    @Test
+    @Transactional
+    public void verifyBulkTicketOperations() {
+        try {
+            val tgt = new TicketGrantingTicketImpl(TicketGrantingTicket.PREFIX + "-BULK", CoreAuthenticationTestUtils.getAuthentication(),
+                new NeverExpiresExpirationPolicy());
+            val service = RegisteredServiceTestUtils.getService("TGT_BULK_TEST");
+            val st1 = tgt.grantServiceTicket("ST-BULK1", service, new NeverExpiresExpirationPolicy(), false, false);
+            val st2 = tgt.grantServiceTicket("ST-BULK2", service, new NeverExpiresExpirationPolicy(), false, false);
+            this.ticketRegistry.addTickets(Stream.of(tgt, st1, st2));
+            this.ticketRegistry.updateTicket(tgt);
+
+            val ids = Arrays.asList(tgt.getId(), st1.getId(), st2.getId(), "ST-BULK-UNKNOWN");
+            assertEquals(3, this.ticketRegistry.getTickets(ids).size());
+
+            assertEquals(3, this.ticketRegistry.deleteTickets(Arrays.asList(tgt.getId())));
+            assertTrue(this.ticketRegistry.getTickets(ids).isEmpty());
+        } catch (final Exception e) {
+            throw new AssertionError(CAUGHT_AN_EXCEPTION_BUT_WAS_NOT_EXPECTED + e.getMessage(), e);
+        }
+    }
+
     @Test
     @Transactional
     public void verifyWriteGetDelete() {
@@ -28,5 +28,10 @@ public class DefaultTicketRegistryCleanerTests {
         val c = new DefaultTicketRegistryCleaner(new NoOpLockingStrategy(), logoutManager, ticketRegistry);
         c.clean();
         assertTrue(ticketRegistry.sessionCount() == 0);
+        assertEquals(1, c.expiredSessionCount());
+        assertEquals(0, c.expiredServiceTicketCount());
+
+        c.clean();
+        assertEquals(0, c.expiredSessionCount());
     }
 }
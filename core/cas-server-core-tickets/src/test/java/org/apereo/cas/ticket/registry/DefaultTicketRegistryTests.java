@@ -1,9 +1,15 @@
 package org.apereo.cas.ticket.registry;
 
 import org.apereo.cas.CipherExecutor;
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
 import org.apereo.cas.config.CasCoreTicketCatalogConfiguration;
 import org.apereo.cas.config.CasCoreTicketsConfiguration;
+import org.apereo.cas.services.RegisteredServiceTestUtils;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.TicketGrantingTicketImpl;
+import org.apereo.cas.ticket.support.NeverExpiresExpirationPolicy;
 
+import lombok.val;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
@@ -46,4 +52,32 @@ public class DefaultTicketRegistryTests extends BaseSpringRunnableTicketRegistry
     public void verifyOtherConstructor() {
         assertNotNull(new DefaultTicketRegistry(10, 10, 5, CipherExecutor.noOp()));
     }
+
+    @Test
+    public void verifyTicketCountersAreMaintained() {
+        val registry = new DefaultTicketRegistry();
+        val tgt = new TicketGrantingTicketImpl(TicketGrantingTicket.PREFIX + "-COUNTED",
+            CoreAuthenticationTestUtils.getAuthentication(), new NeverExpiresExpirationPolicy());
+        registry.addTicket(tgt);
+        registry.addTicket(tgt);
+        val st1 = tgt.grantServiceTicket("ST-1", RegisteredServiceTestUtils.getService(), new NeverExpiresExpirationPolicy(), false, true);
+        val st2 = tgt.grantServiceTicket("ST-2", RegisteredServiceTestUtils.getService(), new NeverExpiresExpirationPolicy(), false, true);
+        registry.addTicket(st1);
+        registry.addTicket(st2);
+        registry.updateTicket(tgt);
+        assertEquals(1, registry.sessionCount());
+        assertEquals(2, registry.serviceTicketCount());
+
+        registry.deleteTicket(st1.getId());
+        registry.deleteTicket(st1.getId());
+        assertEquals(1, registry.serviceTicketCount());
+
+        registry.deleteTicket(tgt.getId());
+        assertEquals(0, registry.sessionCount());
+        assertEquals(0, registry.serviceTicketCount());
+
+        registry.addTicket(tgt);
+        registry.deleteAll();
+        assertEquals(0, registry.sessionCount());
+    }
 }
@@ -0,0 +1,99 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.mock.MockTicketGrantingTicket;
+
+import lombok.val;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * This is {@link NearCachingTicketRegistryTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+public class NearCachingTicketRegistryTests {
+    private TicketRegistry delegate;
+
+    private NearCachingTicketRegistry ticketRegistry;
+
+    private final List<String> published = new ArrayList<>();
+
+    private Consumer<String> listener;
+
+    @Before
+    public void initialize() {
+        this.delegate = spy(new DefaultTicketRegistry());
+        this.ticketRegistry = new NearCachingTicketRegistry(delegate, new TicketRegistryCacheInvalidationChannel() {
+            @Override
+            public void publish(final String ticketId) {
+                published.add(ticketId);
+            }
+
+            @Override
+            public void subscribe(final Consumer<String> consumer) {
+                listener = consumer;
+            }
+        }, 100, Duration.ofSeconds(5), Duration.ofSeconds(30));
+    }
+
+    @Test
+    public void verifyTicketIsReadFromLocalCache() {
+        val ticket = new MockTicketGrantingTicket("casuser");
+        delegate.addTicket(ticket);
+        assertNotNull(ticketRegistry.getTicket(ticket.getId()));
+        assertNotNull(ticketRegistry.getTicket(ticket.getId()));
+        verify(delegate, times(1)).getTicket(ticket.getId());
+    }
+
+    @Test
+    public void verifyUpdatePublishesInvalidation() {
+        val ticket = new MockTicketGrantingTicket("casuser");
+        ticketRegistry.addTicket(ticket);
+        ticketRegistry.updateTicket(ticket);
+        assertTrue(published.contains(ticket.getId()));
+        val cached = ticketRegistry.getTicket(ticket.getId());
+        assertEquals(ticket, cached);
+        assertNotSame(ticket, cached);
+    }
+
+    @Test
+    public void verifyEachReadReturnsIndependentCopy() {
+        val ticket = new MockTicketGrantingTicket("casuser");
+        ticketRegistry.addTicket(ticket);
+        val first = ticketRegistry.getTicket(ticket.getId(), MockTicketGrantingTicket.class);
+        val second = ticketRegistry.getTicket(ticket.getId(), MockTicketGrantingTicket.class);
+        assertNotSame(first, second);
+
+        first.update();
+        assertEquals(ticket.getCountOfUses(), ticketRegistry.getTicket(ticket.getId()).getCountOfUses());
+        ticketRegistry.updateTicket(first);
+        assertEquals(first.getCountOfUses(), ticketRegistry.getTicket(ticket.getId()).getCountOfUses());
+    }
+
+    @Test
+    public void verifyRemoteInvalidation() {
+        val ticket = new MockTicketGrantingTicket("casuser");
+        ticketRegistry.addTicket(ticket);
+        listener.accept(ticket.getId());
+        assertNotNull(ticketRegistry.getTicket(ticket.getId()));
+        verify(delegate, times(1)).getTicket(ticket.getId());
+    }
+
+    @Test
+    public void verifyDeletePublishesInvalidation() {
+        val ticket = new MockTicketGrantingTicket("casuser");
+        ticketRegistry.addTicket(ticket);
+        assertEquals(1, ticketRegistry.deleteTicket(ticket.getId()));
+        assertTrue(published.contains(ticket.getId()));
+        assertNull(ticketRegistry.getTicket(ticket.getId()));
+    }
+}
@@ -23,7 +23,7 @@ public class DefaultUniqueTicketIdGeneratorTests {
         val suffix = "suffix";
         val generator = new DefaultUniqueTicketIdGenerator(10, suffix);
 
-        assertTrue(generator.getNewTicketId("test").endsWith(suffix));
+        assertTrue(generator.getNewTicketId("test").endsWith('-' + suffix));
     }
 
     @Test
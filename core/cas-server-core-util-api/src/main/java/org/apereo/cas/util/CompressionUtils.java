@@ -5,11 +5,9 @@ import lombok.experimental.UtilityClass;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.apache.commons.io.IOUtils;
-import org.apache.commons.lang3.StringUtils;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
-import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.util.zip.DataFormatException;
 import java.util.zip.Deflater;
@@ -127,7 +125,7 @@ public class CompressionUtils {
     public static String decompress(final String zippedBase64Str) {
         val bytes = EncodingUtils.decodeBase64(zippedBase64Str);
         try (val zi = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
-            return IOUtils.toString(zi, Charset.defaultCharset());
+            return IOUtils.toString(zi, StandardCharsets.UTF_8);
         }
     }
 
@@ -144,9 +142,7 @@ public class CompressionUtils {
             zos.write(srcTxt.getBytes(StandardCharsets.UTF_8));
             zos.flush();
             zos.finish();
-            val bytes = rstBao.toByteArray();
-            val base64 = StringUtils.remove(EncodingUtils.encodeBase64(bytes), '\0');
-            return new String(StandardCharsets.UTF_8.encode(base64).array(), StandardCharsets.UTF_8);
+            return EncodingUtils.encodeBase64(rstBao.toByteArray());
         }
     }
 }
@@ -4,6 +4,7 @@ import groovy.lang.Binding;
 import groovy.lang.GroovyClassLoader;
 import groovy.lang.GroovyObject;
 import groovy.lang.GroovyShell;
+import groovy.lang.Script;
 import lombok.SneakyThrows;
 import lombok.experimental.UtilityClass;
 import lombok.extern.slf4j.Slf4j;
@@ -11,6 +12,7 @@ import lombok.val;
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.codehaus.groovy.control.CompilerConfiguration;
+import org.codehaus.groovy.runtime.InvokerHelper;
 import org.codehaus.groovy.runtime.InvokerInvocationException;
 import org.springframework.core.io.Resource;
 
@@ -100,30 +102,80 @@ public class ScriptingUtils {
                                                  final Map<String, Object> variables,
                                                  final Class<T> clazz) {
         try {
-            val binding = new Binding();
+            val binding = getGroovyShellBinding(variables);
             val shell = new GroovyShell(binding);
-            if (variables != null && !variables.isEmpty()) {
-                variables.forEach(binding::setVariable);
-            }
-            if (!binding.hasVariable("logger")) {
-                binding.setVariable("logger", LOGGER);
-            }
             LOGGER.debug("Executing groovy script [{}] with variables [{}]", script, binding.getVariables());
 
             val result = shell.evaluate(script);
-            if (result != null && !clazz.isAssignableFrom(result.getClass())) {
-                throw new ClassCastException("Result [" + result
-                    + " is of type " + result.getClass()
-                    + " when we were expecting " + clazz);
-            }
-            return (T) result;
+            return getGroovyShellScriptResult(result, clazz);
+        } catch (final Exception e) {
+            LOGGER.error(e.getMessage(), e);
+        }
+        return null;
+    }
+
+    /**
+     * Parse groovy shell script once, so it may be executed many times
+     * via {@link #executeGroovyShellScript(Script, Map, Class)} without being compiled again.
+     *
+     * @param script the script
+     * @return the script, or null if the script cannot be compiled
+     */
+    public static Script parseGroovyShellScript(final String script) {
+        try {
+            return new GroovyShell().parse(script);
+        } catch (final Exception e) {
+            LOGGER.error(e.getMessage(), e);
+        }
+        return null;
+    }
 
+    /**
+     * Execute a groovy shell script that is already parsed.
+     * Each execution runs against a new instance of the script,
+     * so the parsed script may be shared by concurrent callers.
+     *
+     * @param <T>       the type parameter
+     * @param script    the parsed script
+     * @param variables the variables
+     * @param clazz     the clazz
+     * @return the t
+     */
+    public static <T> T executeGroovyShellScript(final Script script,
+                                                 final Map<String, Object> variables,
+                                                 final Class<T> clazz) {
+        try {
+            val binding = getGroovyShellBinding(variables);
+            LOGGER.debug("Executing groovy script [{}] with variables [{}]", script.getClass().getName(), binding.getVariables());
+
+            val result = InvokerHelper.createScript(script.getClass(), binding).run();
+            return getGroovyShellScriptResult(result, clazz);
         } catch (final Exception e) {
             LOGGER.error(e.getMessage(), e);
         }
         return null;
     }
 
+    private static Binding getGroovyShellBinding(final Map<String, Object> variables) {
+        val binding = new Binding();
+        if (variables != null && !variables.isEmpty()) {
+            variables.forEach(binding::setVariable);
+        }
+        if (!binding.hasVariable("logger")) {
+            binding.setVariable("logger", LOGGER);
+        }
+        return binding;
+    }
+
+    private static <T> T getGroovyShellScriptResult(final Object result, final Class<T> clazz) {
+        if (result != null && !clazz.isAssignableFrom(result.getClass())) {
+            throw new ClassCastException("Result [" + result
+                + " is of type " + result.getClass()
+                + " when we were expecting " + clazz);
+        }
+        return (T) result;
+    }
+
     /**
      * Execute groovy script via run object.
      *
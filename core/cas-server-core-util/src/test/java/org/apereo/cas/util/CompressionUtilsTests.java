@@ -35,4 +35,12 @@ public class CompressionUtilsTests {
 
         assertEquals(srcTxt, originalStr);
     }
+
+    @Test
+    public void verifyNonAsciiStringIsCompressed() {
+        val srcTxt = "<saml2:AttributeValue>Ren\u00e9e M\u00fcller \u6771\u4eac</saml2:AttributeValue>";
+        val str = CompressionUtils.compress(srcTxt);
+        assertFalse(str.contains("\0"));
+        assertEquals(srcTxt, CompressionUtils.decompress(str));
+    }
 }
@@ -0,0 +1,161 @@
+package org.apereo.cas.web.support;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.http.HttpStatus;
+
+import javax.servlet.Filter;
+import javax.servlet.FilterChain;
+import javax.servlet.FilterConfig;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Servlet filter that matches ticket validation requests to the CAS node that issued the ticket,
+ * based on the host name suffix that ticket id generators append to every ticket id.
+ * Requests for tickets issued by this node are processed locally. For tickets issued by another
+ * known node, the owning node is reported in the {@value #HEADER_TICKET_NODE} response header so that
+ * proxies and load balancers may pin subsequent requests, and the request may optionally be
+ * redirected to the owning node so that the ticket is read from its primary copy.
+ * Node suffixes are matched against the end of the ticket id along with the hyphen that separates them
+ * from the rest of the id, so that a node is never mistaken for another whose suffix ends the same way.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@Slf4j
+@Getter
+@RequiredArgsConstructor
+public class TicketNodeAffinityFilter implements Filter {
+    /**
+     * Response header that carries the suffix of the node that issued the ticket.
+     */
+    public static final String HEADER_TICKET_NODE = "X-CAS-Ticket-Node";
+
+    private final String localNode;
+
+    private final Map<String, String> nodes;
+
+    private final List<String> parameters;
+
+    private final boolean redirect;
+
+    private final LongAdder localRequests = new LongAdder();
+
+    private final LongAdder remoteRequests = new LongAdder();
+
+    @Override
+    public void doFilter(final ServletRequest servletRequest,
+                         final ServletResponse servletResponse,
+                         final FilterChain filterChain) throws IOException, ServletException {
+        val request = (HttpServletRequest) servletRequest;
+        val response = (HttpServletResponse) servletResponse;
+
+        val ticketId = parameters.stream()
+            .map(request::getParameter)
+            .filter(StringUtils::isNotBlank)
+            .findFirst()
+            .orElse(null);
+        val owner = determineTicketNode(ticketId);
+        if (owner != null) {
+            response.setHeader(HEADER_TICKET_NODE, owner);
+            if (owner.equals(localNode)) {
+                localRequests.increment();
+            } else {
+                remoteRequests.increment();
+                val nodeUrl = nodes.get(owner);
+                if (redirect && StringUtils.isNotBlank(nodeUrl)) {
+                    val location = buildNodeLocation(nodeUrl, request);
+                    LOGGER.debug("Ticket [{}] was issued by node [{}]; redirecting to [{}]", ticketId, owner, location);
+                    response.setStatus(HttpStatus.TEMPORARY_REDIRECT.value());
+                    response.setHeader("Location", location);
+                    return;
+                }
+            }
+        }
+        filterChain.doFilter(servletRequest, servletResponse);
+    }
+
+    /**
+     * Number of requests for tickets issued by this node.
+     *
+     * @return the local request count
+     */
+    public long getLocalRequestCount() {
+        return localRequests.sum();
+    }
+
+    /**
+     * Number of requests for tickets issued by another known node.
+     *
+     * @return the remote request count
+     */
+    public long getRemoteRequestCount() {
+        return remoteRequests.sum();
+    }
+
+    /**
+     * Ratio of requests for tickets issued by this node among all requests whose issuing node was recognized.
+     *
+     * @return the local hit ratio, or zero if no requests were recognized yet
+     */
+    public double getLocalHitRatio() {
+        val local = getLocalRequestCount();
+        val total = local + getRemoteRequestCount();
+        return total == 0 ? 0 : (double) local / total;
+    }
+
+    /**
+     * Determine the node that issued the ticket from the ticket id suffix.
+     * The local node is checked first, followed by the longest matching known node.
+     *
+     * @param ticketId the ticket id
+     * @return the node suffix, or null if unknown
+     */
+    protected String determineTicketNode(final String ticketId) {
+        if (StringUtils.isBlank(ticketId)) {
+            return null;
+        }
+        if (isIssuedBy(ticketId, localNode)) {
+            return localNode;
+        }
+        return nodes.keySet()
+            .stream()
+            .filter(node -> isIssuedBy(ticketId, node))
+            .reduce((first, second) -> second.length() > first.length() ? second : first)
+            .orElse(null);
+    }
+
+    private static boolean isIssuedBy(final String ticketId, final String node) {
+        return StringUtils.isNotBlank(node) && ticketId.endsWith('-' + node);
+    }
+
+    private static String buildNodeLocation(final String nodeUrl, final HttpServletRequest request) {
+        val path = StringUtils.removeStart(request.getRequestURI(), request.getContextPath());
+        val location = new StringBuilder(StringUtils.removeEnd(nodeUrl, "/")).append(path);
+        if (StringUtils.isNotBlank(request.getQueryString())) {
+            location.append('?').append(request.getQueryString());
+        }
+        return location.toString();
+    }
+
+    @Override
+    public void init(final FilterConfig filterConfig) {
+        //noop
+    }
+
+    @Override
+    public void destroy() {
+        //noop
+    }
+}
@@ -0,0 +1,82 @@
+package org.apereo.cas.web.support;
+
+import org.apereo.cas.util.CollectionUtils;
+
+import lombok.val;
+import org.junit.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link TicketNodeAffinityFilterTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+public class TicketNodeAffinityFilterTests {
+
+    private static TicketNodeAffinityFilter getFilter(final boolean redirect) {
+        return new TicketNodeAffinityFilter("cas01",
+            CollectionUtils.wrap("cas02", "https://cas02.example.org/cas", "east-cas02", "https://east.example.org/cas"),
+            CollectionUtils.wrapList("ticket"), redirect);
+    }
+
+    private static MockHttpServletResponse validate(final TicketNodeAffinityFilter filter, final String ticket,
+                                                    final MockFilterChain chain) throws Exception {
+        val request = new MockHttpServletRequest("GET", "/cas/serviceValidate");
+        request.setContextPath("/cas");
+        request.setParameter("ticket", ticket);
+        request.setQueryString("ticket=" + ticket);
+        val response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+
+    @Test
+    public void verifyLocalTicket() throws Exception {
+        val filter = getFilter(true);
+        val chain = new MockFilterChain();
+        val response = validate(filter, "ST-1-abcdef-cas01", chain);
+        assertEquals("cas01", response.getHeader(TicketNodeAffinityFilter.HEADER_TICKET_NODE));
+        assertNotNull(chain.getRequest());
+        assertEquals(1, filter.getLocalRequestCount());
+        assertEquals(1, filter.getLocalHitRatio(), 0);
+    }
+
+    @Test
+    public void verifyRemoteTicketIsRedirected() throws Exception {
+        val filter = getFilter(true);
+        val chain = new MockFilterChain();
+        val response = validate(filter, "ST-1-abcdef-cas02", chain);
+        assertEquals("cas02", response.getHeader(TicketNodeAffinityFilter.HEADER_TICKET_NODE));
+        assertEquals(HttpStatus.TEMPORARY_REDIRECT.value(), response.getStatus());
+        assertEquals("https://cas02.example.org/cas/serviceValidate?ticket=ST-1-abcdef-cas02", response.getHeader("Location"));
+        assertNull(chain.getRequest());
+        assertEquals(1, filter.getRemoteRequestCount());
+        assertEquals(0, filter.getLocalHitRatio(), 0);
+    }
+
+    @Test
+    public void verifyLongestMatchingNodeWithoutRedirect() throws Exception {
+        val filter = getFilter(false);
+        val chain = new MockFilterChain();
+        val response = validate(filter, "ST-1-abcdef-east-cas02", chain);
+        assertEquals("east-cas02", response.getHeader(TicketNodeAffinityFilter.HEADER_TICKET_NODE));
+        assertNotNull(chain.getRequest());
+    }
+
+    @Test
+    public void verifySuffixMustFollowSeparator() throws Exception {
+        val filter = getFilter(true);
+        val chain = new MockFilterChain();
+        val response = validate(filter, "ST-1-abcdefxcas01", chain);
+        assertNull(response.getHeader(TicketNodeAffinityFilter.HEADER_TICKET_NODE));
+        assertNotNull(chain.getRequest());
+        assertEquals(0, filter.getLocalRequestCount());
+        assertEquals(0, filter.getRemoteRequestCount());
+    }
+}
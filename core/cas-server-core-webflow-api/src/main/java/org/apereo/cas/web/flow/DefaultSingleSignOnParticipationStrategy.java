@@ -34,7 +34,7 @@ public class DefaultSingleSignOnParticipationStrategy implements SingleSignOnPar
         val authentication = WebUtils.getAuthentication(ctx);
         val service = WebUtils.getService(ctx);
         if (service != null) {
-            val registeredService = this.servicesManager.findServiceBy(service);
+            val registeredService = RequestScopedResolutionContext.findServiceBy(ctx, this.servicesManager, service);
             if (registeredService != null) {
                 val ca = AuthenticationCredentialsThreadLocalBinder.getCurrentAuthentication();
                 try {
@@ -0,0 +1,161 @@
+package org.apereo.cas.web.flow;
+
+import org.apereo.cas.audit.AuditableContext;
+import org.apereo.cas.audit.AuditableExecution;
+import org.apereo.cas.audit.AuditableExecutionResult;
+import org.apereo.cas.authentication.principal.Service;
+import org.apereo.cas.services.RegisteredService;
+import org.apereo.cas.services.RegisteredServiceAccessStrategyUtils;
+import org.apereo.cas.services.ServicesManager;
+import org.apereo.cas.web.flow.resolver.CasWebflowEventResolver;
+import org.apereo.cas.web.support.WebUtils;
+
+import lombok.experimental.UtilityClass;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.springframework.webflow.execution.Event;
+import org.springframework.webflow.execution.RequestContext;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * This is {@link RequestScopedResolutionContext} that memoizes the outcome of
+ * registered service lookups, access strategy evaluations and multifactor trigger
+ * evaluations in the webflow request scope.
+ * A single pass through the login flow runs many actions and event resolvers that would otherwise
+ * each query the services manager and re-evaluate the same access strategy or trigger; results are
+ * only shared for the duration of the current request and are never carried across requests.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@Slf4j
+@UtilityClass
+public class RequestScopedResolutionContext {
+    private static final String PARAMETER_RESOLVED_REGISTERED_SERVICES = "resolvedRegisteredServices";
+    private static final String PARAMETER_ALLOWED_SERVICE_ACCESS = "allowedRegisteredServiceAccess";
+    private static final String PARAMETER_ACCESS_STRATEGY_RESULTS = "registeredServiceAccessStrategyResults";
+    private static final String PARAMETER_RESOLVED_TRIGGER_EVENTS = "resolvedMultifactorTriggerEvents";
+
+    /**
+     * Find the registered service for the given service, reusing an earlier lookup
+     * that may have been made in the same request.
+     *
+     * @param context         the context
+     * @param servicesManager the services manager
+     * @param service         the service
+     * @return the registered service, or null
+     */
+    public static RegisteredService findServiceBy(final RequestContext context, final ServicesManager servicesManager,
+                                                  final Service service) {
+        if (context == null || service == null) {
+            return servicesManager.findServiceBy(service);
+        }
+        val resolved = getRequestScopedMap(context, PARAMETER_RESOLVED_REGISTERED_SERVICES);
+        if (resolved.containsKey(service.getId())) {
+            LOGGER.trace("Located registered service for [{}] in the request scope", service.getId());
+            return (RegisteredService) resolved.get(service.getId());
+        }
+        val registeredService = servicesManager.findServiceBy(service);
+        resolved.put(service.getId(), registeredService);
+        return registeredService;
+    }
+
+    /**
+     * Ensure service access is allowed, skipping the check if it has already passed
+     * for the same service and registered service in the current request.
+     *
+     * @param context           the context
+     * @param service           the service
+     * @param registeredService the registered service
+     */
+    public static void ensureServiceAccessIsAllowed(final RequestContext context, final Service service,
+                                                    final RegisteredService registeredService) {
+        if (context == null || registeredService == null) {
+            RegisteredServiceAccessStrategyUtils.ensureServiceAccessIsAllowed(service, registeredService);
+            return;
+        }
+        val allowed = getRequestScopedSet(context, PARAMETER_ALLOWED_SERVICE_ACCESS);
+        val key = service.getId() + '@' + registeredService.getId();
+        if (!allowed.contains(key)) {
+            RegisteredServiceAccessStrategyUtils.ensureServiceAccessIsAllowed(service, registeredService);
+            allowed.add(key);
+        }
+    }
+
+    /**
+     * Execute the registered service access strategy enforcer, reusing the result of an
+     * earlier identical evaluation for the same service, registered service and principal in the current request.
+     *
+     * @param context  the context
+     * @param enforcer the enforcer
+     * @param audit    the audit
+     * @return the auditable execution result
+     */
+    public static AuditableExecutionResult executeAccessStrategy(final RequestContext context, final AuditableExecution enforcer,
+                                                                 final AuditableContext audit) {
+        if (context == null) {
+            return enforcer.execute(audit);
+        }
+        val key = audit.getService().map(Service::getId).orElse(null)
+            + '@' + audit.getRegisteredService().map(RegisteredService::getId).orElse(null)
+            + '@' + audit.getAuthentication().map(a -> a.getPrincipal().getId()).orElse(null)
+            + '@' + audit.getRetrievePrincipalAttributesFromReleasePolicy().orElse(Boolean.FALSE);
+        val results = getRequestScopedMap(context, PARAMETER_ACCESS_STRATEGY_RESULTS);
+        val cached = (AuditableExecutionResult) results.get(key);
+        if (cached != null) {
+            LOGGER.trace("Reusing access strategy result for [{}] from the request scope", key);
+            return cached;
+        }
+        val result = enforcer.execute(audit);
+        results.put(key, result);
+        return result;
+    }
+
+    /**
+     * Resolve the event of a multifactor trigger, reusing the outcome of an earlier evaluation
+     * of the same trigger for the same service and principal in the current request.
+     *
+     * @param context  the context
+     * @param resolver the trigger resolver
+     * @param service  the service
+     * @return the resolved event, or null
+     */
+    public static Event resolveTrigger(final RequestContext context, final CasWebflowEventResolver resolver,
+                                       final Service service) {
+        if (context == null) {
+            return resolver.resolveSingle(context);
+        }
+        val authentication = WebUtils.getAuthentication(context);
+        val key = resolver.getName()
+            + '@' + (service == null ? null : service.getId())
+            + '@' + (authentication == null ? null : authentication.getPrincipal().getId());
+        val events = getRequestScopedMap(context, PARAMETER_RESOLVED_TRIGGER_EVENTS);
+        if (events.containsKey(key)) {
+            LOGGER.trace("Reusing multifactor trigger event for [{}] from the request scope", key);
+            return (Event) events.get(key);
+        }
+        val event = resolver.resolveSingle(context);
+        events.put(key, event);
+        return event;
+    }
+
+    private static Map<String, Object> getRequestScopedMap(final RequestContext context, final String name) {
+        val scope = context.getRequestScope();
+        if (!scope.contains(name)) {
+            scope.put(name, new HashMap<String, Object>());
+        }
+        return (Map<String, Object>) scope.get(name);
+    }
+
+    private static Set<String> getRequestScopedSet(final RequestContext context, final String name) {
+        val scope = context.getRequestScope();
+        if (!scope.contains(name)) {
+            scope.put(name, new HashSet<String>());
+        }
+        return (Set<String>) scope.get(name);
+    }
+}
@@ -7,11 +7,11 @@ import org.apereo.cas.services.MultifactorAuthenticationProvider;
 import org.apereo.cas.services.MultifactorAuthenticationProviderResolver;
 import org.apereo.cas.services.MultifactorAuthenticationProviderSelector;
 import org.apereo.cas.services.RegisteredService;
-import org.apereo.cas.services.RegisteredServiceAccessStrategyUtils;
 import org.apereo.cas.services.ServicesManager;
 import org.apereo.cas.services.VariegatedMultifactorAuthenticationProvider;
 import org.apereo.cas.ticket.registry.TicketRegistrySupport;
 import org.apereo.cas.util.CollectionUtils;
+import org.apereo.cas.web.flow.RequestScopedResolutionContext;
 import org.apereo.cas.web.flow.resolver.impl.AbstractCasWebflowEventResolver;
 
 import lombok.extern.slf4j.Slf4j;
@@ -104,8 +104,8 @@ public abstract class BaseMultifactorAuthenticationProviderEventResolver extends
     protected RegisteredService resolveRegisteredServiceInRequestContext(final RequestContext requestContext) {
         val resolvedService = resolveServiceFromAuthenticationRequest(requestContext);
         if (resolvedService != null) {
-            val service = this.servicesManager.findServiceBy(resolvedService);
-            RegisteredServiceAccessStrategyUtils.ensureServiceAccessIsAllowed(resolvedService, service);
+            val service = RequestScopedResolutionContext.findServiceBy(requestContext, this.servicesManager, resolvedService);
+            RequestScopedResolutionContext.ensureServiceAccessIsAllowed(requestContext, resolvedService, service);
             return service;
         }
         LOGGER.debug("Authentication request is not accompanied by a service given none is specified");
@@ -0,0 +1,51 @@
+package org.apereo.cas.web.flow.executor;
+
+import org.apereo.cas.ticket.UniqueTicketIdGenerator;
+import org.apereo.cas.util.DefaultUniqueTicketIdGenerator;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.val;
+
+import java.time.Duration;
+
+/**
+ * This is {@link InMemoryWebflowStateStorage} that keeps webflow state
+ * in a bounded in-memory cache, mainly useful for single-node deployments.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+public class InMemoryWebflowStateStorage implements WebflowStateStorage {
+    private static final long DEFAULT_MAXIMUM_SIZE = 100_000;
+
+    private static final String PREFIX = "FLOW";
+
+    private final UniqueTicketIdGenerator idGenerator = new DefaultUniqueTicketIdGenerator();
+
+    private final Cache<String, byte[]> storage;
+
+    public InMemoryWebflowStateStorage(final Duration timeout) {
+        this.storage = Caffeine.newBuilder()
+            .maximumSize(DEFAULT_MAXIMUM_SIZE)
+            .expireAfterWrite(timeout)
+            .build();
+    }
+
+    @Override
+    public String store(final byte[] state) {
+        val id = idGenerator.getNewTicketId(PREFIX);
+        this.storage.put(id, state);
+        return id;
+    }
+
+    @Override
+    public byte[] retrieve(final String id) {
+        return this.storage.getIfPresent(id);
+    }
+
+    @Override
+    public void remove(final String id) {
+        this.storage.invalidate(id);
+    }
+}
@@ -0,0 +1,60 @@
+package org.apereo.cas.web.flow.executor;
+
+import org.apereo.cas.ticket.ExpirationPolicy;
+import org.apereo.cas.ticket.TransientSessionTicket;
+import org.apereo.cas.ticket.TransientSessionTicketImpl;
+import org.apereo.cas.ticket.UniqueTicketIdGenerator;
+import org.apereo.cas.ticket.registry.TicketRegistry;
+import org.apereo.cas.util.CollectionUtils;
+import org.apereo.cas.util.DefaultUniqueTicketIdGenerator;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+
+/**
+ * This is {@link TicketRegistryWebflowStateStorage} that keeps webflow state
+ * as transient session tickets inside the ticket registry. Snapshots are then
+ * shared by all nodes via whatever technology (Redis, Hazelcast, etc) backs the registry
+ * and are expired via the registry cleaner or the native expiration facilities of the registry.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class TicketRegistryWebflowStateStorage implements WebflowStateStorage {
+    private static final String PROPERTY_NAME_FLOW_STATE = "webflowState";
+
+    private final TicketRegistry ticketRegistry;
+
+    private final ExpirationPolicy expirationPolicy;
+
+    private final UniqueTicketIdGenerator ticketIdGenerator = new DefaultUniqueTicketIdGenerator();
+
+    @Override
+    public String store(final byte[] state) {
+        val id = ticketIdGenerator.getNewTicketId(TransientSessionTicket.PREFIX);
+        val ticket = new TransientSessionTicketImpl(id, expirationPolicy, null,
+            CollectionUtils.wrap(PROPERTY_NAME_FLOW_STATE, state));
+        this.ticketRegistry.addTicket(ticket);
+        LOGGER.trace("Stored webflow state as ticket [{}]", id);
+        return id;
+    }
+
+    @Override
+    public byte[] retrieve(final String id) {
+        val ticket = this.ticketRegistry.getTicket(id, TransientSessionTicket.class);
+        if (ticket == null || ticket.isExpired()) {
+            LOGGER.debug("Webflow state [{}] cannot be found or has expired", id);
+            return null;
+        }
+        return ticket.get(PROPERTY_NAME_FLOW_STATE, byte[].class);
+    }
+
+    @Override
+    public void remove(final String id) {
+        this.ticketRegistry.deleteTicket(id);
+        LOGGER.trace("Removed webflow state ticket [{}]", id);
+    }
+}
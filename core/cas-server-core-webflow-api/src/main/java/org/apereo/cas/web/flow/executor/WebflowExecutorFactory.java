@@ -32,6 +32,7 @@ public class WebflowExecutorFactory {
     private final FlowDefinitionRegistry flowDefinitionRegistry;
     private final CipherExecutor webflowCipherExecutor;
     private final FlowExecutionListener[] executionListeners;
+    private final WebflowStateStorage webflowStateStorage;
 
     /**
      * Build flow executor.
@@ -42,7 +43,10 @@ public class WebflowExecutorFactory {
         if (webflowProperties.getSession().isStorage()) {
             return buildFlowExecutorViaServerSessionBindingExecution();
         }
-        return buildFlowExecutorViaClientFlowExecution();
+        if (webflowProperties.getSession().isExternalStorage() && webflowStateStorage != null) {
+            return buildFlowExecutorViaClientFlowExecution(getWebflowStateStorageTranscoder());
+        }
+        return buildFlowExecutorViaClientFlowExecution(getWebflowStateTranscoder());
     }
 
     private FlowExecutor buildFlowExecutorViaServerSessionBindingExecution() {
@@ -63,10 +67,10 @@ public class WebflowExecutorFactory {
         return new FlowExecutorImpl(this.flowDefinitionRegistry, executionFactory, repository);
     }
 
-    private FlowExecutor buildFlowExecutorViaClientFlowExecution() {
+    private FlowExecutor buildFlowExecutorViaClientFlowExecution(final Transcoder transcoder) {
         val repository = new ClientFlowExecutionRepository();
         repository.setFlowDefinitionLocator(this.flowDefinitionRegistry);
-        repository.setTranscoder(getWebflowStateTranscoder());
+        repository.setTranscoder(transcoder);
 
         val factory = new FlowExecutionImplFactory();
         factory.setExecutionKeyFactory(repository);
@@ -81,4 +85,9 @@ public class WebflowExecutorFactory {
         val cipherBean = new WebflowCipherBean(this.webflowCipherExecutor);
         return new EncryptedTranscoder(cipherBean);
     }
+
+    private Transcoder getWebflowStateStorageTranscoder() {
+        val session = webflowProperties.getSession();
+        return new WebflowStateStorageTranscoder(this.webflowStateStorage, session.isCompress(), session.getExternalStorageMaxSnapshots());
+    }
 }
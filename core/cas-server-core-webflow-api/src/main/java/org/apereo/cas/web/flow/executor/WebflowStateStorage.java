@@ -0,0 +1,35 @@
+package org.apereo.cas.web.flow.executor;
+
+/**
+ * This is {@link WebflowStateStorage} that keeps serialized webflow
+ * execution snapshots on the server side, so that only a short
+ * opaque reference to the snapshot is passed back and forth with the client.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+public interface WebflowStateStorage {
+
+    /**
+     * Store the serialized flow execution state.
+     *
+     * @param state the state
+     * @return the identifier that references the stored state
+     */
+    String store(byte[] state);
+
+    /**
+     * Retrieve the serialized flow execution state.
+     *
+     * @param id the id
+     * @return the state, or null if none could be found or has expired.
+     */
+    byte[] retrieve(String id);
+
+    /**
+     * Remove the serialized flow execution state, once it is superseded.
+     *
+     * @param id the id
+     */
+    void remove(String id);
+}
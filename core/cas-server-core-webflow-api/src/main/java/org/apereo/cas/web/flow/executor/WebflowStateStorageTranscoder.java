@@ -0,0 +1,110 @@
+package org.apereo.cas.web.flow.executor;
+
+import org.apereo.cas.util.serialization.SerializationUtils;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apereo.spring.webflow.plugin.Transcoder;
+import org.springframework.webflow.context.ExternalContextHolder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * This is {@link WebflowStateStorageTranscoder} that hands off the serialized
+ * flow execution to a {@link WebflowStateStorage} and only encodes the short
+ * storage identifier into the flow execution key sent to the client.
+ * Since the state never leaves the server, no encryption takes place.
+ * Each stored snapshot also lists the ids of the snapshots it descends from, so that
+ * once a flow execution is resumed and stored again, only the most recent snapshots of
+ * the conversation are kept around. Older snapshots are removed, while recent ones remain
+ * available to the back button and to requests that are submitted twice.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class WebflowStateStorageTranscoder implements Transcoder {
+    private static final String REQUEST_ATTRIBUTE_RESUMED_STATE_IDS = WebflowStateStorageTranscoder.class.getName() + ".resumedStateIds";
+
+    private final WebflowStateStorage webflowStateStorage;
+
+    private final boolean compress;
+
+    /**
+     * Maximum number of snapshots kept per conversation; -1 for no limit.
+     */
+    private final int maxSnapshots;
+
+    @Override
+    public byte[] encode(final Object o) throws IOException {
+        val retainedIds = retainResumedStateIds();
+        val output = new ByteArrayOutputStream();
+        val header = new DataOutputStream(output);
+        header.writeInt(retainedIds.size());
+        for (val retainedId : retainedIds) {
+            header.writeUTF(retainedId);
+        }
+        header.flush();
+        SerializationUtils.serialize((Serializable) o, compress ? new GZIPOutputStream(output) : output);
+        val id = webflowStateStorage.store(output.toByteArray());
+        LOGGER.trace("Stored webflow state of [{}] bytes under [{}]", output.size(), id);
+        return id.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public Object decode(final byte[] encoded) throws IOException {
+        val id = new String(encoded, StandardCharsets.UTF_8);
+        val state = webflowStateStorage.retrieve(id);
+        if (state == null) {
+            throw new IOException("Unable to locate webflow state for " + id);
+        }
+        val input = new DataInputStream(new ByteArrayInputStream(state));
+        val count = input.readInt();
+        val stateIds = new ArrayList<String>(count + 1);
+        stateIds.add(id);
+        for (var i = 0; i < count; i++) {
+            stateIds.add(input.readUTF());
+        }
+        val externalContext = ExternalContextHolder.getExternalContext();
+        if (externalContext != null) {
+            externalContext.getRequestMap().put(REQUEST_ATTRIBUTE_RESUMED_STATE_IDS, stateIds);
+        }
+        return SerializationUtils.deserialize(compress ? new GZIPInputStream(input) : input, Serializable.class);
+    }
+
+    /**
+     * Collect the ids of the snapshots the flow execution resumed within this request descends from,
+     * most recent first, and remove those that exceed the number of snapshots kept per conversation.
+     *
+     * @return the ids of the snapshots that are kept
+     */
+    @SuppressWarnings("unchecked")
+    private List<String> retainResumedStateIds() {
+        val externalContext = ExternalContextHolder.getExternalContext();
+        if (externalContext == null || maxSnapshots < 0) {
+            return new ArrayList<>(0);
+        }
+        val stateIds = (List<String>) externalContext.getRequestMap().remove(REQUEST_ATTRIBUTE_RESUMED_STATE_IDS);
+        if (stateIds == null) {
+            return new ArrayList<>(0);
+        }
+        val retainedCount = Math.max(0, Math.min(stateIds.size(), maxSnapshots - 1));
+        stateIds.subList(retainedCount, stateIds.size()).forEach(stateId -> {
+            LOGGER.trace("Removing superseded webflow state [{}]", stateId);
+            webflowStateStorage.remove(stateId);
+        });
+        return stateIds.subList(0, retainedCount);
+    }
+}
@@ -14,6 +14,7 @@ import org.apereo.cas.ticket.AbstractTicketException;
 import org.apereo.cas.ticket.registry.TicketRegistrySupport;
 import org.apereo.cas.util.CollectionUtils;
 import org.apereo.cas.web.flow.CasWebflowConstants;
+import org.apereo.cas.web.flow.RequestScopedResolutionContext;
 import org.apereo.cas.web.flow.resolver.CasDelegatingWebflowEventResolver;
 import org.apereo.cas.web.flow.resolver.CasWebflowEventResolver;
 import org.apereo.cas.web.support.WebUtils;
@@ -115,7 +116,7 @@ public class InitialAuthenticationAttemptWebflowEventResolver extends AbstractCa
         }
 
         LOGGER.debug("Locating service [{}] in service registry to determine authentication policy", service);
-        val registeredService = this.servicesManager.findServiceBy(service);
+        val registeredService = RequestScopedResolutionContext.findServiceBy(context, this.servicesManager, service);
         LOGGER.debug("Locating authentication event in the request context...");
         val authn = WebUtils.getAuthentication(context);
 
@@ -131,7 +132,7 @@ public class InitialAuthenticationAttemptWebflowEventResolver extends AbstractCa
             .registeredService(registeredService)
             .retrievePrincipalAttributesFromReleasePolicy(Boolean.FALSE)
             .build();
-        val result = this.registeredServiceAccessStrategyEnforcer.execute(audit);
+        val result = RequestScopedResolutionContext.executeAccessStrategy(context, this.registeredServiceAccessStrategyEnforcer, audit);
         result.throwExceptionIfNeeded();
         return registeredService;
     }
@@ -155,7 +156,7 @@ public class InitialAuthenticationAttemptWebflowEventResolver extends AbstractCa
             .stream()
             .map(resolver -> {
                 LOGGER.debug("Resolving candidate authentication event for service [{}] using [{}]", service, resolver.getName());
-                return resolver.resolveSingle(context);
+                return RequestScopedResolutionContext.resolveTrigger(context, resolver, service);
             })
             .filter(Objects::nonNull)
             .collect(Collectors.toCollection(supplier));
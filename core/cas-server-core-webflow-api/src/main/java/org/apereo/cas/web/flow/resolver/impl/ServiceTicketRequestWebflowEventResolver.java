@@ -14,6 +14,7 @@ import org.apereo.cas.ticket.AbstractTicketException;
 import org.apereo.cas.ticket.registry.TicketRegistrySupport;
 import org.apereo.cas.util.CollectionUtils;
 import org.apereo.cas.web.flow.CasWebflowConstants;
+import org.apereo.cas.web.flow.RequestScopedResolutionContext;
 import org.apereo.cas.web.support.WebUtils;
 
 import lombok.extern.slf4j.Slf4j;
@@ -117,7 +118,7 @@ public class ServiceTicketRequestWebflowEventResolver extends AbstractCasWebflow
         try {
             val service = WebUtils.getService(context);
             val authn = ticketRegistrySupport.getAuthenticationFrom(ticketGrantingTicketId);
-            val registeredService = this.servicesManager.findServiceBy(service);
+            val registeredService = RequestScopedResolutionContext.findServiceBy(context, this.servicesManager, service);
 
             if (authn != null && registeredService != null) {
                 LOGGER.debug("Enforcing access strategy policies for registered service [{}] and principal [{}]", registeredService, authn.getPrincipal());
@@ -127,7 +128,8 @@ public class ServiceTicketRequestWebflowEventResolver extends AbstractCasWebflow
                     .registeredService(registeredService)
                     .retrievePrincipalAttributesFromReleasePolicy(Boolean.TRUE)
                     .build();
-                val accessResult = this.registeredServiceAccessStrategyEnforcer.execute(audit);
+                val accessResult = RequestScopedResolutionContext.executeAccessStrategy(context,
+                    this.registeredServiceAccessStrategyEnforcer, audit);
                 accessResult.throwExceptionIfNeeded();
             }
 
@@ -0,0 +1,71 @@
+package org.apereo.cas.web.flow;
+
+import org.apereo.cas.authentication.principal.Service;
+import org.apereo.cas.services.RegisteredService;
+import org.apereo.cas.services.ServicesManager;
+import org.apereo.cas.web.flow.resolver.CasWebflowEventResolver;
+
+import lombok.val;
+import org.junit.Test;
+import org.springframework.webflow.execution.Event;
+import org.springframework.webflow.test.MockRequestContext;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * This is {@link RequestScopedResolutionContextTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+public class RequestScopedResolutionContextTests {
+    @Test
+    public void verifyRegisteredServiceIsResolvedOncePerRequest() {
+        val service = mock(Service.class);
+        when(service.getId()).thenReturn("https://example.org");
+        val registeredService = mock(RegisteredService.class);
+        val servicesManager = mock(ServicesManager.class);
+        when(servicesManager.findServiceBy(service)).thenReturn(registeredService);
+
+        val context = new MockRequestContext();
+        assertSame(registeredService, RequestScopedResolutionContext.findServiceBy(context, servicesManager, service));
+        assertSame(registeredService, RequestScopedResolutionContext.findServiceBy(context, servicesManager, service));
+        verify(servicesManager, times(1)).findServiceBy(service);
+
+        RequestScopedResolutionContext.findServiceBy(new MockRequestContext(), servicesManager, service);
+        verify(servicesManager, times(2)).findServiceBy(service);
+    }
+
+    @Test
+    public void verifyMissingRegisteredServiceIsRemembered() {
+        val service = mock(Service.class);
+        when(service.getId()).thenReturn("https://unknown.org");
+        val servicesManager = mock(ServicesManager.class);
+
+        val context = new MockRequestContext();
+        assertNull(RequestScopedResolutionContext.findServiceBy(context, servicesManager, service));
+        assertNull(RequestScopedResolutionContext.findServiceBy(context, servicesManager, service));
+        verify(servicesManager, times(1)).findServiceBy(service);
+    }
+
+    @Test
+    public void verifyTriggerIsResolvedOncePerRequest() {
+        val service = mock(Service.class);
+        when(service.getId()).thenReturn("https://example.org");
+        val resolver = mock(CasWebflowEventResolver.class);
+        when(resolver.getName()).thenReturn("trigger");
+        val context = new MockRequestContext();
+        val event = new Event(this, "mfa-dummy");
+        when(resolver.resolveSingle(context)).thenReturn(event);
+
+        assertSame(event, RequestScopedResolutionContext.resolveTrigger(context, resolver, service));
+        assertSame(event, RequestScopedResolutionContext.resolveTrigger(context, resolver, service));
+        verify(resolver, times(1)).resolveSingle(context);
+
+        val otherContext = new MockRequestContext();
+        assertNull(RequestScopedResolutionContext.resolveTrigger(otherContext, resolver, service));
+        assertNull(RequestScopedResolutionContext.resolveTrigger(otherContext, resolver, service));
+        verify(resolver, times(1)).resolveSingle(otherContext);
+    }
+}
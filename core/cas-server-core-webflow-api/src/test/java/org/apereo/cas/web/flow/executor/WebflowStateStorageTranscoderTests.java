@@ -0,0 +1,113 @@
+package org.apereo.cas.web.flow.executor;
+
+import org.apereo.cas.util.CollectionUtils;
+
+import lombok.val;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.webflow.context.ExternalContextHolder;
+import org.springframework.webflow.context.servlet.ServletExternalContext;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link WebflowStateStorageTranscoderTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+public class WebflowStateStorageTranscoderTests {
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    private static void startRequest() {
+        ExternalContextHolder.setExternalContext(new ServletExternalContext(new MockServletContext(),
+            new MockHttpServletRequest(), new MockHttpServletResponse()));
+    }
+
+    private static Object resume(final WebflowStateStorageTranscoder transcoder, final byte[] encoded) throws Exception {
+        startRequest();
+        return transcoder.decode(encoded);
+    }
+
+    private static boolean isStored(final WebflowStateStorage storage, final byte[] encoded) {
+        return storage.retrieve(new String(encoded, StandardCharsets.UTF_8)) != null;
+    }
+
+    @After
+    public void after() {
+        ExternalContextHolder.setExternalContext(null);
+    }
+
+    @Test
+    public void verifyOperation() throws Exception {
+        val storage = new InMemoryWebflowStateStorage(Duration.ofMinutes(1));
+        val transcoder = new WebflowStateStorageTranscoder(storage, false, 5);
+        val state = CollectionUtils.wrapList("one", "two");
+        val encoded = transcoder.encode(state);
+        assertTrue(isStored(storage, encoded));
+        assertEquals(state, transcoder.decode(encoded));
+    }
+
+    @Test
+    public void verifyCompressedOperation() throws Exception {
+        val transcoder = new WebflowStateStorageTranscoder(new InMemoryWebflowStateStorage(Duration.ofMinutes(1)), true, 5);
+        val state = CollectionUtils.wrapList("one", "two");
+        assertEquals(state, resume(transcoder, transcoder.encode(state)));
+    }
+
+    @Test
+    public void verifyRecentSnapshotsAreKept() throws Exception {
+        val storage = new InMemoryWebflowStateStorage(Duration.ofMinutes(1));
+        val transcoder = new WebflowStateStorageTranscoder(storage, false, 3);
+        val state = CollectionUtils.wrapList("one", "two");
+        val first = transcoder.encode(state);
+
+        assertEquals(state, resume(transcoder, first));
+        val second = transcoder.encode(state);
+        assertEquals(state, resume(transcoder, second));
+        val third = transcoder.encode(state);
+        assertTrue(isStored(storage, first));
+
+        assertEquals(state, resume(transcoder, third));
+        val fourth = transcoder.encode(state);
+        assertFalse(isStored(storage, first));
+        assertTrue(isStored(storage, second));
+        assertTrue(isStored(storage, third));
+        assertTrue(isStored(storage, fourth));
+
+        assertEquals(state, resume(transcoder, second));
+        assertTrue(isStored(storage, transcoder.encode(state)));
+        assertEquals(state, resume(transcoder, second));
+        assertTrue(isStored(storage, transcoder.encode(state)));
+        assertTrue(isStored(storage, second));
+    }
+
+    @Test
+    public void verifySnapshotsAreUnlimited() throws Exception {
+        val storage = new InMemoryWebflowStateStorage(Duration.ofMinutes(1));
+        val transcoder = new WebflowStateStorageTranscoder(storage, false, -1);
+        val state = CollectionUtils.wrapList("one", "two");
+        val first = transcoder.encode(state);
+        assertEquals(state, resume(transcoder, first));
+        assertEquals(state, resume(transcoder, transcoder.encode(state)));
+        transcoder.encode(state);
+        assertTrue(isStored(storage, first));
+    }
+
+    @Test
+    public void verifyUnknownState() throws Exception {
+        val transcoder = new WebflowStateStorageTranscoder(new InMemoryWebflowStateStorage(Duration.ofMinutes(1)), false, 5);
+        this.thrown.expect(IOException.class);
+        transcoder.decode("FLOW-unknown".getBytes(StandardCharsets.UTF_8));
+    }
+}
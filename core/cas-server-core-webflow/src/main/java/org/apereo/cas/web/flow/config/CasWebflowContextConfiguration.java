@@ -2,7 +2,10 @@ package org.apereo.cas.web.flow.config;
 
 import org.apereo.cas.CipherExecutor;
 import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.configuration.support.Beans;
 import org.apereo.cas.throttle.AuthenticationThrottlingExecutionPlan;
+import org.apereo.cas.ticket.registry.TicketRegistry;
+import org.apereo.cas.ticket.support.HardTimeoutExpirationPolicy;
 import org.apereo.cas.util.CollectionUtils;
 import org.apereo.cas.web.flow.CasFlowHandlerAdapter;
 import org.apereo.cas.web.flow.CasWebflowConfigurer;
@@ -14,7 +17,10 @@ import org.apereo.cas.web.flow.configurer.DefaultLoginWebflowConfigurer;
 import org.apereo.cas.web.flow.configurer.DefaultLogoutWebflowConfigurer;
 import org.apereo.cas.web.flow.configurer.GroovyWebflowConfigurer;
 import org.apereo.cas.web.flow.configurer.plan.DefaultCasWebflowExecutionPlan;
+import org.apereo.cas.web.flow.executor.InMemoryWebflowStateStorage;
+import org.apereo.cas.web.flow.executor.TicketRegistryWebflowStateStorage;
 import org.apereo.cas.web.flow.executor.WebflowExecutorFactory;
+import org.apereo.cas.web.flow.executor.WebflowStateStorage;
 
 import lombok.val;
 import org.springframework.beans.factory.ObjectProvider;
@@ -86,6 +92,10 @@ public class CasWebflowContextConfiguration {
     @Qualifier("webflowCipherExecutor")
     private ObjectProvider<CipherExecutor> webflowCipherExecutor;
 
+    @Autowired
+    @Qualifier("ticketRegistry")
+    private ObjectProvider<TicketRegistry> ticketRegistry;
+
     @Bean
     public ExpressionParser expressionParser() {
         return new WebFlowSpringELExpressionParser(new SpelExpressionParser(), logoutConversionService());
@@ -200,11 +210,24 @@ public class CasWebflowContextConfiguration {
         return builder.build();
     }
 
+    @ConditionalOnMissingBean(name = "webflowStateStorage")
+    @RefreshScope
+    @Bean
+    public WebflowStateStorage webflowStateStorage() {
+        val timeout = Beans.newDuration(casProperties.getWebflow().getSession().getExternalStorageTimeout());
+        val registry = this.ticketRegistry.getIfAvailable();
+        if (registry != null) {
+            return new TicketRegistryWebflowStateStorage(registry, new HardTimeoutExpirationPolicy(timeout.getSeconds()));
+        }
+        return new InMemoryWebflowStateStorage(timeout);
+    }
+
     @RefreshScope
     @Bean
     public FlowExecutor logoutFlowExecutor() {
         val factory = new WebflowExecutorFactory(casProperties.getWebflow(),
-            logoutFlowRegistry(), this.webflowCipherExecutor.getIfAvailable(), new FlowExecutionListener[0]);
+            logoutFlowRegistry(), this.webflowCipherExecutor.getIfAvailable(), new FlowExecutionListener[0],
+            webflowStateStorage());
         return factory.build();
     }
 
@@ -213,7 +236,7 @@ public class CasWebflowContextConfiguration {
     public FlowExecutor loginFlowExecutor() {
         val factory = new WebflowExecutorFactory(casProperties.getWebflow(),
             loginFlowRegistry(), this.webflowCipherExecutor.getIfAvailable(),
-            new FlowExecutionListener[0]);
+            new FlowExecutionListener[0], webflowStateStorage());
 
         return factory.build();
     }
@@ -18,6 +18,7 @@ import org.apereo.cas.ticket.TicketFactory;
 import org.apereo.cas.ticket.TicketGrantingTicket;
 import org.apereo.cas.ticket.UnsatisfiedAuthenticationPolicyException;
 import org.apereo.cas.ticket.registry.TicketRegistry;
+import org.apereo.cas.ticket.registry.support.TicketLockingService;
 
 import lombok.AllArgsConstructor;
 import lombok.NonNull;
@@ -35,6 +36,7 @@ import java.io.Serializable;
 import java.util.Collection;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * An abstract implementation of the {@link CentralAuthenticationService} that provides access to
@@ -103,6 +105,11 @@ public abstract class AbstractCentralAuthenticationService implements CentralAut
      */
     protected final AuditableExecution registeredServiceAccessStrategyEnforcer;
 
+    /**
+     * Serializes concurrent use of the same ticket on this node.
+     */
+    protected final TicketLockingService ticketLockingService;
+
 
     /**
      * Publish CAS events.
@@ -143,7 +150,17 @@ public abstract class AbstractCentralAuthenticationService implements CentralAut
     @Transactional(transactionManager = "ticketTransactionManager")
     @Override
     public Collection<Ticket> getTickets(final Predicate<Ticket> predicate) {
-        return this.ticketRegistry.getTickets().stream().filter(predicate).collect(Collectors.toSet());
+        return this.ticketRegistry.getTickets(predicate).collect(Collectors.toSet());
+    }
+
+    @Override
+    public Stream<? extends Ticket> getTicketsStream(final Predicate<Ticket> predicate) {
+        return this.ticketRegistry.getTickets(predicate);
+    }
+
+    @Override
+    public <T extends Ticket> Stream<T> getTicketsStream(final Class<T> type, final Predicate<? super T> predicate) {
+        return this.ticketRegistry.getTicketsStream(type).filter(predicate);
     }
 
     @Transactional(transactionManager = "ticketTransactionManager")
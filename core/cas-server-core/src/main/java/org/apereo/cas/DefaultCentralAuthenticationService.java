@@ -39,14 +39,17 @@ import org.apereo.cas.ticket.proxy.ProxyGrantingTicketFactory;
 import org.apereo.cas.ticket.proxy.ProxyTicket;
 import org.apereo.cas.ticket.proxy.ProxyTicketFactory;
 import org.apereo.cas.ticket.registry.TicketRegistry;
+import org.apereo.cas.ticket.registry.support.TicketLockingService;
 import org.apereo.cas.util.DigestUtils;
 import org.apereo.cas.validation.Assertion;
 import org.apereo.cas.validation.DefaultAssertionBuilder;
 
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
+import org.apache.commons.lang3.tuple.Pair;
 import org.apereo.inspektr.audit.annotation.Audit;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
@@ -78,10 +81,11 @@ public class DefaultCentralAuthenticationService extends AbstractCentralAuthenti
                                                final ContextualAuthenticationPolicyFactory<ServiceContext> serviceContextAuthenticationPolicyFactory,
                                                final PrincipalFactory principalFactory,
                                                final CipherExecutor<String, String> cipherExecutor,
-                                               final AuditableExecution registeredServiceAccessStrategyEnforcer) {
+                                               final AuditableExecution registeredServiceAccessStrategyEnforcer,
+                                               final TicketLockingService ticketLockingService) {
         super(applicationEventPublisher, ticketRegistry, servicesManager, logoutManager, ticketFactory,
             authenticationRequestServiceSelectionStrategies, serviceContextAuthenticationPolicyFactory,
-            principalFactory, cipherExecutor, registeredServiceAccessStrategyEnforcer);
+            principalFactory, cipherExecutor, registeredServiceAccessStrategyEnforcer, ticketLockingService);
     }
 
     private static Authentication evaluatePossibilityOfMixedPrincipals(final AuthenticationResult context, final TicketGrantingTicket ticketGrantingTicket)
@@ -131,9 +135,17 @@ public class DefaultCentralAuthenticationService extends AbstractCentralAuthenti
         actionResolverName = "GRANT_SERVICE_TICKET_RESOLVER",
         resourceResolverName = "GRANT_SERVICE_TICKET_RESOURCE_RESOLVER")
     @Override
+    @Transactional(transactionManager = "ticketTransactionManager", propagation = Propagation.SUPPORTS)
     public ServiceTicket grantServiceTicket(final String ticketGrantingTicketId, final Service service, final AuthenticationResult authenticationResult)
         throws AuthenticationException, AbstractTicketException {
+        val result = this.ticketLockingService.executeWithLock(ticketGrantingTicketId,
+            () -> grantServiceTicketInternal(ticketGrantingTicketId, service, authenticationResult));
+        doPublishEvent(new CasServiceTicketGrantedEvent(this, result.getKey(), result.getValue()));
+        return result.getValue();
+    }
 
+    private Pair<TicketGrantingTicket, ServiceTicket> grantServiceTicketInternal(final String ticketGrantingTicketId, final Service service,
+                                                     final AuthenticationResult authenticationResult) {
         val credentialProvided = authenticationResult != null && authenticationResult.isCredentialProvided();
         val ticketGrantingTicket = getTicket(ticketGrantingTicketId, TicketGrantingTicket.class);
         val selectedService = resolveServiceFromAuthenticationRequest(service);
@@ -164,8 +176,7 @@ public class DefaultCentralAuthenticationService extends AbstractCentralAuthenti
         this.ticketRegistry.addTicket(serviceTicket);
 
         LOGGER.info("Granted ticket [{}] for service [{}] and principal [{}]", serviceTicket.getId(), DigestUtils.abbreviate(service.getId()), principal.getId());
-        doPublishEvent(new CasServiceTicketGrantedEvent(this, ticketGrantingTicket, serviceTicket));
-        return serviceTicket;
+        return Pair.of(ticketGrantingTicket, serviceTicket);
     }
 
     @Audit(
@@ -173,9 +184,15 @@ public class DefaultCentralAuthenticationService extends AbstractCentralAuthenti
         actionResolverName = "GRANT_PROXY_TICKET_RESOLVER",
         resourceResolverName = "GRANT_PROXY_TICKET_RESOURCE_RESOLVER")
     @Override
+    @Transactional(transactionManager = "ticketTransactionManager", propagation = Propagation.SUPPORTS)
     public ProxyTicket grantProxyTicket(final String proxyGrantingTicket, final Service service)
         throws AbstractTicketException {
+        val result = this.ticketLockingService.executeWithLock(proxyGrantingTicket, () -> grantProxyTicketInternal(proxyGrantingTicket, service));
+        doPublishEvent(new CasProxyTicketGrantedEvent(this, result.getKey(), result.getValue()));
+        return result.getValue();
+    }
 
+    private Pair<ProxyGrantingTicket, ProxyTicket> grantProxyTicketInternal(final String proxyGrantingTicket, final Service service) {
         val proxyGrantingTicketObject = getTicket(proxyGrantingTicket, ProxyGrantingTicket.class);
         val registeredService = this.servicesManager.findServiceBy(service);
 
@@ -211,9 +228,7 @@ public class DefaultCentralAuthenticationService extends AbstractCentralAuthenti
 
         LOGGER.info("Granted ticket [{}] for service [{}] for user [{}]",
             proxyTicket.getId(), service.getId(), principal.getId());
-
-        doPublishEvent(new CasProxyTicketGrantedEvent(this, proxyGrantingTicketObject, proxyTicket));
-        return proxyTicket;
+        return Pair.of(proxyGrantingTicketObject, proxyTicket);
     }
 
     @Audit(
@@ -222,10 +237,17 @@ public class DefaultCentralAuthenticationService extends AbstractCentralAuthenti
         resourceResolverName = "CREATE_PROXY_GRANTING_TICKET_RESOURCE_RESOLVER")
 
     @Override
+    @Transactional(transactionManager = "ticketTransactionManager", propagation = Propagation.SUPPORTS)
     public ProxyGrantingTicket createProxyGrantingTicket(final String serviceTicketId, final AuthenticationResult authenticationResult)
         throws AuthenticationException, AbstractTicketException {
-
         AuthenticationCredentialsThreadLocalBinder.bindCurrent(authenticationResult.getAuthentication());
+        val proxyGrantingTicket = this.ticketLockingService.executeWithLock(serviceTicketId,
+            () -> createProxyGrantingTicketInternal(serviceTicketId, authenticationResult));
+        doPublishEvent(new CasProxyGrantingTicketCreatedEvent(this, proxyGrantingTicket));
+        return proxyGrantingTicket;
+    }
+
+    private ProxyGrantingTicket createProxyGrantingTicketInternal(final String serviceTicketId, final AuthenticationResult authenticationResult) {
         val serviceTicket = this.ticketRegistry.getTicket(serviceTicketId, ServiceTicket.class);
 
         if (serviceTicket == null || serviceTicket.isExpired()) {
@@ -254,11 +276,7 @@ public class DefaultCentralAuthenticationService extends AbstractCentralAuthenti
 
         LOGGER.debug("Generated proxy granting ticket [{}] based off of [{}]", proxyGrantingTicket, serviceTicketId);
         this.ticketRegistry.addTicket(proxyGrantingTicket);
-
-        doPublishEvent(new CasProxyGrantingTicketCreatedEvent(this, proxyGrantingTicket));
-
         return proxyGrantingTicket;
-
     }
 
     @Audit(
@@ -273,86 +291,94 @@ public class DefaultCentralAuthenticationService extends AbstractCentralAuthenti
             throw new InvalidTicketException(serviceTicketId);
         }
 
-        val serviceTicket = this.ticketRegistry.getTicket(serviceTicketId, ServiceTicket.class);
+        val serviceTicket = this.ticketLockingService.executeWithLock(serviceTicketId, () -> useServiceTicket(serviceTicketId, service));
 
-        if (serviceTicket == null) {
-            LOGGER.warn("Service ticket [{}] does not exist.", serviceTicketId);
-            throw new InvalidTicketException(serviceTicketId);
-        }
+        val selectedService = resolveServiceFromAuthenticationRequest(serviceTicket.getService());
+        LOGGER.debug("Resolved service [{}] from the authentication request", selectedService);
 
-        try {
-            /*
-             * Synchronization on ticket object in case of cache based registry doesn't serialize
-             * access to critical section. The reason is that cache pulls serialized data and
-             * builds new object, most likely for each pull. Is this synchronization needed here?
-             */
-            synchronized (serviceTicket) {
-                if (serviceTicket.isExpired()) {
-                    LOGGER.info("ServiceTicket [{}] has expired.", serviceTicketId);
-                    throw new InvalidTicketException(serviceTicketId);
-                }
-
-                if (!serviceTicket.isValidFor(service)) {
-                    LOGGER.error("Service ticket [{}] with service [{}] does not match supplied service [{}]",
-                        serviceTicketId, serviceTicket.getService().getId(), service);
-                    throw new UnrecognizableServiceForServiceTicketValidationException(serviceTicket.getService());
-                }
-            }
+        val registeredService = this.servicesManager.findServiceBy(selectedService);
+        LOGGER.debug("Located registered service definition [{}] from [{}] to handle validation request", registeredService, selectedService);
+        RegisteredServiceAccessStrategyUtils.ensureServiceAccessIsAllowed(selectedService, registeredService);
 
-            val selectedService = resolveServiceFromAuthenticationRequest(serviceTicket.getService());
-            LOGGER.debug("Resolved service [{}] from the authentication request", selectedService);
+        val root = serviceTicket.getTicketGrantingTicket().getRoot();
+        val authentication = getAuthenticationSatisfiedByPolicy(root.getAuthentication(),
+            new ServiceContext(selectedService, registeredService));
+        val principal = authentication.getPrincipal();
 
-            val registeredService = this.servicesManager.findServiceBy(selectedService);
-            LOGGER.debug("Located registered service definition [{}] from [{}] to handle validation request", registeredService, selectedService);
-            RegisteredServiceAccessStrategyUtils.ensureServiceAccessIsAllowed(selectedService, registeredService);
+        val attributePolicy = registeredService.getAttributeReleasePolicy();
+        LOGGER.debug("Attribute policy [{}] is associated with service [{}]", attributePolicy, registeredService);
 
-            val root = serviceTicket.getTicketGrantingTicket().getRoot();
-            val authentication = getAuthenticationSatisfiedByPolicy(root.getAuthentication(),
-                new ServiceContext(selectedService, registeredService));
-            val principal = authentication.getPrincipal();
+        val attributesToRelease = attributePolicy != null
+            ? attributePolicy.getAttributes(principal, selectedService, registeredService) : new HashMap<String, Object>();
 
-            val attributePolicy = registeredService.getAttributeReleasePolicy();
-            LOGGER.debug("Attribute policy [{}] is associated with service [{}]", attributePolicy, registeredService);
+        LOGGER.debug("Calculated attributes for release per the release policy are [{}]", attributesToRelease.keySet());
 
-            val attributesToRelease = attributePolicy != null
-                ? attributePolicy.getAttributes(principal, selectedService, registeredService) : new HashMap<String, Object>();
+        val principalId = registeredService.getUsernameAttributeProvider().resolveUsername(principal, selectedService, registeredService);
+        val modifiedPrincipal = this.principalFactory.createPrincipal(principalId, attributesToRelease);
+        val builder = DefaultAuthenticationBuilder.newInstance(authentication);
+        builder.setPrincipal(modifiedPrincipal);
+        LOGGER.debug("Principal determined for release to [{}] is [{}]", registeredService.getServiceId(), principalId);
 
-            LOGGER.debug("Calculated attributes for release per the release policy are [{}]", attributesToRelease.keySet());
+        val finalAuthentication = builder.build();
 
-            val principalId = registeredService.getUsernameAttributeProvider().resolveUsername(principal, selectedService, registeredService);
-            val modifiedPrincipal = this.principalFactory.createPrincipal(principalId, attributesToRelease);
-            val builder = DefaultAuthenticationBuilder.newInstance(authentication);
-            builder.setPrincipal(modifiedPrincipal);
-            LOGGER.debug("Principal determined for release to [{}] is [{}]", registeredService.getServiceId(), principalId);
+        val audit = AuditableContext.builder()
+            .service(selectedService)
+            .authentication(finalAuthentication)
+            .registeredService(registeredService)
+            .retrievePrincipalAttributesFromReleasePolicy(Boolean.FALSE)
+            .build();
+        val accessResult = this.registeredServiceAccessStrategyEnforcer.execute(audit);
+        accessResult.throwExceptionIfNeeded();
 
-            val finalAuthentication = builder.build();
+        AuthenticationCredentialsThreadLocalBinder.bindCurrent(finalAuthentication);
 
-            val audit = AuditableContext.builder()
-                .service(selectedService)
-                .authentication(finalAuthentication)
-                .registeredService(registeredService)
-                .retrievePrincipalAttributesFromReleasePolicy(Boolean.FALSE)
-                .build();
-            val accessResult = this.registeredServiceAccessStrategyEnforcer.execute(audit);
-            accessResult.throwExceptionIfNeeded();
+        val assertion = new DefaultAssertionBuilder(finalAuthentication)
+            .with(selectedService)
+            .with(serviceTicket.getTicketGrantingTicket().getChainedAuthentications())
+            .with(serviceTicket.isFromNewLogin())
+            .build();
+        doPublishEvent(new CasServiceTicketValidatedEvent(this, serviceTicket, assertion));
 
-            AuthenticationCredentialsThreadLocalBinder.bindCurrent(finalAuthentication);
+        return assertion;
+    }
 
-            val assertion = new DefaultAssertionBuilder(finalAuthentication)
-                .with(selectedService)
-                .with(serviceTicket.getTicketGrantingTicket().getChainedAuthentications())
-                .with(serviceTicket.isFromNewLogin())
-                .build();
-            doPublishEvent(new CasServiceTicketValidatedEvent(this, serviceTicket, assertion));
-
-            return assertion;
-        } finally {
-            if (serviceTicket.isExpired()) {
-                deleteTicket(serviceTicketId);
-            } else {
-                this.ticketRegistry.updateTicket(serviceTicket);
+    /**
+     * Record a use of the service ticket by the given service and store the outcome.
+     * A ticket that is used up by this request is consumed from the registry in a single operation,
+     * so that only one of several concurrent validation requests for the same ticket can succeed.
+     *
+     * @param serviceTicketId the service ticket id
+     * @param service         the service validating the ticket
+     * @return the service ticket
+     */
+    private ServiceTicket useServiceTicket(final String serviceTicketId, final Service service) {
+        val serviceTicket = this.ticketRegistry.getTicket(serviceTicketId, ServiceTicket.class);
+        if (serviceTicket == null) {
+            LOGGER.warn("Service ticket [{}] does not exist.", serviceTicketId);
+            throw new InvalidTicketException(serviceTicketId);
+        }
+        if (serviceTicket.isExpired()) {
+            LOGGER.info("ServiceTicket [{}] has expired.", serviceTicketId);
+            deleteTicket(serviceTicketId);
+            throw new InvalidTicketException(serviceTicketId);
+        }
+
+        val validForService = serviceTicket.isValidFor(service);
+        if (serviceTicket.isExpired()) {
+            if (!this.ticketRegistry.consumeTicket(serviceTicketId)) {
+                LOGGER.warn("Service ticket [{}] has already been used by another validation request.", serviceTicketId);
+                throw new InvalidTicketException(serviceTicketId);
             }
+        } else {
+            this.ticketRegistry.updateTicket(serviceTicket);
         }
+
+        if (!validForService) {
+            LOGGER.error("Service ticket [{}] with service [{}] does not match supplied service [{}]",
+                serviceTicketId, serviceTicket.getService().getId(), service);
+            throw new UnrecognizableServiceForServiceTicketValidationException(serviceTicket.getService());
+        }
+        return serviceTicket;
     }
 
     @Audit(
@@ -16,7 +16,9 @@ import org.apereo.cas.logout.LogoutManager;
 import org.apereo.cas.services.ServiceContext;
 import org.apereo.cas.services.ServicesManager;
 import org.apereo.cas.ticket.TicketFactory;
+import org.apereo.cas.ticket.registry.NoOpTicketLockingService;
 import org.apereo.cas.ticket.registry.TicketRegistry;
+import org.apereo.cas.ticket.registry.support.TicketLockingService;
 
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
@@ -59,6 +61,10 @@ public class CasCoreConfiguration {
     @Qualifier("ticketRegistry")
     private ObjectProvider<TicketRegistry> ticketRegistry;
 
+    @Autowired
+    @Qualifier("ticketLockingService")
+    private ObjectProvider<TicketLockingService> ticketLockingService;
+
     @Autowired
     @Qualifier("servicesManager")
     private ObjectProvider<ServicesManager> servicesManager;
@@ -115,6 +121,7 @@ public class CasCoreConfiguration {
             authenticationPolicyFactory(),
             principalFactory.getIfAvailable(),
             cipherExecutor.getIfAvailable(),
-            registeredServiceAccessStrategyEnforcer.getIfAvailable());
+            registeredServiceAccessStrategyEnforcer.getIfAvailable(),
+            ticketLockingService.getIfAvailable(NoOpTicketLockingService::new));
     }
 }
@@ -57,6 +57,7 @@ import org.apereo.cas.ticket.factory.DefaultTicketGrantingTicketFactory;
 import org.apereo.cas.ticket.factory.DefaultTransientSessionTicketFactory;
 import org.apereo.cas.ticket.proxy.ProxyGrantingTicket;
 import org.apereo.cas.ticket.proxy.ProxyTicket;
+import org.apereo.cas.ticket.registry.NoOpTicketLockingService;
 import org.apereo.cas.ticket.registry.TicketRegistry;
 import org.apereo.cas.ticket.support.NeverExpiresExpirationPolicy;
 
@@ -81,6 +82,7 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
+import java.util.function.Predicate;
 import java.util.stream.IntStream;
 
 import static org.junit.Assert.*;
@@ -229,7 +231,7 @@ public class DefaultCentralAuthenticationServiceMockitoTests {
             mock(LogoutManager.class), factory,
             authenticationRequestServiceSelectionStrategies, new AcceptAnyAuthenticationPolicyFactory(),
             new DefaultPrincipalFactory(), null,
-            enforcer);
+            enforcer, new NoOpTicketLockingService());
         this.cas.setApplicationEventPublisher(mock(ApplicationEventPublisher.class));
     }
 
@@ -262,6 +264,9 @@ public class DefaultCentralAuthenticationServiceMockitoTests {
         when(ticketRegMock.getTicket(eq(stMock.getId()), eq(ServiceTicket.class))).thenReturn(stMock);
         when(ticketRegMock.getTicket(eq(stMock2.getId()), eq(ServiceTicket.class))).thenReturn(stMock2);
         when(ticketRegMock.getTickets()).thenReturn((Collection) Arrays.asList(tgtMock, tgtMock2, stMock, stMock2));
+        when(ticketRegMock.getTicketsStream()).thenCallRealMethod();
+        when(ticketRegMock.getTickets(any(Predicate.class))).thenCallRealMethod();
+        when(ticketRegMock.consumeTicket(anyString())).thenReturn(true);
     }
 
     @Test
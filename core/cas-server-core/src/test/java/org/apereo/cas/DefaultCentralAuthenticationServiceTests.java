@@ -21,6 +21,7 @@ import org.apereo.cas.ticket.TicketGrantingTicket;
 import org.apereo.cas.ticket.TicketGrantingTicketImpl;
 import org.apereo.cas.ticket.proxy.ProxyGrantingTicket;
 import org.apereo.cas.ticket.proxy.ProxyTicket;
+import org.apereo.cas.ticket.registry.NoOpTicketLockingService;
 import org.apereo.cas.util.MockOnlyOneTicketRegistry;
 import org.apereo.cas.validation.Cas20WithoutProxyingValidationSpecification;
 
@@ -455,7 +456,7 @@ public class DefaultCentralAuthenticationServiceTests extends AbstractCentralAut
             mock(ApplicationEventPublisher.class), registry, null, logoutManager,
             null, null,
             null, null, null,
-            mock(AuditableExecution.class));
+            mock(AuditableExecution.class), new NoOpTicketLockingService());
         cas.destroyTicketGrantingTicket(tgt.getId());
     }
 }
@@ -67,7 +67,7 @@ public class GenerateServiceTicketAction extends AbstractAction {
             }
 
             val selectedService = authenticationRequestServiceSelectionStrategies.resolveService(service);
-            val registeredService = servicesManager.findServiceBy(selectedService);
+            val registeredService = RequestScopedResolutionContext.findServiceBy(context, servicesManager, selectedService);
             LOGGER.debug("Registered service asking for service ticket is [{}]", registeredService);
             WebUtils.putRegisteredService(context, registeredService);
             WebUtils.putService(context, service);
@@ -40,7 +40,7 @@ public class ServiceAuthorizationCheck extends AbstractAction {
             LOGGER.warn(msg);
             throw new UnauthorizedServiceException(UnauthorizedServiceException.CODE_EMPTY_SVC_MGMR, msg);
         }
-        val registeredService = this.servicesManager.findServiceBy(service);
+        val registeredService = RequestScopedResolutionContext.findServiceBy(context, this.servicesManager, service);
 
         if (registeredService == null) {
             val msg = String.format("Service Management: missing service. "
@@ -7,6 +7,7 @@ import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.services.RegisteredServiceAccessStrategyUtils;
 import org.apereo.cas.services.ServicesManager;
 import org.apereo.cas.services.UnauthorizedServiceException;
+import org.apereo.cas.web.flow.RequestScopedResolutionContext;
 import org.apereo.cas.web.support.ArgumentExtractor;
 import org.apereo.cas.web.support.CookieRetrievingCookieGenerator;
 import org.apereo.cas.web.support.WebUtils;
@@ -61,7 +62,7 @@ public class InitialFlowSetupAction extends AbstractAction {
             LOGGER.debug("Placing service in context scope: [{}]", service.getId());
 
             val selectedService = authenticationRequestServiceSelectionStrategies.resolveService(service);
-            val registeredService = this.servicesManager.findServiceBy(selectedService);
+            val registeredService = RequestScopedResolutionContext.findServiceBy(context, this.servicesManager, selectedService);
             RegisteredServiceAccessStrategyUtils.ensureServiceAccessIsAllowed(registeredService);
             if (registeredService != null && registeredService.getAccessStrategy().isServiceAccessAllowed()) {
                 LOGGER.debug("Placing registered service [{}] with id [{}] in context scope",
@@ -8,7 +8,10 @@ import lombok.val;
 import org.apache.commons.lang3.StringUtils;
 
 import java.util.Collection;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
 /**
  * This is {@link DynamoDbTicketRegistry}.
@@ -62,6 +65,11 @@ public class DynamoDbTicketRegistry extends AbstractTicketRegistry {
         return decodeTickets(this.dbTableService.getAll());
     }
 
+    @Override
+    public Collection<? extends Ticket> getTickets(final Collection<String> ticketIds) {
+        return decodeTickets(this.dbTableService.getAll(encodeTicketIds(ticketIds)));
+    }
+
     @Override
     public Ticket updateTicket(final Ticket ticket) {
         addTicket(ticket);
@@ -73,4 +81,19 @@ public class DynamoDbTicketRegistry extends AbstractTicketRegistry {
         val ticketId = encodeTicketId(ticketIdToDelete);
         return this.dbTableService.delete(ticketIdToDelete, ticketId);
     }
+
+    @Override
+    protected int deleteSingleTickets(final Collection<String> ticketIds) {
+        if (ticketIds.isEmpty()) {
+            return 0;
+        }
+        LOGGER.debug("Removing [{}] ticket(s) in batches", ticketIds.size());
+        return this.dbTableService.delete(encodeTicketIds(ticketIds));
+    }
+
+    private Map<String, String> encodeTicketIds(final Collection<String> ticketIds) {
+        return ticketIds.stream()
+            .distinct()
+            .collect(Collectors.toMap(Function.identity(), this::encodeTicketId));
+    }
 }
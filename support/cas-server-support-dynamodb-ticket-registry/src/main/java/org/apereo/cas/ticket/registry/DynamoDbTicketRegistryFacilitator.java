@@ -3,25 +3,36 @@ package org.apereo.cas.ticket.registry;
 import org.apereo.cas.configuration.model.support.dynamodb.DynamoDbTicketRegistryProperties;
 import org.apereo.cas.ticket.Ticket;
 import org.apereo.cas.ticket.TicketCatalog;
+import org.apereo.cas.ticket.TicketState;
 import org.apereo.cas.util.CollectionUtils;
 
 import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
 import com.amazonaws.services.dynamodbv2.model.AttributeDefinition;
 import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.BatchGetItemRequest;
+import com.amazonaws.services.dynamodbv2.model.BatchWriteItemRequest;
 import com.amazonaws.services.dynamodbv2.model.CreateTableRequest;
 import com.amazonaws.services.dynamodbv2.model.DeleteItemRequest;
+import com.amazonaws.services.dynamodbv2.model.DeleteRequest;
 import com.amazonaws.services.dynamodbv2.model.DeleteTableRequest;
 import com.amazonaws.services.dynamodbv2.model.DescribeTableRequest;
+import com.amazonaws.services.dynamodbv2.model.DescribeTimeToLiveRequest;
 import com.amazonaws.services.dynamodbv2.model.GetItemRequest;
 import com.amazonaws.services.dynamodbv2.model.KeySchemaElement;
 import com.amazonaws.services.dynamodbv2.model.KeyType;
+import com.amazonaws.services.dynamodbv2.model.KeysAndAttributes;
 import com.amazonaws.services.dynamodbv2.model.ProvisionedThroughput;
 import com.amazonaws.services.dynamodbv2.model.PutItemRequest;
+import com.amazonaws.services.dynamodbv2.model.ReturnValue;
 import com.amazonaws.services.dynamodbv2.model.ScalarAttributeType;
 import com.amazonaws.services.dynamodbv2.model.ScanRequest;
+import com.amazonaws.services.dynamodbv2.model.TimeToLiveSpecification;
+import com.amazonaws.services.dynamodbv2.model.TimeToLiveStatus;
+import com.amazonaws.services.dynamodbv2.model.UpdateTimeToLiveRequest;
+import com.amazonaws.services.dynamodbv2.model.WriteRequest;
 import com.amazonaws.services.dynamodbv2.util.TableUtils;
+import lombok.AccessLevel;
 import lombok.Getter;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.apache.commons.lang3.SerializationUtils;
@@ -29,12 +40,20 @@ import org.jooq.lambda.Unchecked;
 
 import java.io.ByteArrayInputStream;
 import java.nio.ByteBuffer;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 /**
  * This is {@link DynamoDbTicketRegistryFacilitator}.
@@ -44,12 +63,37 @@ import java.util.stream.Collectors;
  */
 @Slf4j
 @Getter
-@RequiredArgsConstructor
 public class DynamoDbTicketRegistryFacilitator {
+    private static final int MAX_BATCH_GET_ITEMS = 100;
+    private static final int MAX_BATCH_WRITE_ITEMS = 25;
+    private static final long INITIAL_RETRY_DELAY_MILLIS = 50;
+    private static final long MAX_RETRY_DELAY_MILLIS = 5_000;
+
     private final TicketCatalog ticketCatalog;
     private final DynamoDbTicketRegistryProperties dynamoDbProperties;
     private final AmazonDynamoDB amazonDynamoDBClient;
 
+    /**
+     * Runs the segments of table scans, so blocking calls to DynamoDb
+     * do not occupy the threads of the common fork-join pool.
+     */
+    @Getter(AccessLevel.NONE)
+    private final ExecutorService scanExecutor;
+
+    public DynamoDbTicketRegistryFacilitator(final TicketCatalog ticketCatalog,
+                                             final DynamoDbTicketRegistryProperties dynamoDbProperties,
+                                             final AmazonDynamoDB amazonDynamoDBClient) {
+        this.ticketCatalog = ticketCatalog;
+        this.dynamoDbProperties = dynamoDbProperties;
+        this.amazonDynamoDBClient = amazonDynamoDBClient;
+        val threadCount = new AtomicInteger();
+        this.scanExecutor = Executors.newFixedThreadPool(Math.max(1, dynamoDbProperties.getScanSegments()), r -> {
+            val thread = new Thread(r, "DynamoDbTicketRegistryScan-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
     private static Ticket deserializeTicket(final Map<String, AttributeValue> returnItem) {
         val bb = returnItem.get(ColumnNames.ENCODED.getColumnName()).getB();
         LOGGER.debug("Located binary encoding of ticket item [{}]. Transforming item into ticket object", returnItem);
@@ -72,50 +116,100 @@ public class DynamoDbTicketRegistryFacilitator {
         val metadata = this.ticketCatalog.find(ticketId);
         if (metadata != null) {
             val del = new DeleteItemRequest().withTableName(metadata.getProperties().getStorageName())
-                .withKey(CollectionUtils.wrap(ColumnNames.ID.getColumnName(), new AttributeValue(encodedTicketId)));
+                .withKey(CollectionUtils.wrap(ColumnNames.ID.getColumnName(), new AttributeValue(encodedTicketId)))
+                .withReturnValues(ReturnValue.ALL_OLD);
             LOGGER.debug("Submitting delete request [{}] for ticket [{}]", del, ticketId);
             val res = amazonDynamoDBClient.deleteItem(del);
             LOGGER.debug("Delete request came back with result [{}]", res);
-            return res != null;
+            return res != null && res.getAttributes() != null && !res.getAttributes().isEmpty();
         }
         return false;
     }
 
     /**
-     * Delete all.
+     * Delete all tickets, removing items in batches from a paginated scan of each table.
      *
-     * @return the int
+     * @return the number of deleted tickets
      */
     public int deleteAll() {
-        val count = new AtomicInteger();
-        val metadata = this.ticketCatalog.findAll();
-        metadata.forEach(r -> {
-            val scan = new ScanRequest(r.getProperties().getStorageName());
-            LOGGER.debug("Submitting scan request [{}] to table [{}]", scan, r.getProperties().getStorageName());
-            count.addAndGet(this.amazonDynamoDBClient.scan(scan).getCount());
-        });
-        createTicketTables(true);
-        return count.get();
+        return this.ticketCatalog.findAll()
+            .stream()
+            .mapToInt(r -> {
+                val tableName = r.getProperties().getStorageName();
+                val keys = scanTable(tableName, ColumnNames.ID.getColumnName())
+                    .map(item -> item.get(ColumnNames.ID.getColumnName()).getS())
+                    .collect(Collectors.toList());
+                deleteItems(tableName, keys);
+                return keys.size();
+            })
+            .sum();
     }
 
     /**
-     * Gets all.
+     * Stop the threads that scan tables.
+     */
+    public void destroy() {
+        this.scanExecutor.shutdownNow();
+    }
+
+    /**
+     * Gets all tickets, using paginated and segmented scans of each table.
      *
      * @return the all
      */
     public Collection<Ticket> getAll() {
-        val tickets = new ArrayList<Ticket>();
-        val metadata = this.ticketCatalog.findAll();
-        metadata.forEach(r -> {
-            val scan = new ScanRequest(r.getProperties().getStorageName());
-            LOGGER.debug("Scanning table with request [{}]", scan);
-            val result = this.amazonDynamoDBClient.scan(scan);
-            LOGGER.debug("Scanned table with result [{}]", scan);
-            tickets.addAll(result.getItems().stream().map(DynamoDbTicketRegistryFacilitator::deserializeTicket).collect(Collectors.toList()));
+        return this.ticketCatalog.findAll()
+            .stream()
+            .flatMap(r -> scanTable(r.getProperties().getStorageName()))
+            .map(DynamoDbTicketRegistryFacilitator::deserializeTicket)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Gets tickets in batches, grouped by the table that holds each ticket.
+     *
+     * @param ticketIds the ticket ids, mapped to their encoded ticket ids
+     * @return the tickets that could be found
+     */
+    public Collection<Ticket> getAll(final Map<String, String> ticketIds) {
+        val tickets = new ArrayList<Ticket>(ticketIds.size());
+        groupByTable(ticketIds).forEach((tableName, keys) -> {
+            for (var i = 0; i < keys.size(); i += MAX_BATCH_GET_ITEMS) {
+                val batch = keys.subList(i, Math.min(i + MAX_BATCH_GET_ITEMS, keys.size()))
+                    .stream()
+                    .map(key -> CollectionUtils.<String, AttributeValue>wrap(ColumnNames.ID.getColumnName(), new AttributeValue(key)))
+                    .collect(Collectors.toList());
+                var requestItems = CollectionUtils.<String, KeysAndAttributes>wrap(tableName, new KeysAndAttributes().withKeys(batch));
+                for (var attempt = 0; requestItems != null && !requestItems.isEmpty(); attempt++) {
+                    waitBeforeRetry(attempt);
+                    LOGGER.debug("Submitting batch request to get [{}] ticket item(s) from [{}]", batch.size(), tableName);
+                    val result = amazonDynamoDBClient.batchGetItem(new BatchGetItemRequest(requestItems));
+                    result.getResponses().values()
+                        .stream()
+                        .flatMap(List::stream)
+                        .map(DynamoDbTicketRegistryFacilitator::deserializeTicket)
+                        .filter(Objects::nonNull)
+                        .forEach(tickets::add);
+                    requestItems = result.getUnprocessedKeys();
+                }
+            }
         });
         return tickets;
     }
 
+    /**
+     * Delete tickets in batches, grouped by the table that holds each ticket.
+     *
+     * @param ticketIds the ticket ids, mapped to their encoded ticket ids
+     * @return the number of tickets submitted for deletion
+     */
+    public int delete(final Map<String, String> ticketIds) {
+        val groups = groupByTable(ticketIds);
+        groups.forEach(this::deleteItems);
+        return groups.values().stream().mapToInt(List::size).sum();
+    }
+
     /**
      * Get ticket.
      *
@@ -160,7 +254,6 @@ public class DynamoDbTicketRegistryFacilitator {
         LOGGER.debug("Submitting put request [{}] for ticket id [{}]", putItemRequest, encodedTicket.getId());
         val putItemResult = amazonDynamoDBClient.putItem(putItemRequest);
         LOGGER.debug("Ticket added with result [{}]", putItemResult);
-        getAll();
     }
 
     /**
@@ -189,9 +282,112 @@ public class DynamoDbTicketRegistryFacilitator {
             LOGGER.debug("Sending request [{}] to obtain table description...", describeTableRequest);
             val tableDescription = amazonDynamoDBClient.describeTable(describeTableRequest).getTable();
             LOGGER.debug("Located newly created table with description: [{}]", tableDescription);
+            enableTimeToLive(request.getTableName());
         }));
     }
 
+    private void enableTimeToLive(final String tableName) {
+        try {
+            val ttl = amazonDynamoDBClient.describeTimeToLive(new DescribeTimeToLiveRequest().withTableName(tableName))
+                .getTimeToLiveDescription();
+            if (ttl != null && TimeToLiveStatus.ENABLED.toString().equals(ttl.getTimeToLiveStatus())) {
+                LOGGER.debug("Time-to-live is already enabled for table [{}]", tableName);
+                return;
+            }
+            val specification = new TimeToLiveSpecification()
+                .withAttributeName(ColumnNames.EXPIRATION_TIME.getColumnName())
+                .withEnabled(Boolean.TRUE);
+            amazonDynamoDBClient.updateTimeToLive(new UpdateTimeToLiveRequest().withTableName(tableName).withTimeToLiveSpecification(specification));
+            LOGGER.debug("Enabled time-to-live on attribute [{}] for table [{}]", specification.getAttributeName(), tableName);
+        } catch (final Exception e) {
+            LOGGER.warn("Unable to enable time-to-live for table [{}]; expired tickets are left to the ticket registry cleaner: [{}]",
+                tableName, e.getMessage());
+        }
+    }
+
+    private Map<String, List<String>> groupByTable(final Map<String, String> ticketIds) {
+        val groups = new HashMap<String, List<String>>();
+        ticketIds.forEach((ticketId, encodedTicketId) -> {
+            val metadata = this.ticketCatalog.find(ticketId);
+            if (metadata == null) {
+                LOGGER.warn("No ticket definition could be found in the catalog to match [{}]", ticketId);
+            } else {
+                groups.computeIfAbsent(metadata.getProperties().getStorageName(), k -> new ArrayList<>()).add(encodedTicketId);
+            }
+        });
+        return groups;
+    }
+
+    /**
+     * Wait before submitting unprocessed items of a batch request again, so that throttled requests
+     * are not retried right away. The delay doubles with every attempt, up to a maximum.
+     *
+     * @param attempt the number of attempts made so far
+     */
+    private static void waitBeforeRetry(final int attempt) {
+        if (attempt <= 0) {
+            return;
+        }
+        val delay = Math.min(MAX_RETRY_DELAY_MILLIS, INITIAL_RETRY_DELAY_MILLIS << Math.min(attempt - 1, Integer.SIZE));
+        LOGGER.debug("Retrying unprocessed batch items in [{}] ms, attempt [{}]", delay, attempt);
+        try {
+            Thread.sleep(delay);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void deleteItems(final String tableName, final List<String> keys) {
+        for (var i = 0; i < keys.size(); i += MAX_BATCH_WRITE_ITEMS) {
+            val requests = keys.subList(i, Math.min(i + MAX_BATCH_WRITE_ITEMS, keys.size()))
+                .stream()
+                .map(key -> new WriteRequest(new DeleteRequest(CollectionUtils.wrap(ColumnNames.ID.getColumnName(), new AttributeValue(key)))))
+                .collect(Collectors.toList());
+            var requestItems = CollectionUtils.<String, List<WriteRequest>>wrap(tableName, requests);
+            for (var attempt = 0; requestItems != null && !requestItems.isEmpty(); attempt++) {
+                waitBeforeRetry(attempt);
+                LOGGER.debug("Submitting batch request to delete [{}] ticket item(s) from [{}]", requests.size(), tableName);
+                requestItems = amazonDynamoDBClient.batchWriteItem(new BatchWriteItemRequest(requestItems)).getUnprocessedItems();
+            }
+        }
+    }
+
+    /**
+     * Scan a table in parallel segments, following the pagination key of each segment
+     * until the segment is exhausted.
+     */
+    private Stream<Map<String, AttributeValue>> scanTable(final String tableName, final String... attributes) {
+        val segments = Math.max(1, dynamoDbProperties.getScanSegments());
+        val futures = IntStream.range(0, segments)
+            .mapToObj(segment -> CompletableFuture.supplyAsync(
+                () -> scanTableSegment(tableName, segment, segments, attributes), this.scanExecutor))
+            .collect(Collectors.toList());
+        return futures.stream()
+            .map(CompletableFuture::join)
+            .flatMap(List::stream);
+    }
+
+    private List<Map<String, AttributeValue>> scanTableSegment(final String tableName, final int segment,
+                                                               final int totalSegments, final String... attributes) {
+        val items = new ArrayList<Map<String, AttributeValue>>();
+        Map<String, AttributeValue> lastEvaluatedKey = null;
+        do {
+            val scan = new ScanRequest(tableName)
+                .withSegment(segment)
+                .withTotalSegments(totalSegments)
+                .withExclusiveStartKey(lastEvaluatedKey);
+            if (attributes.length > 0) {
+                scan.withAttributesToGet(attributes);
+            }
+            LOGGER.debug("Scanning table with request [{}]", scan);
+            val result = this.amazonDynamoDBClient.scan(scan);
+            items.addAll(result.getItems());
+            lastEvaluatedKey = result.getLastEvaluatedKey();
+        } while (lastEvaluatedKey != null && !lastEvaluatedKey.isEmpty());
+        return items;
+    }
+
     /**
      * Build table attribute values from ticket map.
      *
@@ -208,10 +404,38 @@ public class DynamoDbTicketRegistryFacilitator {
         values.put(ColumnNames.TIME_TO_LIVE.getColumnName(), new AttributeValue().withN(Long.toString(ticket.getExpirationPolicy().getTimeToLive())));
         values.put(ColumnNames.TIME_TO_IDLE.getColumnName(), new AttributeValue().withN(Long.toString(ticket.getExpirationPolicy().getTimeToIdle())));
         values.put(ColumnNames.ENCODED.getColumnName(), new AttributeValue().withB(ByteBuffer.wrap(SerializationUtils.serialize(encTicket))));
+        val expirationTime = getExpirationTime(ticket);
+        if (expirationTime > 0) {
+            values.put(ColumnNames.EXPIRATION_TIME.getColumnName(), new AttributeValue().withN(Long.toString(expirationTime)));
+        }
         LOGGER.debug("Created attribute values [{}] based on provided ticket [{}]", values, encTicket.getId());
         return values;
     }
 
+    /**
+     * Calculate the epoch time, in seconds, at which the ticket is eligible for deletion by DynamoDb.
+     * Makes the assumption that the CAS server clock and the DynamoDb clock are in sync.
+     * Time-to-live values too large to be added to the current time, such as {@link Long#MAX_VALUE},
+     * mean the ticket never expires.
+     *
+     * @param ticket the ticket
+     * @return the expiration time, or 0 if the ticket never expires
+     */
+    static long getExpirationTime(final Ticket ticket) {
+        val expirationPolicy = ticket.getExpirationPolicy();
+        val ttl = ticket instanceof TicketState
+            ? expirationPolicy.getTimeToLive((TicketState) ticket)
+            : expirationPolicy.getTimeToLive();
+        if (ttl == null || ttl < 1) {
+            return 0;
+        }
+        val now = Instant.now().getEpochSecond();
+        if (ttl >= Long.MAX_VALUE - now) {
+            return 0;
+        }
+        return now + ttl;
+    }
+
     /**
      * Column names for tables holding tickets.
      */
@@ -245,7 +469,11 @@ public class DynamoDbTicketRegistryFacilitator {
         /**
          * encoded column.
          */
-        ENCODED("encoded");
+        ENCODED("encoded"),
+        /**
+         * expirationTime column, in epoch seconds, used as the table time-to-live attribute.
+         */
+        EXPIRATION_TIME("expirationTime");
 
         private final String columnName;
 
@@ -23,6 +23,8 @@ import org.apereo.cas.config.DynamoDbTicketRegistryTicketCatalogConfiguration;
 import org.apereo.cas.config.support.CasWebApplicationServiceFactoryConfiguration;
 import org.apereo.cas.logout.config.CasCoreLogoutConfiguration;
 import org.apereo.cas.mock.MockTicketGrantingTicket;
+import org.apereo.cas.ticket.TicketGrantingTicketImpl;
+import org.apereo.cas.ticket.support.TimeoutExpirationPolicy;
 import org.apereo.cas.util.CollectionUtils;
 import org.apereo.cas.util.junit.ConditionalIgnore;
 import org.apereo.cas.util.junit.ConditionalIgnoreRule;
@@ -43,6 +45,8 @@ import org.springframework.test.context.junit4.rules.SpringClassRule;
 import org.springframework.test.context.junit4.rules.SpringMethodRule;
 
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.stream.IntStream;
 
 import static org.junit.Assert.*;
 
@@ -106,6 +110,16 @@ public class DynamoDbTicketRegistryFacilitatorTests {
             .forEach(c -> assertTrue(map.containsKey(c.getColumnName())));
     }
 
+    @Test
+    public void verifyTicketsWithUnboundedTimeToLiveNeverExpire() {
+        val ticket = new TicketGrantingTicketImpl("TGT-unbounded", CoreAuthenticationTestUtils.getAuthentication(),
+            new TimeoutExpirationPolicy(60));
+        assertEquals(Long.MAX_VALUE, ticket.getExpirationPolicy().getTimeToLive().longValue());
+        assertEquals(0, DynamoDbTicketRegistryFacilitator.getExpirationTime(ticket));
+        val map = dynamoDbTicketRegistryFacilitator.buildTableAttributeValuesMapFromTicket(ticket, ticket);
+        assertFalse(map.containsKey(DynamoDbTicketRegistryFacilitator.ColumnNames.EXPIRATION_TIME.getColumnName()));
+    }
+
     @Test
     public void verifyTicketOperations() {
         dynamoDbTicketRegistryFacilitator.createTicketTables(true);
@@ -121,4 +135,21 @@ public class DynamoDbTicketRegistryFacilitatorTests {
         assertTrue(dynamoDbTicketRegistryFacilitator.deleteAll() > 0);
 
     }
+
+    @Test
+    public void verifyBatchTicketOperations() {
+        dynamoDbTicketRegistryFacilitator.createTicketTables(true);
+        val ids = new HashMap<String, String>();
+        IntStream.range(0, 30).forEach(i -> {
+            val ticket = new MockTicketGrantingTicket("casuser" + i,
+                CoreAuthenticationTestUtils.getCredentialsWithSameUsernameAndPassword(),
+                CollectionUtils.wrap("name", "CAS"));
+            dynamoDbTicketRegistryFacilitator.put(ticket, ticket);
+            ids.put(ticket.getId(), ticket.getId());
+        });
+        assertEquals(ids.size(), dynamoDbTicketRegistryFacilitator.getAll().size());
+        assertEquals(ids.size(), dynamoDbTicketRegistryFacilitator.getAll(ids).size());
+        assertEquals(ids.size(), dynamoDbTicketRegistryFacilitator.delete(ids));
+        assertTrue(dynamoDbTicketRegistryFacilitator.getAll().isEmpty());
+    }
 }
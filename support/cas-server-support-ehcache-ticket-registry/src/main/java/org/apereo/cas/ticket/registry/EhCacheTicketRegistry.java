@@ -86,7 +86,7 @@ public class EhCacheTicketRegistry extends AbstractTicketRegistry {
         val ticket = getTicket(ticketId, Predicates.alwaysTrue());
         if (ticket == null) {
             LOGGER.debug("Ticket [{}] cannot be retrieved from the cache", ticketId);
-            return true;
+            return false;
         }
 
         val metadata = this.ticketCatalog.find(ticket);
@@ -94,8 +94,9 @@ public class EhCacheTicketRegistry extends AbstractTicketRegistry {
 
         if (cache.remove(encodeTicketId(ticket.getId()))) {
             LOGGER.debug("Ticket [{}] is removed", ticket.getId());
+            return true;
         }
-        return true;
+        return false;
     }
 
     @Override
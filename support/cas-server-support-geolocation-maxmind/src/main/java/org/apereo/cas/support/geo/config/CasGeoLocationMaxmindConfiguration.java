@@ -2,9 +2,11 @@ package org.apereo.cas.support.geo.config;
 
 import org.apereo.cas.authentication.adaptive.geo.GeoLocationService;
 import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.configuration.support.Beans;
 import org.apereo.cas.support.geo.maxmind.MaxmindDatabaseGeoLocationService;
 
 import com.maxmind.db.CHMCache;
+import com.maxmind.db.Reader;
 import com.maxmind.geoip2.DatabaseReader;
 import lombok.SneakyThrows;
 import lombok.val;
@@ -43,12 +45,16 @@ public class CasGeoLocationMaxmindConfiguration {
 
         val svc = new MaxmindDatabaseGeoLocationService(cityDatabase, countryDatabase);
         svc.setIpStackAccessKey(properties.getIpStackApiAccessKey());
+        svc.configureGeoLocationCache(properties.getCacheSize(), Beans.newDuration(properties.getCacheExpiration()));
         return svc;
     }
 
     private DatabaseReader readDatabase(final Resource maxmindDatabase) throws IOException {
         if (maxmindDatabase != null && maxmindDatabase.exists()) {
-            return new DatabaseReader.Builder(maxmindDatabase.getFile()).withCache(new CHMCache()).build();
+            return new DatabaseReader.Builder(maxmindDatabase.getFile())
+                .fileMode(Reader.FileMode.MEMORY_MAPPED)
+                .withCache(new CHMCache())
+                .build();
         }
         return null;
     }
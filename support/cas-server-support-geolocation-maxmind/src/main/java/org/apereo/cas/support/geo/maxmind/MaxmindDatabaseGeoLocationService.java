@@ -14,7 +14,8 @@ import java.net.InetAddress;
 /**
  * This is {@link MaxmindDatabaseGeoLocationService} that reads geo data
  * from a maxmind database and constructs a geo location based on the ip address.
- * Default caching of the databases is enabled by default.
+ * Default caching of the databases is enabled by default, and results
+ * are additionally cached per address by the parent service.
  *
  * @author Misagh Moayyed
  * @since 5.0.0
@@ -57,7 +58,7 @@ public class MaxmindDatabaseGeoLocationService extends AbstractGeoLocationServic
     }
 
     @Override
-    public GeoLocationResponse locate(final String address) {
+    protected GeoLocationResponse locateAddress(final String address) {
         try {
             return locate(InetAddress.getByName(address));
         } catch (final Exception e) {
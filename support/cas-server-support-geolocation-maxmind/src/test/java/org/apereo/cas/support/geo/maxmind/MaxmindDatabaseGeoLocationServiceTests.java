@@ -15,6 +15,7 @@ import lombok.val;
 import org.junit.Test;
 
 import java.net.InetAddress;
+import java.time.Duration;
 import java.util.ArrayList;
 
 import static org.junit.Assert.*;
@@ -30,22 +31,45 @@ public class MaxmindDatabaseGeoLocationServiceTests {
 
     @Test
     public void verifyOperation() throws Exception {
+        val service = getMaxmindDatabaseGeoLocationService();
+        val response = service.locate("127.0.0.1");
+        assertNotNull(response);
+        val response2 = service.locate(100D, 100D);
+        assertNull(response2);
+    }
+
+    @Test
+    public void verifyCachedLookups() throws Exception {
+        val city = mockCityDatabaseReader();
+        val country = mockCountryDatabaseReader();
+        val service = new MaxmindDatabaseGeoLocationService(city, country);
+        service.configureGeoLocationCache(10, Duration.ofMinutes(1));
+        val response = service.locate("127.0.0.1");
+        assertNotNull(response);
+        assertSame(response, service.locate("127.0.0.1"));
+        verify(city, times(1)).city(any(InetAddress.class));
+        verify(country, times(1)).country(any(InetAddress.class));
+    }
+
+    private static MaxmindDatabaseGeoLocationService getMaxmindDatabaseGeoLocationService() throws Exception {
+        return new MaxmindDatabaseGeoLocationService(mockCityDatabaseReader(), mockCountryDatabaseReader());
+    }
+
+    private static DatabaseReader mockCityDatabaseReader() throws Exception {
         val city = mock(DatabaseReader.class);
         val cityResponse = new CityResponse(new City(), new Continent(), new Country(),
             new Location(), new MaxMind(), new Postal(),
             new Country(), new RepresentedCountry(), new ArrayList<>(), new Traits());
         when(city.city(any(InetAddress.class))).thenReturn(cityResponse);
+        return city;
+    }
 
+    private static DatabaseReader mockCountryDatabaseReader() throws Exception {
         val country = mock(DatabaseReader.class);
         val countryResponse = new CountryResponse(new Continent(), new Country(),
             new MaxMind(), new Country(),
             new RepresentedCountry(), new Traits());
         when(country.country(any(InetAddress.class))).thenReturn(countryResponse);
-
-        val service = new MaxmindDatabaseGeoLocationService(city, country);
-        val response = service.locate("127.0.0.1");
-        assertNotNull(response);
-        val response2 = service.locate(100D, 100D);
-        assertNull(response2);
+        return country;
     }
 }
@@ -3,10 +3,14 @@ package org.apereo.cas.support.geo;
 import org.apereo.cas.authentication.adaptive.geo.GeoLocationRequest;
 import org.apereo.cas.authentication.adaptive.geo.GeoLocationResponse;
 import org.apereo.cas.authentication.adaptive.geo.GeoLocationService;
+import org.apereo.cas.util.HttpRequestUtils;
 import org.apereo.cas.util.HttpUtils;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import io.userinfo.client.UserInfo;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.SneakyThrows;
@@ -17,10 +21,15 @@ import org.apache.commons.lang3.StringUtils;
 import org.apache.http.HttpStatus;
 
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.Map;
 
 /**
  * This is {@link AbstractGeoLocationService}.
+ * <p>
+ * Results of address lookups are remembered in a bounded cache that expires
+ * entries after a configurable period, once the cache is configured, and are also recorded on the current
+ * http request so that repeated lookups within the same request are resolved once.
  *
  * @author Misagh Moayyed
  * @since 5.0.0
@@ -31,8 +40,28 @@ import java.util.Map;
 public abstract class AbstractGeoLocationService implements GeoLocationService {
     private static final ObjectMapper MAPPER = new ObjectMapper().findAndRegisterModules();
 
+    private static final String REQUEST_ATTRIBUTE_GEO_LOCATION_PREFIX = GeoLocationResponse.class.getName() + '.';
+
     private String ipStackAccessKey;
 
+    @Setter(AccessLevel.NONE)
+    @Getter(AccessLevel.NONE)
+    private Cache<String, GeoLocationResponse> geoLocationCache;
+
+    /**
+     * Configure the cache that holds geolocation results by address.
+     * A maximum size of zero effectively disables caching.
+     *
+     * @param maximumSize the maximum size
+     * @param expiration  the expiration
+     */
+    public void configureGeoLocationCache(final long maximumSize, final Duration expiration) {
+        this.geoLocationCache = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(expiration)
+            .build();
+    }
+
     @Override
     public GeoLocationResponse locate(final String clientIp, final GeoLocationRequest location) {
         LOGGER.debug("Attempting to find geolocation for [{}]", clientIp);
@@ -48,8 +77,43 @@ public abstract class AbstractGeoLocationService implements GeoLocationService {
     }
 
     @Override
-    @SneakyThrows
     public GeoLocationResponse locate(final String address) {
+        if (StringUtils.isBlank(address)) {
+            LOGGER.debug("No address is provided to locate");
+            return null;
+        }
+        val request = HttpRequestUtils.getHttpServletRequestFromRequestAttributes();
+        val attributeName = REQUEST_ATTRIBUTE_GEO_LOCATION_PREFIX + address;
+        if (request != null) {
+            val resolved = request.getAttribute(attributeName);
+            if (resolved instanceof GeoLocationResponse) {
+                LOGGER.trace("Geolocation for [{}] is already resolved for the current request", address);
+                return (GeoLocationResponse) resolved;
+            }
+        }
+        var response = geoLocationCache == null ? null : geoLocationCache.getIfPresent(address);
+        if (response == null) {
+            response = locateAddress(address);
+            if (response != null && geoLocationCache != null) {
+                geoLocationCache.put(address, response);
+            }
+        } else {
+            LOGGER.trace("Found cached geolocation for [{}] as [{}]", address, response);
+        }
+        if (request != null && response != null) {
+            request.setAttribute(attributeName, response);
+        }
+        return response;
+    }
+
+    /**
+     * Locate the geolocation of the given address without consulting any caches.
+     *
+     * @param address the address
+     * @return the geo location response
+     */
+    @SneakyThrows
+    protected GeoLocationResponse locateAddress(final String address) {
         try {
             val info = UserInfo.getInfo(address);
             if (info != null && info.getPosition() != null) {
@@ -1,10 +1,13 @@
 package org.apereo.cas.ticket.registry;
 
+import org.apereo.cas.ticket.ServiceTicket;
 import org.apereo.cas.ticket.Ticket;
 import org.apereo.cas.ticket.TicketCatalog;
 import org.apereo.cas.ticket.TicketDefinition;
+import org.apereo.cas.ticket.TicketGrantingTicket;
 
 import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.ICompletableFuture;
 import com.hazelcast.core.IMap;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -12,11 +15,17 @@ import lombok.val;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.DisposableBean;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Hazelcast-based implementation of a {@link TicketRegistry}.
@@ -44,21 +53,63 @@ public class HazelcastTicketRegistry extends AbstractTicketRegistry implements A
 
     @Override
     public void addTicket(final Ticket ticket) {
-        val ttl = ticket.getExpirationPolicy().getTimeToLive();
-        if (ttl < 0) {
-            throw new IllegalArgumentException("The expiration policy of ticket " + ticket.getId() + "is set to use a negative ttl");
+        val metadata = this.ticketCatalog.find(ticket);
+        if (metadata == null) {
+            throw new IllegalArgumentException("No ticket definition could be found in the catalog to match " + ticket.getId());
         }
-
+        val ttl = getTimeToLive(ticket);
         LOGGER.debug("Adding ticket [{}] with ttl [{}s]", ticket.getId(), ttl);
         val encTicket = encodeTicket(ticket);
 
-        val metadata = this.ticketCatalog.find(ticket);
         val ticketMap = getTicketMapInstanceByMetadata(metadata);
 
         ticketMap.set(encTicket.getId(), encTicket, ttl, TimeUnit.SECONDS);
         LOGGER.debug("Added ticket [{}] with ttl [{}s]", encTicket.getId(), ttl);
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * All tickets are sent to their owning partitions before waiting on any of the operations.
+     * Tickets that have no definition in the catalog are skipped with a warning.
+     */
+    @Override
+    public void addTickets(final Stream<? extends Ticket> tickets) {
+        val operations = new ArrayList<ICompletableFuture<Void>>();
+        tickets.forEach(ticket -> {
+            val metadata = this.ticketCatalog.find(ticket);
+            if (metadata == null) {
+                LOGGER.warn("No ticket definition could be found in the catalog to match [{}]", ticket.getId());
+                return;
+            }
+            val ttl = getTimeToLive(ticket);
+            val encTicket = encodeTicket(ticket);
+            val ticketMap = getTicketMapInstanceByMetadata(metadata);
+            operations.add(ticketMap.setAsync(encTicket.getId(), encTicket, ttl, TimeUnit.SECONDS));
+        });
+        operations.forEach(HazelcastTicketRegistry::awaitOperation);
+        LOGGER.debug("Added [{}] ticket(s)", operations.size());
+    }
+
+    private static long getTimeToLive(final Ticket ticket) {
+        val ttl = ticket.getExpirationPolicy().getTimeToLive();
+        if (ttl < 0) {
+            throw new IllegalArgumentException("The expiration policy of ticket " + ticket.getId() + "is set to use a negative ttl");
+        }
+        return ttl;
+    }
+
+    private static <T> T awaitOperation(final ICompletableFuture<T> operation) {
+        try {
+            return operation.get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } catch (final Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
     private IMap<String, Ticket> getTicketMapInstanceByMetadata(final TicketDefinition metadata) {
         val mapName = metadata.getProperties().getStorageName();
         LOGGER.debug("Locating map name [{}] for ticket definition [{}]", mapName, metadata);
@@ -93,6 +144,57 @@ public class HazelcastTicketRegistry extends AbstractTicketRegistry implements A
         return map.remove(encTicketId) != null;
     }
 
+    @Override
+    protected Ticket removeSingleTicket(final String ticketId) {
+        val metadata = this.ticketCatalog.find(ticketId);
+        if (metadata == null) {
+            LOGGER.warn("No ticket definition could be found in the catalog to match [{}]", ticketId);
+            return null;
+        }
+        val removed = getTicketMapInstanceByMetadata(metadata).remove(encodeTicketId(ticketId));
+        return removed == null ? null : decodeTicket(removed);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Removals are issued asynchronously so that they travel to their partitions together.
+     */
+    @Override
+    protected int deleteSingleTickets(final Collection<String> ticketIds) {
+        val operations = new ArrayList<ICompletableFuture<Ticket>>(ticketIds.size());
+        groupTicketIdsByMap(ticketIds).forEach((map, ids) -> ids.forEach(id -> operations.add(map.removeAsync(id))));
+        return (int) operations.stream()
+            .map(HazelcastTicketRegistry::awaitOperation)
+            .filter(Objects::nonNull)
+            .count();
+    }
+
+    @Override
+    public Collection<? extends Ticket> getTickets(final Collection<String> ticketIds) {
+        return groupTicketIdsByMap(ticketIds).entrySet()
+            .stream()
+            .flatMap(entry -> entry.getKey().getAll(entry.getValue()).values().stream())
+            .filter(Objects::nonNull)
+            .map(this::decodeTicket)
+            .collect(Collectors.toList());
+    }
+
+    private Map<IMap<String, Ticket>, Set<String>> groupTicketIdsByMap(final Collection<String> ticketIds) {
+        val groups = new LinkedHashMap<IMap<String, Ticket>, Set<String>>();
+        ticketIds.stream()
+            .filter(StringUtils::isNotBlank)
+            .forEach(ticketId -> {
+                val metadata = this.ticketCatalog.find(ticketId);
+                if (metadata == null) {
+                    LOGGER.warn("No ticket definition could be found in the catalog to match [{}]", ticketId);
+                    return;
+                }
+                groups.computeIfAbsent(getTicketMapInstanceByMetadata(metadata), k -> new LinkedHashSet<>()).add(encodeTicketId(ticketId));
+            });
+        return groups;
+    }
+
     @Override
     public long deleteAll() {
         return this.ticketCatalog.findAll().stream()
@@ -122,6 +224,26 @@ public class HazelcastTicketRegistry extends AbstractTicketRegistry implements A
             .collect(Collectors.toSet());
     }
 
+    @Override
+    public long sessionCount() {
+        return countTicketsOfType(TicketGrantingTicket.class);
+    }
+
+    @Override
+    public long serviceTicketCount() {
+        return countTicketsOfType(ServiceTicket.class);
+    }
+
+    private long countTicketsOfType(final Class<? extends Ticket> type) {
+        return this.ticketCatalog.findAll()
+            .stream()
+            .filter(metadata -> type.isAssignableFrom(metadata.getImplementationClass()))
+            .map(this::getTicketMapInstanceByMetadata)
+            .filter(Objects::nonNull)
+            .mapToLong(IMap::size)
+            .sum();
+    }
+
     /**
      * Make sure we shutdown HazelCast when the context is destroyed.
      */
@@ -1,5 +1,6 @@
 package org.apereo.cas.ticket.registry;
 
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
 import org.apereo.cas.config.CasCoreAuthenticationConfiguration;
 import org.apereo.cas.config.CasCoreAuthenticationHandlersConfiguration;
 import org.apereo.cas.config.CasCoreAuthenticationMetadataConfiguration;
@@ -20,7 +21,14 @@ import org.apereo.cas.config.HazelcastTicketRegistryConfiguration;
 import org.apereo.cas.config.HazelcastTicketRegistryTicketCatalogConfiguration;
 import org.apereo.cas.config.support.CasWebApplicationServiceFactoryConfiguration;
 import org.apereo.cas.logout.config.CasCoreLogoutConfiguration;
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketGrantingTicketImpl;
+import org.apereo.cas.ticket.support.NeverExpiresExpirationPolicy;
 
+import lombok.val;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
 import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -31,6 +39,10 @@ import org.springframework.test.context.TestPropertySource;
 
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
 
 /**
  * Unit tests for {@link HazelcastTicketRegistry}.
@@ -65,6 +77,8 @@ import java.util.Collection;
 })
 @TestPropertySource(properties = {"cas.ticket.registry.hazelcast.cluster.instanceName=testlocalhostinstance"})
 public class HazelcastTicketRegistryTests extends BaseSpringRunnableTicketRegistryTests {
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
 
     @Autowired
     @Qualifier("ticketRegistry")
@@ -83,4 +97,30 @@ public class HazelcastTicketRegistryTests extends BaseSpringRunnableTicketRegist
     public TicketRegistry getNewTicketRegistry() {
         return ticketRegistry;
     }
+
+    @Test
+    public void verifyTicketWithoutDefinitionIsRejected() {
+        val unknown = getUnknownTicket();
+        this.thrown.expect(IllegalArgumentException.class);
+        ticketRegistry.addTicket(unknown);
+    }
+
+    @Test
+    public void verifyTicketsWithoutDefinitionAreSkipped() {
+        val unknown = getUnknownTicket();
+        val ticket = new TicketGrantingTicketImpl("TGT-skipped", CoreAuthenticationTestUtils.getAuthentication(),
+            new NeverExpiresExpirationPolicy());
+
+        ticketRegistry.addTickets(Stream.of(unknown, ticket));
+        assertNotNull(ticketRegistry.getTicket(ticket.getId()));
+        assertNull(ticketRegistry.getTicket(unknown.getId()));
+        ticketRegistry.deleteTicket(ticket.getId());
+    }
+
+    private static Ticket getUnknownTicket() {
+        val unknown = mock(Ticket.class);
+        when(unknown.getId()).thenReturn("UNKNOWN-1");
+        when(unknown.getPrefix()).thenReturn("UNKNOWN");
+        return unknown;
+    }
 }
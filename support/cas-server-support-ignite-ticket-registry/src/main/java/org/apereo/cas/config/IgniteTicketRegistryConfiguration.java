@@ -3,7 +3,9 @@ package org.apereo.cas.config;
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.configuration.model.support.ignite.IgniteProperties;
 import org.apereo.cas.configuration.support.Beans;
+import org.apereo.cas.logout.LogoutManager;
 import org.apereo.cas.ticket.TicketCatalog;
+import org.apereo.cas.ticket.registry.IgniteTicketDocument;
 import org.apereo.cas.ticket.registry.IgniteTicketRegistry;
 import org.apereo.cas.ticket.registry.TicketRegistry;
 import org.apereo.cas.util.CoreTicketUtils;
@@ -17,6 +19,7 @@ import org.apache.ignite.configuration.CacheConfiguration;
 import org.apache.ignite.configuration.DataRegionConfiguration;
 import org.apache.ignite.configuration.DataStorageConfiguration;
 import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.events.EventType;
 import org.apache.ignite.spi.discovery.tcp.TcpDiscoverySpi;
 import org.apache.ignite.spi.discovery.tcp.ipfinder.vm.TcpDiscoveryVmIpFinder;
 import org.apache.ignite.ssl.SslContextFactory;
@@ -63,6 +66,7 @@ public class IgniteTicketRegistryConfiguration {
                 ticketsCache.setWriteSynchronizationMode(writeSync);
                 val duration = new Duration(TimeUnit.SECONDS, t.getProperties().getStorageTimeout());
                 ticketsCache.setExpiryPolicyFactory(CreatedExpiryPolicy.factoryOf(duration));
+                ticketsCache.setIndexedTypes(String.class, IgniteTicketDocument.class);
                 return ticketsCache;
             })
             .collect(Collectors.toSet());
@@ -103,6 +107,7 @@ public class IgniteTicketRegistryConfiguration {
         val cacheConfigurations = buildIgniteTicketCaches(ignite, ticketCatalog);
         config.setCacheConfiguration(cacheConfigurations.toArray(new CacheConfiguration[]{}));
         config.setClientMode(ignite.isClientMode());
+        config.setIncludeEventTypes(EventType.EVT_CACHE_OBJECT_EXPIRED);
 
         val factory = buildSecureTransportForIgniteConfiguration();
         if (factory != null) {
@@ -131,10 +136,11 @@ public class IgniteTicketRegistryConfiguration {
     @Autowired
     @Bean
     @RefreshScope
-    public TicketRegistry ticketRegistry(@Qualifier("ticketCatalog") final TicketCatalog ticketCatalog) {
+    public TicketRegistry ticketRegistry(@Qualifier("ticketCatalog") final TicketCatalog ticketCatalog,
+                                         @Qualifier("logoutManager") final LogoutManager logoutManager) {
         val igniteProperties = casProperties.getTicket().getRegistry().getIgnite();
         val igniteConfiguration = igniteConfiguration(ticketCatalog);
-        val r = new IgniteTicketRegistry(ticketCatalog, igniteConfiguration, igniteProperties);
+        val r = new IgniteTicketRegistry(ticketCatalog, igniteConfiguration, igniteProperties, logoutManager);
         r.setCipherExecutor(CoreTicketUtils.newTicketRegistryCipherExecutor(igniteProperties.getCrypto(), "ignite"));
         r.initialize();
         return r;
@@ -0,0 +1,54 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.ticket.Ticket;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.apache.ignite.cache.query.annotations.QuerySqlField;
+
+import java.io.Serializable;
+
+/**
+ * This is {@link IgniteTicketDocument} that wraps a ticket stored in an Ignite cache
+ * along with the fields that may be queried on the grid, so that lookups by principal and
+ * searches for expired tickets run against cache indexes on the nodes that hold the data.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString(exclude = "ticket")
+public class IgniteTicketDocument implements Serializable {
+    /**
+     * Field name of the principal.
+     */
+    public static final String FIELD_NAME_PRINCIPAL = "principal";
+
+    /**
+     * Field name of the expiration time.
+     */
+    public static final String FIELD_NAME_EXPIRE_AT = "expireAt";
+
+    private static final long serialVersionUID = -4578201853641592312L;
+
+    /**
+     * The principal id of ticket-granting tickets, encoded as ticket ids are.
+     */
+    @QuerySqlField(index = true)
+    private String principal;
+
+    /**
+     * The earliest time, in epoch milliseconds, at which the ticket may be considered expired.
+     */
+    @QuerySqlField(index = true)
+    private long expireAt;
+
+    /**
+     * The ticket, encoded.
+     */
+    private Ticket ticket;
+}
@@ -1,9 +1,13 @@
 package org.apereo.cas.ticket.registry;
 
 import org.apereo.cas.configuration.model.support.ignite.IgniteProperties;
+import org.apereo.cas.logout.LogoutManager;
+import org.apereo.cas.ticket.ServiceTicket;
 import org.apereo.cas.ticket.Ticket;
 import org.apereo.cas.ticket.TicketCatalog;
 import org.apereo.cas.ticket.TicketDefinition;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.TicketState;
 
 import lombok.ToString;
 import lombok.extern.slf4j.Slf4j;
@@ -13,8 +17,14 @@ import org.apache.ignite.Ignite;
 import org.apache.ignite.IgniteCache;
 import org.apache.ignite.IgniteState;
 import org.apache.ignite.Ignition;
+import org.apache.ignite.cache.CachePeekMode;
+import org.apache.ignite.cache.query.Query;
 import org.apache.ignite.cache.query.ScanQuery;
+import org.apache.ignite.cache.query.SqlQuery;
 import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.events.CacheEvent;
+import org.apache.ignite.events.EventType;
+import org.apache.ignite.lang.IgnitePredicate;
 import org.springframework.beans.factory.DisposableBean;
 
 import javax.cache.Cache;
@@ -22,10 +32,13 @@ import javax.cache.expiry.Duration;
 import javax.cache.expiry.ExpiryPolicy;
 import java.util.Collection;
 import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
-import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * <p>
@@ -38,6 +51,11 @@ import java.util.stream.Collectors;
  * <li>Tuning: use cache level time to live with different values for TGT an ST.</li>
  * <li>Monitoring: follow separately the number of TGT and ST.</li>
  * </ul>
+ * <p>
+ * Tickets are stored as {@link IgniteTicketDocument}s, whose principal and expiration time are indexed
+ * so that lookups by principal and searches for expired tickets run as SQL queries on the grid.
+ * Ticket-granting tickets removed by the cache expiry policy are logged out by the node that held the primary copy.
+ * </p>
  *
  * @author Timur Duehr timur.duehr@nccgroup.trust
  * @since 5.0.0`
@@ -52,6 +70,14 @@ public class IgniteTicketRegistry extends AbstractTicketRegistry implements Disp
 
     private final TicketCatalog ticketCatalog;
 
+    private final LogoutManager logoutManager;
+
+    private final ExecutorService expirationExecutor = Executors.newSingleThreadExecutor(r -> {
+        val thread = new Thread(r, "IgniteTicketRegistryExpiration");
+        thread.setDaemon(true);
+        return thread;
+    });
+
     private Ignite ignite;
 
     /**
@@ -60,11 +86,51 @@ public class IgniteTicketRegistry extends AbstractTicketRegistry implements Disp
      * @param ticketCatalog       the ticket catalog
      * @param igniteConfiguration the ignite configuration
      * @param properties          the properties
+     * @param logoutManager       the logout manager
      */
-    public IgniteTicketRegistry(final TicketCatalog ticketCatalog, final IgniteConfiguration igniteConfiguration, final IgniteProperties properties) {
+    public IgniteTicketRegistry(final TicketCatalog ticketCatalog, final IgniteConfiguration igniteConfiguration,
+                                final IgniteProperties properties, final LogoutManager logoutManager) {
         this.igniteConfiguration = igniteConfiguration;
         this.properties = properties;
         this.ticketCatalog = ticketCatalog;
+        this.logoutManager = logoutManager;
+    }
+
+    /**
+     * Calculate the earliest time at which the ticket could be considered expired,
+     * which is the creation time plus the time to live, or the last time the ticket was used
+     * plus the time to idle, whichever comes first.
+     */
+    private static long getExpireAt(final Ticket ticket) {
+        if (ticket.isExpired()) {
+            return System.currentTimeMillis();
+        }
+        val expirationPolicy = ticket.getExpirationPolicy();
+        val ttl = ticket instanceof TicketState
+            ? expirationPolicy.getTimeToLive((TicketState) ticket)
+            : expirationPolicy.getTimeToLive();
+        var expireAt = plusSeconds(ticket.getCreationTime().toInstant().toEpochMilli(), ttl);
+        val idle = expirationPolicy.getTimeToIdle();
+        if (idle != null && idle > 0 && ticket instanceof TicketState && ((TicketState) ticket).getLastTimeUsed() != null) {
+            val lastTimeUsed = ((TicketState) ticket).getLastTimeUsed().toInstant().toEpochMilli();
+            expireAt = Math.min(expireAt, plusSeconds(lastTimeUsed, idle));
+        }
+        return expireAt;
+    }
+
+    private static long plusSeconds(final long epochMillis, final Long seconds) {
+        if (seconds == null || seconds >= (Long.MAX_VALUE - epochMillis) / 1000) {
+            return Long.MAX_VALUE;
+        }
+        return epochMillis + Math.max(0, seconds) * 1000;
+    }
+
+    private static Stream<IgniteTicketDocument> queryDocuments(final IgniteCache<String, IgniteTicketDocument> cache,
+                                                               final Query<Cache.Entry<String, IgniteTicketDocument>> query) {
+        val cursor = cache.query(query);
+        return StreamSupport.stream(cursor.spliterator(), false)
+            .onClose(cursor::close)
+            .map(Cache.Entry::getValue);
     }
 
     @Override
@@ -72,8 +138,12 @@ public class IgniteTicketRegistry extends AbstractTicketRegistry implements Disp
         val encodedTicket = encodeTicket(ticket);
         val metadata = this.ticketCatalog.find(ticket);
         val cache = getIgniteCacheFromMetadata(metadata);
+        val principal = ticket instanceof TicketGrantingTicket
+            ? encodeTicketId(((TicketGrantingTicket) ticket).getAuthentication().getPrincipal().getId())
+            : null;
+        val document = new IgniteTicketDocument(principal, getExpireAt(ticket), encodedTicket);
         LOGGER.debug("Adding ticket [{}] to the cache [{}]", ticket.getId(), cache.getName());
-        cache.withExpiryPolicy(new IgniteInternalTicketExpiryPolicy(ticket)).put(encodedTicket.getId(), encodedTicket);
+        cache.withExpiryPolicy(new IgniteInternalTicketExpiryPolicy(ticket)).put(encodedTicket.getId(), document);
     }
 
     @Override
@@ -87,17 +157,24 @@ public class IgniteTicketRegistry extends AbstractTicketRegistry implements Disp
 
     @Override
     public boolean deleteSingleTicket(final String ticketId) {
-        val ticket = getTicket(ticketId);
-        if (ticket != null) {
-            val metadata = this.ticketCatalog.find(ticket);
-            if (metadata == null) {
-                LOGGER.warn("Ticket [{}] is not registered in the catalog and is unrecognized", ticketId);
-                return false;
-            }
-            val cache = getIgniteCacheFromMetadata(metadata);
-            return cache.remove(encodeTicketId(ticket.getId()));
+        val metadata = this.ticketCatalog.find(ticketId);
+        if (metadata == null) {
+            LOGGER.warn("Ticket [{}] is not registered in the catalog and is unrecognized", ticketId);
+            return false;
         }
-        return true;
+        val cache = getIgniteCacheFromMetadata(metadata);
+        return cache.remove(encodeTicketId(ticketId));
+    }
+
+    @Override
+    protected Ticket removeSingleTicket(final String ticketId) {
+        val metadata = this.ticketCatalog.find(ticketId);
+        if (metadata == null) {
+            LOGGER.warn("Ticket [{}] is not registered in the catalog and is unrecognized", ticketId);
+            return null;
+        }
+        val document = getIgniteCacheFromMetadata(metadata).getAndRemove(encodeTicketId(ticketId));
+        return document == null ? null : decodeTicket(document.getTicket());
     }
 
     @Override
@@ -112,12 +189,12 @@ public class IgniteTicketRegistry extends AbstractTicketRegistry implements Disp
             return null;
         }
         val cache = getIgniteCacheFromMetadata(metadata);
-        val ticket = cache.get(ticketId);
-        if (ticket == null) {
+        val document = cache.get(ticketId);
+        if (document == null) {
             LOGGER.debug("No ticket by id [{}] is found in the ignite ticket registry", ticketId);
             return null;
         }
-        val result = decodeTicket(ticket);
+        val result = decodeTicket(document.getTicket());
         if (predicate.test(result)) {
             return result;
         }
@@ -126,9 +203,84 @@ public class IgniteTicketRegistry extends AbstractTicketRegistry implements Disp
 
     @Override
     public Collection<? extends Ticket> getTickets() {
-        return this.ticketCatalog.findAll().stream().map(this::getIgniteCacheFromMetadata)
-            .map(cache -> cache.query(new ScanQuery<>()).getAll().stream()).flatMap(Function.identity())
-            .map(Cache.Entry::getValue).map(object -> decodeTicket((Ticket) object)).collect(Collectors.toSet());
+        try (val tickets = getTicketsStream()) {
+            return tickets.collect(Collectors.toSet());
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Tickets are fetched from the grid in pages as the stream is consumed.
+     */
+    @Override
+    public Stream<? extends Ticket> getTicketsStream() {
+        return this.ticketCatalog.findAll()
+            .stream()
+            .map(this::getIgniteCacheFromMetadata)
+            .flatMap(cache -> queryDocuments(cache, new ScanQuery<>()))
+            .map(document -> decodeTicket(document.getTicket()));
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Candidates are selected on the grid using the expiration time index,
+     * and are then checked against their expiration policy.
+     */
+    @Override
+    public Stream<? extends Ticket> getExpiredTicketsStream() {
+        val now = System.currentTimeMillis();
+        return this.ticketCatalog.findAll()
+            .stream()
+            .map(this::getIgniteCacheFromMetadata)
+            .flatMap(cache -> queryDocuments(cache, new SqlQuery<String, IgniteTicketDocument>(IgniteTicketDocument.class,
+                IgniteTicketDocument.FIELD_NAME_EXPIRE_AT + " <= ?").setArgs(now)))
+            .map(document -> decodeTicket(document.getTicket()))
+            .filter(Ticket::isExpired);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Tickets are looked up using the principal index of each ticket-granting ticket cache.
+     */
+    @Override
+    public Stream<TicketGrantingTicket> getTicketsForPrincipal(final String principalId) {
+        val principal = encodeTicketId(principalId);
+        return this.ticketCatalog.findAll()
+            .stream()
+            .filter(metadata -> TicketGrantingTicket.class.isAssignableFrom(metadata.getImplementationClass()))
+            .map(this::getIgniteCacheFromMetadata)
+            .flatMap(cache -> queryDocuments(cache, new SqlQuery<String, IgniteTicketDocument>(IgniteTicketDocument.class,
+                IgniteTicketDocument.FIELD_NAME_PRINCIPAL + " = ?").setArgs(principal)))
+            .map(document -> decodeTicket(document.getTicket()))
+            .filter(TicketGrantingTicket.class::isInstance)
+            .map(TicketGrantingTicket.class::cast);
+    }
+
+    @Override
+    public long sessionCount() {
+        return countTicketsOfType(TicketGrantingTicket.class);
+    }
+
+    @Override
+    public long serviceTicketCount() {
+        return countTicketsOfType(ServiceTicket.class);
+    }
+
+    /**
+     * Count tickets using the size of the caches that hold tickets of the given type,
+     * counting the primary copy of each entry once across the grid.
+     */
+    private long countTicketsOfType(final Class<? extends Ticket> type) {
+        return this.ticketCatalog.findAll()
+            .stream()
+            .filter(metadata -> type.isAssignableFrom(metadata.getImplementationClass()))
+            .map(this::getIgniteCacheFromMetadata)
+            .filter(Objects::nonNull)
+            .mapToLong(cache -> cache.sizeLong(CachePeekMode.PRIMARY))
+            .sum();
     }
 
     @Override
@@ -141,6 +293,7 @@ public class IgniteTicketRegistry extends AbstractTicketRegistry implements Disp
      * Make sure we shutdown Ignite when the context is destroyed.
      */
     public void shutdown() {
+        this.expirationExecutor.shutdownNow();
         this.ignite.close();
         Ignition.stopAll(true);
     }
@@ -161,15 +314,36 @@ public class IgniteTicketRegistry extends AbstractTicketRegistry implements Disp
             this.ignite = Ignition.ignite();
             LOGGER.debug("Ignite cache engine has started");
         }
+        this.ignite.events().localListen((IgnitePredicate<CacheEvent>) this::onTicketExpired, EventType.EVT_CACHE_OBJECT_EXPIRED);
+    }
+
+    /**
+     * Log out ticket-granting tickets removed by the cache expiry policy. Every node that holds a copy
+     * of the entry is notified; only the node that holds the primary copy acts on the event.
+     */
+    private boolean onTicketExpired(final CacheEvent event) {
+        try {
+            if (event.oldValue() instanceof IgniteTicketDocument
+                && ignite.affinity(event.cacheName()).isPrimary(ignite.cluster().localNode(), event.key())) {
+                val ticket = decodeTicket(((IgniteTicketDocument) event.oldValue()).getTicket());
+                if (ticket instanceof TicketGrantingTicket) {
+                    LOGGER.debug("Ticket-granting ticket [{}] has expired in cache [{}]; performing logout", ticket.getId(), event.cacheName());
+                    expirationExecutor.execute(() -> logoutManager.performLogout((TicketGrantingTicket) ticket));
+                }
+            }
+        } catch (final Exception e) {
+            LOGGER.error(e.getMessage(), e);
+        }
+        return true;
     }
 
-    private IgniteCache<String, Ticket> getIgniteCacheFromMetadata(final TicketDefinition metadata) {
+    private IgniteCache<String, IgniteTicketDocument> getIgniteCacheFromMetadata(final TicketDefinition metadata) {
         val mapName = metadata.getProperties().getStorageName();
         LOGGER.debug("Locating cache name [{}] for ticket definition [{}]", mapName, metadata);
         return getIgniteCacheInstanceByName(mapName);
     }
 
-    private IgniteCache<String, Ticket> getIgniteCacheInstanceByName(final String name) {
+    private IgniteCache<String, IgniteTicketDocument> getIgniteCacheInstanceByName(final String name) {
         LOGGER.debug("Attempting to get/create cache [{}]", name);
         return this.ignite.getOrCreateCache(name);
     }
@@ -1,5 +1,7 @@
 package org.apereo.cas.ticket.registry;
 
+import org.apereo.cas.CipherExecutor;
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
 import org.apereo.cas.category.IgniteCategory;
 import org.apereo.cas.config.CasCoreAuthenticationConfiguration;
 import org.apereo.cas.config.CasCoreAuthenticationHandlersConfiguration;
@@ -20,11 +22,23 @@ import org.apereo.cas.config.CasPersonDirectoryConfiguration;
 import org.apereo.cas.config.IgniteTicketRegistryConfiguration;
 import org.apereo.cas.config.IgniteTicketRegistryTicketCatalogConfiguration;
 import org.apereo.cas.config.support.CasWebApplicationServiceFactoryConfiguration;
+import org.apereo.cas.configuration.model.support.ignite.IgniteProperties;
+import org.apereo.cas.logout.LogoutManager;
 import org.apereo.cas.logout.config.CasCoreLogoutConfiguration;
+import org.apereo.cas.services.RegisteredServiceTestUtils;
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketCatalog;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.TicketGrantingTicketImpl;
+import org.apereo.cas.ticket.support.HardTimeoutExpirationPolicy;
+import org.apereo.cas.ticket.support.NeverExpiresExpirationPolicy;
 import org.apereo.cas.util.junit.ConditionalIgnoreRule;
 
+import lombok.val;
+import org.apache.ignite.configuration.IgniteConfiguration;
 import org.junit.ClassRule;
 import org.junit.Rule;
+import org.junit.Test;
 import org.junit.experimental.categories.Category;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
@@ -34,6 +48,11 @@ import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.context.junit4.rules.SpringClassRule;
 import org.springframework.test.context.junit4.rules.SpringMethodRule;
 
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
 /**
  * This is {@link AbstractIgniteTicketRegistryTests}.
  *
@@ -86,6 +105,10 @@ public abstract class AbstractIgniteTicketRegistryTests extends BaseTicketRegist
     @Qualifier("ticketRegistry")
     private TicketRegistry ticketRegistry;
 
+    @Autowired
+    @Qualifier("ticketCatalog")
+    private TicketCatalog ticketCatalog;
+
     public AbstractIgniteTicketRegistryTests(final boolean useEncryption) {
         super(useEncryption);
     }
@@ -94,4 +117,53 @@ public abstract class AbstractIgniteTicketRegistryTests extends BaseTicketRegist
     protected TicketRegistry getNewTicketRegistry() {
         return ticketRegistry;
     }
+
+    private static TicketGrantingTicketImpl getTicketGrantingTicket(final String id, final String principal) {
+        return new TicketGrantingTicketImpl(id, CoreAuthenticationTestUtils.getAuthentication(principal),
+            new NeverExpiresExpirationPolicy());
+    }
+
+    @Test
+    public void verifyTicketsAreQueriedByPrincipal() {
+        val first = getTicketGrantingTicket("TGT-IGNITE-1", "ignite-casuser");
+        val second = getTicketGrantingTicket("TGT-IGNITE-2", "ignite-casuser");
+        ticketRegistry.addTicket(first);
+        ticketRegistry.addTicket(second);
+        ticketRegistry.addTicket(getTicketGrantingTicket("TGT-IGNITE-3", "ignite-otheruser"));
+        ticketRegistry.addTicket(first.grantServiceTicket("ST-IGNITE-1", RegisteredServiceTestUtils.getService(),
+            new NeverExpiresExpirationPolicy(), false, true));
+
+        val ids = ticketRegistry.getTicketsForPrincipal("ignite-casuser").map(Ticket::getId).collect(Collectors.toSet());
+        assertEquals(2, ids.size());
+        assertTrue(ids.contains(first.getId()));
+        assertTrue(ids.contains(second.getId()));
+        assertEquals(0, ticketRegistry.getTicketsForPrincipal("ignite-unknown").count());
+    }
+
+    @Test
+    public void verifyExpiredTicketsAreQueried() {
+        val active = getTicketGrantingTicket("TGT-IGNITE-ACTIVE", "ignite-casuser");
+        val expired = getTicketGrantingTicket("TGT-IGNITE-EXPIRED", "ignite-casuser");
+        expired.markTicketExpired();
+        ticketRegistry.addTicket(active);
+        ticketRegistry.addTicket(expired);
+
+        val ids = ticketRegistry.getExpiredTicketsStream().map(Ticket::getId).collect(Collectors.toSet());
+        assertTrue(ids.contains(expired.getId()));
+        assertFalse(ids.contains(active.getId()));
+    }
+
+    @Test
+    public void verifyExpiredTicketGrantingTicketIsLoggedOut() {
+        val logoutManager = mock(LogoutManager.class);
+        val registry = new IgniteTicketRegistry(ticketCatalog, new IgniteConfiguration(), new IgniteProperties(), logoutManager);
+        registry.setCipherExecutor(CipherExecutor.noOp());
+        registry.initialize();
+
+        val tgt = new TicketGrantingTicketImpl("TGT-IGNITE-TIMEOUT", CoreAuthenticationTestUtils.getAuthentication("ignite-casuser"),
+            new HardTimeoutExpirationPolicy(1));
+        registry.addTicket(tgt);
+        verify(logoutManager, timeout(15_000)).performLogout(argThat(ticket -> ticket != null && tgt.getId().equals(ticket.getId())));
+        assertNull(registry.getTicket(tgt.getId()));
+    }
 }
@@ -63,8 +63,7 @@ public class InfinispanTicketRegistry extends AbstractTicketRegistry {
 
     @Override
     public boolean deleteSingleTicket(final String ticketId) {
-        this.cache.remove(encodeTicketId(ticketId));
-        return true;
+        return this.cache.remove(encodeTicketId(ticketId)) != null;
     }
 
     @Override
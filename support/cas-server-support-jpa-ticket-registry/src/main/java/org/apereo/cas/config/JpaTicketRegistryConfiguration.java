@@ -8,9 +8,12 @@ import org.apereo.cas.configuration.support.JpaBeans;
 import org.apereo.cas.ticket.AbstractTicket;
 import org.apereo.cas.ticket.TicketCatalog;
 import org.apereo.cas.ticket.registry.JpaTicketRegistry;
+import org.apereo.cas.ticket.registry.StripedTicketLockingService;
 import org.apereo.cas.ticket.registry.TicketRegistry;
 import org.apereo.cas.ticket.registry.support.JpaLockingStrategy;
+import org.apereo.cas.ticket.registry.support.JpaTicketLockingService;
 import org.apereo.cas.ticket.registry.support.LockingStrategy;
+import org.apereo.cas.ticket.registry.support.TicketLockingService;
 import org.apereo.cas.util.CoreTicketUtils;
 import org.apereo.cas.util.InetAddressUtils;
 
@@ -102,6 +105,13 @@ public class JpaTicketRegistryConfiguration {
         return bean;
     }
 
+    @Bean
+    public TicketLockingService ticketLockingService(@Qualifier("ticketTransactionManager") final PlatformTransactionManager ticketTransactionManager) {
+        val registry = casProperties.getTicket().getRegistry();
+        return new JpaTicketLockingService(new StripedTicketLockingService(registry.getLockStripes()),
+            ticketTransactionManager, registry.getJpa().getConcurrentUpdateAttempts());
+    }
+
     @Bean
     public LockingStrategy lockingStrategy() {
         val registry = casProperties.getTicket().getRegistry();
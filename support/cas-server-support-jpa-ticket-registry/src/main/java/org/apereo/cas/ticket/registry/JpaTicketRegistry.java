@@ -1,5 +1,6 @@
 package org.apereo.cas.ticket.registry;
 
+import org.apereo.cas.ticket.AbstractTicket;
 import org.apereo.cas.ticket.ServiceTicket;
 import org.apereo.cas.ticket.Ticket;
 import org.apereo.cas.ticket.TicketCatalog;
@@ -8,7 +9,7 @@ import org.apereo.cas.ticket.TicketGrantingTicket;
 
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
-import org.hibernate.LockOptions;
+import org.hibernate.annotations.QueryHints;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -17,9 +18,11 @@ import javax.persistence.EntityNotFoundException;
 import javax.persistence.LockModeType;
 import javax.persistence.PersistenceContext;
 import javax.persistence.Query;
-import javax.persistence.TypedQuery;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -45,6 +48,11 @@ public class JpaTicketRegistry extends AbstractTicketRegistry {
     private transient EntityManager entityManager;
 
     public JpaTicketRegistry(final LockModeType lockType, final TicketCatalog ticketCatalog) {
+        if (lockType == LockModeType.WRITE || lockType == LockModeType.OPTIMISTIC_FORCE_INCREMENT
+            || lockType == LockModeType.PESSIMISTIC_FORCE_INCREMENT) {
+            throw new IllegalArgumentException("Ticket lock type " + lockType + " changes the version of tickets on every read, "
+                + "which makes concurrent updates to the same ticket fail; use NONE, READ, OPTIMISTIC, PESSIMISTIC_READ or PESSIMISTIC_WRITE instead");
+        }
         this.lockType = lockType;
         this.ticketCatalog = ticketCatalog;
     }
@@ -57,9 +65,20 @@ public class JpaTicketRegistry extends AbstractTicketRegistry {
         return ((Number) result).longValue();
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Changes are flushed right away so that concurrent modifications are reported to the caller,
+     * and the new version is copied back to the given ticket in case it was not managed by
+     * the persistence context, allowing the caller to update it again.
+     */
     @Override
     public Ticket updateTicket(final Ticket ticket) {
-        this.entityManager.merge(ticket);
+        val merged = this.entityManager.merge(ticket);
+        this.entityManager.flush();
+        if (merged != ticket && ticket instanceof AbstractTicket) {
+            ((AbstractTicket) ticket).setVersion(((AbstractTicket) merged).getVersion());
+        }
         LOGGER.debug("Updated ticket [{}].", ticket);
         return ticket;
     }
@@ -98,23 +117,34 @@ public class JpaTicketRegistry extends AbstractTicketRegistry {
         return null;
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Tickets are loaded with one query per ticket entity, without locking rows.
+     */
+    @Override
+    public Collection<? extends Ticket> getTickets(final Collection<String> ticketIds) {
+        val tickets = new ArrayList<Ticket>(ticketIds.size());
+        groupTicketIdsByDefinition(ticketIds).forEach((definition, ids) -> {
+            val sql = String.format("select t from %s t where t.id in :ids", getTicketEntityName(definition));
+            val query = entityManager.createQuery(sql, definition.getImplementationClass());
+            query.setParameter("ids", ids);
+            query.setLockMode(LockModeType.NONE);
+            tickets.addAll(query.getResultList());
+        });
+        return tickets;
+    }
+
     @Override
     public Collection<? extends Ticket> getTickets() {
-        return this.ticketCatalog.findAll()
-            .stream()
-            .map(t -> {
-                val sql = String.format("select t from %s t", getTicketEntityName(t));
-                val query = entityManager.createQuery(sql, t.getImplementationClass());
-                query.setLockMode(this.lockType);
-                return query;
-            })
-            .map(TypedQuery::getResultList)
-            .flatMap(List::stream)
-            .collect(Collectors.toList());
+        return getTicketsStream().collect(Collectors.toList());
     }
 
     /**
-     * Gets a stream which loads tickets from the database in batches instead of all at once to prevent OOM situations.
+     * Gets a stream which loads tickets from the database in pages instead of all at once to prevent OOM situations.
+     * Pages are fetched lazily as the stream is consumed, using keyset pagination on the ticket id.
+     * The stream is usually consumed after this method has returned; each page is then read in its own
+     * persistence context, unless the caller consumes the stream inside a transaction of its own.
      * <p>
      * This method purposefully doesn't lock any rows, because the stream traversing can take an indeterminate
      * amount of time, and logging in to an application with an existing TGT will update the TGT row in the database.
@@ -122,18 +152,59 @@ public class JpaTicketRegistry extends AbstractTicketRegistry {
      * @return tickets
      */
     @Override
-    @SuppressWarnings("unchecked")
     public Stream<? extends Ticket> getTicketsStream() {
-        return this.ticketCatalog.findAll()
+        return getTicketsStream(Ticket.class);
+    }
+
+    /**
+     * Gets a stream of tickets of the given type, only querying entities that can hold tickets of that type.
+     * Tickets are loaded lazily in pages without locking rows, as {@link #getTicketsStream()} does.
+     *
+     * @param type the type of tickets
+     * @return tickets
+     */
+    @Override
+    public <T extends Ticket> Stream<T> getTicketsStream(final Class<T> type) {
+        val definitions = this.ticketCatalog.findAll()
+            .stream()
+            .filter(t -> type.isAssignableFrom(t.getImplementationClass()) || t.getImplementationClass().isAssignableFrom(type))
+            .collect(Collectors.toList());
+        return definitions
             .stream()
-            .map(t -> {
-                val sql = String.format("select t from %s t", getTicketEntityName(t));
-                val query = (org.hibernate.query.Query<Ticket>) entityManager.createQuery(sql, t.getImplementationClass());
-                query.setFetchSize(STREAM_BATCH_SIZE);
-                query.setLockOptions(LockOptions.NONE);
-                return query;
-            })
-            .flatMap(org.hibernate.query.Query::stream);
+            .filter(t -> definitions.stream().noneMatch(d -> isPolymorphicallyQueriedBy(t, d)))
+            .flatMap(this::getTicketsStreamInPages)
+            .filter(type::isInstance)
+            .map(type::cast);
+    }
+
+    private static boolean isPolymorphicallyQueriedBy(final TicketDefinition definition, final TicketDefinition candidate) {
+        val implementationClass = definition.getImplementationClass();
+        val candidateClass = candidate.getImplementationClass();
+        return !implementationClass.equals(candidateClass) && candidateClass.isAssignableFrom(implementationClass);
+    }
+
+    private Stream<Ticket> getTicketsStreamInPages(final TicketDefinition definition) {
+        val entityName = getTicketEntityName(definition);
+        return Stream.<List<? extends Ticket>>iterate(getTicketsPage(definition, entityName, null),
+            page -> !page.isEmpty(),
+            page -> page.size() < STREAM_BATCH_SIZE
+                ? List.of()
+                : getTicketsPage(definition, entityName, page.get(page.size() - 1).getId()))
+            .flatMap(List::stream);
+    }
+
+    private List<? extends Ticket> getTicketsPage(final TicketDefinition definition, final String entityName, final String lastTicketId) {
+        val sql = lastTicketId == null
+            ? String.format("select t from %s t order by t.id", entityName)
+            : String.format("select t from %s t where t.id > :id order by t.id", entityName);
+        val query = entityManager.createQuery(sql, definition.getImplementationClass());
+        if (lastTicketId != null) {
+            query.setParameter("id", lastTicketId);
+        }
+        query.setMaxResults(STREAM_BATCH_SIZE);
+        query.setLockMode(LockModeType.NONE);
+        query.setHint(QueryHints.HINT_READONLY, Boolean.TRUE);
+        return query.getResultList();
     }
 
     @Override
@@ -175,6 +246,40 @@ public class JpaTicketRegistry extends AbstractTicketRegistry {
         return totalCount != 0;
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Tickets are removed with one bulk delete per ticket entity. Ticket definitions that
+     * cascade to their children fall back to removing one ticket at a time.
+     */
+    @Override
+    protected int deleteSingleTickets(final Collection<String> ticketIds) {
+        var totalCount = 0;
+        for (val entry : groupTicketIdsByDefinition(ticketIds).entrySet()) {
+            val definition = entry.getKey();
+            if (definition.getProperties().isCascade()) {
+                totalCount += super.deleteSingleTickets(entry.getValue());
+            } else {
+                val sql = String.format("delete from %s o where o.id in :ids", getTicketEntityName(definition));
+                val query = entityManager.createQuery(sql);
+                query.setParameter("ids", entry.getValue());
+                totalCount += query.executeUpdate();
+            }
+        }
+        return totalCount;
+    }
+
+    private Map<TicketDefinition, List<String>> groupTicketIdsByDefinition(final Collection<String> ticketIds) {
+        val groups = new LinkedHashMap<TicketDefinition, List<String>>();
+        ticketIds.forEach(ticketId -> {
+            val definition = this.ticketCatalog.find(ticketId);
+            if (definition != null) {
+                groups.computeIfAbsent(definition, k -> new ArrayList<>()).add(ticketId);
+            }
+        });
+        return groups;
+    }
+
     /**
      * Delete ticket granting tickets int.
      *
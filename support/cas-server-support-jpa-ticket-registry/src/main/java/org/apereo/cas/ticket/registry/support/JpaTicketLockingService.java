@@ -0,0 +1,68 @@
+package org.apereo.cas.ticket.registry.support;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.OptimisticLockException;
+import java.util.function.Supplier;
+
+/**
+ * This is {@link JpaTicketLockingService} that runs operations on a ticket in a transaction,
+ * guarded by the local locks of the given delegate. Tickets are versioned, so when another node modifies
+ * the same ticket in the meantime, the transaction fails with an optimistic locking error and is rolled back.
+ * The operation is then retried against a fresh copy of the ticket, instead of holding database row locks
+ * for the duration of every ticket read.
+ * <p>
+ * Operations join a transaction that is already in progress, in which case they run once and conflicts
+ * are left to whoever owns that transaction; only a transaction started here can be safely retried.
+ * Callers that want the retry should therefore not open a ticket transaction of their own.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@Slf4j
+public class JpaTicketLockingService implements TicketLockingService {
+    private final TicketLockingService delegate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final int maximumAttempts;
+
+    public JpaTicketLockingService(final TicketLockingService delegate,
+                                   final PlatformTransactionManager transactionManager,
+                                   final int maximumAttempts) {
+        this.delegate = delegate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRED);
+        this.maximumAttempts = Math.max(1, maximumAttempts);
+    }
+
+    @Override
+    public <T> T executeWithLock(final String ticketId, final Supplier<T> action) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            LOGGER.trace("Joining the transaction in progress for ticket [{}]", ticketId);
+            return delegate.executeWithLock(ticketId, action);
+        }
+        return delegate.executeWithLock(ticketId, () -> executeWithRetry(ticketId, action));
+    }
+
+    private <T> T executeWithRetry(final String ticketId, final Supplier<T> action) {
+        var attempt = 1;
+        while (true) {
+            try {
+                return transactionTemplate.execute(status -> action.get());
+            } catch (final OptimisticLockException | OptimisticLockingFailureException e) {
+                if (attempt >= maximumAttempts) {
+                    LOGGER.warn("Ticket [{}] was modified concurrently; giving up after [{}] attempt(s)", ticketId, attempt);
+                    throw e;
+                }
+                LOGGER.debug("Ticket [{}] was modified concurrently; retrying attempt [{}] of [{}]", ticketId, attempt + 1, maximumAttempts);
+                attempt++;
+            }
+        }
+    }
+}
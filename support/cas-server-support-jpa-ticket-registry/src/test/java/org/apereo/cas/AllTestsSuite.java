@@ -1,8 +1,10 @@
 package org.apereo.cas;
 
 import org.apereo.cas.monitor.SessionHealthIndicatorJpaTests;
+import org.apereo.cas.ticket.registry.JpaTicketRegistryConcurrentUpdateTests;
 import org.apereo.cas.ticket.registry.JpaTicketRegistryTests;
 import org.apereo.cas.ticket.registry.support.JpaLockingStrategyTests;
+import org.apereo.cas.ticket.registry.support.JpaTicketLockingServiceTests;
 
 import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
@@ -15,6 +17,7 @@ import org.junit.runners.Suite;
  */
 @RunWith(Suite.class)
 @Suite.SuiteClasses({SessionHealthIndicatorJpaTests.class, JpaTicketRegistryTests.class,
-    JpaLockingStrategyTests.class})
+    JpaLockingStrategyTests.class, JpaTicketLockingServiceTests.class,
+    JpaTicketRegistryConcurrentUpdateTests.class})
 public class AllTestsSuite {
 }
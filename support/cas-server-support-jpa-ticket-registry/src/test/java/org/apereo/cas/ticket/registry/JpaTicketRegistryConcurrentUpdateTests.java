@@ -0,0 +1,161 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.config.CasCoreAuthenticationConfiguration;
+import org.apereo.cas.config.CasCoreAuthenticationHandlersConfiguration;
+import org.apereo.cas.config.CasCoreAuthenticationMetadataConfiguration;
+import org.apereo.cas.config.CasCoreAuthenticationPolicyConfiguration;
+import org.apereo.cas.config.CasCoreAuthenticationPrincipalConfiguration;
+import org.apereo.cas.config.CasCoreAuthenticationServiceSelectionStrategyConfiguration;
+import org.apereo.cas.config.CasCoreAuthenticationSupportConfiguration;
+import org.apereo.cas.config.CasCoreConfiguration;
+import org.apereo.cas.config.CasCoreHttpConfiguration;
+import org.apereo.cas.config.CasCoreServicesAuthenticationConfiguration;
+import org.apereo.cas.config.CasCoreServicesConfiguration;
+import org.apereo.cas.config.CasCoreTicketCatalogConfiguration;
+import org.apereo.cas.config.CasCoreTicketIdGeneratorsConfiguration;
+import org.apereo.cas.config.CasCoreTicketsConfiguration;
+import org.apereo.cas.config.CasCoreTicketsSchedulingConfiguration;
+import org.apereo.cas.config.CasCoreUtilConfiguration;
+import org.apereo.cas.config.CasCoreWebConfiguration;
+import org.apereo.cas.config.CasDefaultServiceTicketIdGeneratorsConfiguration;
+import org.apereo.cas.config.CasPersonDirectoryConfiguration;
+import org.apereo.cas.config.JpaTicketRegistryConfiguration;
+import org.apereo.cas.config.JpaTicketRegistryTicketCatalogConfiguration;
+import org.apereo.cas.config.support.CasWebApplicationServiceFactoryConfiguration;
+import org.apereo.cas.config.support.EnvironmentConversionServiceInitializer;
+import org.apereo.cas.logout.config.CasCoreLogoutConfiguration;
+import org.apereo.cas.services.RegisteredServiceTestUtils;
+import org.apereo.cas.ticket.TicketFactory;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.TicketGrantingTicketFactory;
+import org.apereo.cas.ticket.TicketState;
+import org.apereo.cas.ticket.registry.support.TicketLockingService;
+
+import lombok.val;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.aop.AopAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cloud.autoconfigure.RefreshAutoConfiguration;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.rules.SpringClassRule;
+import org.springframework.test.context.junit4.rules.SpringMethodRule;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.OptimisticLockException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link JpaTicketRegistryConcurrentUpdateTests} that runs the ticket locking service
+ * against the embedded database, with every ticket operation committed on its own.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@SpringBootTest(classes = {
+    JpaTicketRegistryTicketCatalogConfiguration.class,
+    JpaTicketRegistryConfiguration.class,
+    CasCoreTicketsSchedulingConfiguration.class,
+    CasCoreTicketIdGeneratorsConfiguration.class,
+    CasDefaultServiceTicketIdGeneratorsConfiguration.class,
+    RefreshAutoConfiguration.class,
+    AopAutoConfiguration.class,
+    CasCoreUtilConfiguration.class,
+    CasCoreAuthenticationConfiguration.class,
+    CasCoreServicesAuthenticationConfiguration.class,
+    CasCoreAuthenticationPrincipalConfiguration.class,
+    CasCoreAuthenticationPolicyConfiguration.class,
+    CasCoreAuthenticationMetadataConfiguration.class,
+    CasCoreAuthenticationSupportConfiguration.class,
+    CasCoreAuthenticationHandlersConfiguration.class,
+    CasCoreHttpConfiguration.class,
+    CasCoreServicesConfiguration.class,
+    CasPersonDirectoryConfiguration.class,
+    CasCoreLogoutConfiguration.class,
+    CasCoreConfiguration.class,
+    CasCoreAuthenticationServiceSelectionStrategyConfiguration.class,
+    CasCoreTicketsConfiguration.class,
+    CasCoreTicketCatalogConfiguration.class,
+    CasCoreWebConfiguration.class,
+    CasWebApplicationServiceFactoryConfiguration.class
+})
+@ContextConfiguration(initializers = EnvironmentConversionServiceInitializer.class)
+public class JpaTicketRegistryConcurrentUpdateTests {
+    @ClassRule
+    public static final SpringClassRule SPRING_CLASS_RULE = new SpringClassRule();
+
+    @Rule
+    public final SpringMethodRule springMethodRule = new SpringMethodRule();
+
+    @Autowired
+    @Qualifier("defaultTicketFactory")
+    private TicketFactory ticketFactory;
+
+    @Autowired
+    @Qualifier("ticketRegistry")
+    private TicketRegistry ticketRegistry;
+
+    @Autowired
+    @Qualifier("ticketLockingService")
+    private TicketLockingService ticketLockingService;
+
+    @Autowired
+    @Qualifier("ticketTransactionManager")
+    private PlatformTransactionManager ticketTransactionManager;
+
+    private TicketGrantingTicket createTicketGrantingTicket() {
+        val tgtFactory = (TicketGrantingTicketFactory) ticketFactory.get(TicketGrantingTicket.class);
+        val tgt = tgtFactory.create(RegisteredServiceTestUtils.getAuthentication(), TicketGrantingTicket.class);
+        ticketRegistry.addTicket(tgt);
+        return tgt;
+    }
+
+    private void updateConcurrently(final String ticketId) {
+        val concurrent = ticketRegistry.getTicket(ticketId, TicketGrantingTicket.class);
+        ((TicketState) concurrent).update();
+        ticketRegistry.updateTicket(concurrent);
+    }
+
+    @Test
+    public void verifyStaleUpdateIsRetriedAgainstCurrentTicket() {
+        val tgt = createTicketGrantingTicket();
+        val stale = ticketRegistry.getTicket(tgt.getId(), TicketGrantingTicket.class);
+        updateConcurrently(tgt.getId());
+
+        val attempts = new AtomicInteger();
+        ticketLockingService.executeWithLock(tgt.getId(), () -> {
+            val ticket = attempts.incrementAndGet() == 1 ? stale : ticketRegistry.getTicket(tgt.getId(), TicketGrantingTicket.class);
+            ((TicketState) ticket).update();
+            return ticketRegistry.updateTicket(ticket);
+        });
+        assertEquals(2, attempts.get());
+        assertEquals(2, ticketRegistry.getTicket(tgt.getId()).getCountOfUses());
+    }
+
+    @Test
+    public void verifyOperationIsNotRetriedInsideTransactionInProgress() {
+        val tgt = createTicketGrantingTicket();
+        val stale = ticketRegistry.getTicket(tgt.getId(), TicketGrantingTicket.class);
+        updateConcurrently(tgt.getId());
+
+        val attempts = new AtomicInteger();
+        try {
+            new TransactionTemplate(ticketTransactionManager).execute(status ->
+                ticketLockingService.executeWithLock(tgt.getId(), () -> {
+                    attempts.incrementAndGet();
+                    ((TicketState) stale).update();
+                    return ticketRegistry.updateTicket(stale);
+                }));
+            fail("Expected the stale update to fail");
+        } catch (final OptimisticLockException | OptimisticLockingFailureException e) {
+            assertEquals(1, attempts.get());
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package org.apereo.cas.ticket.registry;
 
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
 import org.apereo.cas.config.CasCoreAuthenticationConfiguration;
 import org.apereo.cas.config.CasCoreAuthenticationHandlersConfiguration;
 import org.apereo.cas.config.CasCoreAuthenticationMetadataConfiguration;
@@ -21,7 +22,15 @@ import org.apereo.cas.config.JpaTicketRegistryTicketCatalogConfiguration;
 import org.apereo.cas.config.support.CasWebApplicationServiceFactoryConfiguration;
 import org.apereo.cas.config.support.EnvironmentConversionServiceInitializer;
 import org.apereo.cas.logout.config.CasCoreLogoutConfiguration;
+import org.apereo.cas.services.RegisteredServiceTestUtils;
+import org.apereo.cas.ticket.ServiceTicket;
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.TicketGrantingTicketImpl;
+import org.apereo.cas.ticket.support.NeverExpiresExpirationPolicy;
 
+import lombok.val;
+import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -36,6 +45,11 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashSet;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.*;
 
 
 /**
@@ -90,4 +104,28 @@ public class JpaTicketRegistryTests extends BaseSpringRunnableTicketRegistryTest
     protected TicketRegistry getNewTicketRegistry() {
         return this.ticketRegistry;
     }
+
+    @Test
+    public void verifyTicketsAreStreamedInPagesByType() {
+        val ticketGrantingTickets = 250;
+        IntStream.range(0, ticketGrantingTickets).forEach(i -> this.ticketRegistry.addTicket(
+            new TicketGrantingTicketImpl(String.format("%s-%03d", TicketGrantingTicket.PREFIX, i),
+                CoreAuthenticationTestUtils.getAuthentication(), new NeverExpiresExpirationPolicy())));
+        val tgt = this.ticketRegistry.getTicket(TicketGrantingTicket.PREFIX + "-000", TicketGrantingTicket.class);
+        val st = tgt.grantServiceTicket(ServiceTicket.PREFIX + "-1", RegisteredServiceTestUtils.getService(),
+            new NeverExpiresExpirationPolicy(), false, true);
+        this.ticketRegistry.addTicket(st);
+        this.ticketRegistry.updateTicket(tgt);
+
+        val ids = this.ticketRegistry.getTicketsStream(TicketGrantingTicket.class)
+            .map(Ticket::getId)
+            .collect(Collectors.toList());
+        assertEquals(ticketGrantingTickets, ids.size());
+        assertEquals(ticketGrantingTickets, new HashSet<>(ids).size());
+        assertEquals(ids.stream().sorted().collect(Collectors.toList()), ids);
+
+        assertEquals(1, this.ticketRegistry.getTicketsStream(ServiceTicket.class).count());
+        assertEquals(ticketGrantingTickets + 1, this.ticketRegistry.getTicketsStream().count());
+        assertEquals(10, this.ticketRegistry.getTicketsStream(TicketGrantingTicket.class).limit(10).count());
+    }
 }
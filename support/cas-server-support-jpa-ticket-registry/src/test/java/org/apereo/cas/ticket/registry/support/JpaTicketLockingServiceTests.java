@@ -0,0 +1,62 @@
+package org.apereo.cas.ticket.registry.support;
+
+import org.apereo.cas.ticket.registry.StripedTicketLockingService;
+
+import lombok.val;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+
+import javax.persistence.OptimisticLockException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * This is {@link JpaTicketLockingServiceTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+public class JpaTicketLockingServiceTests {
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    private PlatformTransactionManager transactionManager;
+
+    @Before
+    public void initialize() {
+        this.transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(mock(TransactionStatus.class));
+    }
+
+    @Test
+    public void verifyOperationIsRetriedOnConflict() {
+        val service = new JpaTicketLockingService(new StripedTicketLockingService(1), transactionManager, 3);
+        val attempts = new AtomicInteger();
+        val result = service.executeWithLock("TGT-1", () -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new OptimisticLockException("TGT-1");
+            }
+            return "done";
+        });
+        assertEquals("done", result);
+        assertEquals(3, attempts.get());
+        verify(transactionManager, times(2)).rollback(any());
+        verify(transactionManager, times(1)).commit(any());
+    }
+
+    @Test
+    public void verifyOperationFailsAfterMaximumAttempts() {
+        val service = new JpaTicketLockingService(new StripedTicketLockingService(1), transactionManager, 2);
+        this.thrown.expect(OptimisticLockException.class);
+        service.executeWithLock("TGT-1", () -> {
+            throw new OptimisticLockException("TGT-1");
+        });
+    }
+}
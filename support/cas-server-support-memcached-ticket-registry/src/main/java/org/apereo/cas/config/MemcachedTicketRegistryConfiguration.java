@@ -4,6 +4,7 @@ import org.apereo.cas.ComponentSerializationPlan;
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.memcached.MemcachedPooledClientConnectionFactory;
 import org.apereo.cas.memcached.MemcachedUtils;
+import org.apereo.cas.ticket.TicketCatalog;
 import org.apereo.cas.ticket.registry.MemcachedTicketRegistry;
 import org.apereo.cas.ticket.registry.NoOpTicketRegistryCleaner;
 import org.apereo.cas.ticket.registry.TicketRegistry;
@@ -15,6 +16,7 @@ import net.spy.memcached.transcoders.Transcoder;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cloud.context.config.annotation.RefreshScope;
 import org.springframework.context.annotation.Bean;
@@ -54,15 +56,19 @@ public class MemcachedTicketRegistryConfiguration {
     }
 
     @Bean
-    public TicketRegistry ticketRegistry() {
+    @Autowired
+    public TicketRegistry ticketRegistry(@Qualifier("ticketCatalog") final TicketCatalog ticketCatalog) {
         val memcached = casProperties.getTicket().getRegistry().getMemcached();
         val factory = new MemcachedPooledClientConnectionFactory(memcached, memcachedTicketRegistryTranscoder());
-        val registry = new MemcachedTicketRegistry(factory.getObjectPool());
+        val registry = memcached.isIndexEnabled()
+            ? new MemcachedTicketRegistry(factory.getObjectPool(), ticketCatalog, memcached.getIndexSegments())
+            : new MemcachedTicketRegistry(factory.getObjectPool());
         val cipherExecutor = CoreTicketUtils.newTicketRegistryCipherExecutor(memcached.getCrypto(), "memcached");
         registry.setCipherExecutor(cipherExecutor);
         return registry;
     }
 
+    @ConditionalOnProperty(prefix = "cas.ticket.registry.memcached", name = "indexEnabled", havingValue = "false", matchIfMissing = true)
     @Bean
     public TicketRegistryCleaner ticketRegistryCleaner() {
         return NoOpTicketRegistryCleaner.getInstance();
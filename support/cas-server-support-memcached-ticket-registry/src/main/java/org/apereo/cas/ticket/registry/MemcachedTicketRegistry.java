@@ -1,21 +1,47 @@
 package org.apereo.cas.ticket.registry;
 
 import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketCatalog;
+import org.apereo.cas.ticket.TicketDefinition;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.util.DigestUtils;
 
-import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
+import net.spy.memcached.CASResponse;
+import net.spy.memcached.CachedData;
 import net.spy.memcached.MemcachedClientIF;
+import net.spy.memcached.transcoders.Transcoder;
+import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.pool2.ObjectPool;
 import org.springframework.beans.factory.DisposableBean;
 
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 /**
  * Key-value ticket registry implementation that stores tickets in memcached keyed on the ticket ID.
+ * <p>
+ * Memcached cannot enumerate its keys. When indexing is enabled, the registry also maintains index keys
+ * that list the stored ticket ids, spread across a fixed number of segments per ticket type, along with
+ * one index key per principal that lists its ticket-granting tickets. Index keys hold plain text, one entry
+ * per line, so that adding or removing a ticket only appends a line to the index key rather than rewriting it.
+ * Removed tickets are appended as entries that cancel out earlier ones. Ids of tickets that have since expired
+ * are pruned from the index by the registry cleaner, which reads every index key anyway.
+ * <p>
+ * Index keys do not expire, but memcached may still evict them under memory pressure, and refuses to grow them
+ * past its item size limit. Tickets listed in a lost index key are no longer enumerated, though they still
+ * expire on their own; more index segments keep each index key smaller.
  *
  * @author Scott Battaglia
  * @author Marvin S. Addison
@@ -23,14 +49,39 @@ import java.util.function.Predicate;
  */
 @SuppressWarnings("FutureReturnValueIgnored")
 @Slf4j
-@RequiredArgsConstructor
 public class MemcachedTicketRegistry extends AbstractTicketRegistry implements DisposableBean {
 
+    private static final String INDEX_KEY_PREFIX = "CAS_TICKET_INDEX:";
+
+    private static final String PRINCIPAL_INDEX_KEY_PREFIX = "CAS_TICKET_PRINCIPAL:";
+
+    private static final String INDEX_ENTRY_SEPARATOR = "\n";
+
+    private static final String REMOVED_INDEX_ENTRY_PREFIX = "!";
+
+    private static final Transcoder<String> INDEX_TRANSCODER = new IndexTranscoder();
+
     /**
      * Memcached client.
      */
     private final ObjectPool<MemcachedClientIF> connectionPool;
 
+    private final TicketCatalog ticketCatalog;
+
+    private final int indexSegments;
+
+    public MemcachedTicketRegistry(final ObjectPool<MemcachedClientIF> connectionPool) {
+        this(connectionPool, null, 0);
+    }
+
+    public MemcachedTicketRegistry(final ObjectPool<MemcachedClientIF> connectionPool,
+                                   final TicketCatalog ticketCatalog,
+                                   final int indexSegments) {
+        this.connectionPool = connectionPool;
+        this.ticketCatalog = ticketCatalog;
+        this.indexSegments = indexSegments;
+    }
+
     /**
      * If not time out value is specified, expire the ticket immediately.
      *
@@ -67,6 +118,13 @@ public class MemcachedTicketRegistry extends AbstractTicketRegistry implements D
             val ticket = encodeTicket(ticketToAdd);
             LOGGER.debug("Adding ticket [{}]", ticket);
             clientFromPool.set(ticket.getId(), getTimeout(ticketToAdd), ticket);
+            if (isIndexEnabled()) {
+                appendToIndex(clientFromPool, getIndexKey(ticketToAdd.getPrefix(), ticket.getId()), ticket.getId());
+                if (ticketToAdd instanceof TicketGrantingTicket) {
+                    val principal = ((TicketGrantingTicket) ticketToAdd).getAuthentication().getPrincipal().getId();
+                    appendToIndex(clientFromPool, getPrincipalIndexKey(principal), ticket.getId());
+                }
+            }
         } catch (final Exception e) {
             LOGGER.error("Failed adding [{}]", ticketToAdd, e);
         } finally {
@@ -76,22 +134,54 @@ public class MemcachedTicketRegistry extends AbstractTicketRegistry implements D
 
     @Override
     public long deleteAll() {
-        LOGGER.debug("deleteAll() isn't supported. Returning empty list");
-        return 0;
+        if (!isIndexEnabled()) {
+            LOGGER.debug("deleteAll() isn't supported without indexing. Returning zero");
+            return 0;
+        }
+        val clientFromPool = getClientFromPool();
+        try {
+            return getIndexKeys(this.ticketCatalog.findAll().stream())
+                .mapToLong(indexKey -> {
+                    val ids = readIndex(clientFromPool, indexKey);
+                    val count = ids.stream().filter(id -> deleteFromMemcached(clientFromPool, id)).count();
+                    clientFromPool.delete(indexKey);
+                    return count;
+                })
+                .sum();
+        } finally {
+            returnClientToPool(clientFromPool);
+        }
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The ticket is also marked as removed in the index of its ticket type. Ticket-granting tickets
+     * are fetched before they are deleted, so they can be marked as removed in the index of their principal too.
+     */
     @Override
     public boolean deleteSingleTicket(final String ticketIdToDelete) {
         val clientFromPool = getClientFromPool();
         val ticketId = encodeTicketId(ticketIdToDelete);
         try {
-            clientFromPool.delete(ticketId);
+            val definition = isIndexEnabled() ? this.ticketCatalog.find(ticketIdToDelete) : null;
+            val principal = definition != null && isTicketGrantingTicket(definition)
+                ? getPrincipalId(clientFromPool.get(ticketId))
+                : null;
+            val deleted = clientFromPool.delete(ticketId).get();
+            if (deleted && definition != null) {
+                appendToIndex(clientFromPool, getIndexKey(definition.getPrefix(), ticketId), REMOVED_INDEX_ENTRY_PREFIX + ticketId);
+                if (principal != null) {
+                    appendToIndex(clientFromPool, getPrincipalIndexKey(principal), REMOVED_INDEX_ENTRY_PREFIX + ticketId);
+                }
+            }
+            return deleted;
         } catch (final Exception e) {
             LOGGER.error("Ticket not found or is already removed. Failed deleting [{}]", ticketId, e);
         } finally {
             returnClientToPool(clientFromPool);
         }
-        return true;
+        return false;
     }
 
     @Override
@@ -117,8 +207,99 @@ public class MemcachedTicketRegistry extends AbstractTicketRegistry implements D
 
     @Override
     public Collection<? extends Ticket> getTickets() {
-        LOGGER.debug("getTickets() isn't supported. Returning empty list");
-        return new ArrayList<>(0);
+        if (!isIndexEnabled()) {
+            LOGGER.debug("getTickets() isn't supported without indexing. Returning empty list");
+            return new ArrayList<>(0);
+        }
+        return getIndexedTickets(this.ticketCatalog.findAll().stream());
+    }
+
+    @Override
+    public <T extends Ticket> Stream<T> getTicketsStream(final Class<T> type) {
+        if (!isIndexEnabled()) {
+            return super.getTicketsStream(type);
+        }
+        val definitions = this.ticketCatalog.findAll()
+            .stream()
+            .filter(definition -> type.isAssignableFrom(definition.getImplementationClass()));
+        return getIndexedTickets(definitions).stream().filter(type::isInstance).map(type::cast);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Sessions are counted off the index keys of ticket-granting tickets, without fetching the tickets.
+     * Tickets that have expired since the last run of the registry cleaner are still counted.
+     */
+    @Override
+    public long sessionCount() {
+        if (!isIndexEnabled()) {
+            return super.sessionCount();
+        }
+        val clientFromPool = getClientFromPool();
+        try {
+            val definitions = this.ticketCatalog.findAll()
+                .stream()
+                .filter(MemcachedTicketRegistry::isTicketGrantingTicket);
+            return getIndexKeys(definitions)
+                .mapToLong(indexKey -> readIndex(clientFromPool, indexKey).size())
+                .sum();
+        } finally {
+            returnClientToPool(clientFromPool);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * This is what the registry cleaner walks through, so index keys are pruned here: each index key is
+     * rewritten to list only the tickets that still exist, and expired ticket-granting tickets are
+     * pruned from the index of their principal. An index key that is modified concurrently is left
+     * as is until the next run.
+     */
+    @Override
+    public Stream<? extends Ticket> getExpiredTicketsStream() {
+        if (!isIndexEnabled()) {
+            return super.getExpiredTicketsStream();
+        }
+        val clientFromPool = getClientFromPool();
+        try {
+            val expired = getIndexKeys(this.ticketCatalog.findAll().stream())
+                .flatMap(indexKey -> pruneIndex(clientFromPool, indexKey, new LinkedHashSet<>(0)).values().stream())
+                .map(ticket -> decodeTicket((Ticket) ticket))
+                .filter(Ticket::isExpired)
+                .collect(Collectors.toList());
+            expired.stream()
+                .filter(TicketGrantingTicket.class::isInstance)
+                .map(TicketGrantingTicket.class::cast)
+                .collect(Collectors.groupingBy(tgt -> tgt.getAuthentication().getPrincipal().getId(),
+                    Collectors.mapping(tgt -> encodeTicketId(tgt.getId()), Collectors.toSet())))
+                .forEach((principal, ids) -> pruneIndex(clientFromPool, getPrincipalIndexKey(principal), ids));
+            return expired.stream();
+        } finally {
+            returnClientToPool(clientFromPool);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Tickets are looked up using the principal index, if indexing is enabled.
+     */
+    @Override
+    public Stream<TicketGrantingTicket> getTicketsForPrincipal(final String principalId) {
+        if (!isIndexEnabled()) {
+            return super.getTicketsForPrincipal(principalId);
+        }
+        val clientFromPool = getClientFromPool();
+        try {
+            return readIndexedTickets(clientFromPool, getPrincipalIndexKey(principalId))
+                .stream()
+                .filter(TicketGrantingTicket.class::isInstance)
+                .map(TicketGrantingTicket.class::cast);
+        } finally {
+            returnClientToPool(clientFromPool);
+        }
     }
 
     /**
@@ -129,6 +310,139 @@ public class MemcachedTicketRegistry extends AbstractTicketRegistry implements D
         this.connectionPool.close();
     }
 
+    private static boolean isTicketGrantingTicket(final TicketDefinition definition) {
+        return TicketGrantingTicket.class.isAssignableFrom(definition.getImplementationClass());
+    }
+
+    private String getPrincipalId(final Object ticket) {
+        if (ticket == null) {
+            return null;
+        }
+        val decoded = decodeTicket((Ticket) ticket);
+        if (decoded instanceof TicketGrantingTicket) {
+            return ((TicketGrantingTicket) decoded).getAuthentication().getPrincipal().getId();
+        }
+        return null;
+    }
+
+    private boolean isIndexEnabled() {
+        return this.ticketCatalog != null && this.indexSegments > 0;
+    }
+
+    private String getIndexKey(final String prefix, final String encodedTicketId) {
+        return getIndexKey(prefix, Math.floorMod(encodedTicketId.hashCode(), this.indexSegments));
+    }
+
+    private static String getIndexKey(final String prefix, final int segment) {
+        return INDEX_KEY_PREFIX + prefix + ':' + segment;
+    }
+
+    private static String getPrincipalIndexKey(final String principalId) {
+        return PRINCIPAL_INDEX_KEY_PREFIX + DigestUtils.sha256(principalId);
+    }
+
+    private Stream<String> getIndexKeys(final Stream<TicketDefinition> definitions) {
+        return definitions
+            .map(TicketDefinition::getPrefix)
+            .distinct()
+            .flatMap(prefix -> IntStream.range(0, this.indexSegments).mapToObj(segment -> getIndexKey(prefix, segment)));
+    }
+
+    private List<Ticket> getIndexedTickets(final Stream<TicketDefinition> definitions) {
+        val clientFromPool = getClientFromPool();
+        try {
+            return getIndexKeys(definitions)
+                .flatMap(indexKey -> readIndexedTickets(clientFromPool, indexKey).stream())
+                .collect(Collectors.toList());
+        } finally {
+            returnClientToPool(clientFromPool);
+        }
+    }
+
+    /**
+     * Fetch the tickets listed in an index key in bulk. Ids of tickets that no longer exist are skipped.
+     */
+    private List<Ticket> readIndexedTickets(final MemcachedClientIF clientFromPool, final String indexKey) {
+        val ids = readIndex(clientFromPool, indexKey);
+        if (ids.isEmpty()) {
+            return new ArrayList<>(0);
+        }
+        return clientFromPool.getBulk(ids).values()
+            .stream()
+            .map(ticket -> decodeTicket((Ticket) ticket))
+            .collect(Collectors.toList());
+    }
+
+    private static Set<String> readIndex(final MemcachedClientIF clientFromPool, final String indexKey) {
+        return parseIndex(clientFromPool.get(indexKey, INDEX_TRANSCODER));
+    }
+
+    private static Set<String> parseIndex(final String value) {
+        val ids = new LinkedHashSet<String>();
+        if (StringUtils.isNotEmpty(value)) {
+            for (val entry : StringUtils.split(value, INDEX_ENTRY_SEPARATOR)) {
+                if (entry.startsWith(REMOVED_INDEX_ENTRY_PREFIX)) {
+                    ids.remove(entry.substring(REMOVED_INDEX_ENTRY_PREFIX.length()));
+                } else {
+                    ids.add(entry);
+                }
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Append an entry to the index key, creating the index key if it does not exist yet.
+     */
+    @SneakyThrows
+    private static void appendToIndex(final MemcachedClientIF clientFromPool, final String indexKey, final String entry) {
+        val value = entry + INDEX_ENTRY_SEPARATOR;
+        if (clientFromPool.append(indexKey, value, INDEX_TRANSCODER).get()
+            || clientFromPool.add(indexKey, 0, value, INDEX_TRANSCODER).get()
+            || clientFromPool.append(indexKey, value, INDEX_TRANSCODER).get()) {
+            return;
+        }
+        LOGGER.warn("Unable to append to ticket index [{}]. The index key may have reached the item size limit of memcached; "
+            + "consider a larger number of index segments", indexKey);
+    }
+
+    /**
+     * Rewrite the index key to list only tickets that still exist, leaving out the given ids.
+     *
+     * @return the tickets that are listed in the pruned index key, as stored
+     */
+    private static Map<String, Object> pruneIndex(final MemcachedClientIF clientFromPool, final String indexKey, final Set<String> removed) {
+        val current = clientFromPool.gets(indexKey, INDEX_TRANSCODER);
+        if (current == null) {
+            return Map.of();
+        }
+        val ids = parseIndex(current.getValue());
+        ids.removeAll(removed);
+        val found = ids.isEmpty() ? Map.<String, Object>of() : clientFromPool.getBulk(ids);
+        val value = ids.stream()
+            .filter(found::containsKey)
+            .map(id -> id + INDEX_ENTRY_SEPARATOR)
+            .collect(Collectors.joining());
+        if (value.length() < current.getValue().length()) {
+            val response = clientFromPool.cas(indexKey, current.getCas(), 0, value, INDEX_TRANSCODER);
+            if (response == CASResponse.OK) {
+                LOGGER.trace("Pruned ticket index [{}] down to [{}] ticket(s)", indexKey, found.size());
+            } else {
+                LOGGER.debug("Ticket index [{}] is modified concurrently and will be pruned on the next run", indexKey);
+            }
+        }
+        return found;
+    }
+
+    private static boolean deleteFromMemcached(final MemcachedClientIF clientFromPool, final String key) {
+        try {
+            return clientFromPool.delete(key).get();
+        } catch (final Exception e) {
+            LOGGER.error("Failed deleting [{}]", key, e);
+            return false;
+        }
+    }
+
     @SneakyThrows
     private MemcachedClientIF getClientFromPool() {
         return this.connectionPool.borrowObject();
@@ -143,4 +457,29 @@ public class MemcachedTicketRegistry extends AbstractTicketRegistry implements D
             LOGGER.error(e.getMessage(), e);
         }
     }
+
+    /**
+     * Stores index keys as plain text, so that entries may be appended to them.
+     */
+    private static class IndexTranscoder implements Transcoder<String> {
+        @Override
+        public boolean asyncDecode(final CachedData data) {
+            return false;
+        }
+
+        @Override
+        public CachedData encode(final String value) {
+            return new CachedData(0, value.getBytes(StandardCharsets.UTF_8), getMaxSize());
+        }
+
+        @Override
+        public String decode(final CachedData data) {
+            return new String(data.getData(), StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public int getMaxSize() {
+            return CachedData.MAX_SIZE;
+        }
+    }
 }
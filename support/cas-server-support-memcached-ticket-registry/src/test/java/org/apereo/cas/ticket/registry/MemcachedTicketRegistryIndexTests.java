@@ -0,0 +1,121 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.category.MemcachedCategory;
+import org.apereo.cas.config.CasCoreTicketCatalogConfiguration;
+import org.apereo.cas.config.CasCoreTicketsConfiguration;
+import org.apereo.cas.config.CasCoreUtilSerializationConfiguration;
+import org.apereo.cas.config.CasOAuthComponentSerializationConfiguration;
+import org.apereo.cas.config.MemcachedTicketRegistryConfiguration;
+import org.apereo.cas.mock.MockTicketGrantingTicket;
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.util.junit.ConditionalIgnore;
+import org.apereo.cas.util.junit.RunningContinuousIntegrationCondition;
+
+import lombok.val;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cloud.autoconfigure.RefreshAutoConfiguration;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit test for {@link MemcachedTicketRegistry} with ticket indexing enabled.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@RunWith(Parameterized.class)
+@SpringBootTest(classes = {
+    MemcachedTicketRegistryConfiguration.class,
+    CasOAuthComponentSerializationConfiguration.class,
+    MemcachedTicketRegistryTests.MemcachedTicketRegistryTestConfiguration.class,
+    RefreshAutoConfiguration.class,
+    CasCoreUtilSerializationConfiguration.class,
+    CasCoreTicketsConfiguration.class,
+    CasCoreTicketCatalogConfiguration.class
+})
+@TestPropertySource(properties = {
+    "cas.ticket.registry.memcached.servers=localhost:11211",
+    "cas.ticket.registry.memcached.failureMode=Redistribute",
+    "cas.ticket.registry.memcached.locatorType=ARRAY_MOD",
+    "cas.ticket.registry.memcached.hashAlgorithm=FNV1A_64_HASH",
+    "cas.ticket.registry.memcached.indexEnabled=true",
+    "cas.ticket.registry.memcached.indexSegments=4"
+})
+@ConditionalIgnore(condition = RunningContinuousIntegrationCondition.class)
+@Category(MemcachedCategory.class)
+public class MemcachedTicketRegistryIndexTests extends BaseSpringRunnableTicketRegistryTests {
+    @Autowired
+    @Qualifier("ticketRegistry")
+    private TicketRegistry registry;
+
+    public MemcachedTicketRegistryIndexTests(final boolean useEncryption) {
+        super(useEncryption);
+    }
+
+    @Parameterized.Parameters
+    public static Collection<Object> getTestParameters() {
+        return Arrays.asList(false, true);
+    }
+
+    @Override
+    public TicketRegistry getNewTicketRegistry() {
+        return registry;
+    }
+
+    @Test
+    public void verifyTicketsAreIndexedByPrincipal() {
+        val tgt = new MockTicketGrantingTicket("indexed-casuser");
+        this.registry.addTicket(tgt);
+        val tickets = this.registry.getTicketsForPrincipal("indexed-casuser").collect(Collectors.toList());
+        assertEquals(1, tickets.size());
+        assertEquals(tgt.getId(), tickets.iterator().next().getId());
+
+        this.registry.deleteTicket(tgt.getId());
+        assertEquals(0, this.registry.getTicketsForPrincipal("indexed-casuser").count());
+    }
+
+    @Test
+    public void verifySessionsAreCountedByIndex() {
+        val count = this.registry.sessionCount();
+        val tgt = new MockTicketGrantingTicket("counted-casuser-" + UUID.randomUUID());
+        this.registry.addTicket(tgt);
+        assertEquals(count + 1, this.registry.sessionCount());
+
+        this.registry.deleteTicket(tgt.getId());
+        assertEquals(count, this.registry.sessionCount());
+    }
+
+    @Test
+    public void verifyIndexIsPrunedByCleaner() {
+        val principal = "pruned-casuser-" + UUID.randomUUID();
+        val active = new MockTicketGrantingTicket(principal);
+        val expired = new MockTicketGrantingTicket(principal);
+        expired.markTicketExpired();
+        val removed = new MockTicketGrantingTicket(principal);
+        this.registry.addTicket(active);
+        this.registry.addTicket(expired);
+        this.registry.addTicket(removed);
+        this.registry.deleteTicket(removed.getId());
+        assertTrue(this.registry.getTickets().stream().noneMatch(ticket -> ticket.getId().equals(removed.getId())));
+
+        val expiredIds = this.registry.getExpiredTicketsStream().map(Ticket::getId).collect(Collectors.toSet());
+        assertTrue(expiredIds.contains(expired.getId()));
+        assertFalse(expiredIds.contains(active.getId()));
+
+        val tickets = this.registry.getTicketsForPrincipal(principal).collect(Collectors.toList());
+        assertEquals(1, tickets.size());
+        assertEquals(active.getId(), tickets.iterator().next().getId());
+    }
+}
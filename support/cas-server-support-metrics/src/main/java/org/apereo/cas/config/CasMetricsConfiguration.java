@@ -1,9 +1,16 @@
 package org.apereo.cas.config;
 
 import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.ticket.registry.TicketRegistry;
 
 import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.val;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -18,8 +25,27 @@ import org.springframework.context.annotation.Configuration;
 @Configuration("casMetricsConfiguration")
 @EnableConfigurationProperties(CasConfigurationProperties.class)
 public class CasMetricsConfiguration {
+    @Autowired
+    @Qualifier("ticketRegistry")
+    private ObjectProvider<TicketRegistry> ticketRegistry;
+
     @Bean
     public TimedAspect timedAspect(final MeterRegistry registry) {
         return new TimedAspect(registry);
     }
+
+    @Bean
+    public MeterBinder ticketRegistryMeterBinder() {
+        return registry -> {
+            val ticketRegistry = this.ticketRegistry.getIfAvailable();
+            if (ticketRegistry != null) {
+                Gauge.builder("cas.ticket.registry.sessions", ticketRegistry, TicketRegistry::sessionCount)
+                    .description("Number of ticket-granting tickets held by the ticket registry")
+                    .register(registry);
+                Gauge.builder("cas.ticket.registry.service.tickets", ticketRegistry, TicketRegistry::serviceTicketCount)
+                    .description("Number of service tickets held by the ticket registry")
+                    .register(registry);
+            }
+        };
+    }
 }
@@ -1,11 +1,13 @@
 package org.apereo.cas.ticket.registry;
 
 import org.apereo.cas.mongo.MongoDbConnectionFactory;
-import org.apereo.cas.ticket.BaseTicketSerializers;
+import org.apereo.cas.ticket.ServiceTicket;
 import org.apereo.cas.ticket.Ticket;
 import org.apereo.cas.ticket.TicketCatalog;
 import org.apereo.cas.ticket.TicketDefinition;
+import org.apereo.cas.ticket.TicketGrantingTicket;
 import org.apereo.cas.ticket.TicketState;
+import org.apereo.cas.util.serialization.SerializationUtils;
 
 import com.google.common.collect.ImmutableSet;
 import com.mongodb.client.ListIndexesIterable;
@@ -14,20 +16,24 @@ import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.apache.commons.lang3.StringUtils;
 import org.bson.Document;
-import org.hjson.JsonValue;
-import org.hjson.Stringify;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
 import org.springframework.data.mongodb.core.MongoOperations;
 import org.springframework.data.mongodb.core.index.Index;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.data.mongodb.core.query.Update;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Date;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * A Ticket Registry storage backend based on MongoDB.
@@ -37,8 +43,6 @@ import java.util.stream.Collectors;
  */
 @Slf4j
 public class MongoDbTicketRegistry extends AbstractTicketRegistry {
-    private static final Query SELECT_ALL_NAMES_QUERY = new Query(Criteria.where(TicketHolder.FIELD_NAME_ID).regex(".+"));
-
     private static final ImmutableSet<String> MONGO_INDEX_KEYS = ImmutableSet.of("v", "key", "name", "ns");
 
     private final TicketCatalog ticketCatalog;
@@ -73,17 +77,21 @@ public class MongoDbTicketRegistry extends AbstractTicketRegistry {
         return new Date(System.currentTimeMillis() + (ttl * 1000));
     }
 
-    private static String serializeTicketForMongoDocument(final Ticket ticket) {
-        try {
-            return BaseTicketSerializers.serializeTicket(ticket);
-        } catch (final Exception e) {
-            LOGGER.error(e.getMessage(), e);
-        }
-        return null;
+    private static Ticket deserializeTicketFromMongoDocument(final TicketHolder holder) {
+        return SerializationUtils.deserialize(holder.getTicket(), Ticket.class);
     }
 
-    private static Ticket deserializeTicketFromMongoDocument(final TicketHolder holder) {
-        return BaseTicketSerializers.deserializeTicket(holder.getJson(), holder.getType());
+    /**
+     * Build an update that writes all fields of the ticket document.
+     *
+     * @param holder the holder
+     * @return the update
+     */
+    static Update buildTicketUpdate(final TicketHolder holder) {
+        return Update.update(TicketHolder.FIELD_NAME_TYPE, holder.getType())
+            .set(TicketHolder.FIELD_NAME_TICKET, holder.getTicket())
+            .set(TicketHolder.FIELD_NAME_PRINCIPAL, holder.getPrincipal())
+            .set(TicketHolder.FIELD_NAME_EXPIRE_AT, holder.getExpireAt());
     }
 
     private MongoCollection createTicketCollection(final TicketDefinition ticket, final MongoDbConnectionFactory factory) {
@@ -93,9 +101,17 @@ public class MongoDbTicketRegistry extends AbstractTicketRegistry {
 
         LOGGER.debug("Creating indices on collection [{}] to auto-expire documents...", collectionName);
         val collection = mongoTemplate.getCollection(collectionName);
+        val indexOperations = mongoTemplate.indexOps(collectionName);
         val index = new Index().on(TicketHolder.FIELD_NAME_EXPIRE_AT, Sort.Direction.ASC).expire(ticket.getProperties().getStorageTimeout());
         removeDifferingIndexIfAny(collection, index);
-        mongoTemplate.indexOps(TicketHolder.class).ensureIndex(index);
+        indexOperations.ensureIndex(index);
+
+        if (TicketGrantingTicket.class.isAssignableFrom(ticket.getImplementationClass())) {
+            LOGGER.debug("Creating principal index on collection [{}]", collectionName);
+            val principalIndex = new Index().on(TicketHolder.FIELD_NAME_PRINCIPAL, Sort.Direction.ASC).sparse();
+            removeDifferingIndexIfAny(collection, principalIndex);
+            indexOperations.ensureIndex(principalIndex);
+        }
         return collection;
     }
 
@@ -147,9 +163,7 @@ public class MongoDbTicketRegistry extends AbstractTicketRegistry {
                 LOGGER.error("Could not locate collection linked to ticket definition for ticket [{}]", ticket.getId());
                 return null;
             }
-            val query = new Query(Criteria.where(TicketHolder.FIELD_NAME_ID).is(holder.getTicketId()));
-            val update = Update.update(TicketHolder.FIELD_NAME_JSON, holder.getJson());
-            this.mongoTemplate.upsert(query, update, collectionName);
+            this.mongoTemplate.save(holder, collectionName);
             LOGGER.debug("Updated ticket [{}]", ticket);
         } catch (final Exception e) {
             LOGGER.error("Failed updating [{}]: [{}]", ticket, e);
@@ -181,6 +195,43 @@ public class MongoDbTicketRegistry extends AbstractTicketRegistry {
         }
     }
 
+    @Override
+    public void addTickets(final Stream<? extends Ticket> tickets) {
+        val holders = new LinkedHashMap<String, List<TicketHolder>>();
+        tickets.forEach(ticket -> {
+            val metadata = this.ticketCatalog.find(ticket);
+            if (metadata == null) {
+                LOGGER.error("Could not locate ticket definition in the catalog for ticket [{}]", ticket.getId());
+                return;
+            }
+            val collectionName = getTicketCollectionInstanceByMetadata(metadata);
+            holders.computeIfAbsent(collectionName, k -> new ArrayList<>()).add(buildTicketAsDocument(ticket));
+        });
+        holders.forEach((collectionName, documents) -> {
+            try {
+                val result = this.mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, collectionName)
+                    .insert(documents)
+                    .execute();
+                LOGGER.debug("Added [{}] ticket(s) to collection [{}]", result.getInsertedCount(), collectionName);
+            } catch (final Exception e) {
+                LOGGER.error("Failed adding [{}] ticket(s) to collection [{}]: [{}]", documents.size(), collectionName, e);
+            }
+        });
+    }
+
+    @Override
+    public Collection<? extends Ticket> getTickets(final Collection<String> ticketIds) {
+        return groupTicketIdsByCollection(ticketIds).entrySet()
+            .stream()
+            .map(entry -> {
+                val query = new Query(Criteria.where(TicketHolder.FIELD_NAME_ID).in(entry.getValue()));
+                return this.mongoTemplate.find(query, TicketHolder.class, entry.getKey());
+            })
+            .flatMap(List::stream)
+            .map(ticket -> decodeTicket(deserializeTicketFromMongoDocument(ticket)))
+            .collect(Collectors.toList());
+    }
+
     @Override
     public Ticket getTicket(final String ticketId, final Predicate<Ticket> predicate) {
         try {
@@ -196,8 +247,7 @@ public class MongoDbTicketRegistry extends AbstractTicketRegistry {
                 return null;
             }
             val collectionName = getTicketCollectionInstanceByMetadata(metadata);
-            val query = new Query(Criteria.where(TicketHolder.FIELD_NAME_ID).is(encTicketId));
-            val d = this.mongoTemplate.findOne(query, TicketHolder.class, collectionName);
+            val d = this.mongoTemplate.findById(encTicketId, TicketHolder.class, collectionName);
             if (d != null) {
                 val decoded = deserializeTicketFromMongoDocument(d);
                 val result = decodeTicket(decoded);
@@ -223,6 +273,24 @@ public class MongoDbTicketRegistry extends AbstractTicketRegistry {
             .collect(Collectors.toSet());
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Tickets are looked up using the principal index of each ticket-granting ticket collection.
+     */
+    @Override
+    public Stream<TicketGrantingTicket> getTicketsForPrincipal(final String principalId) {
+        val query = new Query(Criteria.where(TicketHolder.FIELD_NAME_PRINCIPAL).is(encodeTicketId(principalId)));
+        return this.ticketCatalog.findAll().stream()
+            .filter(metadata -> TicketGrantingTicket.class.isAssignableFrom(metadata.getImplementationClass()))
+            .map(this::getTicketCollectionInstanceByMetadata)
+            .map(collectionName -> mongoTemplate.find(query, TicketHolder.class, collectionName))
+            .flatMap(List::stream)
+            .map(ticket -> decodeTicket(deserializeTicketFromMongoDocument(ticket)))
+            .filter(TicketGrantingTicket.class::isInstance)
+            .map(TicketGrantingTicket.class::cast);
+    }
+
     @Override
     public boolean deleteSingleTicket(final String ticketIdToDelete) {
         val ticketId = encodeTicketId(ticketIdToDelete);
@@ -233,38 +301,130 @@ public class MongoDbTicketRegistry extends AbstractTicketRegistry {
             val query = new Query(Criteria.where(TicketHolder.FIELD_NAME_ID).is(ticketId));
             val res = this.mongoTemplate.remove(query, collectionName);
             LOGGER.debug("Deleted ticket [{}] with result [{}]", ticketIdToDelete, res);
-            return true;
+            return res.getDeletedCount() > 0;
         } catch (final Exception e) {
             LOGGER.error("Failed deleting [{}]: [{}]", ticketId, e);
         }
         return false;
     }
 
+    @Override
+    protected Ticket removeSingleTicket(final String ticketIdToRemove) {
+        val ticketId = encodeTicketId(ticketIdToRemove);
+        try {
+            val metadata = this.ticketCatalog.find(ticketIdToRemove);
+            val collectionName = getTicketCollectionInstanceByMetadata(metadata);
+            val query = new Query(Criteria.where(TicketHolder.FIELD_NAME_ID).is(ticketId));
+            val holder = this.mongoTemplate.findAndRemove(query, TicketHolder.class, collectionName);
+            return holder == null ? null : decodeTicket(deserializeTicketFromMongoDocument(holder));
+        } catch (final Exception e) {
+            LOGGER.error("Failed removing [{}]: [{}]", ticketId, e);
+        }
+        return null;
+    }
+
+    @Override
+    protected int deleteSingleTickets(final Collection<String> ticketIds) {
+        return groupTicketIdsByCollection(ticketIds).entrySet()
+            .stream()
+            .mapToInt(entry -> {
+                try {
+                    val query = new Query(Criteria.where(TicketHolder.FIELD_NAME_ID).in(entry.getValue()));
+                    val res = this.mongoTemplate.remove(query, entry.getKey());
+                    LOGGER.debug("Deleted [{}] ticket(s) from collection [{}]", res.getDeletedCount(), entry.getKey());
+                    return (int) res.getDeletedCount();
+                } catch (final Exception e) {
+                    LOGGER.error("Failed deleting [{}] ticket(s) from collection [{}]: [{}]", entry.getValue().size(), entry.getKey(), e);
+                }
+                return 0;
+            })
+            .sum();
+    }
+
     @Override
     public long deleteAll() {
         return this.ticketCatalog.findAll().stream()
             .map(this::getTicketCollectionInstanceByMetadata)
             .filter(StringUtils::isNotBlank)
             .mapToLong(collectionName -> {
-                val countTickets = this.mongoTemplate.count(SELECT_ALL_NAMES_QUERY, collectionName);
-                mongoTemplate.remove(SELECT_ALL_NAMES_QUERY, collectionName);
-                return countTickets;
+                val result = mongoTemplate.remove(new Query(), collectionName);
+                return result.getDeletedCount();
             })
             .sum();
     }
 
+    @Override
+    public long sessionCount() {
+        return countTicketsOfType(TicketGrantingTicket.class);
+    }
+
+    @Override
+    public long serviceTicketCount() {
+        return countTicketsOfType(ServiceTicket.class);
+    }
+
+    /**
+     * Count tickets using the collection metadata instead of reading documents.
+     * Expired documents are removed by the TTL index on the collection, so the count
+     * closely follows the number of live tickets.
+     */
+    private long countTicketsOfType(final Class<? extends Ticket> type) {
+        return this.ticketCatalog.findAll()
+            .stream()
+            .filter(metadata -> type.isAssignableFrom(metadata.getImplementationClass()))
+            .map(metadata -> getTicketCollectionInstance(metadata.getProperties().getStorageName()))
+            .filter(Objects::nonNull)
+            .mapToLong(MongoCollection::estimatedDocumentCount)
+            .sum();
+    }
+
+    /**
+     * Group ticket ids by the collection their ticket definition is stored in,
+     * encoding each id as it would be stored.
+     */
+    private Map<String, List<String>> groupTicketIdsByCollection(final Collection<String> ticketIds) {
+        val groups = new LinkedHashMap<String, List<String>>();
+        ticketIds.stream()
+            .filter(StringUtils::isNotBlank)
+            .forEach(ticketId -> {
+                val metadata = this.ticketCatalog.find(ticketId);
+                if (metadata == null) {
+                    LOGGER.debug("Ticket definition [{}] could not be found in the ticket catalog", ticketId);
+                    return;
+                }
+                val collectionName = getTicketCollectionInstanceByMetadata(metadata);
+                groups.computeIfAbsent(collectionName, k -> new ArrayList<>()).add(encodeTicketId(ticketId));
+            });
+        return groups;
+    }
+
     private TicketHolder buildTicketAsDocument(final Ticket ticket) {
+        return buildTicketAsDocument(ticket, getExpireAt(ticket));
+    }
+
+    /**
+     * Build ticket as document.
+     *
+     * @param ticket   the ticket, not yet encoded
+     * @param expireAt the expire at
+     * @return the ticket holder
+     */
+    TicketHolder buildTicketAsDocument(final Ticket ticket, final Date expireAt) {
         val encTicket = encodeTicket(ticket);
-        val json = serializeTicketForMongoDocument(encTicket);
-        if (StringUtils.isNotBlank(json)) {
-            LOGGER.trace("Serialized ticket into a JSON document as \n [{}]", JsonValue.readJSON(json).toString(Stringify.FORMATTED));
-            val expireAt = getExpireAt(ticket);
-            return new TicketHolder(json, encTicket.getId(), encTicket.getClass().getName(), expireAt);
-        }
-        throw new IllegalArgumentException("Ticket " + ticket.getId() + " cannot be serialized to JSON");
+        val principalId = ticket instanceof TicketGrantingTicket
+            ? encodeTicketId(((TicketGrantingTicket) ticket).getAuthentication().getPrincipal().getId())
+            : null;
+        return new TicketHolder(encTicket.getId(), encTicket.getClass().getName(),
+            SerializationUtils.serialize(encTicket), principalId, expireAt);
     }
 
-    private String getTicketCollectionInstanceByMetadata(final TicketDefinition metadata) {
+    /**
+     * Gets ticket collection name by metadata.
+     *
+     * @param metadata the metadata
+     * @return the collection name
+     */
+    String getTicketCollectionInstanceByMetadata(final TicketDefinition metadata) {
         val mapName = metadata.getProperties().getStorageName();
         LOGGER.debug("Locating collection name [{}] for ticket definition [{}]", mapName, metadata);
         val c = getTicketCollectionInstance(mapName);
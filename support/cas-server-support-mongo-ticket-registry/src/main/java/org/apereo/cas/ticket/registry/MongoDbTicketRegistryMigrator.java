@@ -0,0 +1,97 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.ticket.BaseTicketSerializers;
+import org.apereo.cas.ticket.TicketCatalog;
+
+import com.mongodb.client.model.Filters;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This is {@link MongoDbTicketRegistryMigrator} that rewrites documents stored in the legacy
+ * layout, where the ticket was kept as a JSON string next to a separate {@code ticketId} field,
+ * into the layout used by {@link MongoDbTicketRegistry}. Documents are migrated in bulk,
+ * one batch at a time per collection; documents that cannot be read are left in place.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class MongoDbTicketRegistryMigrator {
+    private static final int BATCH_SIZE = 500;
+
+    private final TicketCatalog ticketCatalog;
+    private final MongoOperations mongoTemplate;
+    private final MongoDbTicketRegistry ticketRegistry;
+
+    /**
+     * Migrate legacy documents in all ticket collections.
+     *
+     * @return the number of migrated documents
+     */
+    public long migrate() {
+        return this.ticketCatalog.findAll()
+            .stream()
+            .map(ticketRegistry::getTicketCollectionInstanceByMetadata)
+            .mapToLong(this::migrateCollection)
+            .sum();
+    }
+
+    private long migrateCollection(final String collectionName) {
+        LOGGER.debug("Looking for legacy ticket documents in collection [{}]", collectionName);
+        val documents = mongoTemplate.getCollection(collectionName)
+            .find(Filters.exists(TicketHolder.FIELD_NAME_LEGACY_ID))
+            .batchSize(BATCH_SIZE);
+
+        var count = 0L;
+        val batch = new ArrayList<Document>(BATCH_SIZE);
+        for (val document : documents) {
+            batch.add(document);
+            if (batch.size() == BATCH_SIZE) {
+                count += migrateBatch(collectionName, batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            count += migrateBatch(collectionName, batch);
+        }
+        if (count > 0) {
+            LOGGER.info("Migrated [{}] legacy ticket document(s) in collection [{}]", count, collectionName);
+        }
+        return count;
+    }
+
+    private long migrateBatch(final String collectionName, final List<Document> documents) {
+        val operations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, collectionName);
+        var count = 0L;
+        for (val document : documents) {
+            try {
+                val stored = BaseTicketSerializers.deserializeTicket(document.getString(TicketHolder.FIELD_NAME_JSON),
+                    document.getString(TicketHolder.FIELD_NAME_TYPE));
+                val ticket = ticketRegistry.decodeTicket(stored);
+                val holder = ticketRegistry.buildTicketAsDocument(ticket, document.getDate(TicketHolder.FIELD_NAME_EXPIRE_AT));
+                operations.upsert(new Query(Criteria.where(TicketHolder.FIELD_NAME_ID).is(holder.getTicketId())),
+                    MongoDbTicketRegistry.buildTicketUpdate(holder));
+                operations.remove(new Query(Criteria.where(TicketHolder.FIELD_NAME_ID).is(document.get(TicketHolder.FIELD_NAME_ID))));
+                count++;
+            } catch (final Exception e) {
+                LOGGER.warn("Unable to migrate ticket document [{}] in collection [{}]: [{}]",
+                    document.get(TicketHolder.FIELD_NAME_LEGACY_ID), collectionName, e.getMessage());
+            }
+        }
+        if (count > 0) {
+            operations.execute();
+        }
+        return count;
+    }
+}
@@ -3,7 +3,7 @@ package org.apereo.cas.ticket.registry;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.ToString;
-import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.annotation.Id;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.io.Serializable;
@@ -11,18 +11,21 @@ import java.util.Date;
 
 /**
  * This is {@link TicketHolder}.
+ * The ticket id is used as the document {@code _id} so lookups by id are served
+ * by the primary index of each collection, and the ticket itself is kept as compact
+ * binary rather than a JSON string that needs parsing on every read.
  *
  * @author Misagh Moayyed
  * @since 5.1.0
  */
 @Getter
 @AllArgsConstructor
-@ToString
+@ToString(exclude = "ticket")
 @Document
 public class TicketHolder implements Serializable {
 
     /**
-     * Field name to hold ticket json data.
+     * Field name to hold ticket json data, used by the legacy document layout.
      */
     public static final String FIELD_NAME_JSON = "json";
 
@@ -34,16 +37,38 @@ public class TicketHolder implements Serializable {
     /**
      * Field name to hold ticket id.
      */
-    public static final String FIELD_NAME_ID = "ticketId";
+    public static final String FIELD_NAME_ID = "_id";
 
-    private static final long serialVersionUID = -4843440028617071224L;
+    /**
+     * Field name to hold ticket id, used by the legacy document layout.
+     */
+    public static final String FIELD_NAME_LEGACY_ID = "ticketId";
+
+    /**
+     * Field name to hold the ticket type.
+     */
+    public static final String FIELD_NAME_TYPE = "type";
 
-    private final String json;
+    /**
+     * Field name to hold the serialized ticket.
+     */
+    public static final String FIELD_NAME_TICKET = "ticket";
 
+    /**
+     * Field name to hold the principal id linked to the ticket.
+     */
+    public static final String FIELD_NAME_PRINCIPAL = "principal";
+
+    private static final long serialVersionUID = -4843440028617071224L;
+
+    @Id
     private final String ticketId;
 
     private final String type;
 
-    @Indexed
+    private final byte[] ticket;
+
+    private final String principal;
+
     private final Date expireAt;
 }
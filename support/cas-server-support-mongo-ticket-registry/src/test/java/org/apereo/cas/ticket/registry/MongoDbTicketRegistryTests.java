@@ -1,5 +1,6 @@
 package org.apereo.cas.ticket.registry;
 
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
 import org.apereo.cas.category.MongoDbCategory;
 import org.apereo.cas.config.CasCoreAuthenticationConfiguration;
 import org.apereo.cas.config.CasCoreAuthenticationHandlersConfiguration;
@@ -21,8 +22,17 @@ import org.apereo.cas.config.MongoDbTicketRegistryConfiguration;
 import org.apereo.cas.config.MongoDbTicketRegistryTicketCatalogConfiguration;
 import org.apereo.cas.config.support.CasWebApplicationServiceFactoryConfiguration;
 import org.apereo.cas.logout.config.CasCoreLogoutConfiguration;
+import org.apereo.cas.ticket.BaseTicketSerializers;
+import org.apereo.cas.ticket.TicketCatalog;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.TicketGrantingTicketImpl;
+import org.apereo.cas.ticket.support.NeverExpiresExpirationPolicy;
 
+import com.mongodb.client.model.Filters;
+import lombok.val;
+import org.bson.Document;
 import org.junit.Before;
+import org.junit.Test;
 import org.junit.experimental.categories.Category;
 import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
@@ -31,12 +41,18 @@ import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.aop.AopAutoConfiguration;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.cloud.autoconfigure.RefreshAutoConfiguration;
+import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.TestPropertySource;
 
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Date;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
 
 /**
  * This is {@link MongoDbTicketRegistryTests}.
@@ -87,6 +103,14 @@ public class MongoDbTicketRegistryTests extends BaseSpringRunnableTicketRegistry
     @Qualifier("ticketRegistry")
     private TicketRegistry ticketRegistry;
 
+    @Autowired
+    @Qualifier("ticketCatalog")
+    private TicketCatalog ticketCatalog;
+
+    @Autowired
+    @Qualifier("mongoDbTicketRegistryTemplate")
+    private MongoTemplate mongoDbTicketRegistryTemplate;
+
     public MongoDbTicketRegistryTests(final boolean useEncryption) {
         super(useEncryption);
     }
@@ -105,4 +129,51 @@ public class MongoDbTicketRegistryTests extends BaseSpringRunnableTicketRegistry
     public TicketRegistry getNewTicketRegistry() {
         return this.ticketRegistry;
     }
+
+    @Test
+    public void verifyTicketsAreFoundByPrincipal() {
+        val principal = "casuser-" + UUID.randomUUID();
+        val tgt = newTicketGrantingTicket(principal);
+        ticketRegistry.addTicket(tgt);
+        ticketRegistry.addTicket(newTicketGrantingTicket("other-" + principal));
+
+        val tickets = ticketRegistry.getTicketsForPrincipal(principal).collect(Collectors.toList());
+        assertEquals(1, tickets.size());
+        assertEquals(tgt.getId(), tickets.get(0).getId());
+        assertEquals(principal, tickets.get(0).getAuthentication().getPrincipal().getId());
+
+        ticketRegistry.deleteTicket(tgt.getId());
+        assertEquals(0, ticketRegistry.getTicketsForPrincipal(principal).count());
+    }
+
+    @Test
+    public void verifyLegacyDocumentsAreMigrated() {
+        val registry = (MongoDbTicketRegistry) this.ticketRegistry;
+        val principal = "legacy-casuser-" + UUID.randomUUID();
+        val tgt = newTicketGrantingTicket(principal);
+        val encoded = registry.encodeTicket(tgt);
+        val collectionName = registry.getTicketCollectionInstanceByMetadata(ticketCatalog.find(tgt));
+        val collection = mongoDbTicketRegistryTemplate.getCollection(collectionName);
+        collection.insertOne(new Document(TicketHolder.FIELD_NAME_LEGACY_ID, encoded.getId())
+            .append(TicketHolder.FIELD_NAME_JSON, BaseTicketSerializers.serializeTicket(encoded))
+            .append(TicketHolder.FIELD_NAME_TYPE, encoded.getClass().getName())
+            .append(TicketHolder.FIELD_NAME_EXPIRE_AT, new Date(System.currentTimeMillis() + 60_000)));
+        assertNull(ticketRegistry.getTicket(tgt.getId()));
+
+        val migrator = new MongoDbTicketRegistryMigrator(ticketCatalog, mongoDbTicketRegistryTemplate, registry);
+        assertEquals(1, migrator.migrate());
+        assertNull(collection.find(Filters.exists(TicketHolder.FIELD_NAME_LEGACY_ID)).first());
+        assertNotNull(collection.find(Filters.eq(TicketHolder.FIELD_NAME_ID, encoded.getId())).first());
+
+        val migrated = ticketRegistry.getTicket(tgt.getId(), TicketGrantingTicket.class);
+        assertNotNull(migrated);
+        assertEquals(principal, migrated.getAuthentication().getPrincipal().getId());
+        assertEquals(1, ticketRegistry.getTicketsForPrincipal(principal).count());
+        assertEquals(0, migrator.migrate());
+    }
+
+    private static TicketGrantingTicket newTicketGrantingTicket(final String principal) {
+        return new TicketGrantingTicketImpl(TicketGrantingTicket.PREFIX + '-' + UUID.randomUUID(),
+            CoreAuthenticationTestUtils.getAuthentication(principal), new NeverExpiresExpirationPolicy());
+    }
 }
@@ -0,0 +1,37 @@
+package org.apereo.cas.config;
+
+import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.logout.LogoutManager;
+import org.apereo.cas.ticket.registry.OffHeapTicketRegistry;
+import org.apereo.cas.ticket.registry.TicketRegistry;
+import org.apereo.cas.util.CoreTicketUtils;
+
+import lombok.val;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * This is {@link OffHeapTicketRegistryConfiguration}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@Configuration("offHeapTicketRegistryConfiguration")
+@EnableConfigurationProperties(CasConfigurationProperties.class)
+public class OffHeapTicketRegistryConfiguration {
+
+    @Autowired
+    private CasConfigurationProperties casProperties;
+
+    @Bean(destroyMethod = "destroy")
+    @Autowired
+    public TicketRegistry ticketRegistry(@Qualifier("logoutManager") final LogoutManager logoutManager) {
+        val offHeap = casProperties.getTicket().getRegistry().getOffHeap();
+        val cipher = CoreTicketUtils.newTicketRegistryCipherExecutor(offHeap.getCrypto(), "offHeap");
+        return new OffHeapTicketRegistry(cipher, logoutManager, offHeap.getExpirationWheelSize(),
+            offHeap.getSegmentSize(), offHeap.getPersistenceFile());
+    }
+}
@@ -0,0 +1,163 @@
+package org.apereo.cas.ticket.registry;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * This is {@link OffHeapSlabAllocator} that carves chunks out of large direct memory segments.
+ * Chunks come in power-of-two size classes; each size class allocates whole segments as it needs them
+ * and keeps released chunks on its own free list, so direct memory is allocated once per segment rather than
+ * once per entry and is reused without waiting for the garbage collector. Segments are never returned.
+ * Entries larger than a segment receive a dedicated buffer.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@Slf4j
+public class OffHeapSlabAllocator {
+    private static final int MINIMUM_CHUNK_SIZE = 256;
+
+    private final int segmentSize;
+
+    private final SizeClass[] sizeClasses;
+
+    private final AtomicLong reservedBytes = new AtomicLong();
+
+    public OffHeapSlabAllocator(final int segmentSize) {
+        if (segmentSize < MINIMUM_CHUNK_SIZE) {
+            throw new IllegalArgumentException("Segment size must be at least " + MINIMUM_CHUNK_SIZE + " bytes");
+        }
+        this.segmentSize = segmentSize;
+        val classes = new ArrayList<SizeClass>();
+        for (var chunkSize = MINIMUM_CHUNK_SIZE; chunkSize <= segmentSize && chunkSize > 0; chunkSize <<= 1) {
+            classes.add(new SizeClass(chunkSize));
+        }
+        this.sizeClasses = classes.toArray(new SizeClass[0]);
+    }
+
+    /**
+     * Copy the bytes into a chunk of direct memory.
+     *
+     * @param bytes the bytes
+     * @return the chunk
+     */
+    public Chunk allocate(final byte[] bytes) {
+        val sizeClass = getSizeClass(bytes.length);
+        if (sizeClass == null) {
+            LOGGER.warn("Entry of [{}] bytes does not fit in a segment of [{}] bytes and is given its own buffer; "
+                + "consider a larger segment size", bytes.length, this.segmentSize);
+            val buffer = ByteBuffer.allocateDirect(bytes.length);
+            buffer.put(bytes);
+            return new Chunk(null, -1, buffer, 0, bytes.length);
+        }
+        val chunk = sizeClass.take(bytes.length);
+        val target = chunk.segment.duplicate();
+        target.position(chunk.offset);
+        target.put(bytes);
+        return chunk;
+    }
+
+    /**
+     * Return the chunk to the free list of its size class. The chunk must not be read afterwards.
+     *
+     * @param chunk the chunk
+     */
+    public void free(final Chunk chunk) {
+        if (chunk.sizeClass != null) {
+            chunk.sizeClass.release(chunk);
+        }
+    }
+
+    /**
+     * Gets the direct memory reserved by all segments.
+     *
+     * @return the reserved bytes
+     */
+    public long getReservedBytes() {
+        return this.reservedBytes.get();
+    }
+
+    private SizeClass getSizeClass(final int length) {
+        for (val sizeClass : this.sizeClasses) {
+            if (length <= sizeClass.chunkSize) {
+                return sizeClass;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * A region of a segment that holds one entry.
+     */
+    @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+    public static class Chunk {
+        private final SizeClass sizeClass;
+        private final int index;
+        private final ByteBuffer segment;
+        private final int offset;
+        private final int length;
+
+        /**
+         * Copy the contents of the chunk onto the heap.
+         *
+         * @return the bytes
+         */
+        public byte[] read() {
+            val source = this.segment.duplicate();
+            source.position(this.offset);
+            val bytes = new byte[this.length];
+            source.get(bytes);
+            return bytes;
+        }
+    }
+
+    /**
+     * Segments and free chunks of one chunk size. A free chunk is recorded as its index
+     * across all segments of the size class.
+     */
+    private class SizeClass {
+        private final int chunkSize;
+        private final int chunksPerSegment;
+        private final List<ByteBuffer> segments = new ArrayList<>();
+        private int[] freeChunks = new int[0];
+        private int freeCount;
+
+        SizeClass(final int chunkSize) {
+            this.chunkSize = chunkSize;
+            this.chunksPerSegment = segmentSize / chunkSize;
+        }
+
+        synchronized Chunk take(final int length) {
+            if (this.freeCount == 0) {
+                addSegment();
+            }
+            val index = this.freeChunks[--this.freeCount];
+            val segment = this.segments.get(index / this.chunksPerSegment);
+            return new Chunk(this, index, segment, (index % this.chunksPerSegment) * this.chunkSize, length);
+        }
+
+        synchronized void release(final Chunk chunk) {
+            this.freeChunks[this.freeCount++] = chunk.index;
+        }
+
+        private void addSegment() {
+            val segmentIndex = this.segments.size();
+            this.segments.add(ByteBuffer.allocateDirect(segmentSize));
+            reservedBytes.addAndGet(segmentSize);
+            LOGGER.debug("Allocated segment [{}] for chunks of [{}] bytes", segmentIndex, this.chunkSize);
+            val capacity = (segmentIndex + 1) * this.chunksPerSegment;
+            this.freeChunks = Arrays.copyOf(this.freeChunks, capacity);
+            for (var i = capacity - 1; i >= segmentIndex * this.chunksPerSegment; i--) {
+                this.freeChunks[this.freeCount++] = i;
+            }
+        }
+    }
+}
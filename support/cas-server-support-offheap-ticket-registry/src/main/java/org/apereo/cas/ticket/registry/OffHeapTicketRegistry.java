@@ -0,0 +1,106 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.CipherExecutor;
+import org.apereo.cas.logout.LogoutManager;
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.TicketState;
+
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apache.commons.lang3.StringUtils;
+
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This is {@link OffHeapTicketRegistry} that keeps tickets in direct memory
+ * for single-node deployments whose ticket volume would otherwise require a large heap.
+ * Expired tickets are removed by the storage itself, and ticket-granting tickets removed
+ * that way are logged out. Tickets may optionally be written to a file on shutdown and
+ * read back on startup.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@Slf4j
+public class OffHeapTicketRegistry extends AbstractMapBasedTicketRegistry {
+    private final OffHeapTicketStorage storage;
+
+    private final LogoutManager logoutManager;
+
+    private final String persistenceFile;
+
+    public OffHeapTicketRegistry(final CipherExecutor cipherExecutor, final LogoutManager logoutManager,
+                                 final int expirationWheelSize, final int segmentSize, final String persistenceFile) {
+        super(cipherExecutor);
+        this.logoutManager = logoutManager;
+        this.persistenceFile = persistenceFile;
+        this.storage = new OffHeapTicketStorage(expirationWheelSize, segmentSize, this::onTicketExpiration);
+        if (StringUtils.isNotBlank(persistenceFile)) {
+            this.storage.load(Paths.get(persistenceFile));
+            this.storage.values().forEach(ticket -> updateTicketCounters(decodeTicket(ticket), 1));
+        }
+    }
+
+    @Override
+    public void addTicket(@NonNull final Ticket ticket) {
+        val encTicket = encodeTicket(ticket);
+        LOGGER.debug("Added ticket [{}] to off-heap registry.", ticket.getId());
+        if (this.storage.store(encTicket.getId(), encTicket, getExpirationTime(ticket))) {
+            updateTicketCounters(ticket, 1);
+        }
+    }
+
+    @Override
+    public Map<String, Ticket> getMapInstance() {
+        return this.storage;
+    }
+
+    /**
+     * Persist tickets if configured, and stop the storage.
+     */
+    public void destroy() {
+        if (StringUtils.isNotBlank(this.persistenceFile)) {
+            this.storage.persist(Paths.get(this.persistenceFile));
+        }
+        this.storage.destroy();
+    }
+
+    private void onTicketExpiration(final Ticket encodedTicket) {
+        val ticket = decodeTicket(encodedTicket);
+        updateTicketCounters(ticket, -1);
+        if (ticket instanceof TicketGrantingTicket) {
+            LOGGER.debug("Ticket-granting ticket [{}] has expired; performing logout", ticket.getId());
+            logoutManager.performLogout((TicketGrantingTicket) ticket);
+        }
+    }
+
+    /**
+     * Gets the epoch millis after which the ticket is removed. Time-to-live values too large
+     * to be added to the current time, such as {@link Long#MAX_VALUE}, mean the ticket never expires.
+     *
+     * @param ticket the ticket
+     * @return the expiration time, or {@link OffHeapTicketStorage#NO_EXPIRATION}
+     */
+    static long getExpirationTime(final Ticket ticket) {
+        val expirationPolicy = ticket.getExpirationPolicy();
+        if (expirationPolicy == null) {
+            return OffHeapTicketStorage.NO_EXPIRATION;
+        }
+        val ttl = ticket instanceof TicketState
+            ? expirationPolicy.getTimeToLive((TicketState) ticket)
+            : expirationPolicy.getTimeToLive();
+        if (ttl == null || ttl < 1) {
+            return OffHeapTicketStorage.NO_EXPIRATION;
+        }
+        val now = System.currentTimeMillis();
+        val ttlMillis = TimeUnit.SECONDS.toMillis(ttl);
+        if (ttlMillis >= OffHeapTicketStorage.NO_EXPIRATION - now) {
+            return OffHeapTicketStorage.NO_EXPIRATION;
+        }
+        return now + ttlMillis;
+    }
+}
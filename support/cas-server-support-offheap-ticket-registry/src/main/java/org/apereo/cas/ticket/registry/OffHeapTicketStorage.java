@@ -0,0 +1,347 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.util.serialization.SerializationUtils;
+
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * This is {@link OffHeapTicketStorage} that keeps serialized tickets in direct memory,
+ * outside of the garbage-collected heap, with only a small index entry per ticket on heap.
+ * Memory is handed out by an {@link OffHeapSlabAllocator} and returned to it as soon as a
+ * ticket is replaced or removed. Tickets are deserialized on every read. Expiration is driven by a hashed timing wheel
+ * with one-second slots that is advanced by a single background thread; entries whose
+ * deadline falls beyond one revolution of the wheel stay in their slot until a later round.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@Slf4j
+public class OffHeapTicketStorage extends AbstractMap<String, Ticket> {
+    /**
+     * Deadline used for tickets that never expire.
+     */
+    public static final long NO_EXPIRATION = Long.MAX_VALUE;
+
+    private static final long TICK_MILLIS = 1000;
+
+    private final Map<String, StoredTicket> index = new ConcurrentHashMap<>();
+
+    private final Set<String>[] wheel;
+
+    private final ScheduledExecutorService wheelExecutor;
+
+    private final Consumer<Ticket> expirationListener;
+
+    private final OffHeapSlabAllocator allocator;
+
+    private long lastTick = System.currentTimeMillis() / TICK_MILLIS;
+
+    public OffHeapTicketStorage(final int wheelSize, final int segmentSize, final Consumer<Ticket> expirationListener) {
+        this.allocator = new OffHeapSlabAllocator(segmentSize);
+        this.wheel = new Set[wheelSize];
+        for (var i = 0; i < wheelSize; i++) {
+            this.wheel[i] = ConcurrentHashMap.newKeySet();
+        }
+        this.expirationListener = expirationListener;
+        this.wheelExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+            val thread = new Thread(r, "OffHeapTicketStorageExpiration");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.wheelExecutor.scheduleAtFixedRate(this::advance, TICK_MILLIS, TICK_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Store the ticket in direct memory and schedule its removal.
+     *
+     * @param ticketId  the ticket id
+     * @param ticket    the ticket, as it should be stored
+     * @param expiresAt the epoch millis after which the ticket is removed, or {@link #NO_EXPIRATION}
+     * @return true if the ticket was not previously stored
+     */
+    public boolean store(final String ticketId, final Ticket ticket, final long expiresAt) {
+        val chunk = allocator.allocate(SerializationUtils.serialize(ticket));
+        val previous = index.put(ticketId, new StoredTicket(chunk, expiresAt));
+        schedule(ticketId, expiresAt);
+        if (previous != null) {
+            previous.release(allocator);
+        }
+        return previous == null;
+    }
+
+    /**
+     * Store the ticket without expiration. Unlike {@link Map#put(Object, Object)}, the previous ticket
+     * is not read back and null is always returned; use {@link #store(String, Ticket, long)} to learn
+     * whether a ticket was replaced.
+     *
+     * @param ticketId the ticket id
+     * @param ticket   the ticket
+     * @return null
+     */
+    @Override
+    public Ticket put(final String ticketId, final Ticket ticket) {
+        store(ticketId, ticket, NO_EXPIRATION);
+        return null;
+    }
+
+    @Override
+    public Ticket get(final Object ticketId) {
+        val stored = index.get(ticketId);
+        return stored == null ? null : stored.read();
+    }
+
+    @Override
+    public boolean containsKey(final Object ticketId) {
+        return index.containsKey(ticketId);
+    }
+
+    @Override
+    public Ticket remove(final Object ticketId) {
+        val stored = index.remove(ticketId);
+        if (stored == null) {
+            return null;
+        }
+        val ticket = stored.read();
+        stored.release(allocator);
+        return ticket;
+    }
+
+    @Override
+    public int size() {
+        return index.size();
+    }
+
+    @Override
+    public void clear() {
+        index.keySet().forEach(this::discard);
+        for (val slot : wheel) {
+            slot.clear();
+        }
+    }
+
+    @Override
+    public Set<Entry<String, Ticket>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<String, Ticket>> iterator() {
+                val iterator = index.entrySet().iterator();
+                return new Iterator<>() {
+                    private Entry<String, Ticket> next;
+
+                    private String current;
+
+                    @Override
+                    public boolean hasNext() {
+                        while (next == null && iterator.hasNext()) {
+                            val entry = iterator.next();
+                            val ticket = entry.getValue().read();
+                            if (ticket != null) {
+                                next = new SimpleImmutableEntry<>(entry.getKey(), ticket);
+                            }
+                        }
+                        return next != null;
+                    }
+
+                    @Override
+                    public Entry<String, Ticket> next() {
+                        if (!hasNext()) {
+                            throw new NoSuchElementException();
+                        }
+                        val entry = next;
+                        next = null;
+                        current = entry.getKey();
+                        return entry;
+                    }
+
+                    @Override
+                    public void remove() {
+                        discard(current);
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return index.size();
+            }
+        };
+    }
+
+    private void discard(final String ticketId) {
+        val stored = index.remove(ticketId);
+        if (stored != null) {
+            stored.release(allocator);
+        }
+    }
+
+    /**
+     * Write all tickets that have not expired to the given file.
+     *
+     * @param file the file
+     */
+    @SneakyThrows
+    public void persist(final Path file) {
+        try (val channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+            StandardOpenOption.TRUNCATE_EXISTING)) {
+            val now = System.currentTimeMillis();
+            var count = 0;
+            for (val entry : index.entrySet()) {
+                val stored = entry.getValue();
+                val bytes = stored.expiresAt > now ? stored.bytes() : null;
+                if (bytes != null) {
+                    val id = entry.getKey().getBytes(StandardCharsets.UTF_8);
+                    val payload = ByteBuffer.wrap(bytes);
+                    val header = ByteBuffer.allocate(Integer.BYTES * 2 + Long.BYTES + id.length);
+                    header.putInt(id.length).put(id).putLong(stored.expiresAt).putInt(payload.remaining()).flip();
+                    while (header.hasRemaining()) {
+                        channel.write(header);
+                    }
+                    while (payload.hasRemaining()) {
+                        channel.write(payload);
+                    }
+                    count++;
+                }
+            }
+            LOGGER.info("Persisted [{}] ticket(s) to [{}]", count, file);
+        }
+    }
+
+    /**
+     * Load tickets that have not expired from the given file, mapping it into memory for the read.
+     *
+     * @param file the file
+     */
+    @SneakyThrows
+    public void load(final Path file) {
+        if (!Files.isReadable(file)) {
+            LOGGER.debug("No persisted tickets found at [{}]", file);
+            return;
+        }
+        try (val channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            val mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            val now = System.currentTimeMillis();
+            var count = 0;
+            while (mapped.hasRemaining()) {
+                val id = new byte[mapped.getInt()];
+                mapped.get(id);
+                val expiresAt = mapped.getLong();
+                val length = mapped.getInt();
+                if (expiresAt > now) {
+                    val payload = new byte[length];
+                    mapped.duplicate().get(payload);
+                    val ticketId = new String(id, StandardCharsets.UTF_8);
+                    index.put(ticketId, new StoredTicket(allocator.allocate(payload), expiresAt));
+                    schedule(ticketId, expiresAt);
+                    count++;
+                }
+                mapped.position(mapped.position() + length);
+            }
+            LOGGER.info("Loaded [{}] ticket(s) from [{}]", count, file);
+        }
+    }
+
+    /**
+     * Stop the expiration wheel.
+     */
+    public void destroy() {
+        this.wheelExecutor.shutdownNow();
+    }
+
+    private void schedule(final String ticketId, final long expiresAt) {
+        if (expiresAt != NO_EXPIRATION) {
+            wheel[slotOf(expiresAt)].add(ticketId);
+        }
+    }
+
+    private int slotOf(final long time) {
+        return (int) ((time / TICK_MILLIS) % wheel.length);
+    }
+
+    /**
+     * Visit every slot passed since the previous tick, so that slots are not skipped
+     * when a tick runs late, and remove the tickets whose deadline has passed.
+     */
+    private void advance() {
+        try {
+            val now = System.currentTimeMillis();
+            val currentTick = now / TICK_MILLIS;
+            val firstTick = Math.max(lastTick + 1, currentTick - wheel.length + 1);
+            for (var tick = firstTick; tick <= currentTick; tick++) {
+                expireSlot((int) (tick % wheel.length), now);
+            }
+            lastTick = currentTick;
+        } catch (final Exception e) {
+            LOGGER.error(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Identifiers whose ticket was removed or rescheduled into another slot are dropped from the slot.
+     */
+    private void expireSlot(final int current, final long now) {
+        val slot = wheel[current];
+        for (val ticketId : slot) {
+            val stored = index.get(ticketId);
+            if (stored == null || stored.expiresAt == NO_EXPIRATION || slotOf(stored.expiresAt) != current) {
+                slot.remove(ticketId);
+            } else if (stored.expiresAt <= now && index.remove(ticketId, stored)) {
+                slot.remove(ticketId);
+                LOGGER.debug("Ticket [{}] has expired and is removed from off-heap storage", ticketId);
+                val ticket = stored.read();
+                stored.release(allocator);
+                if (ticket != null) {
+                    expirationListener.accept(ticket);
+                }
+            }
+        }
+    }
+
+    /**
+     * Index entry pointing at a serialized ticket in direct memory. Reads and the release
+     * of the chunk are serialized, so that a chunk is never read once it may have been reused.
+     */
+    @RequiredArgsConstructor
+    private static class StoredTicket {
+        private final OffHeapSlabAllocator.Chunk chunk;
+        private final long expiresAt;
+        private boolean released;
+
+        synchronized byte[] bytes() {
+            return released ? null : chunk.read();
+        }
+
+        Ticket read() {
+            val bytes = bytes();
+            return bytes == null ? null : SerializationUtils.deserialize(bytes, Ticket.class);
+        }
+
+        synchronized void release(final OffHeapSlabAllocator allocator) {
+            if (!released) {
+                released = true;
+                allocator.free(chunk);
+            }
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.CipherExecutor;
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
+import org.apereo.cas.config.CasCoreTicketCatalogConfiguration;
+import org.apereo.cas.config.CasCoreTicketsConfiguration;
+import org.apereo.cas.configuration.model.core.util.EncryptionRandomizedSigningJwtCryptographyProperties;
+import org.apereo.cas.logout.LogoutManager;
+import org.apereo.cas.mock.MockTicketGrantingTicket;
+import org.apereo.cas.ticket.TicketGrantingTicketImpl;
+import org.apereo.cas.ticket.support.TimeoutExpirationPolicy;
+import org.apereo.cas.util.CoreTicketUtils;
+
+import lombok.val;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test case to test the {@link OffHeapTicketRegistry} based on test cases to test all
+ * Ticket Registries.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@RunWith(Parameterized.class)
+@SpringBootTest(classes = {
+    CasCoreTicketsConfiguration.class,
+    CasCoreTicketCatalogConfiguration.class
+})
+public class OffHeapTicketRegistryTests extends BaseSpringRunnableTicketRegistryTests {
+    private final CipherExecutor cipherExecutor;
+
+    private final List<OffHeapTicketRegistry> registries = new ArrayList<>();
+
+    public OffHeapTicketRegistryTests(final boolean useEncryption) {
+        super(useEncryption);
+        this.cipherExecutor = useEncryption
+            ? CoreTicketUtils.newTicketRegistryCipherExecutor(new EncryptionRandomizedSigningJwtCryptographyProperties(), "[tests]")
+            : CipherExecutor.noOp();
+    }
+
+    @Parameterized.Parameters
+    public static Collection<Object> getTestParameters() {
+        return Arrays.asList(false, true);
+    }
+
+    @After
+    public void after() {
+        this.registries.forEach(OffHeapTicketRegistry::destroy);
+        this.registries.clear();
+    }
+
+    @Override
+    public TicketRegistry getNewTicketRegistry() {
+        return newTicketRegistry(mock(LogoutManager.class), 60, null);
+    }
+
+    private OffHeapTicketRegistry newTicketRegistry(final LogoutManager logoutManager, final int expirationWheelSize,
+                                                    final String persistenceFile) {
+        val registry = new OffHeapTicketRegistry(this.cipherExecutor, logoutManager, expirationWheelSize, 4096, persistenceFile);
+        this.registries.add(registry);
+        return registry;
+    }
+
+    @Test
+    public void verifyTicketsPersistAcrossRestarts() throws Exception {
+        val file = File.createTempFile("offheap", ".tickets");
+        file.deleteOnExit();
+        val registry = newTicketRegistry(mock(LogoutManager.class), 60, file.getCanonicalPath());
+        val ticket = new MockTicketGrantingTicket("casuser");
+        registry.addTicket(ticket);
+        registry.destroy();
+        this.registries.remove(registry);
+
+        val restored = newTicketRegistry(mock(LogoutManager.class), 60, file.getCanonicalPath());
+        assertEquals(ticket, restored.getTicket(ticket.getId()));
+        assertEquals(1, restored.sessionCount());
+    }
+
+    @Test
+    public void verifyTicketsWithUnboundedTimeToLiveNeverExpire() throws Exception {
+        val ticket = new TicketGrantingTicketImpl("TGT-unbounded", CoreAuthenticationTestUtils.getAuthentication(),
+            new TimeoutExpirationPolicy(60));
+        assertEquals(Long.MAX_VALUE, ticket.getExpirationPolicy().getTimeToLive().longValue());
+        assertEquals(OffHeapTicketStorage.NO_EXPIRATION, OffHeapTicketRegistry.getExpirationTime(ticket));
+
+        val logoutManager = mock(LogoutManager.class);
+        val registry = newTicketRegistry(logoutManager, 2, null);
+        registry.addTicket(ticket);
+        Thread.sleep(2500);
+        assertNotNull(registry.getTicket(ticket.getId()));
+        verify(logoutManager, never()).performLogout(any());
+    }
+
+    @Test
+    public void verifyReplacedTicketsReuseMemory() {
+        val registry = newTicketRegistry(mock(LogoutManager.class), 60, null);
+        val ticket = new MockTicketGrantingTicket("casuser");
+        for (var i = 0; i < 100; i++) {
+            registry.updateTicket(ticket);
+        }
+        assertEquals(ticket, registry.getTicket(ticket.getId()));
+        assertEquals(1, registry.sessionCount());
+    }
+}
@@ -0,0 +1,98 @@
+package org.apereo.cas.authentication.principal;
+
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * This is {@link JdbcPersistentIdStore} that keeps persistent identifiers in a relational database.
+ * The table is expected to carry a unique constraint on its {@code principal} and {@code service} columns,
+ * so that concurrent attempts to store an identifier for the same principal settle on a single value.
+ * Such a table can be created via {@link #createTable()}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@Slf4j
+public class JdbcPersistentIdStore implements PersistentIdStore {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final String tableName;
+
+    private final String selectQuery;
+
+    private final String insertQuery;
+
+    public JdbcPersistentIdStore(final DataSource dataSource, final String tableName) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.tableName = tableName;
+        this.selectQuery = String.format("SELECT persistent_id FROM %s WHERE principal=? AND service=?", tableName);
+        this.insertQuery = String.format("INSERT INTO %s (principal, service, persistent_id) VALUES (?, ?, ?)", tableName);
+    }
+
+    /**
+     * Does the table that holds persistent identifiers exist?
+     *
+     * @return true /false
+     */
+    public boolean tableExists() {
+        try {
+            this.jdbcTemplate.queryForList(String.format("SELECT persistent_id FROM %s WHERE 1=0", this.tableName), String.class);
+            return true;
+        } catch (final DataAccessException e) {
+            LOGGER.trace("Table [{}] cannot be queried: [{}]", this.tableName, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Create the table that holds persistent identifiers, with a unique key on principal and service, if missing.
+     * An existing table is left alone, so stored identifiers are never dropped.
+     */
+    public void createTable() {
+        if (tableExists()) {
+            LOGGER.trace("Table [{}] already exists", this.tableName);
+            return;
+        }
+        LOGGER.info("Creating table [{}] to hold persistent identifiers", this.tableName);
+        this.jdbcTemplate.execute(String.format("CREATE TABLE %s (principal VARCHAR(255) NOT NULL, service VARCHAR(512) NOT NULL, "
+            + "persistent_id VARCHAR(255) NOT NULL, UNIQUE (principal, service))", this.tableName));
+    }
+
+    @Override
+    public Optional<String> find(final String principal, final String service) {
+        val results = this.jdbcTemplate.queryForList(this.selectQuery, String.class, principal, service);
+        return results.stream().findFirst();
+    }
+
+    @Override
+    public String store(final String principal, final String service, final String persistentId) {
+        try {
+            this.jdbcTemplate.update(this.insertQuery, principal, service, persistentId);
+            return persistentId;
+        } catch (final DataIntegrityViolationException e) {
+            LOGGER.debug("Persistent id for [{}] and [{}] is already stored", principal, service);
+            return find(principal, service).orElse(persistentId);
+        }
+    }
+
+    @Override
+    public void storeAll(final String service, final Map<String, String> persistentIds) {
+        val batch = new ArrayList<Object[]>(persistentIds.size());
+        persistentIds.forEach((principal, persistentId) -> batch.add(new Object[]{principal, service, persistentId}));
+        try {
+            this.jdbcTemplate.batchUpdate(this.insertQuery, batch);
+        } catch (final DataIntegrityViolationException e) {
+            LOGGER.debug("Some persistent ids for [{}] are already stored; storing them one at a time", service);
+            PersistentIdStore.super.storeAll(service, persistentIds);
+        }
+    }
+}
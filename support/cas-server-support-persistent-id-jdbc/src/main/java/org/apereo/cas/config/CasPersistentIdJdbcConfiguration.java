@@ -0,0 +1,52 @@
+package org.apereo.cas.config;
+
+import org.apereo.cas.authentication.principal.CachingPersistentIdStore;
+import org.apereo.cas.authentication.principal.JdbcPersistentIdStore;
+import org.apereo.cas.authentication.principal.PersistentIdStore;
+import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.configuration.support.JpaBeans;
+
+import lombok.val;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.BeanCreationException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * This is {@link CasPersistentIdJdbcConfiguration} that stores persistent identifiers in a relational database.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@Configuration("casPersistentIdJdbcConfiguration")
+@EnableConfigurationProperties(CasConfigurationProperties.class)
+public class CasPersistentIdJdbcConfiguration {
+
+    @Autowired
+    private CasConfigurationProperties casProperties;
+
+    @Bean
+    public DataSource persistentIdDataSource() {
+        return JpaBeans.newDataSource(casProperties.getPersistentId().getJdbc());
+    }
+
+    @Bean
+    public PersistentIdStore persistentIdStore() {
+        val persistentId = casProperties.getPersistentId();
+        val jdbc = persistentId.getJdbc();
+        if (StringUtils.isBlank(jdbc.getTableName())) {
+            throw new BeanCreationException("Database table for persistent identifiers must be specified.");
+        }
+        val store = new JdbcPersistentIdStore(persistentIdDataSource(), jdbc.getTableName());
+        if (StringUtils.equalsAnyIgnoreCase(jdbc.getDdlAuto(), "create", "create-drop", "update")) {
+            store.createTable();
+        } else if (StringUtils.equalsIgnoreCase(jdbc.getDdlAuto(), "validate") && !store.tableExists()) {
+            throw new BeanCreationException("Database table " + jdbc.getTableName() + " for persistent identifiers does not exist.");
+        }
+        return new CachingPersistentIdStore(store, persistentId.getCacheMaximumSize());
+    }
+}
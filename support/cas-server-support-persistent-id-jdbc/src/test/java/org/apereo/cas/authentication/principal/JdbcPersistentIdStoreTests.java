@@ -0,0 +1,102 @@
+package org.apereo.cas.authentication.principal;
+
+import org.apereo.cas.config.CasPersistentIdJdbcConfiguration;
+import org.apereo.cas.util.CollectionUtils;
+
+import lombok.val;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cloud.autoconfigure.RefreshAutoConfiguration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.rules.SpringClassRule;
+import org.springframework.test.context.junit4.rules.SpringMethodRule;
+
+import javax.sql.DataSource;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link JdbcPersistentIdStoreTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@SpringBootTest(classes = {
+    CasPersistentIdJdbcConfiguration.class,
+    RefreshAutoConfiguration.class
+})
+@TestPropertySource(properties = {
+    "cas.persistentId.jdbc.url=jdbc:hsqldb:mem:cas-persistent-ids",
+    "cas.persistentId.jdbc.tableName=persistent_ids"
+})
+public class JdbcPersistentIdStoreTests {
+    private static final String SERVICE = "https://example.org";
+
+    @ClassRule
+    public static final SpringClassRule SPRING_CLASS_RULE = new SpringClassRule();
+
+    @Rule
+    public final SpringMethodRule springMethodRule = new SpringMethodRule();
+
+    @Autowired
+    @Qualifier("persistentIdDataSource")
+    private DataSource persistentIdDataSource;
+
+    @Autowired
+    @Qualifier("persistentIdStore")
+    private PersistentIdStore persistentIdStore;
+
+    private JdbcPersistentIdStore store;
+
+    @Before
+    public void initialize() {
+        new JdbcTemplate(this.persistentIdDataSource).execute("DELETE FROM persistent_ids");
+        this.store = new JdbcPersistentIdStore(this.persistentIdDataSource, "persistent_ids");
+    }
+
+    @Test
+    public void verifyTableIsCreated() {
+        assertTrue(this.store.tableExists());
+        this.store.createTable();
+        assertFalse(new JdbcPersistentIdStore(this.persistentIdDataSource, "missing_persistent_ids").tableExists());
+    }
+
+    @Test
+    public void verifyStoredIdIsFound() {
+        assertFalse(this.persistentIdStore.find("casuser", SERVICE).isPresent());
+        assertEquals("id-1", this.persistentIdStore.store("casuser", SERVICE, "id-1"));
+        assertEquals("id-1", this.persistentIdStore.find("casuser", SERVICE).get());
+        assertEquals("id-1", this.store.find("casuser", SERVICE).get());
+    }
+
+    @Test
+    public void verifyDuplicateInsertKeepsStoredId() {
+        assertEquals("id-1", this.store.store("casuser", SERVICE, "id-1"));
+        assertEquals("id-1", this.store.store("casuser", SERVICE, "id-2"));
+        assertEquals("id-2", this.store.store("casuser", "https://example.net", "id-2"));
+        assertEquals("id-1", this.store.find("casuser", SERVICE).get());
+    }
+
+    @Test
+    public void verifyBatchInsert() {
+        this.store.storeAll(SERVICE, CollectionUtils.wrap("casuser", "id-1", "casadmin", "id-2"));
+        assertEquals("id-1", this.store.find("casuser", SERVICE).get());
+        assertEquals("id-2", this.store.find("casadmin", SERVICE).get());
+    }
+
+    @Test
+    public void verifyBatchFallsBackWhenIdsAreStored() {
+        this.store.store("casuser", SERVICE, "existing");
+        val ids = CollectionUtils.<String, String>wrap("casuser", "id-1", "casadmin", "id-2", "casguest", "id-3");
+        this.store.storeAll(SERVICE, ids);
+        assertEquals("existing", this.store.find("casuser", SERVICE).get());
+        assertEquals("id-2", this.store.find("casadmin", SERVICE).get());
+        assertEquals("id-3", this.store.find("casguest", SERVICE).get());
+    }
+}
@@ -0,0 +1,96 @@
+package org.apereo.cas.authentication.principal;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.bson.Document;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.CompoundIndexDefinition;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * This is {@link MongoDbPersistentIdStore} that keeps persistent identifiers in a MongoDb collection,
+ * with a unique index on principal and service.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class MongoDbPersistentIdStore implements PersistentIdStore {
+
+    private final MongoTemplate mongoTemplate;
+
+    private final String collectionName;
+
+    /**
+     * Create the unique index on principal and service, if missing.
+     */
+    public void createIndex() {
+        val index = new CompoundIndexDefinition(new Document("principal", 1).append("service", 1)).unique();
+        this.mongoTemplate.indexOps(this.collectionName).ensureIndex(index);
+    }
+
+    @Override
+    public Optional<String> find(final String principal, final String service) {
+        val query = new Query(Criteria.where("principal").is(principal).and("service").is(service));
+        val record = this.mongoTemplate.findOne(query, PersistentIdRecord.class, this.collectionName);
+        return Optional.ofNullable(record).map(PersistentIdRecord::getPersistentId);
+    }
+
+    @Override
+    public String store(final String principal, final String service, final String persistentId) {
+        try {
+            this.mongoTemplate.insert(new PersistentIdRecord(null, principal, service, persistentId), this.collectionName);
+            return persistentId;
+        } catch (final DuplicateKeyException e) {
+            LOGGER.debug("Persistent id for [{}] and [{}] is already stored", principal, service);
+            return find(principal, service).orElse(persistentId);
+        }
+    }
+
+    @Override
+    public void storeAll(final String service, final Map<String, String> persistentIds) {
+        if (persistentIds.isEmpty()) {
+            return;
+        }
+        val operations = this.mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, PersistentIdRecord.class, this.collectionName);
+        persistentIds.forEach((principal, persistentId) ->
+            operations.insert(new PersistentIdRecord(null, principal, service, persistentId)));
+        try {
+            operations.execute();
+        } catch (final BulkOperationException e) {
+            LOGGER.debug("Some persistent ids for [{}] are already stored and were kept", service);
+        }
+    }
+
+    /**
+     * A stored persistent id.
+     */
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class PersistentIdRecord {
+        @Id
+        private String id;
+
+        private String principal;
+
+        private String service;
+
+        private String persistentId;
+    }
+}
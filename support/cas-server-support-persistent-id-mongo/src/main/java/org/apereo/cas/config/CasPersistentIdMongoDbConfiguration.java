@@ -0,0 +1,39 @@
+package org.apereo.cas.config;
+
+import org.apereo.cas.authentication.principal.CachingPersistentIdStore;
+import org.apereo.cas.authentication.principal.MongoDbPersistentIdStore;
+import org.apereo.cas.authentication.principal.PersistentIdStore;
+import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.mongo.MongoDbConnectionFactory;
+
+import lombok.val;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * This is {@link CasPersistentIdMongoDbConfiguration}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@Configuration("casPersistentIdMongoDbConfiguration")
+@EnableConfigurationProperties(CasConfigurationProperties.class)
+public class CasPersistentIdMongoDbConfiguration {
+
+    @Autowired
+    private CasConfigurationProperties casProperties;
+
+    @Bean
+    public PersistentIdStore persistentIdStore() {
+        val persistentId = casProperties.getPersistentId();
+        val mongo = persistentId.getMongo();
+        val factory = new MongoDbConnectionFactory();
+        val mongoTemplate = factory.buildMongoTemplate(mongo);
+        factory.createCollection(mongoTemplate, mongo.getCollection(), mongo.isDropCollection());
+        val store = new MongoDbPersistentIdStore(mongoTemplate, mongo.getCollection());
+        store.createIndex();
+        return new CachingPersistentIdStore(store, persistentId.getCacheMaximumSize());
+    }
+}
@@ -0,0 +1,74 @@
+package org.apereo.cas.authentication.principal;
+
+import org.apereo.cas.category.MongoDbCategory;
+import org.apereo.cas.config.CasPersistentIdMongoDbConfiguration;
+import org.apereo.cas.util.CollectionUtils;
+import org.apereo.cas.util.junit.ConditionalIgnoreRule;
+
+import lombok.val;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cloud.autoconfigure.RefreshAutoConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.rules.SpringClassRule;
+import org.springframework.test.context.junit4.rules.SpringMethodRule;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link MongoDbPersistentIdStoreTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@SpringBootTest(classes = {
+    CasPersistentIdMongoDbConfiguration.class,
+    RefreshAutoConfiguration.class
+})
+@Category(MongoDbCategory.class)
+@TestPropertySource(properties = {
+    "cas.persistentId.mongo.host=localhost",
+    "cas.persistentId.mongo.port=27017",
+    "cas.persistentId.mongo.userId=root",
+    "cas.persistentId.mongo.password=secret",
+    "cas.persistentId.mongo.authenticationDatabaseName=admin",
+    "cas.persistentId.mongo.dropCollection=true",
+    "cas.persistentId.mongo.databaseName=persistent-ids"
+    })
+public class MongoDbPersistentIdStoreTests {
+    @ClassRule
+    public static final SpringClassRule SPRING_CLASS_RULE = new SpringClassRule();
+
+    @Rule
+    public final SpringMethodRule springMethodRule = new SpringMethodRule();
+
+    @Rule
+    public final ConditionalIgnoreRule conditionalIgnoreRule = new ConditionalIgnoreRule();
+
+    @Autowired
+    @Qualifier("persistentIdStore")
+    private PersistentIdStore persistentIdStore;
+
+    @Test
+    public void verifyDuplicateInsertKeepsStoredId() {
+        val service = "https://example.org/duplicate";
+        assertFalse(persistentIdStore.find("casuser", service).isPresent());
+        assertEquals("id-1", persistentIdStore.store("casuser", service, "id-1"));
+        assertEquals("id-1", persistentIdStore.store("casuser", service, "id-2"));
+        assertEquals("id-1", persistentIdStore.find("casuser", service).get());
+    }
+
+    @Test
+    public void verifyBulkInsertKeepsStoredIds() {
+        val service = "https://example.org/bulk";
+        persistentIdStore.store("casuser", service, "existing");
+        persistentIdStore.storeAll(service, CollectionUtils.wrap("casuser", "id-1", "casadmin", "id-2"));
+        assertEquals("existing", persistentIdStore.find("casuser", service).get());
+        assertEquals("id-2", persistentIdStore.find("casadmin", service).get());
+    }
+}
@@ -1,20 +1,27 @@
 package org.apereo.cas.config;
 
 import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.configuration.support.Beans;
 import org.apereo.cas.redis.core.RedisObjectFactory;
 import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.registry.NearCachingTicketRegistry;
 import org.apereo.cas.ticket.registry.RedisTicketRegistry;
+import org.apereo.cas.ticket.registry.RedisTicketRegistryCacheInvalidationChannel;
 import org.apereo.cas.ticket.registry.TicketRegistry;
+import org.apereo.cas.ticket.registry.TicketRegistryCacheInvalidationChannel;
 import org.apereo.cas.util.CoreTicketUtils;
 
 import lombok.val;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 
 /**
  * This is {@link RedisTicketRegistryConfiguration}.
@@ -44,11 +51,32 @@ public class RedisTicketRegistryConfiguration {
         return obj.newRedisTemplate(redisTicketConnectionFactory(), String.class, Ticket.class);
     }
 
+    @Bean
+    @ConditionalOnProperty(prefix = "cas.ticket.registry.nearCache", name = "enabled", havingValue = "true")
+    public RedisMessageListenerContainer ticketRegistryCacheInvalidationListenerContainer() {
+        val container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(redisTicketConnectionFactory());
+        return container;
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "cas.ticket.registry.nearCache", name = "enabled", havingValue = "true")
+    public TicketRegistryCacheInvalidationChannel ticketRegistryCacheInvalidationChannel() {
+        return new RedisTicketRegistryCacheInvalidationChannel(new StringRedisTemplate(redisTicketConnectionFactory()),
+            ticketRegistryCacheInvalidationListenerContainer());
+    }
+
     @Bean
     public TicketRegistry ticketRegistry() {
         val redis = casProperties.getTicket().getRegistry().getRedis();
         val r = new RedisTicketRegistry(ticketRedisTemplate());
         r.setCipherExecutor(CoreTicketUtils.newTicketRegistryCipherExecutor(redis.getCrypto(), "redis"));
+
+        val nearCache = casProperties.getTicket().getRegistry().getNearCache();
+        if (nearCache.isEnabled()) {
+            return new NearCachingTicketRegistry(r, ticketRegistryCacheInvalidationChannel(), nearCache.getMaximumSize(),
+                Beans.newDuration(nearCache.getMutableTicketTimeToLive()), Beans.newDuration(nearCache.getImmutableTicketTimeToLive()));
+        }
         return r;
     }
 }
@@ -1,17 +1,30 @@
 package org.apereo.cas.ticket.registry;
 
+import org.apereo.cas.ticket.ServiceTicket;
 import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.proxy.ProxyGrantingTicket;
+import org.apereo.cas.ticket.proxy.ProxyTicket;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
+import org.apache.commons.lang3.BooleanUtils;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisOperations;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.SessionCallback;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Objects;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Key-value ticket registry implementation that stores tickets in redis keyed on the ticket ID.
@@ -24,8 +37,12 @@ import java.util.stream.Collectors;
 public class RedisTicketRegistry extends AbstractTicketRegistry {
     private static final String CAS_TICKET_PREFIX = "CAS_TICKET:";
 
+    private static final long SCAN_COUNT = 1_000;
+
     private final RedisTemplate<String, Ticket> client;
 
+    private volatile boolean unlinkSupported = true;
+
     /**
      * If not time out value is specified, expire the ticket immediately.
      *
@@ -60,14 +77,76 @@ public class RedisTicketRegistry extends AbstractTicketRegistry {
     public boolean deleteSingleTicket(final String ticketId) {
         try {
             val redisKey = getTicketRedisKey(ticketId);
-            this.client.delete(redisKey);
-            return true;
+            return BooleanUtils.isTrue(this.client.delete(redisKey));
         } catch (final Exception e) {
             LOGGER.error("Ticket not found or is already removed. Failed deleting [{}]", ticketId, e);
         }
         return false;
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Keys are removed with {@code UNLINK} in a single command, leaving memory reclamation to the server.
+     * Servers that do not support {@code UNLINK}, i.e. prior to Redis 4, have the keys removed with {@code DEL} instead.
+     */
+    @Override
+    protected int deleteSingleTickets(final Collection<String> ticketIds) {
+        if (ticketIds.isEmpty()) {
+            return 0;
+        }
+        try {
+            val redisKeys = ticketIds.stream().map(RedisTicketRegistry::getTicketRedisKey).collect(Collectors.toList());
+            val count = unlinkOrDelete(redisKeys);
+            return count == null ? 0 : count.intValue();
+        } catch (final Exception e) {
+            LOGGER.error("Failed deleting [{}]", ticketIds, e);
+        }
+        return 0;
+    }
+
+    @Override
+    public void addTickets(final Stream<? extends Ticket> tickets) {
+        val toAdd = tickets.collect(Collectors.toList());
+        if (toAdd.isEmpty()) {
+            return;
+        }
+        try {
+            LOGGER.debug("Adding [{}] ticket(s) in a single pipeline", toAdd.size());
+            this.client.executePipelined(new SessionCallback<Object>() {
+                @Override
+                public <K, V> Object execute(final RedisOperations<K, V> operations) {
+                    val ops = (RedisOperations<String, Ticket>) operations;
+                    toAdd.forEach(ticket -> ops.opsForValue().set(getTicketRedisKey(ticket.getId()),
+                        encodeTicket(ticket), getTimeout(ticket).longValue(), TimeUnit.SECONDS));
+                    return null;
+                }
+            });
+        } catch (final Exception e) {
+            LOGGER.error("Failed to add [{}] ticket(s)", toAdd.size(), e);
+        }
+    }
+
+    @Override
+    public Collection<? extends Ticket> getTickets(final Collection<String> ticketIds) {
+        if (ticketIds.isEmpty()) {
+            return new ArrayList<>(0);
+        }
+        try {
+            val redisKeys = ticketIds.stream().map(RedisTicketRegistry::getTicketRedisKey).collect(Collectors.toList());
+            val values = this.client.opsForValue().multiGet(redisKeys);
+            if (values != null) {
+                return values.stream()
+                    .filter(Objects::nonNull)
+                    .map(this::decodeTicket)
+                    .collect(Collectors.toList());
+            }
+        } catch (final Exception e) {
+            LOGGER.error("Failed fetching [{}]", ticketIds, e);
+        }
+        return new ArrayList<>(0);
+    }
+
     @Override
     public void addTicket(final Ticket ticket) {
         try {
@@ -133,4 +212,60 @@ public class RedisTicketRegistry extends AbstractTicketRegistry {
         }
         return null;
     }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Keys of ticket-granting tickets are counted without reading the tickets themselves.
+     * Keys are built from the original ticket id, so they carry the ticket prefix even when tickets are encoded.
+     */
+    @Override
+    public long sessionCount() {
+        return countTicketKeys(TicketGrantingTicket.PREFIX, ProxyGrantingTicket.PROXY_GRANTING_TICKET_PREFIX);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Keys of service tickets are counted without reading the tickets themselves.
+     * Keys are built from the original ticket id, so they carry the ticket prefix even when tickets are encoded.
+     */
+    @Override
+    public long serviceTicketCount() {
+        return countTicketKeys(ServiceTicket.PREFIX, ProxyTicket.PROXY_TICKET_PREFIX);
+    }
+
+    private Long unlinkOrDelete(final Collection<String> redisKeys) {
+        if (this.unlinkSupported) {
+            try {
+                return this.client.unlink(redisKeys);
+            } catch (final InvalidDataAccessApiUsageException e) {
+                LOGGER.info("Redis server does not support UNLINK; falling back to DEL to remove tickets: [{}]", e.getMessage());
+                this.unlinkSupported = false;
+            }
+        }
+        return this.client.delete(redisKeys);
+    }
+
+    private long countTicketKeys(final String... ticketPrefixes) {
+        return Arrays.stream(ticketPrefixes)
+            .map(prefix -> getTicketRedisKey(prefix + "-*"))
+            .mapToLong(pattern -> {
+                val count = this.client.execute((RedisCallback<Long>) connection -> {
+                    val options = ScanOptions.scanOptions().match(pattern).count(SCAN_COUNT).build();
+                    var keys = 0L;
+                    try (val cursor = connection.scan(options)) {
+                        while (cursor.hasNext()) {
+                            cursor.next();
+                            keys++;
+                        }
+                    } catch (final Exception e) {
+                        LOGGER.error("Failed counting keys matching [{}]", pattern, e);
+                    }
+                    return keys;
+                });
+                return count == null ? 0 : count;
+            })
+            .sum();
+    }
 }
@@ -0,0 +1,59 @@
+package org.apereo.cas.ticket.registry;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * This is {@link RedisTicketRegistryCacheInvalidationChannel} that shares ticket invalidation
+ * notices between CAS nodes over a Redis pub/sub channel. Notices published by this node
+ * are tagged with a node identifier and ignored when they are received back.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class RedisTicketRegistryCacheInvalidationChannel implements TicketRegistryCacheInvalidationChannel {
+    /**
+     * Redis channel on which invalidation notices are published.
+     */
+    public static final String CHANNEL_NAME = "CasTicketRegistryInvalidation";
+
+    private static final char SEPARATOR = ':';
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final StringRedisTemplate redisTemplate;
+
+    private final RedisMessageListenerContainer listenerContainer;
+
+    @Override
+    public void publish(final String ticketId) {
+        try {
+            redisTemplate.convertAndSend(CHANNEL_NAME, nodeId + SEPARATOR + ticketId);
+        } catch (final Exception e) {
+            LOGGER.warn("Unable to publish invalidation notice for ticket [{}]: [{}]", ticketId, e.getMessage());
+        }
+    }
+
+    @Override
+    public void subscribe(final Consumer<String> listener) {
+        listenerContainer.addMessageListener((message, pattern) -> {
+            val body = new String(message.getBody(), StandardCharsets.UTF_8);
+            val index = body.indexOf(SEPARATOR);
+            if (index > 0 && !nodeId.equals(body.substring(0, index))) {
+                val ticketId = body.substring(index + 1);
+                LOGGER.trace("Received invalidation notice for ticket [{}]", ticketId);
+                listener.accept(ticketId);
+            }
+        }, new ChannelTopic(CHANNEL_NAME));
+    }
+}
@@ -1,14 +1,21 @@
 package org.apereo.cas.ticket.registry;
 
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
 import org.apereo.cas.category.RedisCategory;
 import org.apereo.cas.config.CasCoreTicketCatalogConfiguration;
 import org.apereo.cas.config.CasCoreTicketsConfiguration;
 import org.apereo.cas.config.CasCoreWebConfiguration;
 import org.apereo.cas.config.RedisTicketRegistryConfiguration;
 import org.apereo.cas.config.support.CasWebApplicationServiceFactoryConfiguration;
+import org.apereo.cas.services.RegisteredServiceTestUtils;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.TicketGrantingTicketImpl;
+import org.apereo.cas.ticket.support.NeverExpiresExpirationPolicy;
 
+import lombok.val;
 import org.junit.AfterClass;
 import org.junit.BeforeClass;
+import org.junit.Test;
 import org.junit.experimental.categories.Category;
 import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
@@ -25,6 +32,8 @@ import redis.embedded.RedisServer;
 import java.util.Arrays;
 import java.util.Collection;
 
+import static org.junit.Assert.*;
+
 /**
  * Unit test for {@link RedisTicketRegistry}.
  *
@@ -81,4 +90,20 @@ public class RedisTicketRegistryTests extends BaseSpringRunnableTicketRegistryTe
     public TicketRegistry getNewTicketRegistry() {
         return this.ticketRegistry;
     }
+
+    @Test
+    public void verifyTicketsAreCounted() {
+        val tgt = new TicketGrantingTicketImpl(TicketGrantingTicket.PREFIX + "-COUNTED",
+            CoreAuthenticationTestUtils.getAuthentication(), new NeverExpiresExpirationPolicy());
+        this.ticketRegistry.addTicket(tgt);
+        val st = tgt.grantServiceTicket("ST-COUNTED", RegisteredServiceTestUtils.getService(), new NeverExpiresExpirationPolicy(), false, true);
+        this.ticketRegistry.addTicket(st);
+        this.ticketRegistry.updateTicket(tgt);
+        assertEquals(1, this.ticketRegistry.sessionCount());
+        assertEquals(1, this.ticketRegistry.serviceTicketCount());
+
+        this.ticketRegistry.deleteTicket(tgt.getId());
+        assertEquals(0, this.ticketRegistry.sessionCount());
+        assertEquals(0, this.ticketRegistry.serviceTicketCount());
+    }
 }
@@ -3,12 +3,16 @@ package org.apereo.cas.config;
 import org.apereo.cas.CentralAuthenticationService;
 import org.apereo.cas.audit.AuditTrailExecutionPlan;
 import org.apereo.cas.authentication.AuthenticationSystemSupport;
+import org.apereo.cas.authentication.principal.PersistentIdGenerator;
+import org.apereo.cas.authentication.principal.PersistentIdStore;
 import org.apereo.cas.authentication.principal.PrincipalFactory;
 import org.apereo.cas.authentication.principal.PrincipalResolver;
 import org.apereo.cas.authentication.principal.ServiceFactory;
 import org.apereo.cas.authentication.principal.WebApplicationService;
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.services.ServicesManager;
+import org.apereo.cas.ticket.registry.TicketRegistry;
+import org.apereo.cas.ticket.registry.TicketRegistryCleaner;
 import org.apereo.cas.ticket.registry.TicketRegistrySupport;
 import org.apereo.cas.web.report.AuditLogEndpoint;
 import org.apereo.cas.web.report.CasInfoEndpointContributor;
@@ -16,6 +20,7 @@ import org.apereo.cas.web.report.CasReleaseAttributesReportEndpoint;
 import org.apereo.cas.web.report.CasResolveAttributesReportEndpoint;
 import org.apereo.cas.web.report.ExportRegisteredServicesEndpoint;
 import org.apereo.cas.web.report.LoggingConfigurationEndpoint;
+import org.apereo.cas.web.report.PersistentIdsEndpoint;
 import org.apereo.cas.web.report.RegisteredServicesEndpoint;
 import org.apereo.cas.web.report.SingleSignOnSessionStatusEndpoint;
 import org.apereo.cas.web.report.SingleSignOnSessionsEndpoint;
@@ -60,6 +65,14 @@ public class CasReportsConfiguration {
     @Qualifier("defaultTicketRegistrySupport")
     private ObjectProvider<TicketRegistrySupport> ticketRegistrySupport;
 
+    @Autowired
+    @Qualifier("ticketRegistry")
+    private ObjectProvider<TicketRegistry> ticketRegistry;
+
+    @Autowired
+    @Qualifier("ticketRegistryCleaner")
+    private ObjectProvider<TicketRegistryCleaner> ticketRegistryCleaner;
+
     @Autowired
     @Qualifier("ticketGrantingTicketCookieGenerator")
     private ObjectProvider<CookieRetrievingCookieGenerator> ticketGrantingTicketCookieGenerator;
@@ -98,6 +111,14 @@ public class CasReportsConfiguration {
     @Qualifier("principalFactory")
     private PrincipalFactory principalFactory;
 
+    @Autowired
+    @Qualifier("shibbolethCompatiblePersistentIdGenerator")
+    private ObjectProvider<PersistentIdGenerator> shibbolethCompatiblePersistentIdGenerator;
+
+    @Autowired
+    @Qualifier("persistentIdStore")
+    private ObjectProvider<PersistentIdStore> persistentIdStore;
+
     @Bean
     @ConditionalOnEnabledEndpoint
     public SpringWebflowEndpoint springWebflowEndpoint() {
@@ -128,6 +149,13 @@ public class CasReportsConfiguration {
         return new ExportRegisteredServicesEndpoint(casProperties, servicesManager);
     }
 
+    @Bean
+    @ConditionalOnEnabledEndpoint
+    public PersistentIdsEndpoint persistentIdsEndpoint() {
+        return new PersistentIdsEndpoint(casProperties, servicesManager,
+            shibbolethCompatiblePersistentIdGenerator.getIfAvailable(), persistentIdStore.getIfAvailable());
+    }
+
     @Bean
     public CasInfoEndpointContributor casInfoEndpointContributor() {
         return new CasInfoEndpointContributor();
@@ -136,7 +164,7 @@ public class CasReportsConfiguration {
     @Bean
     @ConditionalOnEnabledEndpoint
     public SingleSignOnSessionsEndpoint singleSignOnSessionsEndpoint() {
-        return new SingleSignOnSessionsEndpoint(centralAuthenticationService, casProperties);
+        return new SingleSignOnSessionsEndpoint(centralAuthenticationService, ticketRegistry.getIfAvailable(), casProperties);
     }
 
     @Bean
@@ -149,7 +177,9 @@ public class CasReportsConfiguration {
     @Bean
     @ConditionalOnEnabledEndpoint
     public StatisticsEndpoint statisticsReportEndpoint() {
-        return new StatisticsEndpoint(centralAuthenticationService, casProperties);
+        return new StatisticsEndpoint(ticketRegistry.getIfAvailable(),
+            ticketRegistryCleaner.getIfAvailable(() -> new TicketRegistryCleaner() {
+            }), casProperties);
     }
 
     @Bean
@@ -0,0 +1,74 @@
+package org.apereo.cas.web.report;
+
+import org.apereo.cas.authentication.principal.PersistentIdGenerator;
+import org.apereo.cas.authentication.principal.PersistentIdStore;
+import org.apereo.cas.authentication.principal.StoredPersistentIdGenerator;
+import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.services.AnonymousRegisteredServiceUsernameAttributeProvider;
+import org.apereo.cas.services.ServicesManager;
+import org.apereo.cas.web.BaseCasMvcEndpoint;
+
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This is {@link PersistentIdsEndpoint} that generates and stores persistent ids
+ * for many principals of a service ahead of time, such as when a service provider is onboarded.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@Slf4j
+@Endpoint(id = "persistent-ids", enableByDefault = false)
+public class PersistentIdsEndpoint extends BaseCasMvcEndpoint {
+    private final ServicesManager servicesManager;
+
+    private final PersistentIdGenerator persistentIdGenerator;
+
+    private final PersistentIdStore persistentIdStore;
+
+    /**
+     * Instantiates a new mvc endpoint.
+     * Endpoints are by default sensitive.
+     *
+     * @param casProperties         the cas properties
+     * @param servicesManager       the services manager
+     * @param persistentIdGenerator the persistent id generator for services without one of their own
+     * @param persistentIdStore     the persistent id store
+     */
+    public PersistentIdsEndpoint(final CasConfigurationProperties casProperties,
+                                 final ServicesManager servicesManager,
+                                 final PersistentIdGenerator persistentIdGenerator,
+                                 final PersistentIdStore persistentIdStore) {
+        super(casProperties);
+        this.servicesManager = servicesManager;
+        this.persistentIdGenerator = persistentIdGenerator;
+        this.persistentIdStore = persistentIdStore;
+    }
+
+    /**
+     * Generate and store persistent ids for the given principals of a service.
+     * Services that release anonymous usernames use their own generator; others use the default generator.
+     * Principals that already have a stored id keep it.
+     *
+     * @param service    the service
+     * @param principals the principal ids
+     * @return the persistent ids, keyed by principal id
+     */
+    @WriteOperation
+    public Map<String, String> generate(final String service, final List<String> principals) {
+        val registeredService = this.servicesManager.findServiceBy(service);
+        if (registeredService != null
+            && registeredService.getUsernameAttributeProvider() instanceof AnonymousRegisteredServiceUsernameAttributeProvider) {
+            val provider = (AnonymousRegisteredServiceUsernameAttributeProvider) registeredService.getUsernameAttributeProvider();
+            LOGGER.debug("Generating persistent ids for [{}] via the anonymous username provider of [{}]", service, registeredService.getName());
+            return provider.getStoredPersistentIdGenerator().generateAll(principals, service);
+        }
+        return new StoredPersistentIdGenerator(this.persistentIdGenerator, this.persistentIdStore).generateAll(principals, service);
+    }
+}
@@ -2,8 +2,8 @@ package org.apereo.cas.web.report;
 
 import org.apereo.cas.CentralAuthenticationService;
 import org.apereo.cas.configuration.CasConfigurationProperties;
-import org.apereo.cas.ticket.Ticket;
 import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.registry.TicketRegistry;
 import org.apereo.cas.util.DateTimeUtils;
 import org.apereo.cas.util.ISOStandardDateFormat;
 import org.apereo.cas.web.BaseCasMvcEndpoint;
@@ -12,10 +12,12 @@ import lombok.Getter;
 import lombok.ToString;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
+import org.apache.commons.lang3.StringUtils;
 import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
 import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
 import org.springframework.boot.actuate.endpoint.annotation.Selector;
 import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
 
 import javax.servlet.http.HttpServletResponse;
 import java.util.ArrayList;
@@ -24,6 +26,7 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
 
 /**
  * SSO Report web controller that produces JSON data for the view.
@@ -43,22 +46,27 @@ public class SingleSignOnSessionsEndpoint extends BaseCasMvcEndpoint {
     private static final String TICKET_GRANTING_TICKET = "ticketGrantingTicket";
     private final CentralAuthenticationService centralAuthenticationService;
 
+    private final TicketRegistry ticketRegistry;
+
     public SingleSignOnSessionsEndpoint(final CentralAuthenticationService centralAuthenticationService,
+                                        final TicketRegistry ticketRegistry,
                                         final CasConfigurationProperties casProperties) {
         super(casProperties);
         this.centralAuthenticationService = centralAuthenticationService;
+        this.ticketRegistry = ticketRegistry;
     }
 
     /**
      * Gets sso sessions.
      *
-     * @param option the option
+     * @param option   the option
+     * @param username the username whose sessions should be reported, or blank for all sessions
      * @return the sso sessions
      */
-    private Collection<Map<String, Object>> getActiveSsoSessions(final SsoSessionReportOptions option) {
+    private Collection<Map<String, Object>> getActiveSsoSessions(final SsoSessionReportOptions option, final String username) {
         val activeSessions = new ArrayList<Map<String, Object>>();
         val dateFormat = new ISOStandardDateFormat();
-        getNonExpiredTicketGrantingTickets().stream().map(TicketGrantingTicket.class::cast)
+        getNonExpiredTicketGrantingTickets(username)
             .filter(tgt -> !(option == SsoSessionReportOptions.DIRECT && tgt.getProxiedBy() != null))
             .forEach(tgt -> {
                 val authentication = tgt.getAuthentication();
@@ -88,24 +96,30 @@ public class SingleSignOnSessionsEndpoint extends BaseCasMvcEndpoint {
 
     /**
      * Gets non expired ticket granting tickets.
+     * Sessions of a single user are looked up by principal in the ticket registry.
      *
-     * @return the non expired ticket granting tickets
+     * @param username the username, or blank for all users
+     * @return the non expired ticket granting tickets, lazily streamed from the registry
      */
-    private Collection<Ticket> getNonExpiredTicketGrantingTickets() {
-        return this.centralAuthenticationService.getTickets(ticket -> ticket instanceof TicketGrantingTicket && !ticket.isExpired());
+    private Stream<TicketGrantingTicket> getNonExpiredTicketGrantingTickets(final String username) {
+        if (StringUtils.isNotBlank(username)) {
+            return this.ticketRegistry.getTicketsForPrincipal(username).filter(ticket -> !ticket.isExpired());
+        }
+        return this.centralAuthenticationService.getTicketsStream(TicketGrantingTicket.class, ticket -> !ticket.isExpired());
     }
 
     /**
      * Endpoint for getting SSO Sessions in JSON format.
      *
-     * @param type the type
+     * @param type     the type
+     * @param username the username whose sessions should be reported, if any
      * @return the sso sessions
      */
     @ReadOperation
-    public Map<String, Object> getSsoSessions(final String type) {
+    public Map<String, Object> getSsoSessions(final String type, @Nullable final String username) {
         val sessionsMap = new HashMap<String, Object>(1);
         val option = SsoSessionReportOptions.valueOf(type);
-        val activeSsoSessions = getActiveSsoSessions(option);
+        val activeSsoSessions = getActiveSsoSessions(option, username);
         sessionsMap.put("activeSsoSessions", activeSsoSessions);
         val totalTicketGrantingTickets = new AtomicLong();
         val totalProxyGrantingTickets = new AtomicLong();
@@ -163,16 +177,17 @@ public class SingleSignOnSessionsEndpoint extends BaseCasMvcEndpoint {
     /**
      * Destroy sso sessions map.
      *
-     * @param type the type
+     * @param type     the type
+     * @param username the username whose sessions should be destroyed, if any
      * @return the map
      */
     @WriteOperation
-    public Map<String, Object> destroySsoSessions(final String type) {
+    public Map<String, Object> destroySsoSessions(final String type, @Nullable final String username) {
 
         val sessionsMap = new HashMap<String, Object>();
         val failedTickets = new HashMap<String, String>();
         val option = SsoSessionReportOptions.valueOf(type);
-        val collection = getActiveSsoSessions(option);
+        val collection = getActiveSsoSessions(option, username);
         collection
             .stream()
             .map(sso -> sso.get(SsoSessionAttributeKeys.TICKET_GRANTING_TICKET.toString()).toString())
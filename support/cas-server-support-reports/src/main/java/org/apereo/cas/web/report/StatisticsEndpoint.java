@@ -1,8 +1,8 @@
 package org.apereo.cas.web.report;
 
-import org.apereo.cas.CentralAuthenticationService;
 import org.apereo.cas.configuration.CasConfigurationProperties;
-import org.apereo.cas.ticket.ServiceTicket;
+import org.apereo.cas.ticket.registry.TicketRegistry;
+import org.apereo.cas.ticket.registry.TicketRegistryCleaner;
 import org.apereo.cas.web.BaseCasMvcEndpoint;
 
 import lombok.val;
@@ -15,7 +15,6 @@ import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * @author Scott Battaglia
@@ -25,16 +24,23 @@ import java.util.concurrent.atomic.AtomicInteger;
 public class StatisticsEndpoint extends BaseCasMvcEndpoint {
     private final ZonedDateTime upTimeStartDate = ZonedDateTime.now(ZoneOffset.UTC);
 
-    private final CentralAuthenticationService centralAuthenticationService;
+    private final TicketRegistry ticketRegistry;
 
-    public StatisticsEndpoint(final CentralAuthenticationService centralAuthenticationService,
+    private final TicketRegistryCleaner ticketRegistryCleaner;
+
+    public StatisticsEndpoint(final TicketRegistry ticketRegistry,
+                              final TicketRegistryCleaner ticketRegistryCleaner,
                               final CasConfigurationProperties casProperties) {
         super(casProperties);
-        this.centralAuthenticationService = centralAuthenticationService;
+        this.ticketRegistry = ticketRegistry;
+        this.ticketRegistryCleaner = ticketRegistryCleaner;
     }
 
     /**
      * Gets availability times of the server.
+     * Ticket counts are read from the registry, which is expected to maintain
+     * them without scanning. Expired ticket counts are those found by the most recent run
+     * of the registry cleaner on this node, which also removes them; no tickets are read or removed here.
      *
      * @return the availability
      */
@@ -50,34 +56,10 @@ public class StatisticsEndpoint extends BaseCasMvcEndpoint {
         model.put("maxMemory", FileUtils.byteCountToDisplaySize(runtime.maxMemory()));
         model.put("freeMemory", FileUtils.byteCountToDisplaySize(runtime.freeMemory()));
 
-        val unexpiredTgts = new AtomicInteger();
-        val unexpiredSts = new AtomicInteger();
-        val expiredTgts = new AtomicInteger();
-        val expiredSts = new AtomicInteger();
-
-        val tickets = this.centralAuthenticationService.getTickets(ticket -> true);
-        tickets.forEach(ticket -> {
-            if (ticket instanceof ServiceTicket) {
-                if (ticket.isExpired()) {
-                    this.centralAuthenticationService.deleteTicket(ticket.getId());
-                    expiredSts.incrementAndGet();
-                } else {
-                    unexpiredSts.incrementAndGet();
-                }
-            } else {
-                if (ticket.isExpired()) {
-                    this.centralAuthenticationService.deleteTicket(ticket.getId());
-                    expiredTgts.incrementAndGet();
-                } else {
-                    unexpiredTgts.incrementAndGet();
-                }
-            }
-        });
-
-        model.put("unexpiredTgts", unexpiredTgts);
-        model.put("unexpiredSts", unexpiredSts);
-        model.put("expiredTgts", expiredTgts);
-        model.put("expiredSts", expiredSts);
+        model.put("unexpiredTgts", this.ticketRegistry.sessionCount());
+        model.put("unexpiredSts", this.ticketRegistry.serviceTicketCount());
+        model.put("expiredTgts", this.ticketRegistryCleaner.expiredSessionCount());
+        model.put("expiredSts", this.ticketRegistryCleaner.expiredServiceTicketCount());
 
         return model;
     }
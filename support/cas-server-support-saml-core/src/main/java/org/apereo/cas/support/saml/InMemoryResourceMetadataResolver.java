@@ -2,7 +2,10 @@ package org.apereo.cas.support.saml;
 
 import lombok.SneakyThrows;
 import lombok.val;
-import org.opensaml.saml.metadata.resolver.impl.DOMMetadataResolver;
+import net.shibboleth.utilities.java.support.component.ComponentInitializationException;
+import org.opensaml.core.xml.io.UnmarshallingException;
+import org.opensaml.saml.metadata.resolver.filter.FilterException;
+import org.opensaml.saml.metadata.resolver.impl.AbstractBatchMetadataResolver;
 import org.springframework.core.io.Resource;
 import org.w3c.dom.Element;
 
@@ -12,23 +15,32 @@ import java.io.InputStream;
 import java.nio.file.Files;
 
 /**
- * This is {@link InMemoryResourceMetadataResolver}.
+ * This is {@link InMemoryResourceMetadataResolver} that parses a metadata document once.
+ * Entity descriptors are unmarshalled, filtered and indexed by entity id, after which the parsed
+ * DOM is released. Unlike a {@link org.opensaml.saml.metadata.resolver.impl.DOMMetadataResolver},
+ * large aggregates are not kept in memory twice over for the lifetime of the resolver.
  *
  * @author Misagh Moayyed
  * @since 5.2.0
  */
-public class InMemoryResourceMetadataResolver extends DOMMetadataResolver {
+public class InMemoryResourceMetadataResolver extends AbstractBatchMetadataResolver {
+
+    private Element metadataElement;
 
     public InMemoryResourceMetadataResolver(final Resource metadataResource, final OpenSamlConfigBean configBean) throws IOException {
-        super(getMetadataRootElement(metadataResource.getInputStream(), configBean));
+        try (val in = metadataResource.getInputStream()) {
+            this.metadataElement = getMetadataRootElement(in, configBean);
+        }
     }
 
     public InMemoryResourceMetadataResolver(final InputStream metadataResource, final OpenSamlConfigBean configBean) {
-        super(getMetadataRootElement(metadataResource, configBean));
+        this.metadataElement = getMetadataRootElement(metadataResource, configBean);
     }
 
     public InMemoryResourceMetadataResolver(final File metadataResource, final OpenSamlConfigBean configBean) throws IOException {
-        super(getMetadataRootElement(Files.newInputStream(metadataResource.toPath()), configBean));
+        try (val in = Files.newInputStream(metadataResource.toPath())) {
+            this.metadataElement = getMetadataRootElement(in, configBean);
+        }
     }
 
     @SneakyThrows
@@ -36,4 +48,23 @@ public class InMemoryResourceMetadataResolver extends DOMMetadataResolver {
         val document = configBean.getParserPool().parse(metadataResource);
         return document.getDocumentElement();
     }
+
+    @Override
+    protected void initMetadataResolver() throws ComponentInitializationException {
+        super.initMetadataResolver();
+        try {
+            val unmarshaller = getUnmarshallerFactory().getUnmarshaller(this.metadataElement);
+            val metadata = unmarshaller.unmarshall(this.metadataElement);
+            val backingStore = preProcessNewMetadata(metadata);
+            releaseMetadataDOM(metadata);
+            setBackingStore(backingStore);
+            if (isCacheFilteredMetadata()) {
+                setCachedFilteredMetadata(metadata);
+            }
+        } catch (final UnmarshallingException | FilterException e) {
+            throw new ComponentInitializationException("Unable to unmarshall and process metadata from " + getId(), e);
+        } finally {
+            this.metadataElement = null;
+        }
+    }
 }
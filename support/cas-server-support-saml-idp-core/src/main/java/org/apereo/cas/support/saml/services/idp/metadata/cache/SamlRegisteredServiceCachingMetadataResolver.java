@@ -4,6 +4,8 @@ import org.apereo.cas.support.saml.services.SamlRegisteredService;
 
 import org.opensaml.saml.metadata.resolver.MetadataResolver;
 
+import java.util.concurrent.TimeUnit;
+
 /**
  * This is {@link SamlRegisteredServiceCachingMetadataResolver}
  * that defines how metadata is to be resolved and cached for a given saml
@@ -22,4 +24,14 @@ public interface SamlRegisteredServiceCachingMetadataResolver {
      * @return the chaining metadata resolver
      */
     MetadataResolver resolve(SamlRegisteredService service);
+
+    /**
+     * Gets how long the most outdated cached metadata has been stale, i.e. past its cache duration.
+     *
+     * @param unit the time unit
+     * @return the maximum staleness
+     */
+    default double getMaximumStaleness(final TimeUnit unit) {
+        return 0;
+    }
 }
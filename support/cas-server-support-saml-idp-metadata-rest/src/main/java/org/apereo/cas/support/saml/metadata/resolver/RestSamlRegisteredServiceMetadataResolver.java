@@ -63,6 +63,11 @@ public class RestSamlRegisteredServiceMetadataResolver extends BaseSamlRegistere
         return false;
     }
 
+    @Override
+    public boolean isShareable(final SamlRegisteredService service) {
+        return false;
+    }
+
     @Override
     public boolean isAvailable(final SamlRegisteredService service) {
         if (supports(service)) {
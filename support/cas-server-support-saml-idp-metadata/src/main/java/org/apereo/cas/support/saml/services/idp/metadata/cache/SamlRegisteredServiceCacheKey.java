@@ -12,7 +12,10 @@ import lombok.val;
 import java.io.Serializable;
 
 /**
- * This is {@link SamlRegisteredServiceCacheKey}.
+ * This is {@link SamlRegisteredServiceCacheKey}. Keys for services whose metadata may be shared
+ * are built from the metadata location and the metadata filtering criteria of the service, so that
+ * all services pointing at the same aggregate with the same filters share a single resolver.
+ * Otherwise, keys are built from the service itself.
  *
  * @author Misagh Moayyed
  * @since 6.0.0
@@ -28,7 +31,13 @@ public class SamlRegisteredServiceCacheKey implements Serializable {
     private final SamlRegisteredService registeredService;
 
     public SamlRegisteredServiceCacheKey(final SamlRegisteredService registeredService) {
-        this.id = buildRegisteredServiceCacheKey(registeredService);
+        this(registeredService, false);
+    }
+
+    public SamlRegisteredServiceCacheKey(final SamlRegisteredService registeredService, final boolean shareable) {
+        this.id = shareable
+            ? buildMetadataLocationCacheKey(registeredService)
+            : buildRegisteredServiceCacheKey(registeredService);
         this.registeredService = registeredService;
     }
 
@@ -45,4 +54,25 @@ public class SamlRegisteredServiceCacheKey implements Serializable {
         LOGGER.debug("Hashed service cache key as [{}]", hashedKey);
         return hashedKey;
     }
+
+    /**
+     * Build a cache key from the metadata location and metadata filtering criteria of the service.
+     *
+     * @param service the service
+     * @return the string
+     */
+    public static String buildMetadataLocationCacheKey(final SamlRegisteredService service) {
+        val key = String.join("|",
+            String.valueOf(service.getMetadataLocation()),
+            String.valueOf(service.getMetadataSignatureLocation()),
+            String.valueOf(service.getMetadataMaxValidity()),
+            String.valueOf(service.getMetadataExpirationDuration()),
+            String.valueOf(service.getMetadataCriteriaRoles()),
+            String.valueOf(service.isMetadataCriteriaRemoveEmptyEntitiesDescriptors()),
+            String.valueOf(service.isMetadataCriteriaRemoveRolelessEntityDescriptors()),
+            String.valueOf(service.getMetadataCriteriaDirection()),
+            String.valueOf(service.getMetadataCriteriaPattern()));
+        LOGGER.debug("Determined metadata cache key for service [{}] as [{}]", service.getName(), key);
+        return DigestUtils.sha512(key);
+    }
 }
@@ -1,17 +1,33 @@
 package org.apereo.cas.support.saml.services.idp.metadata.cache;
 
 import org.apereo.cas.support.saml.services.SamlRegisteredService;
+import org.apereo.cas.support.saml.services.idp.metadata.cache.resolver.BackupMetadataResolver;
 
+import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
 import com.github.benmanes.caffeine.cache.LoadingCache;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.opensaml.saml.metadata.resolver.MetadataResolver;
 
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
 /**
  * An adaptation of metadata resolver which handles the resolution of metadata resources
  * inside a cache. It basically is a fancy wrapper around a cache, and constructs the cache
  * semantics before processing the resolution of metadata for a SAML service.
+ * <p>
+ * Metadata whose cache duration has passed is considered stale for the duration of a grace period.
+ * Stale metadata continues to be served while a fresh copy is loaded in the background on the given executor.
+ * If loading fails, or only produces the backup copy of metadata whose source cannot be reached, the last good copy
+ * is kept until the grace period passes, after which metadata is loaded as part of the request that needs it.
+ * Failed refreshes are retried no sooner than a minute later, doubling the wait after every consecutive failure
+ * up to a maximum, so that an unreachable metadata source is not contacted at the rate of incoming requests.
  *
  * @author Misagh Moayyed
  * @since 5.0.0
@@ -21,27 +37,173 @@ public class SamlRegisteredServiceDefaultCachingMetadataResolver implements Saml
 
     private static final int MAX_CACHE_SIZE = 10_000;
 
+    private static final long MIN_REFRESH_RETRY_INTERVAL = TimeUnit.MINUTES.toNanos(1);
+
+    private static final long MAX_REFRESH_RETRY_INTERVAL = TimeUnit.MINUTES.toNanos(15);
+
     private final SamlRegisteredServiceMetadataResolverCacheLoader chainingMetadataResolverCacheLoader;
     private final LoadingCache<SamlRegisteredServiceCacheKey, MetadataResolver> cache;
 
+    private final Executor refreshExecutor;
+    private final long gracePeriod;
+    private final Set<SamlRegisteredServiceCacheKey> refreshing = ConcurrentHashMap.newKeySet();
+    private final Cache<SamlRegisteredServiceCacheKey, FailedRefresh> failedRefreshes = Caffeine.newBuilder()
+        .maximumSize(MAX_CACHE_SIZE)
+        .expireAfterWrite(2 * MAX_REFRESH_RETRY_INTERVAL, TimeUnit.NANOSECONDS)
+        .build();
+
+    private final SamlRegisteredServiceMetadataRefreshStatistics statistics;
+
     public SamlRegisteredServiceDefaultCachingMetadataResolver(final long metadataCacheExpirationMinutes,
                                                                final SamlRegisteredServiceMetadataResolverCacheLoader loader) {
+        this(metadataCacheExpirationMinutes, 0, loader, Runnable::run);
+    }
+
+    public SamlRegisteredServiceDefaultCachingMetadataResolver(final long metadataCacheExpirationMinutes,
+                                                               final long metadataCacheGracePeriodMinutes,
+                                                               final SamlRegisteredServiceMetadataResolverCacheLoader loader,
+                                                               final Executor refreshExecutor) {
+        this(metadataCacheExpirationMinutes, metadataCacheGracePeriodMinutes, loader, refreshExecutor,
+            new SamlRegisteredServiceMetadataRefreshStatistics());
+    }
+
+    public SamlRegisteredServiceDefaultCachingMetadataResolver(final long metadataCacheExpirationMinutes,
+                                                               final long metadataCacheGracePeriodMinutes,
+                                                               final SamlRegisteredServiceMetadataResolverCacheLoader loader,
+                                                               final Executor refreshExecutor,
+                                                               final SamlRegisteredServiceMetadataRefreshStatistics statistics) {
         this.chainingMetadataResolverCacheLoader = loader;
+        this.refreshExecutor = refreshExecutor;
+        this.statistics = statistics;
+        val expirationPolicy = new SamlRegisteredServiceMetadataExpirationPolicy(metadataCacheExpirationMinutes, metadataCacheGracePeriodMinutes);
+        this.gracePeriod = expirationPolicy.getGracePeriod();
         this.cache = Caffeine.newBuilder()
             .maximumSize(MAX_CACHE_SIZE)
-            .expireAfter(new SamlRegisteredServiceMetadataExpirationPolicy(metadataCacheExpirationMinutes))
+            .expireAfter(expirationPolicy)
             .build(this.chainingMetadataResolverCacheLoader);
     }
 
     @Override
     public MetadataResolver resolve(final SamlRegisteredService service) {
         LOGGER.debug("Resolving metadata for [{}] at [{}].", service.getName(), service.getMetadataLocation());
-        val k = new SamlRegisteredServiceCacheKey(service);
+        val k = new SamlRegisteredServiceCacheKey(service, this.chainingMetadataResolverCacheLoader.isShareable(service));
         LOGGER.debug("Locating cached metadata resolver using key [{}] for service [{}]", k.getId(), service.getName());
         val resolver = this.cache.get(k);
         LOGGER.debug("Loaded and cached SAML metadata [{}] from [{}]",
             resolver.getId(),
             service.getMetadataLocation());
+        if (getStaleness(k) > 0) {
+            refresh(k);
+        }
         return resolver;
     }
+
+    /**
+     * Gets the statistics of background refreshes.
+     *
+     * @return the statistics
+     */
+    public SamlRegisteredServiceMetadataRefreshStatistics getStatistics() {
+        return this.statistics;
+    }
+
+    @Override
+    public double getMaximumStaleness(final TimeUnit unit) {
+        val staleness = this.cache.asMap().keySet()
+            .stream()
+            .mapToLong(this::getStaleness)
+            .max()
+            .orElse(0);
+        return (double) staleness / unit.toNanos(1);
+    }
+
+    private long getStaleness(final SamlRegisteredServiceCacheKey key) {
+        if (this.gracePeriod <= 0) {
+            return 0;
+        }
+        val policy = this.cache.policy().expireVariably();
+        if (!policy.isPresent()) {
+            return 0;
+        }
+        val remaining = policy.get().getExpiresAfter(key, TimeUnit.NANOSECONDS);
+        return remaining.isPresent() ? Math.max(0, this.gracePeriod - remaining.getAsLong()) : 0;
+    }
+
+    /**
+     * Refresh the cached entry in the background. Entries may be shared by several services, so metadata is
+     * reloaded on behalf of the service that the entry was originally loaded for rather than the service
+     * of the current request. Loading only the backup copy of metadata counts as a failure and leaves the entry as is.
+     * Entries whose last refresh failed are not refreshed again until their retry interval passes.
+     *
+     * @param requestKey the key built for the current request
+     */
+    private void refresh(final SamlRegisteredServiceCacheKey requestKey) {
+        val failedRefresh = this.failedRefreshes.getIfPresent(requestKey);
+        if (failedRefresh != null && System.nanoTime() - failedRefresh.getNextAttempt() < 0) {
+            LOGGER.trace("Skipping refresh of metadata for [{}] until its retry interval passes", requestKey.getId());
+            return;
+        }
+        if (!this.refreshing.add(requestKey)) {
+            return;
+        }
+        val key = this.cache.asMap().keySet()
+            .stream()
+            .filter(requestKey::equals)
+            .findFirst()
+            .orElse(requestKey);
+        val service = key.getRegisteredService();
+        LOGGER.debug("Metadata for [{}] at [{}] is stale; refreshing in the background", service.getName(), service.getMetadataLocation());
+        try {
+            this.refreshExecutor.execute(() -> {
+                val start = System.nanoTime();
+                var successful = false;
+                try {
+                    val resolver = this.chainingMetadataResolverCacheLoader.load(key);
+                    if (BackupMetadataResolver.isLoadedFromBackup(resolver)) {
+                        LOGGER.warn("Unable to refresh metadata for [{}] from [{}]; only a backup copy is available and stale metadata is kept",
+                            service.getName(), service.getMetadataLocation());
+                    } else {
+                        this.cache.put(key, resolver);
+                        successful = true;
+                        LOGGER.debug("Refreshed metadata for [{}] from [{}]", service.getName(), service.getMetadataLocation());
+                    }
+                } catch (final Exception e) {
+                    LOGGER.warn("Unable to refresh metadata for [{}] from [{}]; stale metadata is kept: [{}]",
+                        service.getName(), service.getMetadataLocation(), e.getMessage());
+                    LOGGER.debug(e.getMessage(), e);
+                } finally {
+                    val end = System.nanoTime();
+                    this.statistics.recordRefresh(end - start, successful);
+                    if (successful) {
+                        this.failedRefreshes.invalidate(key);
+                    } else {
+                        recordFailedRefresh(key, end);
+                    }
+                    this.refreshing.remove(key);
+                }
+            });
+        } catch (final Exception e) {
+            this.refreshing.remove(requestKey);
+            LOGGER.warn("Unable to schedule metadata refresh for [{}]: [{}]", service.getName(), e.getMessage());
+        }
+    }
+
+    private void recordFailedRefresh(final SamlRegisteredServiceCacheKey key, final long now) {
+        val previous = this.failedRefreshes.getIfPresent(key);
+        val retryInterval = previous == null
+            ? MIN_REFRESH_RETRY_INTERVAL
+            : Math.min(MAX_REFRESH_RETRY_INTERVAL, 2 * previous.getRetryInterval());
+        LOGGER.debug("Metadata refresh for [{}] will be retried in [{}] second(s)", key.getId(), TimeUnit.NANOSECONDS.toSeconds(retryInterval));
+        this.failedRefreshes.put(key, new FailedRefresh(retryInterval, now + retryInterval));
+    }
+
+    /**
+     * Tracks the wait between consecutive failed refreshes of a cache entry, and when the entry may be refreshed again.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    private static class FailedRefresh {
+        private final long retryInterval;
+        private final long nextAttempt;
+    }
 }
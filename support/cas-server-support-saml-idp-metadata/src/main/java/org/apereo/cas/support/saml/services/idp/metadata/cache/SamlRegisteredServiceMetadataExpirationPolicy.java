@@ -2,8 +2,10 @@ package org.apereo.cas.support.saml.services.idp.metadata.cache;
 
 import org.apereo.cas.configuration.support.Beans;
 import org.apereo.cas.support.saml.services.SamlRegisteredService;
+import org.apereo.cas.support.saml.services.idp.metadata.cache.resolver.BackupMetadataResolver;
 
 import com.github.benmanes.caffeine.cache.Expiry;
+import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import net.shibboleth.utilities.java.support.resolver.CriteriaSet;
@@ -17,7 +19,11 @@ import javax.annotation.Nonnull;
 import java.util.concurrent.TimeUnit;
 
 /**
- * This is {@link SamlRegisteredServiceMetadataExpirationPolicy}.
+ * This is {@link SamlRegisteredServiceMetadataExpirationPolicy}. Metadata is kept in the cache
+ * for its cache duration plus a grace period, during which it is considered stale: it may still be served
+ * while a fresh copy is fetched in the background. Entries are evicted once the grace period also passes.
+ * Metadata loaded from a backup copy because its source could not be reached is considered stale right away,
+ * and a failed refresh does not extend the life of an entry.
  *
  * @author Misagh Moayyed
  * @since 5.2.0
@@ -26,14 +32,35 @@ import java.util.concurrent.TimeUnit;
 public class SamlRegisteredServiceMetadataExpirationPolicy implements Expiry<SamlRegisteredServiceCacheKey, MetadataResolver> {
     private final long defaultExpiration;
 
+    @Getter
+    private final long gracePeriod;
+
     public SamlRegisteredServiceMetadataExpirationPolicy(final long metadataCacheExpirationMinutes) {
+        this(metadataCacheExpirationMinutes, 0);
+    }
+
+    public SamlRegisteredServiceMetadataExpirationPolicy(final long metadataCacheExpirationMinutes, final long gracePeriodMinutes) {
         this.defaultExpiration = TimeUnit.MINUTES.toNanos(metadataCacheExpirationMinutes);
+        this.gracePeriod = TimeUnit.MINUTES.toNanos(gracePeriodMinutes);
     }
 
     @Override
     public long expireAfterCreate(@Nonnull final SamlRegisteredServiceCacheKey cacheKey,
                                   final MetadataResolver chainingMetadataResolver,
                                   final long currentTime) {
+        if (BackupMetadataResolver.isLoadedFromBackup(chainingMetadataResolver)) {
+            LOGGER.debug("Metadata for [{}] is loaded from a backup copy and is considered stale", cacheKey.getRegisteredService().getName());
+            return this.gracePeriod > 0 ? this.gracePeriod : this.defaultExpiration;
+        }
+        return saturatedAdd(getCacheDuration(cacheKey, chainingMetadataResolver), this.gracePeriod);
+    }
+
+    private static long saturatedAdd(final long duration, final long gracePeriod) {
+        val result = duration + gracePeriod;
+        return result < duration ? Long.MAX_VALUE : result;
+    }
+
+    private long getCacheDuration(final SamlRegisteredServiceCacheKey cacheKey, final MetadataResolver chainingMetadataResolver) {
         val service = cacheKey.getRegisteredService();
         val duration = getCacheDurationForServiceProvider(service, chainingMetadataResolver);
         if (duration >= 0) {
@@ -76,8 +103,11 @@ public class SamlRegisteredServiceMetadataExpirationPolicy implements Expiry<Sam
     public long expireAfterUpdate(@Nonnull final SamlRegisteredServiceCacheKey cacheKey,
                                   final MetadataResolver chainingMetadataResolver,
                                   final long currentTime, final long currentDuration) {
-        LOGGER.debug("Cache expiration duration after updates is set to [{}]", currentDuration);
-        return currentDuration;
+        if (BackupMetadataResolver.isLoadedFromBackup(chainingMetadataResolver)) {
+            return currentDuration;
+        }
+        LOGGER.debug("Metadata for [{}] is refreshed; recalculating cache expiration duration", cacheKey.getRegisteredService().getName());
+        return expireAfterCreate(cacheKey, chainingMetadataResolver, currentTime);
     }
 
     @Override
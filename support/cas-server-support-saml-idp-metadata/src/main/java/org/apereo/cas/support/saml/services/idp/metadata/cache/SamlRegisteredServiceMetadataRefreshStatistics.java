@@ -0,0 +1,61 @@
+package org.apereo.cas.support.saml.services.idp.metadata.cache;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This is {@link SamlRegisteredServiceMetadataRefreshStatistics} that keeps track of background
+ * refreshes of cached metadata. Statistics are kept apart from the caching metadata resolver
+ * so that they survive when the resolver is rebuilt, and counters only ever go up.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+public class SamlRegisteredServiceMetadataRefreshStatistics {
+    private final LongAdder refreshCount = new LongAdder();
+    private final LongAdder refreshFailureCount = new LongAdder();
+    private final AtomicLong lastRefreshDuration = new AtomicLong();
+
+    /**
+     * Record a background refresh.
+     *
+     * @param durationNanos the duration of the refresh in nanoseconds
+     * @param successful    whether fresh metadata was obtained
+     */
+    public void recordRefresh(final long durationNanos, final boolean successful) {
+        this.lastRefreshDuration.set(durationNanos);
+        this.refreshCount.increment();
+        if (!successful) {
+            this.refreshFailureCount.increment();
+        }
+    }
+
+    /**
+     * Gets the number of times metadata was refreshed in the background, successfully or not.
+     *
+     * @return the refresh count
+     */
+    public long getRefreshCount() {
+        return this.refreshCount.sum();
+    }
+
+    /**
+     * Gets the number of times a background refresh failed and stale metadata was kept.
+     *
+     * @return the refresh failure count
+     */
+    public long getRefreshFailureCount() {
+        return this.refreshFailureCount.sum();
+    }
+
+    /**
+     * Gets the duration of the last background refresh.
+     *
+     * @param unit the time unit
+     * @return the last refresh duration
+     */
+    public double getLastRefreshDuration(final TimeUnit unit) {
+        return (double) this.lastRefreshDuration.get() / unit.toNanos(1);
+    }
+}
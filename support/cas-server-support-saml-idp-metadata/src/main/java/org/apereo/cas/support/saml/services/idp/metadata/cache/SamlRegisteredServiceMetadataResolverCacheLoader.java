@@ -1,7 +1,10 @@
 package org.apereo.cas.support.saml.services.idp.metadata.cache;
 
+import org.apereo.cas.support.events.service.CasRegisteredServiceDeletedEvent;
+import org.apereo.cas.support.events.service.CasRegisteredServicesRefreshEvent;
 import org.apereo.cas.support.saml.OpenSamlConfigBean;
 import org.apereo.cas.support.saml.SamlException;
+import org.apereo.cas.support.saml.services.SamlRegisteredService;
 import org.apereo.cas.support.saml.services.idp.metadata.plan.SamlRegisteredServiceMetadataResolutionPlan;
 import org.apereo.cas.util.http.HttpClient;
 
@@ -11,11 +14,15 @@ import lombok.SneakyThrows;
 import lombok.Synchronized;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
+import org.apache.commons.lang3.StringUtils;
 import org.opensaml.saml.metadata.resolver.ChainingMetadataResolver;
 import org.opensaml.saml.metadata.resolver.MetadataResolver;
+import org.springframework.context.event.EventListener;
 
 import java.util.ArrayList;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * This is {@link SamlRegisteredServiceMetadataResolverCacheLoader} that uses Guava's cache loading strategy
@@ -42,6 +49,8 @@ public class SamlRegisteredServiceMetadataResolverCacheLoader implements CacheLo
 
     private final SamlRegisteredServiceMetadataResolutionPlan metadataResolutionPlan;
 
+    private final Map<String, Boolean> shareableMetadataLocations = new ConcurrentHashMap<>();
+
     @Override
     @Synchronized
     @SneakyThrows
@@ -79,6 +88,56 @@ public class SamlRegisteredServiceMetadataResolverCacheLoader implements CacheLo
         return metadataResolver;
 
     }
+
+    /**
+     * Can the metadata resolved for this service be shared with other services
+     * that point at the same metadata location? This is the case when all metadata resolvers
+     * that support the service agree. The answer is remembered per metadata location.
+     *
+     * @param service the service
+     * @return true /false
+     */
+    public boolean isShareable(final SamlRegisteredService service) {
+        val metadataLocation = service.getMetadataLocation();
+        if (StringUtils.isBlank(metadataLocation)) {
+            return false;
+        }
+        return this.shareableMetadataLocations.computeIfAbsent(metadataLocation,
+            location -> this.metadataResolutionPlan.getRegisteredMetadataResolvers()
+                .stream()
+                .filter(Objects::nonNull)
+                .filter(r -> r.supports(service))
+                .allMatch(r -> r.isShareable(service)));
+    }
+
+    /**
+     * Forget whether the metadata location of a removed service can be shared.
+     *
+     * @param event the event
+     */
+    @EventListener
+    public void handleRegisteredServiceDeletedEvent(final CasRegisteredServiceDeletedEvent event) {
+        val service = event.getRegisteredService();
+        if (service instanceof SamlRegisteredService) {
+            val metadataLocation = ((SamlRegisteredService) service).getMetadataLocation();
+            if (StringUtils.isNotBlank(metadataLocation)) {
+                LOGGER.debug("Removing shareable state of metadata location [{}] for deleted service [{}]", metadataLocation, service.getName());
+                this.shareableMetadataLocations.remove(metadataLocation);
+            }
+        }
+    }
+
+    /**
+     * Forget whether metadata locations can be shared once services are reloaded,
+     * since services that pointed at them may have been removed.
+     *
+     * @param event the event
+     */
+    @EventListener
+    public void handleRegisteredServicesRefreshEvent(final CasRegisteredServicesRefreshEvent event) {
+        LOGGER.debug("Removing shareable state of [{}] metadata location(s) after services are reloaded", this.shareableMetadataLocations.size());
+        this.shareableMetadataLocations.clear();
+    }
 }
 
 
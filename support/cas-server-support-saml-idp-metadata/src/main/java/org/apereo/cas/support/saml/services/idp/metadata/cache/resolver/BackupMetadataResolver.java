@@ -0,0 +1,40 @@
+package org.apereo.cas.support.saml.services.idp.metadata.cache.resolver;
+
+import org.apereo.cas.support.saml.InMemoryResourceMetadataResolver;
+import org.apereo.cas.support.saml.OpenSamlConfigBean;
+
+import org.opensaml.saml.metadata.resolver.ChainingMetadataResolver;
+import org.opensaml.saml.metadata.resolver.MetadataResolver;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * This is {@link BackupMetadataResolver} that serves the last known copy of metadata
+ * when the metadata source itself cannot be reached. Metadata served this way may be outdated,
+ * so it should not be treated as a successful fetch of the source.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+public class BackupMetadataResolver extends InMemoryResourceMetadataResolver {
+
+    public BackupMetadataResolver(final File metadataResource, final OpenSamlConfigBean configBean) throws IOException {
+        super(metadataResource, configBean);
+    }
+
+    /**
+     * Is any part of the given metadata resolver loaded from a backup copy?
+     *
+     * @param resolver the resolver
+     * @return true /false
+     */
+    public static boolean isLoadedFromBackup(final MetadataResolver resolver) {
+        if (resolver instanceof ChainingMetadataResolver) {
+            return ((ChainingMetadataResolver) resolver).getResolvers()
+                .stream()
+                .anyMatch(BackupMetadataResolver::isLoadedFromBackup);
+        }
+        return resolver instanceof BackupMetadataResolver;
+    }
+}
@@ -1,6 +1,7 @@
 package org.apereo.cas.support.saml.services.idp.metadata.cache.resolver;
 
 import org.apereo.cas.configuration.model.support.saml.idp.SamlIdPProperties;
+import org.apereo.cas.support.saml.InMemoryResourceMetadataResolver;
 import org.apereo.cas.support.saml.OpenSamlConfigBean;
 import org.apereo.cas.support.saml.services.SamlRegisteredService;
 import org.apereo.cas.util.CollectionUtils;
@@ -9,7 +10,6 @@ import org.apereo.cas.util.ResourceUtils;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.opensaml.saml.metadata.resolver.MetadataResolver;
-import org.opensaml.saml.metadata.resolver.impl.DOMMetadataResolver;
 import org.springframework.core.io.ClassPathResource;
 
 import java.util.ArrayList;
@@ -34,10 +34,7 @@ public class ClasspathResourceMetadataResolver extends BaseSamlRegisteredService
         LOGGER.info("Loading SAML metadata from [{}]", metadataLocation);
         try (val in = ResourceUtils.getResourceFrom(metadataLocation).getInputStream()) {
             LOGGER.debug("Parsing metadata from [{}]", metadataLocation);
-            val document = this.configBean.getParserPool().parse(in);
-
-            val metadataRoot = document.getDocumentElement();
-            val metadataProvider = new DOMMetadataResolver(metadataRoot);
+            val metadataProvider = new InMemoryResourceMetadataResolver(in, this.configBean);
             configureAndInitializeSingleMetadataResolver(metadataProvider, service);
             return CollectionUtils.wrap(metadataProvider);
         } catch (final Exception e) {
@@ -51,6 +51,11 @@ public class GroovyResourceMetadataResolver extends BaseSamlRegisteredServiceMet
         return ScriptingUtils.isExternalGroovyScript(metadataLocation);
     }
 
+    @Override
+    public boolean isShareable(final SamlRegisteredService service) {
+        return false;
+    }
+
     @Override
     public boolean isAvailable(final SamlRegisteredService service) {
         if (supports(service)) {
@@ -1,22 +1,16 @@
 package org.apereo.cas.support.saml.services.idp.metadata.cache.resolver;
 
 import org.apereo.cas.configuration.model.support.saml.idp.SamlIdPProperties;
-import org.apereo.cas.support.saml.InMemoryResourceMetadataResolver;
 import org.apereo.cas.support.saml.OpenSamlConfigBean;
 import org.apereo.cas.support.saml.services.SamlRegisteredService;
 import org.apereo.cas.util.EncodingUtils;
 import org.apereo.cas.util.HttpRequestUtils;
 import org.apereo.cas.util.HttpUtils;
 
-import com.google.common.io.ByteStreams;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.apache.http.HttpResponse;
-import org.opensaml.saml.metadata.resolver.impl.AbstractMetadataResolver;
-import org.springframework.http.HttpStatus;
 
-import java.io.ByteArrayInputStream;
-import java.io.File;
 import java.util.LinkedHashMap;
 
 /**
@@ -45,6 +39,7 @@ public class MetadataQueryProtocolMetadataResolver extends UrlResourceMetadataRe
         val headers = new LinkedHashMap();
         headers.put("Content-Type", metadata.getSupportedContentTypes());
         headers.put("Accept", "*/*");
+        headers.putAll(getConditionalRequestHeaders(metadataLocation));
         return HttpUtils.executeGet(metadataLocation, metadata.getBasicAuthnUsername(),
             samlIdPProperties.getMetadata().getBasicAuthnPassword(), new LinkedHashMap<>(), headers);
     }
@@ -65,20 +60,8 @@ public class MetadataQueryProtocolMetadataResolver extends UrlResourceMetadataRe
     }
 
     @Override
-    protected boolean shouldHttpResponseStatusBeProcessed(final HttpStatus status) {
-        return super.shouldHttpResponseStatusBeProcessed(status) || status == HttpStatus.NOT_MODIFIED;
-    }
-
-    @Override
-    protected AbstractMetadataResolver getMetadataResolverFromResponse(final HttpResponse response, final File backupFile) throws Exception {
-        if (response.getStatusLine().getStatusCode() == HttpStatus.NOT_MODIFIED.value()) {
-            return new InMemoryResourceMetadataResolver(backupFile, this.configBean);
-        }
-
-        val ins = response.getEntity().getContent();
-        val source = ByteStreams.toByteArray(ins);
-        val bais = new ByteArrayInputStream(source);
-        return new InMemoryResourceMetadataResolver(bais, this.configBean);
+    public boolean isShareable(final SamlRegisteredService service) {
+        return false;
     }
 
     @Override
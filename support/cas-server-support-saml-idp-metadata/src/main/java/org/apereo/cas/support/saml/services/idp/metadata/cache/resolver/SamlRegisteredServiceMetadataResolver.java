@@ -59,4 +59,16 @@ public interface SamlRegisteredServiceMetadataResolver {
      * @return true /false
      */
     boolean isAvailable(SamlRegisteredService service);
+
+    /**
+     * Does the metadata resolved for this service depend only on its metadata location
+     * and metadata filtering criteria? If so, the resolved metadata may be shared
+     * with other services that point at the same source, such as a federation aggregate.
+     *
+     * @param service the service
+     * @return true /false
+     */
+    default boolean isShareable(final SamlRegisteredService service) {
+        return true;
+    }
 }
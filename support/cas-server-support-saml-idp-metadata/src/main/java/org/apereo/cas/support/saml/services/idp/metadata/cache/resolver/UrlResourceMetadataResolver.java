@@ -6,6 +6,7 @@ import org.apereo.cas.support.saml.InMemoryResourceMetadataResolver;
 import org.apereo.cas.support.saml.OpenSamlConfigBean;
 import org.apereo.cas.support.saml.services.SamlRegisteredService;
 import org.apereo.cas.util.CollectionUtils;
+import org.apereo.cas.util.DigestUtils;
 import org.apereo.cas.util.HttpRequestUtils;
 import org.apereo.cas.util.HttpUtils;
 
@@ -25,8 +26,7 @@ import org.apache.commons.lang3.StringUtils;
 import org.apache.http.HttpResponse;
 import org.opensaml.saml.metadata.resolver.MetadataResolver;
 import org.opensaml.saml.metadata.resolver.impl.AbstractMetadataResolver;
-import org.springframework.core.io.AbstractResource;
-import org.springframework.core.io.UrlResource;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 
 import java.io.File;
@@ -35,8 +35,11 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * This is {@link UrlResourceMetadataResolver}.
@@ -48,6 +51,8 @@ import java.util.UUID;
 public class UrlResourceMetadataResolver extends BaseSamlRegisteredServiceMetadataResolver {
     private final File metadataBackupDirectory;
 
+    private final Map<String, Map<String, Object>> conditionalRequestHeaders = new ConcurrentHashMap<>();
+
     @SneakyThrows
     public UrlResourceMetadataResolver(final SamlIdPProperties samlIdPProperties,
                                        final OpenSamlConfigBean configBean) {
@@ -69,22 +74,23 @@ public class UrlResourceMetadataResolver extends BaseSamlRegisteredServiceMetada
         try {
             val metadataLocation = getMetadataLocationForService(service);
             LOGGER.info("Loading SAML metadata from [{}]", metadataLocation);
-            val metadataResource = new UrlResource(metadataLocation);
-
-            val backupFile = getMetadataBackupFile(metadataResource, service);
-            val canonicalPath = backupFile.getCanonicalPath();
-            LOGGER.debug("Metadata backup file will be at [{}]", canonicalPath);
-            FileUtils.forceMkdirParent(backupFile);
-
-            val response = fetchMetadata(metadataLocation);
-            cleanUpExpiredBackupMetadataFilesFor(metadataResource, service);
-            if (response != null) {
-                val status = HttpStatus.valueOf(response.getStatusLine().getStatusCode());
-                if (shouldHttpResponseStatusBeProcessed(status)) {
-                    val metadataProvider = getMetadataResolverFromResponse(response, backupFile);
-                    configureAndInitializeSingleMetadataResolver(metadataProvider, service);
+            try {
+                val metadataProvider = fetchMetadataResolver(service, metadataLocation);
+                if (metadataProvider != null) {
                     return CollectionUtils.wrap(metadataProvider);
                 }
+            } catch (final Exception e) {
+                LOGGER.error("Unable to fetch and load SAML metadata from [{}]: [{}]", metadataLocation, e.getMessage());
+                LOGGER.debug(e.getMessage(), e);
+            }
+            this.conditionalRequestHeaders.remove(metadataLocation);
+
+            val backupFile = getLatestMetadataBackupFile(metadataLocation);
+            if (backupFile != null) {
+                LOGGER.warn("Falling back onto the last known copy of SAML metadata from [{}] at [{}]", metadataLocation, backupFile);
+                val metadataProvider = new BackupMetadataResolver(backupFile, configBean);
+                configureAndInitializeSingleMetadataResolver(metadataProvider, service);
+                return CollectionUtils.wrap(metadataProvider);
             }
         } catch (final Exception e) {
             LOGGER.error(e.getMessage(), e);
@@ -92,6 +98,78 @@ public class UrlResourceMetadataResolver extends BaseSamlRegisteredServiceMetada
         return new ArrayList<>(0);
     }
 
+    private AbstractMetadataResolver fetchMetadataResolver(final SamlRegisteredService service,
+                                                           final String metadataLocation) throws Exception {
+        var response = fetchMetadata(metadataLocation);
+        if (response == null) {
+            return null;
+        }
+        var status = HttpStatus.valueOf(response.getStatusLine().getStatusCode());
+        if (status == HttpStatus.NOT_MODIFIED) {
+            val backupFile = getLatestMetadataBackupFile(metadataLocation);
+            if (backupFile != null) {
+                LOGGER.debug("SAML metadata at [{}] is not modified; loading the copy at [{}]", metadataLocation, backupFile);
+                val metadataProvider = new InMemoryResourceMetadataResolver(backupFile, configBean);
+                configureAndInitializeSingleMetadataResolver(metadataProvider, service);
+                return metadataProvider;
+            }
+            LOGGER.debug("SAML metadata at [{}] is not modified, but no copy of it can be found; fetching it again", metadataLocation);
+            this.conditionalRequestHeaders.remove(metadataLocation);
+            response = fetchMetadata(metadataLocation);
+            if (response == null) {
+                return null;
+            }
+            status = HttpStatus.valueOf(response.getStatusLine().getStatusCode());
+        }
+        if (!shouldHttpResponseStatusBeProcessed(status)) {
+            LOGGER.warn("Unable to fetch SAML metadata from [{}] with response status [{}]", metadataLocation, status);
+            return null;
+        }
+        val backupFile = getMetadataBackupFile(metadataLocation, service);
+        val canonicalPath = backupFile.getCanonicalPath();
+        LOGGER.debug("Metadata backup file will be at [{}]", canonicalPath);
+        FileUtils.forceMkdirParent(backupFile);
+
+        val metadataProvider = getMetadataResolverFromResponse(response, backupFile);
+        try {
+            configureAndInitializeSingleMetadataResolver(metadataProvider, service);
+        } catch (final Exception e) {
+            FileUtils.deleteQuietly(backupFile);
+            throw e;
+        }
+        cleanUpExpiredBackupMetadataFilesFor(metadataLocation, backupFile);
+        rememberConditionalRequestHeaders(metadataLocation, response);
+        return metadataProvider;
+    }
+
+    private void rememberConditionalRequestHeaders(final String metadataLocation, final HttpResponse response) {
+        val headers = new LinkedHashMap<String, Object>();
+        val etag = response.getFirstHeader(HttpHeaders.ETAG);
+        if (etag != null) {
+            headers.put(HttpHeaders.IF_NONE_MATCH, etag.getValue());
+        }
+        val lastModified = response.getFirstHeader(HttpHeaders.LAST_MODIFIED);
+        if (lastModified != null) {
+            headers.put(HttpHeaders.IF_MODIFIED_SINCE, lastModified.getValue());
+        }
+        if (headers.isEmpty()) {
+            this.conditionalRequestHeaders.remove(metadataLocation);
+        } else {
+            this.conditionalRequestHeaders.put(metadataLocation, headers);
+        }
+    }
+
+    /**
+     * Gets the headers that turn a metadata request into a conditional request, based on the
+     * validators of the last copy of metadata that was successfully fetched from the given location.
+     *
+     * @param metadataLocation the metadata location
+     * @return the conditional request headers, which may be empty
+     */
+    protected Map<String, Object> getConditionalRequestHeaders(final String metadataLocation) {
+        return this.conditionalRequestHeaders.getOrDefault(metadataLocation, new LinkedHashMap<>());
+    }
+
     /**
      * Should http response status be processed?
      *
@@ -127,7 +205,8 @@ public class UrlResourceMetadataResolver extends BaseSamlRegisteredServiceMetada
      */
     protected HttpResponse fetchMetadata(final String metadataLocation) {
         LOGGER.debug("Fetching metadata from [{}]", metadataLocation);
-        return HttpUtils.executeGet(metadataLocation, new LinkedHashMap<>());
+        return HttpUtils.executeGet(metadataLocation, null, null, new LinkedHashMap<>(),
+            new LinkedHashMap<>(getConditionalRequestHeaders(metadataLocation)));
     }
 
     /**
@@ -140,37 +219,54 @@ public class UrlResourceMetadataResolver extends BaseSamlRegisteredServiceMetada
         return service.getMetadataLocation();
     }
 
-    private void cleanUpExpiredBackupMetadataFilesFor(final AbstractResource metadataResource, final SamlRegisteredService service) {
-        val prefix = getBackupMetadataFilenamePrefix(metadataResource, service);
-        val backups = FileUtils.listFiles(this.metadataBackupDirectory,
+    private Collection<File> listBackupMetadataFilesFor(final String metadataLocation) {
+        val prefix = getBackupMetadataFilenamePrefix(metadataLocation);
+        return FileUtils.listFiles(this.metadataBackupDirectory,
             new AndFileFilter(CollectionUtils.wrapList(new PrefixFileFilter(prefix, IOCase.INSENSITIVE),
                 new SuffixFileFilter(".xml", IOCase.INSENSITIVE),
                 CanWriteFileFilter.CAN_WRITE, CanReadFileFilter.CAN_READ)), TrueFileFilter.INSTANCE);
-        backups.forEach(file -> {
-            try {
-                FileUtils.forceDelete(file);
-            } catch (final Exception e) {
-                LOGGER.warn("Unable to delete metadata backup file [{}]", file);
-                LOGGER.debug(e.getMessage(), e);
-            }
-        });
+    }
+
+    private File getLatestMetadataBackupFile(final String metadataLocation) {
+        return listBackupMetadataFilesFor(metadataLocation)
+            .stream()
+            .filter(file -> file.length() > 0)
+            .max(Comparator.comparingLong(File::lastModified))
+            .orElse(null);
+    }
+
+    private void cleanUpExpiredBackupMetadataFilesFor(final String metadataLocation, final File currentBackupFile) {
+        val backups = listBackupMetadataFilesFor(metadataLocation);
+        backups
+            .stream()
+            .filter(file -> !file.equals(currentBackupFile))
+            .forEach(file -> {
+                try {
+                    FileUtils.forceDelete(file);
+                } catch (final Exception e) {
+                    LOGGER.warn("Unable to delete metadata backup file [{}]", file);
+                    LOGGER.debug(e.getMessage(), e);
+                }
+            });
     }
 
     /**
-     * Gets metadata backup file.
+     * Gets metadata backup file. Backup files are named after the metadata location rather than
+     * the service, since the metadata fetched from a location may be shared by many services.
      *
-     * @param metadataResource the metadata resource
+     * @param metadataLocation the metadata location
      * @param service          the service
      * @return the metadata backup file
      * @throws IOException the io exception
      */
-    protected File getMetadataBackupFile(final AbstractResource metadataResource,
+    protected File getMetadataBackupFile(final String metadataLocation,
                                          final RegisteredService service) throws IOException {
 
         LOGGER.debug("Metadata backup directory is at [{}]", this.metadataBackupDirectory.getCanonicalPath());
 
-        val metadataFileName = getBackupMetadataFilenamePrefix(metadataResource, service)
-            .concat(getBackupMetadataFilenameSuffix(metadataResource, service));
+        val metadataFileName = getBackupMetadataFilenamePrefix(metadataLocation)
+            .concat(UUID.randomUUID().toString())
+            .concat(".xml");
 
         val backupFile = new File(this.metadataBackupDirectory, metadataFileName);
         if (backupFile.exists()) {
@@ -181,17 +277,8 @@ public class UrlResourceMetadataResolver extends BaseSamlRegisteredServiceMetada
         return backupFile;
     }
 
-    private String getBackupMetadataFilenameSuffix(final AbstractResource metadataResource, final RegisteredService service) {
-        return UUID.randomUUID().toString() + ".xml";
-    }
-
-    private String getBackupMetadataFilenamePrefix(final AbstractResource metadataResource, final RegisteredService service) {
-        return service.getName()
-            .concat("-")
-            .concat(String.valueOf(service.getId()))
-            .concat("-")
-            .concat(metadataResource.getFilename())
-            .concat("-");
+    private static String getBackupMetadataFilenamePrefix(final String metadataLocation) {
+        return DigestUtils.sha256(metadataLocation).concat("-");
     }
 
     @Override
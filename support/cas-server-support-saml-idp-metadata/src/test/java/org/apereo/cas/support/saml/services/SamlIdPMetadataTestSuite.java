@@ -1,5 +1,6 @@
 package org.apereo.cas.support.saml.services;
 
+import org.apereo.cas.support.saml.services.idp.metadata.cache.SamlRegisteredServiceDefaultCachingMetadataResolverTests;
 import org.apereo.cas.support.saml.services.idp.metadata.cache.resolver.ClasspathResourceMetadataResolverTests;
 import org.apereo.cas.support.saml.services.idp.metadata.cache.resolver.DynamicResourceMetadataResolverTests;
 import org.apereo.cas.support.saml.services.idp.metadata.cache.resolver.GroovyResourceMetadataResolverTests;
@@ -20,7 +21,8 @@ import org.junit.runners.Suite;
     ClasspathResourceMetadataResolverTests.class,
     DynamicResourceMetadataResolverTests.class,
     GroovyResourceMetadataResolverTests.class,
-    UrlResourceMetadataResolverTests.class
+    UrlResourceMetadataResolverTests.class,
+    SamlRegisteredServiceDefaultCachingMetadataResolverTests.class
 })
 public class SamlIdPMetadataTestSuite {
 }
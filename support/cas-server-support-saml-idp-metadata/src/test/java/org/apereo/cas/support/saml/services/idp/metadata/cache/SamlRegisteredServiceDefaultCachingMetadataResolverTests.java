@@ -0,0 +1,187 @@
+package org.apereo.cas.support.saml.services.idp.metadata.cache;
+
+import org.apereo.cas.config.CasCoreHttpConfiguration;
+import org.apereo.cas.config.CoreSamlConfiguration;
+import org.apereo.cas.configuration.model.support.saml.idp.SamlIdPProperties;
+import org.apereo.cas.support.events.service.CasRegisteredServiceDeletedEvent;
+import org.apereo.cas.support.events.service.CasRegisteredServicesRefreshEvent;
+import org.apereo.cas.support.saml.OpenSamlConfigBean;
+import org.apereo.cas.support.saml.services.SamlRegisteredService;
+import org.apereo.cas.support.saml.services.idp.metadata.cache.resolver.BackupMetadataResolver;
+import org.apereo.cas.support.saml.services.idp.metadata.cache.resolver.ClasspathResourceMetadataResolver;
+import org.apereo.cas.support.saml.services.idp.metadata.cache.resolver.SamlRegisteredServiceMetadataResolver;
+import org.apereo.cas.support.saml.services.idp.metadata.plan.DefaultSamlRegisteredServiceMetadataResolutionPlan;
+import org.apereo.cas.util.CollectionUtils;
+import org.apereo.cas.util.http.HttpClient;
+
+import lombok.SneakyThrows;
+import lombok.val;
+import net.shibboleth.utilities.java.support.resolver.CriteriaSet;
+import org.apache.commons.io.FileUtils;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.opensaml.core.criterion.EntityIdCriterion;
+import org.opensaml.saml.metadata.resolver.MetadataResolver;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cloud.autoconfigure.RefreshAutoConfiguration;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.test.context.junit4.rules.SpringClassRule;
+import org.springframework.test.context.junit4.rules.SpringMethodRule;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * This is {@link SamlRegisteredServiceDefaultCachingMetadataResolverTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@SpringBootTest(classes = {
+    RefreshAutoConfiguration.class,
+    CasCoreHttpConfiguration.class,
+    CoreSamlConfiguration.class
+})
+public class SamlRegisteredServiceDefaultCachingMetadataResolverTests {
+    @ClassRule
+    public static final SpringClassRule SPRING_CLASS_RULE = new SpringClassRule();
+
+    @Rule
+    public final SpringMethodRule springMethodRule = new SpringMethodRule();
+
+    @Autowired
+    @Qualifier("shibboleth.OpenSAMLConfig")
+    private OpenSamlConfigBean openSamlConfigBean;
+
+    @Autowired
+    @Qualifier("noRedirectHttpClient")
+    private HttpClient httpClient;
+
+    private SamlRegisteredServiceMetadataResolverCacheLoader loader;
+
+    private SamlRegisteredServiceDefaultCachingMetadataResolver cachingMetadataResolver;
+
+    private static SamlRegisteredService getSamlRegisteredService(final long id, final String metadataLocation) {
+        val service = new SamlRegisteredService();
+        service.setId(id);
+        service.setName("SAML" + id);
+        service.setServiceId("https://carmenwiki.osu.edu/shibboleth");
+        service.setMetadataLocation(metadataLocation);
+        return service;
+    }
+
+    @Before
+    public void initialize() {
+        val props = new SamlIdPProperties();
+        props.getMetadata().setLocation(new FileSystemResource(FileUtils.getTempDirectory()));
+        val plan = new DefaultSamlRegisteredServiceMetadataResolutionPlan();
+        plan.registerMetadataResolver(new ClasspathResourceMetadataResolver(props, openSamlConfigBean));
+        this.loader = new SamlRegisteredServiceMetadataResolverCacheLoader(openSamlConfigBean, httpClient, plan);
+        this.cachingMetadataResolver = new SamlRegisteredServiceDefaultCachingMetadataResolver(30, loader);
+    }
+
+    @Test
+    public void verifyMetadataIsSharedByLocation() throws Exception {
+        val service1 = getSamlRegisteredService(1000, "classpath:sample-sp.xml");
+        val service2 = getSamlRegisteredService(2000, "classpath:sample-sp.xml");
+        val resolver = cachingMetadataResolver.resolve(service1);
+        assertSame(resolver, cachingMetadataResolver.resolve(service2));
+
+        val criteria = new CriteriaSet(new EntityIdCriterion("https://carmenwiki.osu.edu/shibboleth"));
+        assertNotNull(resolver.resolveSingle(criteria));
+
+        val service3 = getSamlRegisteredService(3000, "classpath:sample-sp.xml");
+        service3.setMetadataCriteriaPattern("https://.*");
+        service3.setMetadataCriteriaDirection("INCLUDE");
+        assertNotSame(resolver, cachingMetadataResolver.resolve(service3));
+    }
+
+    @Test
+    public void verifyShareableLocationsAreForgottenWhenServicesAreRemoved() {
+        val metadataResolver = mock(SamlRegisteredServiceMetadataResolver.class);
+        when(metadataResolver.supports(any())).thenReturn(true);
+        when(metadataResolver.isShareable(any())).thenReturn(true, false, true);
+        val plan = new DefaultSamlRegisteredServiceMetadataResolutionPlan();
+        plan.registerMetadataResolver(metadataResolver);
+        val cacheLoader = new SamlRegisteredServiceMetadataResolverCacheLoader(openSamlConfigBean, httpClient, plan);
+
+        val service = getSamlRegisteredService(1000, "classpath:sample-sp.xml");
+        assertTrue(cacheLoader.isShareable(service));
+        assertTrue(cacheLoader.isShareable(service));
+        verify(metadataResolver, times(1)).isShareable(service);
+
+        cacheLoader.handleRegisteredServiceDeletedEvent(new CasRegisteredServiceDeletedEvent(this, service));
+        assertFalse(cacheLoader.isShareable(service));
+
+        cacheLoader.handleRegisteredServicesRefreshEvent(new CasRegisteredServicesRefreshEvent(this));
+        assertTrue(cacheLoader.isShareable(service));
+        verify(metadataResolver, times(3)).isShareable(service);
+    }
+
+    @Test
+    public void verifyCacheKeys() {
+        val service1 = getSamlRegisteredService(1000, "classpath:sample-sp.xml");
+        val service2 = getSamlRegisteredService(2000, "classpath:sample-sp.xml");
+        assertNotEquals(new SamlRegisteredServiceCacheKey(service1, false), new SamlRegisteredServiceCacheKey(service2, false));
+        assertEquals(new SamlRegisteredServiceCacheKey(service1, true), new SamlRegisteredServiceCacheKey(service2, true));
+    }
+
+    @Test
+    public void verifyStaleMetadataIsRefreshed() {
+        val resolver = new SamlRegisteredServiceDefaultCachingMetadataResolver(30, 60, loader, Runnable::run);
+        val service = getSamlRegisteredService(1000, "classpath:sample-sp.xml");
+        service.setMetadataExpirationDuration("PT0S");
+
+        val stale = resolver.resolve(service);
+        assertEquals(1, resolver.getStatistics().getRefreshCount());
+        assertEquals(0, resolver.getStatistics().getRefreshFailureCount());
+        assertTrue(resolver.getStatistics().getLastRefreshDuration(TimeUnit.NANOSECONDS) > 0);
+        assertNotSame(stale, resolver.resolve(service));
+        assertTrue(resolver.getMaximumStaleness(TimeUnit.NANOSECONDS) >= 0);
+    }
+
+    @Test
+    public void verifyBackupMetadataIsNotCountedAsRefresh() {
+        val plan = new DefaultSamlRegisteredServiceMetadataResolutionPlan();
+        plan.registerMetadataResolver(new SamlRegisteredServiceMetadataResolver() {
+            @Override
+            @SneakyThrows
+            public Collection<? extends MetadataResolver> resolve(final SamlRegisteredService service) {
+                val backup = new BackupMetadataResolver(new ClassPathResource("sample-sp.xml").getFile(), openSamlConfigBean);
+                backup.setId(service.getMetadataLocation());
+                backup.setParserPool(openSamlConfigBean.getParserPool());
+                backup.initialize();
+                return CollectionUtils.wrap(backup);
+            }
+
+            @Override
+            public boolean supports(final SamlRegisteredService service) {
+                return true;
+            }
+
+            @Override
+            public boolean isAvailable(final SamlRegisteredService service) {
+                return false;
+            }
+        });
+        val statistics = new SamlRegisteredServiceMetadataRefreshStatistics();
+        val resolver = new SamlRegisteredServiceDefaultCachingMetadataResolver(30, 60,
+            new SamlRegisteredServiceMetadataResolverCacheLoader(openSamlConfigBean, httpClient, plan), Runnable::run, statistics);
+        val service = getSamlRegisteredService(1000, "https://example.org/metadata.xml");
+
+        val backup = resolver.resolve(service);
+        assertTrue(BackupMetadataResolver.isLoadedFromBackup(backup));
+        assertEquals(1, statistics.getRefreshCount());
+        assertEquals(1, statistics.getRefreshFailureCount());
+        assertSame(backup, resolver.resolve(service));
+        assertEquals(1, statistics.getRefreshCount());
+    }
+}
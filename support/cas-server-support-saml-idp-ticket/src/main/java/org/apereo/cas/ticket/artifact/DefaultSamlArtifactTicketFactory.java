@@ -9,6 +9,7 @@ import org.apereo.cas.ticket.ExpirationPolicy;
 import org.apereo.cas.ticket.Ticket;
 import org.apereo.cas.ticket.TicketFactory;
 import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.util.CompressionUtils;
 
 import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
@@ -39,6 +40,11 @@ public class DefaultSamlArtifactTicketFactory implements SamlArtifactTicketFacto
      */
     protected final ServiceFactory<WebApplicationService> webApplicationServiceFactory;
 
+    /**
+     * Whether saml objects should be compressed before they are stored.
+     */
+    protected final boolean compressObjects;
+
     @Override
     @SneakyThrows
     public SamlArtifactTicket create(final String artifactId,
@@ -49,8 +55,11 @@ public class DefaultSamlArtifactTicketFactory implements SamlArtifactTicketFacto
             val codeId = createTicketIdFor(artifactId);
 
             val service = this.webApplicationServiceFactory.createService(relyingParty);
+            val object = this.compressObjects
+                ? SamlArtifactTicketImpl.COMPRESSED_OBJECT_PREFIX + CompressionUtils.compress(w.toString())
+                : w.toString();
             val at = new SamlArtifactTicketImpl(codeId, service, authentication,
-                this.expirationPolicy, ticketGrantingTicket, issuer, relyingParty, w.toString());
+                this.expirationPolicy, ticketGrantingTicket, issuer, relyingParty, object);
             if (ticketGrantingTicket != null) {
                 ticketGrantingTicket.getDescendantTickets().add(at.getId());
             }
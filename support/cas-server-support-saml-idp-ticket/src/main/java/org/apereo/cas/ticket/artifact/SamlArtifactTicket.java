@@ -31,9 +31,16 @@ public interface SamlArtifactTicket extends ServiceTicket {
 
 
     /**
-     * Gets saml object.
+     * Gets saml object as it is stored, which may be compressed.
      *
      * @return the object
      */
     String getObject();
+
+    /**
+     * Decode the saml object, decompressing it if it was stored compressed.
+     *
+     * @return the saml object
+     */
+    String decodeObject();
 }
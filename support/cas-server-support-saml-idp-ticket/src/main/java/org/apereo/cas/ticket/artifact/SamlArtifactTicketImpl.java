@@ -7,10 +7,12 @@ import org.apereo.cas.ticket.ExpirationPolicy;
 import org.apereo.cas.ticket.TicketGrantingTicket;
 import org.apereo.cas.ticket.TicketGrantingTicketImpl;
 import org.apereo.cas.ticket.proxy.ProxyGrantingTicket;
+import org.apereo.cas.util.CompressionUtils;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.apache.commons.lang3.StringUtils;
 
 import javax.persistence.Column;
 import javax.persistence.DiscriminatorColumn;
@@ -34,6 +36,11 @@ import javax.persistence.Table;
 @NoArgsConstructor
 public class SamlArtifactTicketImpl extends AbstractTicket implements SamlArtifactTicket {
 
+    /**
+     * Prefix of saml objects that are stored compressed.
+     */
+    public static final String COMPRESSED_OBJECT_PREFIX = "gzip:";
+
     private static final long serialVersionUID = 6276140828446447398L;
 
     @Column(length = 5_000)
@@ -92,6 +99,20 @@ public class SamlArtifactTicketImpl extends AbstractTicket implements SamlArtifa
         this.object = samlObject;
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Objects stored with {@link #COMPRESSED_OBJECT_PREFIX} are decompressed. This is deliberately not a property
+     * of the ticket, so that serializers only ever see the stored value.
+     */
+    @Override
+    public String decodeObject() {
+        if (StringUtils.startsWith(this.object, COMPRESSED_OBJECT_PREFIX)) {
+            return CompressionUtils.decompress(this.object.substring(COMPRESSED_OBJECT_PREFIX.length()));
+        }
+        return this.object;
+    }
+
     @Override
     public boolean isFromNewLogin() {
         return true;
@@ -33,6 +33,7 @@ import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import net.shibboleth.utilities.java.support.net.URLBuilder;
 import net.shibboleth.utilities.java.support.xml.ParserPool;
+import org.apache.commons.codec.binary.Base64InputStream;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.tuple.Pair;
 import org.jasig.cas.client.authentication.AttributePrincipalImpl;
@@ -77,6 +78,10 @@ import java.util.TreeMap;
 @Slf4j
 @RequiredArgsConstructor
 public abstract class AbstractSamlProfileHandlerController {
+    private static final int BASE64_DECODED_BYTES = 3;
+
+    private static final int BASE64_ENCODED_CHARS = 4;
+
     /**
      * The Saml object signer.
      */
@@ -131,6 +136,8 @@ public abstract class AbstractSamlProfileHandlerController {
      */
     protected final Service callbackService;
 
+    private final BindingDescriptor soapBindingDescriptor = buildSoapBindingDescriptor();
+
     /**
      * Gets saml metadata adaptor for service.
      *
@@ -197,10 +204,13 @@ public abstract class AbstractSamlProfileHandlerController {
         if (StringUtils.isBlank(requestValue)) {
             throw new IllegalArgumentException("SAML request could not be determined from the authentication request");
         }
-        val encodedRequest = EncodingUtils.decodeBase64(requestValue.getBytes(StandardCharsets.UTF_8));
-        val authnRequest = (AuthnRequest)
-            XMLObjectSupport.unmarshallFromInputStream(this.configBean.getParserPool(), new ByteArrayInputStream(encodedRequest));
-        return authnRequest;
+        val maxRequestSize = casProperties.getAuthn().getSamlIdp().getMaxRequestSizeBytes();
+        if ((long) requestValue.length() * BASE64_DECODED_BYTES / BASE64_ENCODED_CHARS > maxRequestSize) {
+            throw new IllegalArgumentException("SAML request exceeds the maximum allowed size of " + maxRequestSize);
+        }
+        try (val in = new Base64InputStream(new ByteArrayInputStream(requestValue.getBytes(StandardCharsets.UTF_8)))) {
+            return (AuthnRequest) XMLObjectSupport.unmarshallFromInputStream(this.configBean.getParserPool(), in);
+        }
     }
 
     /**
@@ -520,27 +530,32 @@ public abstract class AbstractSamlProfileHandlerController {
      * @return the soap 11 context
      */
     protected MessageContext decodeSoapRequest(final HttpServletRequest request) {
+        val decoder = new HTTPSOAP11Decoder();
         try {
-            val decoder = new HTTPSOAP11Decoder();
             decoder.setParserPool(parserPool);
-            decoder.setHttpServletRequest(request);
-
-            val binding = new BindingDescriptor();
-            binding.setId(getClass().getName());
-            binding.setShortName(getClass().getName());
-            binding.setSignatureCapable(true);
-            binding.setSynchronous(true);
-
-            decoder.setBindingDescriptor(binding);
+            decoder.setHttpServletRequest(new SizeLimitedHttpServletRequest(request,
+                casProperties.getAuthn().getSamlIdp().getMaxRequestSizeBytes()));
+            decoder.setBindingDescriptor(this.soapBindingDescriptor);
             decoder.initialize();
             decoder.decode();
             return decoder.getMessageContext();
         } catch (final Exception e) {
             LOGGER.error(e.getMessage(), e);
+        } finally {
+            decoder.destroy();
         }
         return null;
     }
 
+    private BindingDescriptor buildSoapBindingDescriptor() {
+        val binding = new BindingDescriptor();
+        binding.setId(getClass().getName());
+        binding.setShortName(getClass().getName());
+        binding.setSignatureCapable(true);
+        binding.setSynchronous(true);
+        return binding;
+    }
+
     /**
      * Handle unauthorized service exception.
      *
@@ -0,0 +1,98 @@
+package org.apereo.cas.support.saml.web.idp.profile;
+
+import lombok.val;
+
+import javax.servlet.ReadListener;
+import javax.servlet.ServletInputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletRequestWrapper;
+import java.io.IOException;
+
+/**
+ * This is {@link SizeLimitedHttpServletRequest} that caps how many bytes may be read from the request body.
+ * Messages are still parsed straight off the stream; once the limit is crossed, reading fails
+ * instead of handing an unbounded body to the XML parser.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+public class SizeLimitedHttpServletRequest extends HttpServletRequestWrapper {
+    private final long maxSize;
+
+    private ServletInputStream inputStream;
+
+    public SizeLimitedHttpServletRequest(final HttpServletRequest request, final long maxSize) {
+        super(request);
+        this.maxSize = maxSize;
+    }
+
+    @Override
+    public ServletInputStream getInputStream() throws IOException {
+        if (this.inputStream == null) {
+            val contentLength = getContentLengthLong();
+            if (contentLength > this.maxSize) {
+                throw new IOException("Request body of " + contentLength + " bytes exceeds the maximum allowed size of " + this.maxSize);
+            }
+            this.inputStream = new SizeLimitedServletInputStream(super.getInputStream(), this.maxSize);
+        }
+        return this.inputStream;
+    }
+
+    private static class SizeLimitedServletInputStream extends ServletInputStream {
+        private final ServletInputStream delegate;
+
+        private final long maxSize;
+
+        private long count;
+
+        SizeLimitedServletInputStream(final ServletInputStream delegate, final long maxSize) {
+            this.delegate = delegate;
+            this.maxSize = maxSize;
+        }
+
+        @Override
+        public int read() throws IOException {
+            val b = this.delegate.read();
+            if (b != -1) {
+                count(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(final byte[] b, final int off, final int len) throws IOException {
+            val read = this.delegate.read(b, off, len);
+            if (read > 0) {
+                count(read);
+            }
+            return read;
+        }
+
+        @Override
+        public boolean isFinished() {
+            return this.delegate.isFinished();
+        }
+
+        @Override
+        public boolean isReady() {
+            return this.delegate.isReady();
+        }
+
+        @Override
+        public void setReadListener(final ReadListener readListener) {
+            this.delegate.setReadListener(readListener);
+        }
+
+        @Override
+        public void close() throws IOException {
+            this.delegate.close();
+        }
+
+        private void count(final int read) throws IOException {
+            this.count += read;
+            if (this.count > this.maxSize) {
+                throw new IOException("Request body exceeds the maximum allowed size of " + this.maxSize);
+            }
+        }
+    }
+}
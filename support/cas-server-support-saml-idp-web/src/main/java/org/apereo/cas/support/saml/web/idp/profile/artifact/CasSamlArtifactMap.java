@@ -1,36 +1,65 @@
 package org.apereo.cas.support.saml.web.idp.profile.artifact;
 
+import org.apereo.cas.ticket.artifact.SamlArtifactTicket;
 import org.apereo.cas.ticket.artifact.SamlArtifactTicketFactory;
 import org.apereo.cas.ticket.registry.TicketRegistry;
 import org.apereo.cas.util.HttpRequestUtils;
 import org.apereo.cas.web.support.CookieRetrievingCookieGenerator;
 import org.apereo.cas.web.support.CookieUtils;
 
-import lombok.RequiredArgsConstructor;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.opensaml.saml.common.SAMLObject;
 import org.opensaml.saml.common.binding.artifact.impl.BasicSAMLArtifactMap;
 
 import java.io.IOException;
+import java.util.concurrent.TimeUnit;
 
 /**
- * This is {@link CasSamlArtifactMap}.
+ * This is {@link CasSamlArtifactMap} that stores the saml object behind each artifact as a {@link SamlArtifactTicket}.
+ * Tickets are kept in the ticket registry by default, or in memory on the node that issued the artifact,
+ * when artifact resolution requests are known to be routed back to that node, up to a maximum number of tickets.
+ * Either way, a ticket is retrieved and removed in one step as it is resolved, so every artifact may only be resolved once.
  *
  * @author Misagh Moayyed
  * @since 5.2.0
  */
-@RequiredArgsConstructor
+@Slf4j
 public class CasSamlArtifactMap extends BasicSAMLArtifactMap {
 
     private final TicketRegistry ticketRegistry;
     private final SamlArtifactTicketFactory samlArtifactTicketFactory;
     private final CookieRetrievingCookieGenerator ticketGrantingTicketCookieGenerator;
+    private final Cache<String, SamlArtifactTicket> localTickets;
+
+    public CasSamlArtifactMap(final TicketRegistry ticketRegistry,
+                              final SamlArtifactTicketFactory samlArtifactTicketFactory,
+                              final CookieRetrievingCookieGenerator ticketGrantingTicketCookieGenerator) {
+        this(ticketRegistry, samlArtifactTicketFactory, ticketGrantingTicketCookieGenerator, false, 0);
+    }
+
+    public CasSamlArtifactMap(final TicketRegistry ticketRegistry,
+                              final SamlArtifactTicketFactory samlArtifactTicketFactory,
+                              final CookieRetrievingCookieGenerator ticketGrantingTicketCookieGenerator,
+                              final boolean storeTicketsLocally,
+                              final long maximumLocalTickets) {
+        this.ticketRegistry = ticketRegistry;
+        this.samlArtifactTicketFactory = samlArtifactTicketFactory;
+        this.ticketGrantingTicketCookieGenerator = ticketGrantingTicketCookieGenerator;
+        this.localTickets = storeTicketsLocally
+            ? Caffeine.newBuilder()
+                .maximumSize(maximumLocalTickets)
+                .expireAfter(new SamlArtifactTicketExpiry())
+                .build()
+            : null;
+    }
 
     @Override
     public void put(final String artifact, final String relyingPartyId,
                     final String issuerId, final SAMLObject samlMessage) throws IOException {
-        super.put(artifact, relyingPartyId, issuerId, samlMessage);
-
         val request = HttpRequestUtils.getHttpServletRequestFromRequestAttributes();
         val ticketGrantingTicket = CookieUtils.getTicketGrantingTicketFromRequest(
             ticketGrantingTicketCookieGenerator, this.ticketRegistry, request);
@@ -40,6 +69,50 @@ public class CasSamlArtifactMap extends BasicSAMLArtifactMap {
             ticketGrantingTicket,
             issuerId,
             relyingPartyId, samlMessage);
-        this.ticketRegistry.addTicket(ticket);
+        if (this.localTickets != null) {
+            LOGGER.debug("Storing SAML artifact ticket [{}] locally", ticket.getId());
+            this.localTickets.put(ticket.getId(), ticket);
+        } else {
+            this.ticketRegistry.addTicket(ticket);
+        }
+    }
+
+    /**
+     * Retrieve the ticket linked to the artifact and remove it, so the artifact may not be resolved again.
+     * When the same artifact is resolved concurrently, only one caller receives the ticket.
+     *
+     * @param artifact the artifact
+     * @return the ticket, or null if the artifact is unknown, expired or was already resolved
+     */
+    public SamlArtifactTicket consumeTicket(final String artifact) {
+        val ticketId = samlArtifactTicketFactory.createTicketIdFor(artifact);
+        val ticket = this.localTickets != null
+            ? this.localTickets.asMap().remove(ticketId)
+            : this.ticketRegistry.consumeTicket(ticketId, SamlArtifactTicket.class);
+        if (ticket == null || ticket.isExpired()) {
+            LOGGER.debug("SAML artifact ticket [{}] cannot be found, has expired or has already been resolved", ticketId);
+            return null;
+        }
+        return ticket;
+    }
+
+    /**
+     * Expires locally stored tickets per their own expiration policy.
+     */
+    private static class SamlArtifactTicketExpiry implements Expiry<String, SamlArtifactTicket> {
+        @Override
+        public long expireAfterCreate(final String key, final SamlArtifactTicket value, final long currentTime) {
+            return TimeUnit.SECONDS.toNanos(value.getExpirationPolicy().getTimeToLive());
+        }
+
+        @Override
+        public long expireAfterUpdate(final String key, final SamlArtifactTicket value, final long currentTime, final long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(final String key, final SamlArtifactTicket value, final long currentTime, final long currentDuration) {
+            return currentDuration;
+        }
     }
 }
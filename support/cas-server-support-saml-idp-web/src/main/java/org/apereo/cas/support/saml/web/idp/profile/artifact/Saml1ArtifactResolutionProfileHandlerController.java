@@ -14,9 +14,7 @@ import org.apereo.cas.support.saml.web.idp.profile.AbstractSamlProfileHandlerCon
 import org.apereo.cas.support.saml.web.idp.profile.builders.SamlProfileObjectBuilder;
 import org.apereo.cas.support.saml.web.idp.profile.builders.enc.SamlIdPObjectSigner;
 import org.apereo.cas.support.saml.web.idp.profile.builders.enc.SamlObjectSignatureValidator;
-import org.apereo.cas.ticket.artifact.SamlArtifactTicket;
-import org.apereo.cas.ticket.artifact.SamlArtifactTicketFactory;
-import org.apereo.cas.ticket.registry.TicketRegistry;
+import org.apereo.cas.ticket.InvalidTicketException;
 import org.apereo.cas.util.CollectionUtils;
 
 import lombok.extern.slf4j.Slf4j;
@@ -39,8 +37,7 @@ import javax.servlet.http.HttpServletResponse;
 @Slf4j
 public class Saml1ArtifactResolutionProfileHandlerController extends AbstractSamlProfileHandlerController {
 
-    private final TicketRegistry ticketRegistry;
-    private final SamlArtifactTicketFactory artifactTicketFactory;
+    private final CasSamlArtifactMap samlArtifactMap;
     private final SamlProfileObjectBuilder<? extends SAMLObject> samlFaultResponseBuilder;
 
     public Saml1ArtifactResolutionProfileHandlerController(final SamlIdPObjectSigner samlObjectSigner,
@@ -53,15 +50,13 @@ public class Saml1ArtifactResolutionProfileHandlerController extends AbstractSam
                                                            final SamlProfileObjectBuilder<? extends SAMLObject> responseBuilder,
                                                            final CasConfigurationProperties casProperties,
                                                            final SamlObjectSignatureValidator samlObjectSignatureValidator,
-                                                           final TicketRegistry ticketRegistry,
-                                                           final SamlArtifactTicketFactory artifactTicketFactory,
+                                                           final CasSamlArtifactMap samlArtifactMap,
                                                            final SamlProfileObjectBuilder<? extends SAMLObject> samlFaultResponseBuilder,
                                                            final Service callbackService) {
         super(samlObjectSigner, parserPool, authenticationSystemSupport, servicesManager,
             webApplicationServiceFactory, samlRegisteredServiceCachingMetadataResolver, configBean,
             responseBuilder, casProperties, samlObjectSignatureValidator, callbackService);
-        this.ticketRegistry = ticketRegistry;
-        this.artifactTicketFactory = artifactTicketFactory;
+        this.samlArtifactMap = samlArtifactMap;
         this.samlFaultResponseBuilder = samlFaultResponseBuilder;
     }
 
@@ -86,8 +81,10 @@ public class Saml1ArtifactResolutionProfileHandlerController extends AbstractSam
             val facade = adaptor.get();
             verifyAuthenticationContextSignature(ctx, request, artifactMsg, facade);
             val artifactId = artifactMsg.getArtifact().getArtifact();
-            val ticketId = artifactTicketFactory.createTicketIdFor(artifactId);
-            val ticket = this.ticketRegistry.getTicket(ticketId, SamlArtifactTicket.class);
+            val ticket = this.samlArtifactMap.consumeTicket(artifactId);
+            if (ticket == null) {
+                throw new InvalidTicketException(artifactId);
+            }
 
             val issuerService = webApplicationServiceFactory.createService(issuer);
             val casAssertion = buildCasAssertion(ticket.getTicketGrantingTicket().getAuthentication(),
@@ -7,12 +7,17 @@ import org.apereo.cas.support.saml.services.SamlRegisteredService;
 import org.apereo.cas.support.saml.services.idp.metadata.SamlRegisteredServiceServiceProviderMetadataFacade;
 import org.apereo.cas.util.EncodingUtils;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import net.shibboleth.utilities.java.support.resolver.CriteriaSet;
 import org.opensaml.core.criterion.EntityIdCriterion;
 import org.opensaml.saml.criterion.EntityRoleCriterion;
+import org.opensaml.saml.metadata.resolver.MetadataResolver;
 import org.opensaml.saml.saml2.core.Assertion;
 import org.opensaml.saml.saml2.core.EncryptedAssertion;
 import org.opensaml.saml.saml2.encryption.Encrypter;
@@ -26,6 +31,8 @@ import org.opensaml.xmlsec.criterion.EncryptionConfigurationCriterion;
 import org.opensaml.xmlsec.encryption.support.DataEncryptionParameters;
 import org.opensaml.xmlsec.encryption.support.EncryptionConstants;
 import org.opensaml.xmlsec.encryption.support.KeyEncryptionParameters;
+import org.opensaml.xmlsec.impl.BasicEncryptionConfiguration;
+import org.opensaml.xmlsec.keyinfo.KeyInfoCredentialResolver;
 import org.opensaml.xmlsec.keyinfo.impl.BasicProviderKeyInfoCredentialResolver;
 import org.opensaml.xmlsec.keyinfo.impl.KeyInfoProvider;
 import org.opensaml.xmlsec.keyinfo.impl.provider.DEREncodedKeyValueProvider;
@@ -39,9 +46,13 @@ import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
- * This is {@link SamlObjectEncrypter}.
+ * This is {@link SamlObjectEncrypter}. Encryption credentials resolved from service provider metadata
+ * are cached per entity id, along with the metadata resolver they were resolved from. Once the metadata
+ * for the service provider is refreshed and a different resolver is handed over, the credential is resolved again.
  *
  * @author Misagh Moayyed
  * @since 5.0.0
@@ -69,6 +80,21 @@ public class SamlObjectEncrypter {
      */
     protected List overrideWhiteListedAlgorithms;
 
+    private static final int MAX_CACHE_SIZE = 10_000;
+
+    private final Cache<String, CachedEncryptionCredential> credentialCache = Caffeine.newBuilder()
+        .maximumSize(MAX_CACHE_SIZE)
+        .expireAfterAccess(1, TimeUnit.HOURS)
+        .build();
+
+    private final KeyInfoCredentialResolver keyInfoCredentialResolver = buildKeyInfoCredentialResolver();
+
+    private final LongAdder encryptionCount = new LongAdder();
+
+    private final LongAdder encryptionTime = new LongAdder();
+
+    private volatile BasicEncryptionConfiguration encryptionConfiguration;
+
     @Autowired
     private CasConfigurationProperties casProperties;
 
@@ -98,24 +124,48 @@ public class SamlObjectEncrypter {
                                      final HttpServletResponse response,
                                      final HttpServletRequest request) throws SamlException {
 
-        val className = samlObject.getClass().getName();
-        val entityId = adaptor.getEntityId();
-        LOGGER.debug("Attempting to encrypt [{}] for [{}]", className, entityId);
-        val credential = getKeyEncryptionCredential(entityId, adaptor, service);
-        LOGGER.info("Found encryption public key: [{}]", EncodingUtils.encodeBase64(credential.getPublicKey().getEncoded()));
+        val start = System.nanoTime();
+        try {
+            val className = samlObject.getClass().getName();
+            val entityId = adaptor.getEntityId();
+            LOGGER.debug("Attempting to encrypt [{}] for [{}]", className, entityId);
+            val credential = getKeyEncryptionCredential(entityId, adaptor, service);
+            LOGGER.debug("Found encryption public key: [{}]", EncodingUtils.encodeBase64(credential.getPublicKey().getEncoded()));
 
-        val keyEncParams = getKeyEncryptionParameters(samlObject, service, adaptor, credential);
-        LOGGER.debug("Key encryption algorithm for [{}] is [{}]", keyEncParams.getRecipient(), keyEncParams.getAlgorithm());
+            val keyEncParams = getKeyEncryptionParameters(samlObject, service, adaptor, credential);
+            LOGGER.debug("Key encryption algorithm for [{}] is [{}]", keyEncParams.getRecipient(), keyEncParams.getAlgorithm());
 
-        val dataEncParams = getDataEncryptionParameters(samlObject, service, adaptor);
-        LOGGER.debug("Data encryption algorithm for [{}] is [{}]", entityId, dataEncParams.getAlgorithm());
+            val dataEncParams = getDataEncryptionParameters(samlObject, service, adaptor);
+            LOGGER.debug("Data encryption algorithm for [{}] is [{}]", entityId, dataEncParams.getAlgorithm());
 
-        val encrypter = getEncrypter(samlObject, service, adaptor, keyEncParams, dataEncParams);
-        LOGGER.debug("Attempting to encrypt [{}] for [{}] with key placement of [{}]",
-            className, entityId, encrypter.getKeyPlacement());
+            val encrypter = getEncrypter(samlObject, service, adaptor, keyEncParams, dataEncParams);
+            LOGGER.debug("Attempting to encrypt [{}] for [{}] with key placement of [{}]",
+                className, entityId, encrypter.getKeyPlacement());
 
-        return encrypter.encrypt(samlObject);
+            return encrypter.encrypt(samlObject);
+        } finally {
+            this.encryptionTime.add(System.nanoTime() - start);
+            this.encryptionCount.increment();
+        }
+    }
 
+    /**
+     * Gets the number of objects this encrypter has processed.
+     *
+     * @return the encryption count
+     */
+    public long getEncryptionCount() {
+        return this.encryptionCount.sum();
+    }
+
+    /**
+     * Gets the total time spent encrypting objects.
+     *
+     * @param unit the time unit
+     * @return the total encryption time
+     */
+    public double getTotalEncryptionTime(final TimeUnit unit) {
+        return (double) this.encryptionTime.sum() / unit.toNanos(1);
     }
 
     /**
@@ -183,7 +233,64 @@ public class SamlObjectEncrypter {
     protected Credential getKeyEncryptionCredential(final String peerEntityId,
                                                     final SamlRegisteredServiceServiceProviderMetadataFacade adaptor,
                                                     final SamlRegisteredService service) throws Exception {
+        val metadataResolver = adaptor.getMetadataResolver();
+        val cached = this.credentialCache.getIfPresent(peerEntityId);
+        if (cached != null && cached.getMetadataResolver() == metadataResolver) {
+            LOGGER.trace("Located cached encryption credential for entity id [{}]", peerEntityId);
+            return cached.getCredential();
+        }
+        val credential = resolveKeyEncryptionCredential(peerEntityId, adaptor, service);
+        if (credential != null) {
+            this.credentialCache.put(peerEntityId, new CachedEncryptionCredential(metadataResolver, credential));
+        }
+        return credential;
+    }
+
+    /**
+     * Resolve the key encryption credential from service provider metadata.
+     *
+     * @param peerEntityId the peer entity id
+     * @param adaptor      the adaptor
+     * @param service      the service
+     * @return the key encryption credential
+     * @throws Exception the exception
+     */
+    protected Credential resolveKeyEncryptionCredential(final String peerEntityId,
+                                                        final SamlRegisteredServiceServiceProviderMetadataFacade adaptor,
+                                                        final SamlRegisteredService service) throws Exception {
         val idp = casProperties.getAuthn().getSamlIdp();
+        val kekCredentialResolver = new MetadataCredentialResolver();
+        kekCredentialResolver.setKeyInfoCredentialResolver(this.keyInfoCredentialResolver);
+
+        val roleDescriptorResolver = SamlIdPUtils.getRoleDescriptorResolver(adaptor,
+            idp.getMetadata().isRequireValidMetadata());
+
+        kekCredentialResolver.setRoleDescriptorResolver(roleDescriptorResolver);
+        kekCredentialResolver.initialize();
+
+        val criteriaSet = new CriteriaSet();
+        criteriaSet.add(new EncryptionConfigurationCriterion(getEncryptionConfiguration()));
+        criteriaSet.add(new EntityIdCriterion(peerEntityId));
+        criteriaSet.add(new EntityRoleCriterion(SPSSODescriptor.DEFAULT_ELEMENT_NAME));
+        criteriaSet.add(new UsageCriterion(UsageType.ENCRYPTION));
+
+        LOGGER.debug("Attempting to resolve the encryption key for entity id [{}]", peerEntityId);
+        return kekCredentialResolver.resolveSingle(criteriaSet);
+    }
+
+    /**
+     * Gets the encryption configuration, built once from the default configuration and the algorithm overrides.
+     *
+     * @return the encryption configuration
+     */
+    protected BasicEncryptionConfiguration getEncryptionConfiguration() {
+        if (this.encryptionConfiguration == null) {
+            this.encryptionConfiguration = buildEncryptionConfiguration();
+        }
+        return this.encryptionConfiguration;
+    }
+
+    private BasicEncryptionConfiguration buildEncryptionConfiguration() {
         val config =
             DefaultSecurityConfigurationBootstrap.buildDefaultEncryptionConfiguration();
 
@@ -207,34 +314,26 @@ public class SamlObjectEncrypter {
         LOGGER.debug("Encryption key algorithms: [{}]", config.getKeyTransportEncryptionAlgorithms());
         LOGGER.debug("Signature data algorithms: [{}]", config.getDataEncryptionAlgorithms());
         LOGGER.debug("Encryption whitelisted algorithms: [{}]", config.getWhitelistedAlgorithms());
+        return config;
+    }
 
-        val kekCredentialResolver = new MetadataCredentialResolver();
-
+    private static KeyInfoCredentialResolver buildKeyInfoCredentialResolver() {
         val providers = new ArrayList<KeyInfoProvider>();
         providers.add(new RSAKeyValueProvider());
         providers.add(new DSAKeyValueProvider());
         providers.add(new InlineX509DataProvider());
         providers.add(new DEREncodedKeyValueProvider());
         providers.add(new KeyInfoReferenceProvider());
-
-        val keyInfoResolver = new BasicProviderKeyInfoCredentialResolver(providers);
-        kekCredentialResolver.setKeyInfoCredentialResolver(keyInfoResolver);
-
-        val roleDescriptorResolver = SamlIdPUtils.getRoleDescriptorResolver(adaptor,
-            idp.getMetadata().isRequireValidMetadata());
-
-        kekCredentialResolver.setRoleDescriptorResolver(roleDescriptorResolver);
-        kekCredentialResolver.initialize();
-
-        val criteriaSet = new CriteriaSet();
-        criteriaSet.add(new EncryptionConfigurationCriterion(config));
-        criteriaSet.add(new EntityIdCriterion(peerEntityId));
-        criteriaSet.add(new EntityRoleCriterion(SPSSODescriptor.DEFAULT_ELEMENT_NAME));
-        criteriaSet.add(new UsageCriterion(UsageType.ENCRYPTION));
-
-        LOGGER.debug("Attempting to resolve the encryption key for entity id [{}]", peerEntityId);
-        return kekCredentialResolver.resolveSingle(criteriaSet);
+        return new BasicProviderKeyInfoCredentialResolver(providers);
     }
 
-
+    /**
+     * An encryption credential along with the metadata resolver it was resolved from.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    private static class CachedEncryptionCredential {
+        private final MetadataResolver metadataResolver;
+        private final Credential credential;
+    }
 }
@@ -18,12 +18,22 @@ import javax.servlet.http.HttpServletResponse;
  * @since 5.2.0
  */
 public class SamlResponsePostEncoder extends BaseSamlResponseEncoder {
+    private final boolean streaming;
 
     public SamlResponsePostEncoder(final VelocityEngine velocityEngineFactory,
                                    final SamlRegisteredServiceServiceProviderMetadataFacade adaptor,
                                    final HttpServletResponse httpResponse,
                                    final HttpServletRequest httpRequest) {
+        this(velocityEngineFactory, adaptor, httpResponse, httpRequest, false);
+    }
+
+    public SamlResponsePostEncoder(final VelocityEngine velocityEngineFactory,
+                                   final SamlRegisteredServiceServiceProviderMetadataFacade adaptor,
+                                   final HttpServletResponse httpResponse,
+                                   final HttpServletRequest httpRequest,
+                                   final boolean streaming) {
         super(velocityEngineFactory, adaptor, httpResponse, httpRequest);
+        this.streaming = streaming;
     }
 
     @Override
@@ -33,7 +43,7 @@ public class SamlResponsePostEncoder extends BaseSamlResponseEncoder {
 
     @Override
     protected BaseSAML2MessageEncoder getMessageEncoderInstance() {
-        val encoder = new HTTPPostEncoder();
+        val encoder = this.streaming ? new StreamingHTTPPostEncoder() : new HTTPPostEncoder();
         encoder.setVelocityEngine(this.velocityEngineFactory);
         return encoder;
     }
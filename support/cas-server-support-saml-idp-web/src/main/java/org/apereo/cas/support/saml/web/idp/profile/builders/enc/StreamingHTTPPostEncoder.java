@@ -0,0 +1,113 @@
+package org.apereo.cas.support.saml.web.idp.profile.builders.enc;
+
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import net.shibboleth.utilities.java.support.net.HttpServletSupport;
+import net.shibboleth.utilities.java.support.xml.SerializeSupport;
+import org.apache.commons.codec.binary.Base64OutputStream;
+import org.apache.commons.io.output.CloseShieldOutputStream;
+import org.opensaml.core.xml.io.MarshallingException;
+import org.opensaml.core.xml.util.XMLObjectSupport;
+import org.opensaml.messaging.context.MessageContext;
+import org.opensaml.messaging.encoder.MessageEncodingException;
+import org.opensaml.saml.common.SAMLObject;
+import org.opensaml.saml.common.binding.SAMLBindingSupport;
+import org.opensaml.saml.saml2.binding.encoding.impl.HTTPPostEncoder;
+import org.opensaml.saml.saml2.core.RequestAbstractType;
+import org.springframework.web.util.HtmlUtils;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * This is {@link StreamingHTTPPostEncoder} that renders the SAML2 HTTP-POST binding form without
+ * going through Velocity. The message is marshalled, or its existing signed DOM is reused, and serialized
+ * straight through a Base64 encoder into the servlet output stream, so the message is not copied
+ * into intermediate strings. The form itself is rendered from fixed fragments, equivalent
+ * to the default OpenSAML POST binding template; the Velocity engine and any customized
+ * {@code /templates/saml2-post-binding.vm} are not consulted, which is why this encoder is only
+ * used when streaming is explicitly turned on.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@Slf4j
+public class StreamingHTTPPostEncoder extends HTTPPostEncoder {
+    private static final int BUFFER_SIZE = 8192;
+
+    private static final byte[] FORM_START = ("<!DOCTYPE html>\n"
+        + "<html>\n"
+        + "    <head>\n"
+        + "        <meta charset=\"utf-8\" />\n"
+        + "    </head>\n"
+        + "    <body onload=\"document.forms[0].submit()\">\n"
+        + "        <noscript>\n"
+        + "            <p>\n"
+        + "                <strong>Note:</strong> Since your browser does not support JavaScript,\n"
+        + "                you must press the Continue button once to proceed.\n"
+        + "            </p>\n"
+        + "        </noscript>\n"
+        + "        <form action=\"").getBytes(StandardCharsets.UTF_8);
+
+    private static final byte[] FORM_ACTION_END = "\" method=\"post\">\n            <div>\n".getBytes(StandardCharsets.UTF_8);
+
+    private static final byte[] RELAY_STATE_START = "                <input type=\"hidden\" name=\"RelayState\" value=\""
+        .getBytes(StandardCharsets.UTF_8);
+
+    private static final byte[] SAML_REQUEST_START = "                <input type=\"hidden\" name=\"SAMLRequest\" value=\""
+        .getBytes(StandardCharsets.UTF_8);
+
+    private static final byte[] SAML_RESPONSE_START = "                <input type=\"hidden\" name=\"SAMLResponse\" value=\""
+        .getBytes(StandardCharsets.UTF_8);
+
+    private static final byte[] INPUT_END = "\"/>\n".getBytes(StandardCharsets.UTF_8);
+
+    private static final byte[] FORM_END = ("            </div>\n"
+        + "            <noscript>\n"
+        + "                <div>\n"
+        + "                    <input type=\"submit\" value=\"Continue\"/>\n"
+        + "                </div>\n"
+        + "            </noscript>\n"
+        + "        </form>\n"
+        + "    </body>\n"
+        + "</html>").getBytes(StandardCharsets.UTF_8);
+
+    @Override
+    protected void postEncode(final MessageContext<SAMLObject> messageContext, final String endpointURL) throws MessageEncodingException {
+        val message = messageContext.getMessage();
+        val relayState = SAMLBindingSupport.getRelayState(messageContext);
+        try {
+            val dom = XMLObjectSupport.marshall(message);
+            val response = getHttpServletResponse();
+            HttpServletSupport.addNoCacheHeaders(response);
+            HttpServletSupport.setUTF8Encoding(response);
+            HttpServletSupport.setContentType(response, "text/html");
+
+            val out = new BufferedOutputStream(response.getOutputStream(), BUFFER_SIZE);
+            out.write(FORM_START);
+            writeEscaped(out, endpointURL);
+            out.write(FORM_ACTION_END);
+            if (SAMLBindingSupport.checkRelayState(relayState)) {
+                out.write(RELAY_STATE_START);
+                writeEscaped(out, relayState);
+                out.write(INPUT_END);
+            }
+            out.write(message instanceof RequestAbstractType ? SAML_REQUEST_START : SAML_RESPONSE_START);
+            try (val base64 = new Base64OutputStream(new CloseShieldOutputStream(out), true, 0, null)) {
+                SerializeSupport.writeNode(dom, base64);
+            }
+            out.write(INPUT_END);
+            out.write(FORM_END);
+            out.flush();
+            LOGGER.debug("Encoded [{}] using the HTTP-POST binding for [{}]", message.getClass().getSimpleName(), endpointURL);
+        } catch (final MarshallingException | IOException e) {
+            throw new MessageEncodingException("Unable to encode SAML message for " + endpointURL, e);
+        }
+    }
+
+    private static void writeEscaped(final OutputStream out, final String value) throws IOException {
+        out.write(HtmlUtils.htmlEscape(value, StandardCharsets.UTF_8.name()).getBytes(StandardCharsets.UTF_8));
+    }
+}
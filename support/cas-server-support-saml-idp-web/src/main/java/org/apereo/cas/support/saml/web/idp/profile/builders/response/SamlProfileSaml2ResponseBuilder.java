@@ -141,7 +141,8 @@ public class SamlProfileSaml2ResponseBuilder extends BaseSamlProfileSamlResponse
             return encoder.encode(authnRequest, samlResponse, relayState);
         }
 
-        val encoder = new SamlResponsePostEncoder(this.velocityEngineFactory, adaptor, httpResponse, httpRequest);
+        val encoder = new SamlResponsePostEncoder(this.velocityEngineFactory, adaptor, httpResponse, httpRequest,
+            casProperties.getAuthn().getSamlIdp().getResponse().isStreamPostBinding());
         return encoder.encode(authnRequest, samlResponse, relayState);
     }
 
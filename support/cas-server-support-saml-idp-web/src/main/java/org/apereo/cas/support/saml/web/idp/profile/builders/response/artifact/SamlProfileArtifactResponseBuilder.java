@@ -64,7 +64,7 @@ public class SamlProfileArtifactResponseBuilder extends SamlProfileSamlSoap11Res
         artifactResponse.setID(ticket.getId());
         artifactResponse.setStatus(newStatus(StatusCode.SUCCESS, "Success"));
 
-        val samlResponse = SamlUtils.transformSamlObject(configBean, ticket.getObject(), SAMLObject.class);
+        val samlResponse = SamlUtils.transformSamlObject(configBean, ticket.decodeObject(), SAMLObject.class);
         artifactResponse.setMessage(samlResponse);
 
         val header = newSoapObject(Header.class);
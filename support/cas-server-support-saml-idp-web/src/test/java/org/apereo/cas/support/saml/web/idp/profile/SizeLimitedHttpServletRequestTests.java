@@ -0,0 +1,55 @@
+package org.apereo.cas.support.saml.web.idp.profile;
+
+import lombok.val;
+import org.apache.commons.io.IOUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link SizeLimitedHttpServletRequestTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+public class SizeLimitedHttpServletRequestTests {
+    private static final String BODY = "<soap11:Envelope xmlns:soap11=\"http://schemas.xmlsoap.org/soap/envelope/\"/>";
+
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    @Test
+    public void verifyBodyWithinLimitIsRead() throws Exception {
+        val request = new MockHttpServletRequest();
+        request.setContent(BODY.getBytes(StandardCharsets.UTF_8));
+        val limited = new SizeLimitedHttpServletRequest(request, BODY.length());
+        assertEquals(BODY, IOUtils.toString(limited.getInputStream(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void verifyDeclaredLengthOverLimitIsRejected() throws Exception {
+        val request = new MockHttpServletRequest();
+        request.setContent(BODY.getBytes(StandardCharsets.UTF_8));
+        this.thrown.expect(IOException.class);
+        new SizeLimitedHttpServletRequest(request, BODY.length() - 1).getInputStream();
+    }
+
+    @Test
+    public void verifyUndeclaredBodyOverLimitIsRejected() throws Exception {
+        val request = new MockHttpServletRequest() {
+            @Override
+            public long getContentLengthLong() {
+                return -1;
+            }
+        };
+        request.setContent(BODY.getBytes(StandardCharsets.UTF_8));
+        this.thrown.expect(IOException.class);
+        IOUtils.toString(new SizeLimitedHttpServletRequest(request, BODY.length() - 1).getInputStream(), StandardCharsets.UTF_8);
+    }
+}
@@ -4,7 +4,9 @@ import org.apereo.cas.audit.AuditTrailConstants;
 import org.apereo.cas.audit.AuditTrailRecordResolutionPlan;
 import org.apereo.cas.audit.AuditTrailRecordResolutionPlanConfigurer;
 import org.apereo.cas.authentication.principal.PersistentIdGenerator;
+import org.apereo.cas.authentication.principal.PersistentIdStore;
 import org.apereo.cas.authentication.principal.ServiceFactory;
+import org.apereo.cas.authentication.principal.StoredPersistentIdGenerator;
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.logout.SingleLogoutServiceLogoutUrlBuilder;
 import org.apereo.cas.services.ServicesManager;
@@ -46,10 +48,11 @@ import org.apereo.cas.ticket.registry.TicketRegistry;
 import org.apereo.cas.web.UrlValidator;
 import org.apereo.cas.web.support.CookieRetrievingCookieGenerator;
 
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import lombok.val;
 import org.apache.velocity.app.VelocityEngine;
 import org.apereo.inspektr.audit.spi.support.DefaultAuditActionResolver;
-import org.opensaml.saml.common.binding.artifact.SAMLArtifactMap;
 import org.opensaml.saml.metadata.resolver.MetadataResolver;
 import org.opensaml.saml.saml2.core.Assertion;
 import org.opensaml.saml.saml2.core.AttributeStatement;
@@ -102,6 +105,10 @@ public class SamlIdPConfiguration implements AuditTrailRecordResolutionPlanConfi
     @Qualifier("shibbolethCompatiblePersistentIdGenerator")
     private PersistentIdGenerator shibbolethCompatiblePersistentIdGenerator;
 
+    @Autowired
+    @Qualifier("persistentIdStore")
+    private PersistentIdStore persistentIdStore;
+
     @Autowired
     @Qualifier("servicesManager")
     private ServicesManager servicesManager;
@@ -154,7 +161,8 @@ public class SamlIdPConfiguration implements AuditTrailRecordResolutionPlanConfi
     public SamlArtifactTicketFactory samlArtifactTicketFactory() {
         return new DefaultSamlArtifactTicketFactory(samlArtifactTicketExpirationPolicy(),
             openSamlConfigBean,
-            webApplicationServiceFactory);
+            webApplicationServiceFactory,
+            casProperties.getAuthn().getSamlIdp().getTicket().isCompressSamlArtifacts());
     }
 
     @ConditionalOnMissingBean(name = "samlArtifactTicketExpirationPolicy")
@@ -165,9 +173,11 @@ public class SamlIdPConfiguration implements AuditTrailRecordResolutionPlanConfi
 
     @Bean(initMethod = "initialize", destroyMethod = "destroy")
     @RefreshScope
-    public SAMLArtifactMap samlArtifactMap() {
+    public CasSamlArtifactMap samlArtifactMap() {
+        val ticket = casProperties.getAuthn().getSamlIdp().getTicket();
         val map = new CasSamlArtifactMap(ticketRegistry, samlArtifactTicketFactory(),
-            ticketGrantingTicketCookieGenerator.getIfAvailable());
+            ticketGrantingTicketCookieGenerator.getIfAvailable(),
+            ticket.isStoreSamlArtifactsLocally(), ticket.getLocalSamlArtifactsCacheSize());
         map.setArtifactLifetime(TimeUnit.SECONDS.toMillis(samlArtifactTicketExpirationPolicy().getTimeToLive()));
         return map;
     }
@@ -237,7 +247,8 @@ public class SamlIdPConfiguration implements AuditTrailRecordResolutionPlanConfi
     @Bean
     @RefreshScope
     public SamlProfileObjectBuilder<NameID> samlProfileSamlNameIdBuilder() {
-        return new SamlProfileSamlNameIdBuilder(openSamlConfigBean, shibbolethCompatiblePersistentIdGenerator);
+        return new SamlProfileSamlNameIdBuilder(openSamlConfigBean,
+            new StoredPersistentIdGenerator(shibbolethCompatiblePersistentIdGenerator, persistentIdStore));
     }
 
     @ConditionalOnMissingBean(name = "samlProfileSamlConditionsBuilder")
@@ -293,6 +304,17 @@ public class SamlIdPConfiguration implements AuditTrailRecordResolutionPlanConfi
             algs.getOverrideWhiteListedAlgorithms());
     }
 
+    @ConditionalOnMissingBean(name = "samlObjectEncrypterMeterBinder")
+    @Bean
+    public MeterBinder samlObjectEncrypterMeterBinder() {
+        return registry -> FunctionTimer.builder("cas.saml.idp.encryption", samlObjectEncrypter(),
+            SamlObjectEncrypter::getEncryptionCount,
+            encrypter -> encrypter.getTotalEncryptionTime(TimeUnit.NANOSECONDS),
+            TimeUnit.NANOSECONDS)
+            .description("Time spent encrypting SAML assertions for service providers")
+            .register(registry);
+    }
+
     @ConditionalOnMissingBean(name = "samlObjectSigner")
     @Bean
     @RefreshScope
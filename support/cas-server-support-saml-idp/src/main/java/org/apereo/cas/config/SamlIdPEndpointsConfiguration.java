@@ -14,6 +14,7 @@ import org.apereo.cas.support.saml.SamlIdPConstants;
 import org.apereo.cas.support.saml.services.SamlIdPServiceRegistry;
 import org.apereo.cas.support.saml.services.idp.metadata.cache.SamlRegisteredServiceCachingMetadataResolver;
 import org.apereo.cas.support.saml.web.idp.profile.IdPInitiatedProfileHandlerController;
+import org.apereo.cas.support.saml.web.idp.profile.artifact.CasSamlArtifactMap;
 import org.apereo.cas.support.saml.web.idp.profile.artifact.Saml1ArtifactResolutionProfileHandlerController;
 import org.apereo.cas.support.saml.web.idp.profile.builders.SamlProfileObjectBuilder;
 import org.apereo.cas.support.saml.web.idp.profile.builders.enc.SamlIdPObjectSignatureValidator;
@@ -28,7 +29,6 @@ import org.apereo.cas.support.saml.web.idp.profile.sso.SSOSamlPostSimpleSignProf
 import org.apereo.cas.support.saml.web.idp.profile.sso.SSOSamlProfileCallbackHandlerController;
 import org.apereo.cas.support.saml.web.idp.profile.sso.request.DefaultSSOSamlHttpRequestExtractor;
 import org.apereo.cas.support.saml.web.idp.profile.sso.request.SSOSamlHttpRequestExtractor;
-import org.apereo.cas.ticket.artifact.SamlArtifactTicketFactory;
 import org.apereo.cas.ticket.query.SamlAttributeQueryTicketFactory;
 import org.apereo.cas.ticket.registry.TicketRegistry;
 import org.apereo.cas.util.RandomUtils;
@@ -135,8 +135,8 @@ public class SamlIdPEndpointsConfiguration implements ServiceRegistryExecutionPl
     private TicketRegistry ticketRegistry;
 
     @Autowired
-    @Qualifier("samlArtifactTicketFactory")
-    private ObjectProvider<SamlArtifactTicketFactory> samlArtifactTicketFactory;
+    @Qualifier("samlArtifactMap")
+    private ObjectProvider<CasSamlArtifactMap> samlArtifactMap;
 
     @ConditionalOnMissingBean(name = "samlIdPObjectSignatureValidator")
     @Bean
@@ -310,8 +310,7 @@ public class SamlIdPEndpointsConfiguration implements ServiceRegistryExecutionPl
             samlProfileSamlArtifactResponseBuilder,
             casProperties,
             samlObjectSignatureValidator(),
-            ticketRegistry,
-            samlArtifactTicketFactory.getIfAvailable(),
+            samlArtifactMap.getIfAvailable(),
             samlProfileSamlArtifactFaultResponseBuilder,
             samlIdPCallbackService());
     }
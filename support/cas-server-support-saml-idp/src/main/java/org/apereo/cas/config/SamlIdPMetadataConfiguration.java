@@ -13,6 +13,7 @@ import org.apereo.cas.support.saml.idp.metadata.writer.SamlIdPCertificateAndKeyW
 import org.apereo.cas.support.saml.services.idp.metadata.SamlRegisteredServiceMetadataHealthIndicator;
 import org.apereo.cas.support.saml.services.idp.metadata.cache.SamlRegisteredServiceCachingMetadataResolver;
 import org.apereo.cas.support.saml.services.idp.metadata.cache.SamlRegisteredServiceDefaultCachingMetadataResolver;
+import org.apereo.cas.support.saml.services.idp.metadata.cache.SamlRegisteredServiceMetadataRefreshStatistics;
 import org.apereo.cas.support.saml.services.idp.metadata.cache.SamlRegisteredServiceMetadataResolverCacheLoader;
 import org.apereo.cas.support.saml.services.idp.metadata.cache.resolver.ClasspathResourceMetadataResolver;
 import org.apereo.cas.support.saml.services.idp.metadata.cache.resolver.FileSystemResourceMetadataResolver;
@@ -26,6 +27,9 @@ import org.apereo.cas.support.saml.web.idp.metadata.SamlIdPMetadataController;
 import org.apereo.cas.util.CollectionUtils;
 import org.apereo.cas.util.http.HttpClient;
 
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
@@ -44,8 +48,12 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.DependsOn;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.core.io.ResourceLoader;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 
 import java.net.URL;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 /**
  * This is {@link SamlIdPMetadataConfiguration}.
@@ -166,12 +174,56 @@ public class SamlIdPMetadataConfiguration {
     @Bean
     @RefreshScope
     public SamlRegisteredServiceCachingMetadataResolver defaultSamlRegisteredServiceCachingMetadataResolver() {
+        val metadata = casProperties.getAuthn().getSamlIdp().getMetadata();
         return new SamlRegisteredServiceDefaultCachingMetadataResolver(
-            casProperties.getAuthn().getSamlIdp().getMetadata().getCacheExpirationMinutes(),
-            chainingMetadataResolverCacheLoader()
+            metadata.getCacheExpirationMinutes(),
+            metadata.getCacheGracePeriodMinutes(),
+            chainingMetadataResolverCacheLoader(),
+            samlRegisteredServiceMetadataRefreshExecutor(),
+            samlRegisteredServiceMetadataRefreshStatistics()
         );
     }
 
+    @ConditionalOnMissingBean(name = "samlRegisteredServiceMetadataRefreshStatistics")
+    @Bean
+    public SamlRegisteredServiceMetadataRefreshStatistics samlRegisteredServiceMetadataRefreshStatistics() {
+        return new SamlRegisteredServiceMetadataRefreshStatistics();
+    }
+
+    @ConditionalOnMissingBean(name = "samlRegisteredServiceMetadataRefreshExecutor")
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService samlRegisteredServiceMetadataRefreshExecutor() {
+        val threadFactory = new CustomizableThreadFactory("saml-metadata-refresh-");
+        threadFactory.setDaemon(true);
+        val threads = Math.max(1, casProperties.getAuthn().getSamlIdp().getMetadata().getCacheRefreshThreads());
+        return Executors.newFixedThreadPool(threads, threadFactory);
+    }
+
+    @ConditionalOnMissingBean(name = "samlRegisteredServiceMetadataMeterBinder")
+    @Bean
+    public MeterBinder samlRegisteredServiceMetadataMeterBinder(
+        @Qualifier("samlRegisteredServiceMetadataRefreshStatistics") final SamlRegisteredServiceMetadataRefreshStatistics statistics,
+        @Qualifier("defaultSamlRegisteredServiceCachingMetadataResolver") final SamlRegisteredServiceCachingMetadataResolver resolver) {
+        return registry -> {
+            FunctionCounter.builder("cas.saml.metadata.refresh.count", statistics,
+                SamlRegisteredServiceMetadataRefreshStatistics::getRefreshCount)
+                .description("Number of background refreshes of SAML service provider metadata")
+                .register(registry);
+            FunctionCounter.builder("cas.saml.metadata.refresh.failures", statistics,
+                SamlRegisteredServiceMetadataRefreshStatistics::getRefreshFailureCount)
+                .description("Number of failed background refreshes of SAML service provider metadata")
+                .register(registry);
+            TimeGauge.builder("cas.saml.metadata.refresh.duration", statistics, TimeUnit.SECONDS,
+                s -> s.getLastRefreshDuration(TimeUnit.SECONDS))
+                .description("Duration of the last background refresh of SAML service provider metadata")
+                .register(registry);
+            TimeGauge.builder("cas.saml.metadata.staleness", resolver, TimeUnit.SECONDS,
+                r -> r.getMaximumStaleness(TimeUnit.SECONDS))
+                .description("How long the most outdated cached SAML service provider metadata has been stale")
+                .register(registry);
+        };
+    }
+
     @ConditionalOnMissingBean(name = "samlRegisteredServiceMetadataHealthIndicator")
     @Bean
     public HealthIndicator samlRegisteredServiceMetadataHealthIndicator() {
@@ -4,6 +4,7 @@ import org.apereo.cas.support.saml.SamlAttributeEncoderTests;
 import org.apereo.cas.support.saml.SamlIdPConfigurationTests;
 import org.apereo.cas.support.saml.SamlRegisteredServiceJpaMicrosoftSqlServerTests;
 import org.apereo.cas.support.saml.SamlRegisteredServiceJpaTests;
+import org.apereo.cas.support.saml.SamlRegisteredServiceMetadataMeterBinderTests;
 import org.apereo.cas.support.saml.SamlRegisteredServiceTests;
 import org.apereo.cas.support.saml.services.GroovySamlRegisteredServiceAttributeReleasePolicyTests;
 import org.apereo.cas.support.saml.services.PatternMatchingEntityIdAttributeReleasePolicyTests;
@@ -25,7 +26,8 @@ import org.junit.runners.Suite;
     SamlRegisteredServiceJpaTests.class,
     SamlRegisteredServiceJpaMicrosoftSqlServerTests.class,
     PatternMatchingEntityIdAttributeReleasePolicyTests.class,
-    GroovySamlRegisteredServiceAttributeReleasePolicyTests.class
+    GroovySamlRegisteredServiceAttributeReleasePolicyTests.class,
+    SamlRegisteredServiceMetadataMeterBinderTests.class
 })
 public class AllTestsSuite {
 }
@@ -30,10 +30,12 @@ import org.apereo.cas.services.ServicesManager;
 import org.apereo.cas.support.saml.idp.metadata.locator.FileSystemSamlIdPMetadataLocator;
 import org.apereo.cas.support.saml.idp.metadata.locator.SamlIdPMetadataLocator;
 import org.apereo.cas.support.saml.services.SamlRegisteredService;
+import org.apereo.cas.support.saml.services.idp.metadata.SamlRegisteredServiceServiceProviderMetadataFacade;
 import org.apereo.cas.support.saml.services.idp.metadata.cache.SamlRegisteredServiceCachingMetadataResolver;
 import org.apereo.cas.support.saml.web.idp.profile.builders.SamlProfileObjectBuilder;
 import org.apereo.cas.support.saml.web.idp.profile.builders.enc.SamlIdPObjectSigner;
 import org.apereo.cas.support.saml.web.idp.profile.builders.enc.SamlObjectSignatureValidator;
+import org.apereo.cas.util.EncodingUtils;
 import org.apereo.cas.validation.config.CasCoreValidationConfiguration;
 import org.apereo.cas.web.config.CasCookieConfiguration;
 import org.apereo.cas.web.flow.config.CasCoreWebflowConfiguration;
@@ -45,6 +47,8 @@ import org.jasig.cas.client.validation.AssertionImpl;
 import org.junit.BeforeClass;
 import org.junit.ClassRule;
 import org.junit.Rule;
+import org.opensaml.messaging.context.MessageContext;
+import org.opensaml.saml.common.xml.SAMLConstants;
 import org.opensaml.saml.metadata.resolver.MetadataResolver;
 import org.opensaml.saml.saml2.core.AuthnRequest;
 import org.opensaml.saml.saml2.core.Issuer;
@@ -59,7 +63,14 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.core.io.FileSystemResource;
 import org.springframework.test.context.junit4.rules.SpringClassRule;
 import org.springframework.test.context.junit4.rules.SpringMethodRule;
+import org.springframework.web.util.HtmlUtils;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.regex.Pattern;
+
+import static org.junit.Assert.*;
 import static org.mockito.Mockito.*;
 
 /**
@@ -158,6 +169,51 @@ public abstract class BaseSamlIdPConfigurationTests {
         return authnRequest;
     }
 
+    /**
+     * Gets the value of an attribute in a form rendered for the HTTP-POST binding, with html entities unescaped.
+     *
+     * @param content   the rendered form
+     * @param attribute the pattern that precedes the attribute value, i.e. {@code <form action}
+     * @return the attribute value
+     */
+    protected static String getPostBindingFormValue(final String content, final String attribute) {
+        val matcher = Pattern.compile(attribute + "=\"([^\"]*)\"").matcher(content);
+        assertTrue(matcher.find());
+        return HtmlUtils.htmlUnescape(matcher.group(1));
+    }
+
+    /**
+     * Gets the decoded SAML response posted by a form rendered for the HTTP-POST binding.
+     *
+     * @param content the rendered form
+     * @return the SAML response xml
+     */
+    protected static String getPostBindingSamlResponse(final String content) {
+        val encoded = getPostBindingFormValue(content, "name=\"SAMLResponse\" value");
+        return new String(EncodingUtils.decodeBase64(encoded), StandardCharsets.UTF_8);
+    }
+
+    protected SamlRegisteredServiceServiceProviderMetadataFacade getMetadataFacadeFor(final SamlRegisteredService service) {
+        return SamlRegisteredServiceServiceProviderMetadataFacade.get(samlRegisteredServiceCachingMetadataResolver,
+            service, service.getServiceId()).get();
+    }
+
+    /**
+     * Build a signed SAML response for the test service provider, encoded into the http response
+     * using the HTTP-POST binding.
+     *
+     * @param request  the request
+     * @param response the response
+     * @return the SAML response
+     */
+    protected Response buildSamlResponseForPostBinding(final HttpServletRequest request, final HttpServletResponse response) {
+        val service = getSamlRegisteredServiceForTestShib(true, true);
+        return samlProfileSamlResponseBuilder.build(getAuthnRequestFor(service), request, response,
+            getAssertion(), service, getMetadataFacadeFor(service),
+            SAMLConstants.SAML2_POST_BINDING_URI,
+            new MessageContext());
+    }
+
     protected SamlRegisteredService getSamlRegisteredServiceForTestShib() {
         return getSamlRegisteredServiceForTestShib(false, false, false);
     }
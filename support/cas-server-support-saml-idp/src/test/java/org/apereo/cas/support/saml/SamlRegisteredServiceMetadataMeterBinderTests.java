@@ -0,0 +1,39 @@
+package org.apereo.cas.support.saml;
+
+import org.apereo.cas.category.FileSystemCategory;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.val;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link SamlRegisteredServiceMetadataMeterBinderTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@Category(FileSystemCategory.class)
+public class SamlRegisteredServiceMetadataMeterBinderTests extends BaseSamlIdPConfigurationTests {
+
+    @Autowired
+    @Qualifier("samlRegisteredServiceMetadataMeterBinder")
+    private MeterBinder samlRegisteredServiceMetadataMeterBinder;
+
+    @Test
+    public void verifyMetersAreRegistered() {
+        val registry = new SimpleMeterRegistry();
+        samlRegisteredServiceMetadataMeterBinder.bindTo(registry);
+        assertNotNull(registry.find("cas.saml.metadata.refresh.count").functionCounter());
+        assertNotNull(registry.find("cas.saml.metadata.refresh.failures").functionCounter());
+        assertNotNull(registry.find("cas.saml.metadata.refresh.duration").timeGauge());
+        val staleness = registry.find("cas.saml.metadata.staleness").timeGauge();
+        assertNotNull(staleness);
+        assertEquals(0, staleness.value(), 0);
+    }
+}
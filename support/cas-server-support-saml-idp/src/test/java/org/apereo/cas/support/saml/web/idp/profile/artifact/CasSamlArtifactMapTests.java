@@ -0,0 +1,182 @@
+package org.apereo.cas.support.saml.web.idp.profile.artifact;
+
+import org.apereo.cas.authentication.AuthenticationSystemSupport;
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
+import org.apereo.cas.authentication.principal.WebApplicationServiceFactory;
+import org.apereo.cas.category.FileSystemCategory;
+import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.support.saml.BaseSamlIdPConfigurationTests;
+import org.apereo.cas.support.saml.SamlIdPConstants;
+import org.apereo.cas.support.saml.SamlUtils;
+import org.apereo.cas.support.saml.web.idp.profile.builders.SamlProfileObjectBuilder;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.TicketGrantingTicketImpl;
+import org.apereo.cas.ticket.artifact.SamlArtifactTicketFactory;
+import org.apereo.cas.ticket.registry.TicketRegistry;
+import org.apereo.cas.ticket.support.NeverExpiresExpirationPolicy;
+import org.apereo.cas.web.support.CookieRetrievingCookieGenerator;
+
+import lombok.val;
+import org.joda.time.DateTime;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.opensaml.core.xml.util.XMLObjectSupport;
+import org.opensaml.saml.common.SAMLObject;
+import org.opensaml.saml.saml2.core.Artifact;
+import org.opensaml.saml.saml2.core.ArtifactResolve;
+import org.opensaml.saml.saml2.core.Issuer;
+import org.opensaml.saml.saml2.core.Response;
+import org.opensaml.saml.saml2.core.impl.ResponseBuilder;
+import org.opensaml.soap.soap11.Body;
+import org.opensaml.soap.soap11.Envelope;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.servlet.http.HttpServletRequest;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * This is {@link CasSamlArtifactMapTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@Category(FileSystemCategory.class)
+public class CasSamlArtifactMapTests extends BaseSamlIdPConfigurationTests {
+    private static final String RELYING_PARTY = "https://sp.testshib.org/shibboleth-sp";
+
+    private static final String ISSUER = "https://cas.example.org/idp";
+
+    @Autowired
+    @Qualifier("ticketRegistry")
+    private TicketRegistry ticketRegistry;
+
+    @Autowired
+    @Qualifier("samlArtifactTicketFactory")
+    private SamlArtifactTicketFactory samlArtifactTicketFactory;
+
+    private TicketGrantingTicket ticketGrantingTicket;
+
+    @Before
+    public void before() {
+        this.ticketGrantingTicket = new TicketGrantingTicketImpl("TGT-" + UUID.randomUUID(),
+            CoreAuthenticationTestUtils.getAuthentication(), new NeverExpiresExpirationPolicy());
+        this.ticketRegistry.addTicket(this.ticketGrantingTicket);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest(), new MockHttpServletResponse()));
+    }
+
+    @After
+    public void after() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    private CasSamlArtifactMap getArtifactMap(final boolean storeTicketsLocally, final TicketRegistry ticketRegistry) {
+        val generator = mock(CookieRetrievingCookieGenerator.class);
+        when(generator.retrieveCookieValue(any(HttpServletRequest.class))).thenReturn(this.ticketGrantingTicket.getId());
+        return new CasSamlArtifactMap(ticketRegistry, samlArtifactTicketFactory, generator, storeTicketsLocally, 10);
+    }
+
+    private static Response getResponse() {
+        val response = new ResponseBuilder().buildObject();
+        response.setID('_' + UUID.randomUUID().toString());
+        return response;
+    }
+
+    private MockHttpServletRequest getArtifactResolveRequest(final String artifact) {
+        val issuer = (Issuer) XMLObjectSupport.buildXMLObject(Issuer.DEFAULT_ELEMENT_NAME);
+        issuer.setValue(RELYING_PARTY);
+        val artifactObject = (Artifact) XMLObjectSupport.buildXMLObject(Artifact.DEFAULT_ELEMENT_NAME);
+        artifactObject.setArtifact(artifact);
+        val artifactResolve = (ArtifactResolve) XMLObjectSupport.buildXMLObject(ArtifactResolve.DEFAULT_ELEMENT_NAME);
+        artifactResolve.setID('_' + UUID.randomUUID().toString());
+        artifactResolve.setIssueInstant(DateTime.now());
+        artifactResolve.setIssuer(issuer);
+        artifactResolve.setArtifact(artifactObject);
+        val body = (Body) XMLObjectSupport.buildXMLObject(Body.DEFAULT_ELEMENT_NAME);
+        body.getUnknownXMLObjects().add(artifactResolve);
+        val envelope = (Envelope) XMLObjectSupport.buildXMLObject(Envelope.DEFAULT_ELEMENT_NAME);
+        envelope.setBody(body);
+
+        val request = new MockHttpServletRequest("POST", SamlIdPConstants.ENDPOINT_SAML1_SOAP_ARTIFACT_RESOLUTION);
+        request.setContentType("text/xml");
+        request.setContent(SamlUtils.transformSamlObject(openSamlConfigBean, envelope).toString().getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+
+    @Test
+    public void verifyArtifactIsResolvedOnce() throws Exception {
+        val map = getArtifactMap(false, this.ticketRegistry);
+        val response = getResponse();
+        map.put("registry-artifact", RELYING_PARTY, ISSUER, response);
+        val ticketId = samlArtifactTicketFactory.createTicketIdFor("registry-artifact");
+        assertNotNull(this.ticketRegistry.getTicket(ticketId));
+
+        val ticket = map.consumeTicket("registry-artifact");
+        assertNotNull(ticket);
+        assertEquals(ISSUER, ticket.getIssuer());
+        assertTrue(ticket.decodeObject().contains(response.getID()));
+        assertNull(this.ticketRegistry.getTicket(ticketId));
+        assertNull(map.consumeTicket("registry-artifact"));
+    }
+
+    @Test
+    public void verifyArtifactIsStoredLocally() throws Exception {
+        val registry = mock(TicketRegistry.class);
+        when(registry.getTicket(this.ticketGrantingTicket.getId(), TicketGrantingTicket.class)).thenReturn(this.ticketGrantingTicket);
+        val map = getArtifactMap(true, registry);
+        val response = getResponse();
+        map.put("local-artifact", RELYING_PARTY, ISSUER, response);
+        verify(registry, never()).addTicket(any());
+
+        val ticket = map.consumeTicket("local-artifact");
+        assertNotNull(ticket);
+        assertTrue(ticket.decodeObject().contains(response.getID()));
+        assertNull(map.consumeTicket("local-artifact"));
+        verify(registry, never()).consumeTicket(anyString(), any());
+    }
+
+    @Test
+    public void verifyUnknownArtifactIsNotResolved() {
+        assertNull(getArtifactMap(false, this.ticketRegistry).consumeTicket("unknown-artifact"));
+        assertNull(getArtifactMap(true, this.ticketRegistry).consumeTicket("unknown-artifact"));
+    }
+
+    @Test
+    public void verifyReusedArtifactProducesFault() throws Exception {
+        val service = getSamlRegisteredServiceForTestShib();
+        servicesManager.save(service);
+
+        val responseBuilder = (SamlProfileObjectBuilder<SAMLObject>) mock(SamlProfileObjectBuilder.class);
+        val faultResponseBuilder = (SamlProfileObjectBuilder<SAMLObject>) mock(SamlProfileObjectBuilder.class);
+        val map = getArtifactMap(false, this.ticketRegistry);
+        val controller = new Saml1ArtifactResolutionProfileHandlerController(samlIdPObjectSigner,
+            openSamlConfigBean.getParserPool(), mock(AuthenticationSystemSupport.class), servicesManager,
+            new WebApplicationServiceFactory(), samlRegisteredServiceCachingMetadataResolver, openSamlConfigBean,
+            responseBuilder, new CasConfigurationProperties(), samlObjectSignatureValidator, map,
+            faultResponseBuilder, null);
+        map.put("resolved-artifact", RELYING_PARTY, ISSUER, getResponse());
+
+        val firstRequest = getArtifactResolveRequest("resolved-artifact");
+        controller.handlePostRequest(new MockHttpServletResponse(), firstRequest);
+        assertNull(firstRequest.getAttribute(SamlIdPConstants.REQUEST_ATTRIBUTE_ERROR));
+        verify(responseBuilder).build(any(), any(), any(), any(), any(), any(), any(), any());
+        verify(faultResponseBuilder, never()).build(any(), any(), any(), any(), any(), any(), any(), any());
+
+        val secondRequest = getArtifactResolveRequest("resolved-artifact");
+        controller.handlePostRequest(new MockHttpServletResponse(), secondRequest);
+        assertNotNull(secondRequest.getAttribute(SamlIdPConstants.REQUEST_ATTRIBUTE_ERROR));
+        verify(responseBuilder).build(any(), any(), any(), any(), any(), any(), any(), any());
+        verify(faultResponseBuilder).build(any(), any(), any(), any(), any(), any(), any(), any());
+    }
+}
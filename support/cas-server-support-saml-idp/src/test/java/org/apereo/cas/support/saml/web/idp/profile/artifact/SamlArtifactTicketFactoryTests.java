@@ -0,0 +1,46 @@
+package org.apereo.cas.support.saml.web.idp.profile.artifact;
+
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
+import org.apereo.cas.category.FileSystemCategory;
+import org.apereo.cas.support.saml.BaseSamlIdPConfigurationTests;
+import org.apereo.cas.ticket.artifact.SamlArtifactTicketFactory;
+import org.apereo.cas.ticket.artifact.SamlArtifactTicketImpl;
+
+import lombok.val;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.opensaml.saml.saml2.core.impl.IssuerBuilder;
+import org.opensaml.saml.saml2.core.impl.ResponseBuilder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link SamlArtifactTicketFactoryTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@Category(FileSystemCategory.class)
+public class SamlArtifactTicketFactoryTests extends BaseSamlIdPConfigurationTests {
+    @Autowired
+    @Qualifier("samlArtifactTicketFactory")
+    private SamlArtifactTicketFactory samlArtifactTicketFactory;
+
+    @Test
+    public void verifyCompressedSamlObjectIsRestored() {
+        val issuer = new IssuerBuilder().buildObject();
+        issuer.setValue("https://cas.example.org/idp");
+        val response = new ResponseBuilder().buildObject();
+        response.setID("_" + getClass().getSimpleName());
+        response.setIssuer(issuer);
+
+        val ticket = samlArtifactTicketFactory.create("artifact", CoreAuthenticationTestUtils.getAuthentication(),
+            null, issuer.getValue(), "https://sp.example.org", response);
+        assertEquals(samlArtifactTicketFactory.createTicketIdFor("artifact"), ticket.getId());
+        assertTrue(ticket.getObject().startsWith(SamlArtifactTicketImpl.COMPRESSED_OBJECT_PREFIX));
+        assertTrue(ticket.decodeObject().contains(response.getID()));
+        assertTrue(ticket.decodeObject().startsWith("<"));
+    }
+}
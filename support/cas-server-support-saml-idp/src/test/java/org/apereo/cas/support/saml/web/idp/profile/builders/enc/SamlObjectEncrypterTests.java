@@ -0,0 +1,118 @@
+package org.apereo.cas.support.saml.web.idp.profile.builders.enc;
+
+import org.apereo.cas.category.FileSystemCategory;
+import org.apereo.cas.support.saml.BaseSamlIdPConfigurationTests;
+import org.apereo.cas.support.saml.services.SamlRegisteredService;
+import org.apereo.cas.support.saml.services.idp.metadata.SamlRegisteredServiceServiceProviderMetadataFacade;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.val;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.opensaml.saml.metadata.resolver.MetadataResolver;
+import org.opensaml.security.credential.Credential;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * This is {@link SamlObjectEncrypterTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@Category(FileSystemCategory.class)
+public class SamlObjectEncrypterTests extends BaseSamlIdPConfigurationTests {
+    private static final String ENTITY_ID = "https://sp.example.org";
+
+    @Autowired
+    @Qualifier("samlObjectEncrypterMeterBinder")
+    private MeterBinder samlObjectEncrypterMeterBinder;
+
+    private static SamlRegisteredServiceServiceProviderMetadataFacade getAdaptor(final MetadataResolver resolver) {
+        val adaptor = mock(SamlRegisteredServiceServiceProviderMetadataFacade.class);
+        when(adaptor.getEntityId()).thenReturn(ENTITY_ID);
+        when(adaptor.getMetadataResolver()).thenReturn(resolver);
+        return adaptor;
+    }
+
+    @Test
+    public void verifyCachedCredentialIsReused() throws Exception {
+        val encrypter = new CountingSamlObjectEncrypter();
+        val adaptor = getAdaptor(mock(MetadataResolver.class));
+        val service = new SamlRegisteredService();
+
+        val credential = encrypter.getKeyEncryptionCredential(ENTITY_ID, adaptor, service);
+        assertNotNull(credential);
+        assertSame(credential, encrypter.getKeyEncryptionCredential(ENTITY_ID, adaptor, service));
+        assertEquals(1, encrypter.getResolutionCount());
+    }
+
+    @Test
+    public void verifyCredentialIsResolvedPerMetadataResolver() throws Exception {
+        val encrypter = new CountingSamlObjectEncrypter();
+        val service = new SamlRegisteredService();
+
+        val first = encrypter.getKeyEncryptionCredential(ENTITY_ID, getAdaptor(mock(MetadataResolver.class)), service);
+        val refreshedAdaptor = getAdaptor(mock(MetadataResolver.class));
+        val second = encrypter.getKeyEncryptionCredential(ENTITY_ID, refreshedAdaptor, service);
+        assertNotSame(first, second);
+        assertEquals(2, encrypter.getResolutionCount());
+
+        assertSame(second, encrypter.getKeyEncryptionCredential(ENTITY_ID, refreshedAdaptor, service));
+        assertEquals(2, encrypter.getResolutionCount());
+    }
+
+    @Test
+    public void verifyMissingCredentialIsNotCached() throws Exception {
+        val encrypter = new CountingSamlObjectEncrypter(false);
+        val adaptor = getAdaptor(mock(MetadataResolver.class));
+        val service = new SamlRegisteredService();
+
+        assertNull(encrypter.getKeyEncryptionCredential(ENTITY_ID, adaptor, service));
+        assertNull(encrypter.getKeyEncryptionCredential(ENTITY_ID, adaptor, service));
+        assertEquals(2, encrypter.getResolutionCount());
+    }
+
+    @Test
+    public void verifyEncryptionTimerIsRegistered() {
+        val registry = new SimpleMeterRegistry();
+        samlObjectEncrypterMeterBinder.bindTo(registry);
+        val timer = registry.find("cas.saml.idp.encryption").functionTimer();
+        assertNotNull(timer);
+        assertEquals(0, timer.count(), 0);
+        assertEquals(0, timer.totalTime(TimeUnit.NANOSECONDS), 0);
+    }
+
+    private static class CountingSamlObjectEncrypter extends SamlObjectEncrypter {
+        private final boolean resolvable;
+
+        private int resolutionCount;
+
+        CountingSamlObjectEncrypter() {
+            this(true);
+        }
+
+        CountingSamlObjectEncrypter(final boolean resolvable) {
+            super(null, null, null, null);
+            this.resolvable = resolvable;
+        }
+
+        int getResolutionCount() {
+            return this.resolutionCount;
+        }
+
+        @Override
+        protected Credential resolveKeyEncryptionCredential(final String peerEntityId,
+                                                            final SamlRegisteredServiceServiceProviderMetadataFacade adaptor,
+                                                            final SamlRegisteredService service) {
+            this.resolutionCount++;
+            return this.resolvable ? mock(Credential.class) : null;
+        }
+    }
+}
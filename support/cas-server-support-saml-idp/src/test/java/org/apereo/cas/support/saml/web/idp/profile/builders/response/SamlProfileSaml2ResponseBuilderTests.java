@@ -121,4 +121,12 @@ public class SamlProfileSaml2ResponseBuilderTests extends BaseSamlIdPConfigurati
             new MessageContext());
         assertNotNull(samlResponse);
     }
+
+    @Test
+    public void verifySamlResponseIsRenderedAsPostForm() throws Exception {
+        val response = new MockHttpServletResponse();
+        val samlResponse = buildSamlResponseForPostBinding(new MockHttpServletRequest(), response);
+        assertNotNull(samlResponse);
+        assertTrue(getPostBindingSamlResponse(response.getContentAsString()).contains(samlResponse.getID()));
+    }
 }
@@ -0,0 +1,63 @@
+package org.apereo.cas.support.saml.web.idp.profile.builders.response;
+
+import org.apereo.cas.category.FileSystemCategory;
+import org.apereo.cas.support.saml.BaseSamlIdPConfigurationTests;
+import org.apereo.cas.support.saml.SamlProtocolConstants;
+import org.apereo.cas.support.saml.web.idp.profile.builders.enc.SamlResponsePostEncoder;
+
+import lombok.val;
+import org.apache.velocity.app.VelocityEngine;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.TestPropertySource;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link SamlProfileSaml2ResponseStreamingTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@Category(FileSystemCategory.class)
+@TestPropertySource(properties = "cas.authn.samlIdp.response.streamPostBinding=true")
+public class SamlProfileSaml2ResponseStreamingTests extends BaseSamlIdPConfigurationTests {
+    private static final String RELAY_STATE = "https://sp.testshib.org/landing?a=1&b=\"<c>\"";
+
+    private static final String FORM_ACTION = "<form action";
+
+    private static final String RELAY_STATE_INPUT = "name=\"RelayState\" value";
+
+    @Autowired
+    @Qualifier("shibboleth.VelocityEngine")
+    private VelocityEngine velocityEngine;
+
+    @Test
+    public void verifySamlResponseIsStreamedAsPostForm() throws Exception {
+        val request = new MockHttpServletRequest();
+        request.addParameter(SamlProtocolConstants.PARAMETER_SAML_RELAY_STATE, RELAY_STATE);
+        val response = new MockHttpServletResponse();
+
+        val samlResponse = buildSamlResponseForPostBinding(request, response);
+        assertNotNull(samlResponse);
+
+        val streamed = response.getContentAsString();
+        assertTrue(streamed.contains("<body onload=\"document.forms[0].submit()\">"));
+        assertTrue(getPostBindingSamlResponse(streamed).contains(samlResponse.getID()));
+        assertFalse(streamed.contains(RELAY_STATE));
+        assertEquals(RELAY_STATE, getPostBindingFormValue(streamed, RELAY_STATE_INPUT));
+
+        val service = getSamlRegisteredServiceForTestShib(true, true);
+        val rendered = new MockHttpServletResponse();
+        new SamlResponsePostEncoder(velocityEngine, getMetadataFacadeFor(service), rendered, request, false)
+            .encode(getAuthnRequestFor(service), samlResponse, RELAY_STATE);
+        val velocity = rendered.getContentAsString();
+        assertEquals(getPostBindingFormValue(velocity, FORM_ACTION), getPostBindingFormValue(streamed, FORM_ACTION));
+        assertEquals(getPostBindingFormValue(velocity, RELAY_STATE_INPUT), getPostBindingFormValue(streamed, RELAY_STATE_INPUT));
+        assertTrue(getPostBindingSamlResponse(velocity).contains(samlResponse.getID()));
+    }
+}
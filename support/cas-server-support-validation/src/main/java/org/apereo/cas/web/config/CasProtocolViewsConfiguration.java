@@ -1,8 +1,14 @@
 package org.apereo.cas.web.config;
 
 import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.configuration.model.core.web.view.Cas20ViewProperties;
+import org.apereo.cas.configuration.model.core.web.view.Cas30ViewProperties;
+import org.apereo.cas.web.view.CasProtocolValidationResponseView;
 import org.apereo.cas.web.view.CasProtocolView;
 
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.config.ConfigurableBeanFactory;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
@@ -13,6 +19,7 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Scope;
 import org.springframework.http.MediaType;
+import org.springframework.web.servlet.View;
 import org.thymeleaf.spring5.SpringTemplateEngine;
 
 /**
@@ -24,6 +31,7 @@ import org.thymeleaf.spring5.SpringTemplateEngine;
  */
 @Configuration("casProtocolViewsConfiguration")
 @EnableConfigurationProperties(CasConfigurationProperties.class)
+@Slf4j
 public class CasProtocolViewsConfiguration {
 
     @Autowired
@@ -38,6 +46,31 @@ public class CasProtocolViewsConfiguration {
     @Autowired
     private ThymeleafProperties thymeleafProperties;
 
+    /**
+     * Validation responses are written directly when asked to, unless the template behind the view
+     * is renamed or may be found in external template locations or via REST, in which case
+     * the template is rendered as before.
+     *
+     * @param templateName        the template name
+     * @param defaultTemplateName the default template name
+     * @param responseType        the response type
+     * @param contentType         the content type
+     * @return the view
+     */
+    private View casValidationResponseView(final String templateName, final String defaultTemplateName,
+                                           final CasProtocolValidationResponseView.ResponseType responseType,
+                                           final String contentType) {
+        val view = casProperties.getView();
+        if (!view.isDirectValidationResponses()
+            || !StringUtils.equals(templateName, defaultTemplateName)
+            || !view.getTemplatePrefixes().isEmpty()
+            || StringUtils.isNotBlank(view.getRest().getUrl())) {
+            LOGGER.debug("Rendering validation responses via template [{}]", templateName);
+            return new CasProtocolView(templateName, applicationContext, springTemplateEngine, thymeleafProperties, contentType);
+        }
+        return new CasProtocolValidationResponseView(responseType, thymeleafProperties.getEncoding().displayName(), contentType);
+    }
+
     /**
      * The Cas protocol views.
      */
@@ -45,18 +78,19 @@ public class CasProtocolViewsConfiguration {
     public class CasProtocolViews {
         @Bean
         @Scope(value = ConfigurableBeanFactory.SCOPE_PROTOTYPE)
-        public CasProtocolView cas2SuccessView() {
-            return new CasProtocolView(casProperties.getView().getCas2().getSuccess(),
-                applicationContext,
-                springTemplateEngine, thymeleafProperties,
+        public View cas2SuccessView() {
+            return casValidationResponseView(casProperties.getView().getCas2().getSuccess(),
+                new Cas20ViewProperties().getSuccess(),
+                CasProtocolValidationResponseView.ResponseType.CAS2_SUCCESS,
                 MediaType.APPLICATION_XML_VALUE);
         }
 
         @Bean
         @Scope(value = ConfigurableBeanFactory.SCOPE_PROTOTYPE)
-        public CasProtocolView cas2ServiceFailureView() {
-            return new CasProtocolView(casProperties.getView().getCas2().getFailure(), applicationContext,
-                springTemplateEngine, thymeleafProperties);
+        public View cas2ServiceFailureView() {
+            return casValidationResponseView(casProperties.getView().getCas2().getFailure(),
+                new Cas20ViewProperties().getFailure(),
+                CasProtocolValidationResponseView.ResponseType.FAILURE, null);
         }
 
         @ConditionalOnProperty(prefix = "cas.sso", name = "proxyAuthnEnabled", havingValue = "true", matchIfMissing = true)
@@ -79,17 +113,19 @@ public class CasProtocolViewsConfiguration {
 
         @Bean
         @Scope(value = ConfigurableBeanFactory.SCOPE_PROTOTYPE)
-        public CasProtocolView cas3SuccessView() {
-            return new CasProtocolView(casProperties.getView().getCas3().getSuccess(),
-                applicationContext, springTemplateEngine, thymeleafProperties);
+        public View cas3SuccessView() {
+            return casValidationResponseView(casProperties.getView().getCas3().getSuccess(),
+                new Cas30ViewProperties().getSuccess(),
+                CasProtocolValidationResponseView.ResponseType.CAS3_SUCCESS, null);
         }
 
 
         @Bean
         @Scope(value = ConfigurableBeanFactory.SCOPE_PROTOTYPE)
-        public CasProtocolView cas3ServiceFailureView() {
-            return new CasProtocolView(casProperties.getView().getCas3().getFailure(),
-                applicationContext, springTemplateEngine, thymeleafProperties,
+        public View cas3ServiceFailureView() {
+            return casValidationResponseView(casProperties.getView().getCas3().getFailure(),
+                new Cas30ViewProperties().getFailure(),
+                CasProtocolValidationResponseView.ResponseType.FAILURE,
                 MediaType.APPLICATION_XML_VALUE);
         }
 
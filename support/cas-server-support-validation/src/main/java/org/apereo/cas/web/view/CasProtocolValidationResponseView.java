@@ -0,0 +1,189 @@
+package org.apereo.cas.web.view;
+
+import org.apereo.cas.CasProtocolConstants;
+import org.apereo.cas.CasViewConstants;
+import org.apereo.cas.authentication.Authentication;
+import org.apereo.cas.authentication.principal.Principal;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.val;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.web.servlet.View;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * This is {@link CasProtocolValidationResponseView} that writes CAS validation responses
+ * straight into the response, in place of the default {@code casServiceValidationSuccess}
+ * and {@code casServiceValidationFailure} templates. It renders the same model the templates
+ * receive, with the same elements and escaping, so no template needs to be evaluated on the validation path.
+ * Since changes made to those templates are not seen here, it is only used when explicitly turned on.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@Getter
+@RequiredArgsConstructor
+public class CasProtocolValidationResponseView implements View {
+
+    private static final String NAMESPACE = "http://www.yale.edu/tp/cas";
+
+    private static final String DEFAULT_CONTENT_TYPE = "text/html";
+
+    /**
+     * The kind of response to write.
+     */
+    public enum ResponseType {
+        /**
+         * CAS2 success, without attributes.
+         */
+        CAS2_SUCCESS,
+        /**
+         * CAS3 success, with attributes.
+         */
+        CAS3_SUCCESS,
+        /**
+         * CAS2 and CAS3 failure.
+         */
+        FAILURE
+    }
+
+    private final ResponseType responseType;
+
+    private final String characterEncoding;
+
+    private final String contentType;
+
+    /**
+     * Escape text the same way templates escape text in HTML mode.
+     *
+     * @param writer the writer
+     * @param value  the value
+     * @throws IOException the exception
+     */
+    static void writeEscaped(final Writer writer, final String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        var start = 0;
+        for (var i = 0; i < value.length(); i++) {
+            val replacement = getEscapedCharacter(value.charAt(i));
+            if (replacement != null) {
+                writer.write(value, start, i - start);
+                writer.write(replacement);
+                start = i + 1;
+            }
+        }
+        writer.write(value, start, value.length() - start);
+    }
+
+    private static String getEscapedCharacter(final char c) {
+        switch (c) {
+            case '&':
+                return "&amp;";
+            case '<':
+                return "&lt;";
+            case '>':
+                return "&gt;";
+            case '"':
+                return "&quot;";
+            case '\'':
+                return "&#39;";
+            default:
+                return null;
+        }
+    }
+
+    @Override
+    public String getContentType() {
+        val type = StringUtils.defaultIfBlank(this.contentType, DEFAULT_CONTENT_TYPE);
+        return type + ";charset=" + this.characterEncoding;
+    }
+
+    @Override
+    public void render(final Map<String, ?> model, final HttpServletRequest request, final HttpServletResponse response) throws Exception {
+        response.setContentType(getContentType());
+        response.setCharacterEncoding(this.characterEncoding);
+        val writer = response.getWriter();
+        write(model, writer);
+        writer.flush();
+    }
+
+    /**
+     * Write the response for the model.
+     *
+     * @param model  the model
+     * @param writer the writer
+     * @throws IOException the exception
+     */
+    public void write(final Map<String, ?> model, final Writer writer) throws IOException {
+        writer.write("<cas:serviceResponse xmlns:cas='" + NAMESPACE + "'>\n");
+        if (this.responseType == ResponseType.FAILURE) {
+            writeFailure(model, writer);
+        } else {
+            writeSuccess(model, writer);
+        }
+        writer.write("</cas:serviceResponse>\n");
+    }
+
+    private static void writeFailure(final Map<String, ?> model, final Writer writer) throws IOException {
+        writer.write("    <cas:authenticationFailure code=\"");
+        writeEscaped(writer, Objects.toString(model.get(CasViewConstants.MODEL_ATTRIBUTE_NAME_ERROR_CODE), null));
+        writer.write("\">");
+        writeEscaped(writer, Objects.toString(model.get(CasViewConstants.MODEL_ATTRIBUTE_NAME_ERROR_DESCRIPTION), null));
+        writer.write("</cas:authenticationFailure>\n");
+    }
+
+    private void writeSuccess(final Map<String, ?> model, final Writer writer) throws IOException {
+        writer.write("    <cas:authenticationSuccess>\n");
+
+        val principal = (Principal) model.get(CasViewConstants.MODEL_ATTRIBUTE_NAME_PRINCIPAL);
+        writer.write("        <cas:user>");
+        writeEscaped(writer, principal != null ? principal.getId() : null);
+        writer.write("</cas:user>\n");
+
+        val proxyGrantingTicketIou = model.get(CasViewConstants.MODEL_ATTRIBUTE_NAME_PROXY_GRANTING_TICKET_IOU);
+        if (proxyGrantingTicketIou != null) {
+            writer.write("        <cas:proxyGrantingTicket>");
+            writeEscaped(writer, proxyGrantingTicketIou.toString());
+            writer.write("</cas:proxyGrantingTicket>\n");
+        }
+
+        val chainedAuthentications = (Collection<Authentication>) model.get(CasViewConstants.MODEL_ATTRIBUTE_NAME_CHAINED_AUTHENTICATIONS);
+        if (chainedAuthentications != null && !chainedAuthentications.isEmpty()) {
+            writer.write("        <cas:proxies>\n");
+            for (val proxy : chainedAuthentications) {
+                writer.write("            <cas:proxy>");
+                writeEscaped(writer, proxy.getPrincipal().getId());
+                writer.write("</cas:proxy>\n");
+            }
+            writer.write("        </cas:proxies>\n");
+        }
+
+        if (this.responseType == ResponseType.CAS3_SUCCESS) {
+            val formattedAttributes = (Collection<String>) model.get(CasProtocolConstants.VALIDATION_CAS_MODEL_ATTRIBUTE_NAME_FORMATTED_ATTRIBUTES);
+            if (formattedAttributes != null && !formattedAttributes.isEmpty()) {
+                writer.write("        <cas:attributes>\n");
+                for (val attribute : formattedAttributes) {
+                    writer.write("            ");
+                    writer.write(attribute);
+                    writer.write('\n');
+                }
+                writer.write("        </cas:attributes>\n");
+            }
+        }
+        writer.write("    </cas:authenticationSuccess>\n");
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + '[' + this.responseType + ']';
+    }
+}
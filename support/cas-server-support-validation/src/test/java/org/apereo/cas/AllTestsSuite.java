@@ -4,6 +4,8 @@ import org.apereo.cas.web.ProxyControllerTests;
 import org.apereo.cas.web.view.Cas10ResponseViewTests;
 import org.apereo.cas.web.view.Cas20ResponseViewTests;
 import org.apereo.cas.web.view.Cas30ResponseViewTests;
+import org.apereo.cas.web.view.CasProtocolValidationResponseViewTemplateTests;
+import org.apereo.cas.web.view.CasProtocolValidationResponseViewTests;
 
 import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
@@ -20,6 +22,8 @@ import org.junit.runners.Suite;
     Cas10ResponseViewTests.class,
     Cas20ResponseViewTests.class,
     Cas30ResponseViewTests.class,
+    CasProtocolValidationResponseViewTests.class,
+    CasProtocolValidationResponseViewTemplateTests.class,
     ProxyControllerTests.class
 })
 public class AllTestsSuite {
@@ -0,0 +1,115 @@
+package org.apereo.cas.web.view;
+
+import org.apereo.cas.CasProtocolConstants;
+import org.apereo.cas.CasViewConstants;
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
+import org.apereo.cas.util.CollectionUtils;
+import org.apereo.cas.web.view.attributes.DefaultCas30ProtocolAttributesRenderer;
+
+import lombok.val;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.spring5.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.FileTemplateResolver;
+
+import java.io.File;
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link CasProtocolValidationResponseViewTemplateTests} that compares validation responses
+ * written directly with those rendered from the default templates of the web application.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+public class CasProtocolValidationResponseViewTemplateTests {
+    private static SpringTemplateEngine TEMPLATE_ENGINE;
+
+    @BeforeClass
+    public static void beforeClass() throws Exception {
+        val resolver = new FileTemplateResolver();
+        resolver.setPrefix(new File("../../webapp/resources/templates").getCanonicalPath() + File.separator);
+        resolver.setSuffix(".html");
+        resolver.setTemplateMode(TemplateMode.HTML);
+        resolver.setCharacterEncoding("UTF-8");
+        TEMPLATE_ENGINE = new SpringTemplateEngine();
+        TEMPLATE_ENGINE.setTemplateResolver(resolver);
+    }
+
+    private static String normalize(final String response) {
+        return Arrays.stream(response.split("\n"))
+            .map(String::trim)
+            .filter(line -> !line.isEmpty())
+            .collect(Collectors.joining("\n"));
+    }
+
+    private static void verifySameAsTemplate(final String templateName,
+                                             final CasProtocolValidationResponseView.ResponseType responseType,
+                                             final Map<String, Object> model) throws Exception {
+        val template = TEMPLATE_ENGINE.process(templateName, new Context(Locale.ENGLISH, model));
+        val writer = new StringWriter();
+        new CasProtocolValidationResponseView(responseType, "UTF-8", null).write(model, writer);
+        assertEquals(normalize(template), normalize(writer.toString()));
+    }
+
+    private static Map<String, Object> getSuccessModel() {
+        val model = new HashMap<String, Object>();
+        model.put(CasViewConstants.MODEL_ATTRIBUTE_NAME_PRINCIPAL, CoreAuthenticationTestUtils.getPrincipal("cas<user>"));
+        model.put(CasViewConstants.MODEL_ATTRIBUTE_NAME_PROXY_GRANTING_TICKET_IOU, "PGTIOU-1");
+        model.put(CasViewConstants.MODEL_ATTRIBUTE_NAME_CHAINED_AUTHENTICATIONS,
+            CollectionUtils.wrapList(CoreAuthenticationTestUtils.getAuthentication("proxy&user")));
+        return model;
+    }
+
+    private static Map<String, Object> getFailureModel() {
+        val model = new HashMap<String, Object>();
+        model.put(CasViewConstants.MODEL_ATTRIBUTE_NAME_ERROR_CODE, "INVALID_TICKET");
+        model.put(CasViewConstants.MODEL_ATTRIBUTE_NAME_ERROR_DESCRIPTION, "Ticket 'ST-1' not recognized");
+        return model;
+    }
+
+    @Test
+    public void verifyCas2Success() throws Exception {
+        verifySameAsTemplate("protocol/2.0/casServiceValidationSuccess",
+            CasProtocolValidationResponseView.ResponseType.CAS2_SUCCESS, getSuccessModel());
+    }
+
+    @Test
+    public void verifyCas2SuccessWithoutProxies() throws Exception {
+        val model = getSuccessModel();
+        model.remove(CasViewConstants.MODEL_ATTRIBUTE_NAME_PROXY_GRANTING_TICKET_IOU);
+        model.remove(CasViewConstants.MODEL_ATTRIBUTE_NAME_CHAINED_AUTHENTICATIONS);
+        verifySameAsTemplate("protocol/2.0/casServiceValidationSuccess",
+            CasProtocolValidationResponseView.ResponseType.CAS2_SUCCESS, model);
+    }
+
+    @Test
+    public void verifyCas3SuccessWithAttributes() throws Exception {
+        val model = getSuccessModel();
+        val attributes = new LinkedHashMap<String, Object>();
+        attributes.put("uid", "casuser");
+        attributes.put("memberOf", CollectionUtils.wrapList("staff", "faculty & staff"));
+        model.put(CasProtocolConstants.VALIDATION_CAS_MODEL_ATTRIBUTE_NAME_FORMATTED_ATTRIBUTES,
+            new DefaultCas30ProtocolAttributesRenderer().render(attributes));
+        verifySameAsTemplate("protocol/3.0/casServiceValidationSuccess",
+            CasProtocolValidationResponseView.ResponseType.CAS3_SUCCESS, model);
+    }
+
+    @Test
+    public void verifyFailures() throws Exception {
+        verifySameAsTemplate("protocol/2.0/casServiceValidationFailure",
+            CasProtocolValidationResponseView.ResponseType.FAILURE, getFailureModel());
+        verifySameAsTemplate("protocol/3.0/casServiceValidationFailure",
+            CasProtocolValidationResponseView.ResponseType.FAILURE, getFailureModel());
+    }
+}
@@ -0,0 +1,97 @@
+package org.apereo.cas.web.view;
+
+import org.apereo.cas.CasProtocolConstants;
+import org.apereo.cas.CasViewConstants;
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
+import org.apereo.cas.util.CollectionUtils;
+import org.apereo.cas.web.view.attributes.DefaultCas30ProtocolAttributesRenderer;
+
+import lombok.val;
+import org.junit.Test;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link CasProtocolValidationResponseViewTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+public class CasProtocolValidationResponseViewTests {
+
+    private static Map<String, Object> getSuccessModel() {
+        val model = new HashMap<String, Object>();
+        model.put(CasViewConstants.MODEL_ATTRIBUTE_NAME_PRINCIPAL, CoreAuthenticationTestUtils.getPrincipal("cas<user>"));
+        model.put(CasViewConstants.MODEL_ATTRIBUTE_NAME_PROXY_GRANTING_TICKET_IOU, "PGTIOU-1");
+        model.put(CasViewConstants.MODEL_ATTRIBUTE_NAME_CHAINED_AUTHENTICATIONS,
+            CollectionUtils.wrapList(CoreAuthenticationTestUtils.getAuthentication("proxy&user")));
+        return model;
+    }
+
+    private static String render(final CasProtocolValidationResponseView view, final Map<String, Object> model) throws Exception {
+        val response = new MockHttpServletResponse();
+        view.render(model, new MockHttpServletRequest(), response);
+        return response.getContentAsString();
+    }
+
+    @Test
+    public void verifyCas2Success() throws Exception {
+        val view = new CasProtocolValidationResponseView(CasProtocolValidationResponseView.ResponseType.CAS2_SUCCESS,
+            "UTF-8", MediaType.APPLICATION_XML_VALUE);
+        val model = getSuccessModel();
+        model.put(CasProtocolConstants.VALIDATION_CAS_MODEL_ATTRIBUTE_NAME_FORMATTED_ATTRIBUTES, CollectionUtils.wrapList("<cas:uid>casuser</cas:uid>"));
+        assertEquals("<cas:serviceResponse xmlns:cas='http://www.yale.edu/tp/cas'>\n"
+            + "    <cas:authenticationSuccess>\n"
+            + "        <cas:user>cas&lt;user&gt;</cas:user>\n"
+            + "        <cas:proxyGrantingTicket>PGTIOU-1</cas:proxyGrantingTicket>\n"
+            + "        <cas:proxies>\n"
+            + "            <cas:proxy>proxy&amp;user</cas:proxy>\n"
+            + "        </cas:proxies>\n"
+            + "    </cas:authenticationSuccess>\n"
+            + "</cas:serviceResponse>\n", render(view, model));
+        assertEquals("application/xml;charset=UTF-8", view.getContentType());
+    }
+
+    @Test
+    public void verifyCas3SuccessWithAttributes() throws Exception {
+        val view = new CasProtocolValidationResponseView(CasProtocolValidationResponseView.ResponseType.CAS3_SUCCESS, "UTF-8", null);
+        val model = getSuccessModel();
+        model.remove(CasViewConstants.MODEL_ATTRIBUTE_NAME_PROXY_GRANTING_TICKET_IOU);
+        model.remove(CasViewConstants.MODEL_ATTRIBUTE_NAME_CHAINED_AUTHENTICATIONS);
+        val attributes = new LinkedHashMap<String, Object>();
+        attributes.put("uid", "casuser");
+        attributes.put("memberOf", CollectionUtils.wrapList("staff", "faculty & staff"));
+        model.put(CasProtocolConstants.VALIDATION_CAS_MODEL_ATTRIBUTE_NAME_FORMATTED_ATTRIBUTES,
+            new DefaultCas30ProtocolAttributesRenderer().render(attributes));
+        assertEquals("<cas:serviceResponse xmlns:cas='http://www.yale.edu/tp/cas'>\n"
+            + "    <cas:authenticationSuccess>\n"
+            + "        <cas:user>cas&lt;user&gt;</cas:user>\n"
+            + "        <cas:attributes>\n"
+            + "            <cas:uid>casuser</cas:uid>\n"
+            + "            <cas:memberOf>staff</cas:memberOf>\n"
+            + "            <cas:memberOf>faculty &amp; staff</cas:memberOf>\n"
+            + "        </cas:attributes>\n"
+            + "    </cas:authenticationSuccess>\n"
+            + "</cas:serviceResponse>\n", render(view, model));
+        assertEquals("text/html;charset=UTF-8", view.getContentType());
+    }
+
+    @Test
+    public void verifyFailure() throws Exception {
+        val view = new CasProtocolValidationResponseView(CasProtocolValidationResponseView.ResponseType.FAILURE,
+            "UTF-8", MediaType.APPLICATION_XML_VALUE);
+        val model = new HashMap<String, Object>();
+        model.put(CasViewConstants.MODEL_ATTRIBUTE_NAME_ERROR_CODE, "INVALID_TICKET");
+        model.put(CasViewConstants.MODEL_ATTRIBUTE_NAME_ERROR_DESCRIPTION, "Ticket 'ST-1' not recognized");
+        assertEquals("<cas:serviceResponse xmlns:cas='http://www.yale.edu/tp/cas'>\n"
+            + "    <cas:authenticationFailure code=\"INVALID_TICKET\">Ticket &#39;ST-1&#39; not recognized</cas:authenticationFailure>\n"
+            + "</cas:serviceResponse>\n", render(view, model));
+    }
+}
@@ -6,9 +6,14 @@ import org.apereo.cas.security.RequestParameterPolicyEnforcementFilter;
 import org.apereo.cas.services.ServicesManager;
 import org.apereo.cas.services.web.support.RegisteredServiceResponseHeadersEnforcementFilter;
 import org.apereo.cas.util.CollectionUtils;
+import org.apereo.cas.util.InetAddressUtils;
 import org.apereo.cas.web.support.ArgumentExtractor;
 import org.apereo.cas.web.support.AuthenticationCredentialsThreadLocalBinderClearingFilter;
+import org.apereo.cas.web.support.TicketNodeAffinityFilter;
 
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import lombok.val;
 import org.apache.commons.lang3.BooleanUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -159,4 +164,44 @@ public class CasFiltersConfiguration {
         bean.setAsyncSupported(true);
         return bean;
     }
+
+    @ConditionalOnProperty(prefix = "cas.ticket.nodeAffinity", name = "enabled", havingValue = "true")
+    @Bean
+    public TicketNodeAffinityFilter ticketNodeAffinityFilter() {
+        val affinity = casProperties.getTicket().getNodeAffinity();
+        val localNode = StringUtils.defaultIfBlank(casProperties.getHost().getName(), InetAddressUtils.getCasServerHostName());
+        return new TicketNodeAffinityFilter(localNode, affinity.getNodes(), affinity.getParameters(), affinity.isRedirect());
+    }
+
+    @ConditionalOnProperty(prefix = "cas.ticket.nodeAffinity", name = "enabled", havingValue = "true")
+    @Bean
+    public MeterBinder ticketNodeAffinityMeterBinder() {
+        return registry -> {
+            val filter = ticketNodeAffinityFilter();
+            FunctionCounter.builder("cas.ticket.node.affinity.requests", filter, TicketNodeAffinityFilter::getLocalRequestCount)
+                .tag("node", "local")
+                .description("Number of validation requests for tickets issued by this node")
+                .register(registry);
+            FunctionCounter.builder("cas.ticket.node.affinity.requests", filter, TicketNodeAffinityFilter::getRemoteRequestCount)
+                .tag("node", "remote")
+                .description("Number of validation requests for tickets issued by another node")
+                .register(registry);
+            Gauge.builder("cas.ticket.node.affinity.local.ratio", filter, TicketNodeAffinityFilter::getLocalHitRatio)
+                .description("Ratio of validation requests for tickets issued by this node")
+                .register(registry);
+        };
+    }
+
+    @ConditionalOnProperty(prefix = "cas.ticket.nodeAffinity", name = "enabled", havingValue = "true")
+    @Bean
+    @RefreshScope
+    public FilterRegistrationBean ticketNodeAffinityFilterRegistration() {
+        val bean = new FilterRegistrationBean();
+        bean.setFilter(ticketNodeAffinityFilter());
+        bean.setUrlPatterns(CollectionUtils.wrapList("/validate", "/serviceValidate", "/proxyValidate",
+            "/p3/serviceValidate", "/p3/proxyValidate", "/oauth2.0/accessToken", "/oauth2.0/token"));
+        bean.setName("ticketNodeAffinityFilter");
+        bean.setAsyncSupported(true);
+        return bean;
+    }
 }